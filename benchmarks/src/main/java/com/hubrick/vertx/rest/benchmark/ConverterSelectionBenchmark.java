@@ -0,0 +1,101 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.benchmark;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.LinkedListMultimap;
+import com.google.common.collect.Multimap;
+import com.hubrick.vertx.rest.MediaType;
+import com.hubrick.vertx.rest.converter.FormHttpMessageConverter;
+import com.hubrick.vertx.rest.converter.HttpMessageConverter;
+import com.hubrick.vertx.rest.converter.JacksonJsonHttpMessageConverter;
+import com.hubrick.vertx.rest.converter.StringHttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Selection of the converter for writing a request and reading a response, done the same way as the client does it:
+ * the first converter which can handle the class and the media type wins.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConverterSelectionBenchmark {
+
+    private final List<HttpMessageConverter> httpMessageConverters = ImmutableList.of(
+            new FormHttpMessageConverter(),
+            new StringHttpMessageConverter(),
+            new JacksonJsonHttpMessageConverter<>(new ObjectMapper())
+    );
+    private final Payload payload = Payload.create(1);
+    private final Multimap<String, Object> form = LinkedListMultimap.create();
+
+    @Benchmark
+    public HttpMessageConverter selectJsonWriter() {
+        return selectWriter(payload.getClass(), null);
+    }
+
+    @Benchmark
+    public HttpMessageConverter selectFormWriter() {
+        return selectWriter(form.getClass(), MediaType.APPLICATION_FORM_URLENCODED);
+    }
+
+    @Benchmark
+    public HttpMessageConverter selectJsonReader() {
+        return selectReader(Payload.class, "application/json;charset=UTF-8");
+    }
+
+    @Benchmark
+    public HttpMessageConverter selectStringReader() {
+        return selectReader(String.class, "text/plain");
+    }
+
+    private HttpMessageConverter selectWriter(Class<?> clazz, MediaType contentType) {
+        for (HttpMessageConverter httpMessageConverter : httpMessageConverters) {
+            if (httpMessageConverter.canWrite(clazz, contentType)) {
+                return httpMessageConverter;
+            }
+        }
+        return null;
+    }
+
+    private HttpMessageConverter selectReader(Class<?> clazz, String contentType) {
+        final MediaType mediaType = MediaType.parseMediaType(contentType);
+        for (HttpMessageConverter httpMessageConverter : httpMessageConverters) {
+            if (httpMessageConverter.canRead(clazz, mediaType)) {
+                return httpMessageConverter;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.benchmark;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Splitter;
+import com.google.common.base.Strings;
+import com.google.common.collect.FluentIterable;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Multimap;
+import com.hubrick.vertx.rest.converter.FormHttpMessageConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vertx.java.core.http.CaseInsensitiveMultiMap;
+import org.vertx.java.core.http.HttpClientResponse;
+import org.vertx.java.core.http.HttpHeaders;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.Charset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding of url-encoded responses by {@link FormHttpMessageConverter} compared to the implementation before 1.3.0,
+ * which split the decoded body and ran {@link URLDecoder} on every name and value. {@code oauth} is a typical access
+ * token response, {@code large} a form with 1000 escaped fields.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FormDecodingBenchmark {
+
+    @Param({"oauth", "large"})
+    public String body;
+
+    private final FormHttpMessageConverter converter = new FormHttpMessageConverter();
+    private byte[] bytes;
+    private HttpClientResponse httpClientResponse;
+
+    @Setup
+    public void setUp() throws Exception {
+        final StringBuilder form = new StringBuilder();
+        if ("oauth".equals(body)) {
+            form.append("access_token=").append(Strings.repeat("2YotnFZFEjr1zCsicMWpAA", 40))
+                    .append("&token_type=bearer&expires_in=3600")
+                    .append("&refresh_token=").append(Strings.repeat("tGzv3JOkF0XG5Qx2TlKWIA", 40))
+                    .append("&scope=").append(URLEncoder.encode("read write profile:email offline_access", "UTF-8"));
+        } else {
+            for (int i = 0; i < 1000; i++) {
+                form.append(i == 0 ? "" : "&").append("field").append(i).append('=').append(URLEncoder.encode("välue " + i + " & more/€", "UTF-8"));
+            }
+        }
+        bytes = form.toString().getBytes(Charsets.US_ASCII);
+        httpClientResponse = Stubs.httpClientResponse(200, new CaseInsensitiveMultiMap().set(HttpHeaders.CONTENT_TYPE, "application/x-www-form-urlencoded"));
+    }
+
+    @Benchmark
+    public Multimap<String, Object> read() {
+        return converter.read(null, bytes, httpClientResponse);
+    }
+
+    @Benchmark
+    public Multimap<String, Object> readLegacy() throws UnsupportedEncodingException {
+        return readLegacy(bytes, Charsets.UTF_8);
+    }
+
+    private static Multimap<String, Object> readLegacy(byte[] buffer, Charset charset) throws UnsupportedEncodingException {
+        final String body = new String(buffer, charset);
+        final String[] pairs = FluentIterable.from(Splitter.on("&").split(body)).toArray(String.class);
+        final Multimap<String, Object> result = HashMultimap.create();
+        for (String pair : pairs) {
+            final int idx = pair.indexOf('=');
+            if (idx == -1) {
+                result.put(URLDecoder.decode(pair, charset.name()), null);
+            } else {
+                result.put(URLDecoder.decode(pair.substring(0, idx), charset.name()), URLDecoder.decode(pair.substring(idx + 1), charset.name()));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,73 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.benchmark;
+
+import com.google.common.collect.LinkedListMultimap;
+import com.google.common.collect.Multimap;
+import com.hubrick.vertx.rest.converter.FormHttpMessageConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vertx.java.core.buffer.Buffer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Url-encoding of forms with plain ASCII and with values which need to be escaped.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FormHttpMessageConverterBenchmark {
+
+    @Param({"5", "500"})
+    public int numberOfFields;
+
+    @Param({"plain", "escaped"})
+    public String values;
+
+    private final FormHttpMessageConverter converter = new FormHttpMessageConverter();
+    private Multimap<String, Object> form;
+
+    @Setup
+    public void setUp() {
+        form = LinkedListMultimap.create();
+        for (int i = 0; i < numberOfFields; i++) {
+            form.put("field" + i, "plain".equals(values) ? "value" + i : "välue " + i + " & more/€");
+        }
+    }
+
+    @Benchmark
+    public Buffer write() {
+        final StubHttpClientRequest httpClientRequest = new StubHttpClientRequest();
+        converter.write(form, null, httpClientRequest, true);
+        return httpClientRequest.getLastChunk();
+    }
+}
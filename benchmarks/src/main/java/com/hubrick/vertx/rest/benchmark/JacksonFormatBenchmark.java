@@ -0,0 +1,113 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.hubrick.vertx.rest.MediaType;
+import com.hubrick.vertx.rest.converter.AbstractJacksonHttpMessageConverter;
+import com.hubrick.vertx.rest.converter.JacksonCborHttpMessageConverter;
+import com.hubrick.vertx.rest.converter.JacksonJsonHttpMessageConverter;
+import com.hubrick.vertx.rest.converter.JacksonMessagePackHttpMessageConverter;
+import com.hubrick.vertx.rest.converter.JacksonSmileHttpMessageConverter;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vertx.java.core.buffer.Buffer;
+import org.vertx.java.core.http.CaseInsensitiveMultiMap;
+import org.vertx.java.core.http.HttpClientResponse;
+import org.vertx.java.core.http.HttpHeaders;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading and writing of the same payload with each of the Jackson based encodings. The size of the encoded body is
+ * printed during setup.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JacksonFormatBenchmark {
+
+    @Param({"json", "smile", "cbor", "msgpack"})
+    public String format;
+
+    @Param({"1", "100", "10000"})
+    public int numberOfItems;
+
+    private AbstractJacksonHttpMessageConverter<Object> converter;
+    private MediaType mediaType;
+    private Payload payload;
+    private byte[] body;
+    private HttpClientResponse httpClientResponse;
+
+    @Setup
+    public void setUp() throws Exception {
+        switch (format) {
+            case "json":
+                converter = new JacksonJsonHttpMessageConverter<>(new ObjectMapper());
+                mediaType = MediaType.APPLICATION_JSON;
+                break;
+            case "smile":
+                converter = new JacksonSmileHttpMessageConverter<>(new ObjectMapper(new SmileFactory()));
+                mediaType = MediaType.APPLICATION_SMILE;
+                break;
+            case "cbor":
+                converter = new JacksonCborHttpMessageConverter<>(new ObjectMapper(new CBORFactory()));
+                mediaType = MediaType.APPLICATION_CBOR;
+                break;
+            case "msgpack":
+                converter = new JacksonMessagePackHttpMessageConverter<>(new ObjectMapper(new MessagePackFactory()));
+                mediaType = MediaType.APPLICATION_MSGPACK;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown format " + format);
+        }
+
+        payload = Payload.create(numberOfItems);
+        body = converter.getObjectMapper().writeValueAsBytes(payload);
+        httpClientResponse = Stubs.httpClientResponse(200, new CaseInsensitiveMultiMap().set(HttpHeaders.CONTENT_TYPE, mediaType.toString()));
+        System.out.println(format + " body of " + numberOfItems + " items: " + body.length + " bytes");
+    }
+
+    @Benchmark
+    public Object read() {
+        return converter.read(Payload.class, body, httpClientResponse);
+    }
+
+    @Benchmark
+    public Buffer write() {
+        final StubHttpClientRequest httpClientRequest = new StubHttpClientRequest();
+        converter.write(payload, mediaType, httpClientRequest, true);
+        return httpClientRequest.getLastChunk();
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hubrick.vertx.rest.MediaType;
+import com.hubrick.vertx.rest.converter.JacksonJsonHttpMessageConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vertx.java.core.buffer.Buffer;
+import org.vertx.java.core.http.CaseInsensitiveMultiMap;
+import org.vertx.java.core.http.HttpClientResponse;
+import org.vertx.java.core.http.HttpHeaders;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading and writing of JSON bodies of different sizes.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JacksonJsonHttpMessageConverterBenchmark {
+
+    @Param({"1", "100", "10000"})
+    public int numberOfItems;
+
+    private final JacksonJsonHttpMessageConverter<Object> converter = new JacksonJsonHttpMessageConverter<>(new ObjectMapper());
+    private Payload payload;
+    private byte[] body;
+    private HttpClientResponse httpClientResponse;
+
+    @Setup
+    public void setUp() throws Exception {
+        payload = Payload.create(numberOfItems);
+        body = new ObjectMapper().writeValueAsBytes(payload);
+        httpClientResponse = Stubs.httpClientResponse(200, new CaseInsensitiveMultiMap().set(HttpHeaders.CONTENT_TYPE, "application/json"));
+    }
+
+    @Benchmark
+    public Object read() {
+        return converter.read(Payload.class, body, httpClientResponse);
+    }
+
+    @Benchmark
+    public Buffer write() {
+        final StubHttpClientRequest httpClientRequest = new StubHttpClientRequest();
+        converter.write(payload, MediaType.APPLICATION_JSON, httpClientRequest, true);
+        return httpClientRequest.getLastChunk();
+    }
+}
@@ -0,0 +1,68 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.benchmark;
+
+import com.hubrick.vertx.rest.MediaType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of the Content-Type and Accept headers, which happens for every request and response.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MediaTypeBenchmark {
+
+    @Benchmark
+    public MediaType parseMediaType(ContentType contentType) {
+        return MediaType.parseMediaType(contentType.value);
+    }
+
+    @Benchmark
+    public List<MediaType> parseAcceptHeader(AcceptHeader acceptHeader) {
+        return MediaType.parseMediaTypes(acceptHeader.value);
+    }
+
+    @State(Scope.Benchmark)
+    public static class ContentType {
+
+        @Param({"application/json", "application/json;charset=UTF-8", "text/plain;charset=ISO-8859-1;q=0.9"})
+        public String value;
+    }
+
+    @State(Scope.Benchmark)
+    public static class AcceptHeader {
+
+        public String value = "application/json,application/x-www-form-urlencoded,text/plain,*/*";
+    }
+}
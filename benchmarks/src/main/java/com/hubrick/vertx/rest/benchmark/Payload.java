@@ -0,0 +1,131 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A typical JSON payload: a few scalar fields and a list of nested items.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class Payload {
+
+    private String id;
+    private String name;
+    private String email;
+    private long createdAt;
+    private boolean active;
+    private List<Item> items = new ArrayList<>();
+
+    public static Payload create(int numberOfItems) {
+        final Payload payload = new Payload();
+        payload.setId("5f1c1b2e-4a7c-4bd6-9a3e-2f5c3b0a9d11");
+        payload.setName("Jane Doe");
+        payload.setEmail("jane.doe@example.com");
+        payload.setCreatedAt(1428573432000L);
+        payload.setActive(true);
+        for (int i = 0; i < numberOfItems; i++) {
+            final Item item = new Item();
+            item.setId(i);
+            item.setTitle("Item number " + i);
+            item.setPrice(i * 1.25);
+            payload.getItems().add(item);
+        }
+        return payload;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(long createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Item> items) {
+        this.items = items;
+    }
+
+    public static class Item {
+
+        private int id;
+        private String title;
+        private double price;
+
+        public int getId() {
+            return id;
+        }
+
+        public void setId(int id) {
+            this.id = id;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
+        public double getPrice() {
+            return price;
+        }
+
+        public void setPrice(double price) {
+            this.price = price;
+        }
+    }
+}
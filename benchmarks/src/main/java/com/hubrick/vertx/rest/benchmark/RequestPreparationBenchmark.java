@@ -0,0 +1,104 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.hubrick.vertx.rest.HttpMethod;
+import com.hubrick.vertx.rest.MediaType;
+import com.hubrick.vertx.rest.converter.FormHttpMessageConverter;
+import com.hubrick.vertx.rest.converter.HttpMessageConverter;
+import com.hubrick.vertx.rest.converter.JacksonJsonHttpMessageConverter;
+import com.hubrick.vertx.rest.converter.StringHttpMessageConverter;
+import com.hubrick.vertx.rest.impl.DefaultRestClientRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vertx.java.core.MultiMap;
+import org.vertx.java.core.Vertx;
+import org.vertx.java.core.http.HttpClient;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creating and ending a request without any I/O, which includes building the Accept header from the supported media
+ * types of all converters and writing the body.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestPreparationBenchmark {
+
+    private final Vertx vertx = Stubs.vertx();
+    private final HttpClient httpClient = Stubs.httpClient();
+    private final List<HttpMessageConverter> httpMessageConverters = ImmutableList.of(
+            new FormHttpMessageConverter(),
+            new StringHttpMessageConverter(),
+            new JacksonJsonHttpMessageConverter<>(new ObjectMapper())
+    );
+    private final Payload payload = Payload.create(1);
+
+    @Benchmark
+    public MultiMap getWithAcceptHeader() {
+        final DefaultRestClientRequest<Payload> request = createRequest(HttpMethod.GET);
+        request.end();
+        return request.headers();
+    }
+
+    @Benchmark
+    public MultiMap postJson() {
+        final DefaultRestClientRequest<Payload> request = createRequest(HttpMethod.POST);
+        request.setContentType(MediaType.APPLICATION_JSON);
+        request.end(payload);
+        return request.headers();
+    }
+
+    private DefaultRestClientRequest<Payload> createRequest(HttpMethod method) {
+        return new DefaultRestClientRequest<>(
+                vertx,
+                httpClient,
+                httpMessageConverters,
+                method,
+                "/api/users/123",
+                Payload.class,
+                response -> {
+                },
+                null,
+                0,
+                null,
+                null,
+                null,
+                null,
+                null,
+                Collections.emptyList(),
+                null
+        );
+    }
+}
@@ -0,0 +1,119 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.hubrick.vertx.rest.RestClient;
+import com.hubrick.vertx.rest.RestClientRequest;
+import com.hubrick.vertx.rest.converter.JacksonJsonHttpMessageConverter;
+import com.hubrick.vertx.rest.converter.StringHttpMessageConverter;
+import com.hubrick.vertx.rest.impl.DefaultRestClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vertx.java.core.Context;
+import org.vertx.java.core.Vertx;
+import org.vertx.java.core.VertxFactory;
+import org.vertx.java.core.buffer.Buffer;
+import org.vertx.java.core.http.HttpHeaders;
+import org.vertx.java.core.http.HttpServer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A full GET round trip with a JSON response against an in-process Vert.x HTTP server over the loopback interface.
+ * The allocations of the server are included in the numbers of the GC profiler.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RoundTripBenchmark {
+
+    private static final int PORT = 18080;
+
+    @Param({"1", "100"})
+    public int numberOfItems;
+
+    private Vertx vertx;
+    private HttpServer httpServer;
+    private Context context;
+    private RestClient restClient;
+
+    @Setup
+    public void setUp() throws Exception {
+        final byte[] responseBody = new ObjectMapper().writeValueAsBytes(Payload.create(numberOfItems));
+        final String contentLength = String.valueOf(responseBody.length);
+
+        vertx = VertxFactory.newVertx();
+        final CountDownLatch listening = new CountDownLatch(1);
+        httpServer = vertx.createHttpServer()
+                .requestHandler(request -> request.response()
+                        .putHeader(HttpHeaders.CONTENT_TYPE, "application/json")
+                        .putHeader(HttpHeaders.CONTENT_LENGTH, contentLength)
+                        .end(new Buffer(responseBody)))
+                .listen(PORT, "localhost", result -> listening.countDown());
+        listening.await(10, TimeUnit.SECONDS);
+
+        // Like every Vert.x client the rest client is bound to the context it was created on and must only be used from it
+        final CountDownLatch created = new CountDownLatch(1);
+        vertx.runOnContext(event -> {
+            context = vertx.currentContext();
+            restClient = new DefaultRestClient(vertx, ImmutableList.of(new StringHttpMessageConverter(), new JacksonJsonHttpMessageConverter<>(new ObjectMapper())))
+                    .setHost("localhost")
+                    .setPort(PORT)
+                    .setKeepAlive(true)
+                    .setMaxPoolSize(1);
+            created.countDown();
+        });
+        created.await(10, TimeUnit.SECONDS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.runOnContext(event -> restClient.close());
+        httpServer.close();
+        vertx.stop();
+    }
+
+    @Benchmark
+    public Payload get() throws Exception {
+        final CompletableFuture<Payload> result = new CompletableFuture<>();
+        context.runOnContext(event -> {
+            final RestClientRequest<Payload> request = restClient.get("/api/users/123", Payload.class, response -> result.complete(response.getBody()));
+            request.exceptionHandler(result::completeExceptionally);
+            request.end();
+        });
+        return result.get(10, TimeUnit.SECONDS);
+    }
+}
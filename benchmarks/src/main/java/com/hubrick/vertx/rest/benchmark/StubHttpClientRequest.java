@@ -0,0 +1,157 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.benchmark;
+
+import org.vertx.java.core.Handler;
+import org.vertx.java.core.MultiMap;
+import org.vertx.java.core.buffer.Buffer;
+import org.vertx.java.core.http.CaseInsensitiveMultiMap;
+import org.vertx.java.core.http.HttpClientRequest;
+
+/**
+ * A {@link HttpClientRequest} which doesn't send anything but keeps what was written, so that converters and request
+ * preparation can be measured without any I/O.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class StubHttpClientRequest implements HttpClientRequest {
+
+    private final MultiMap headers = new CaseInsensitiveMultiMap();
+    private boolean chunked;
+    private Buffer lastChunk;
+    private boolean ended;
+
+    public Buffer getLastChunk() {
+        return lastChunk;
+    }
+
+    public boolean isEnded() {
+        return ended;
+    }
+
+    @Override
+    public HttpClientRequest setChunked(boolean chunked) {
+        this.chunked = chunked;
+        return this;
+    }
+
+    @Override
+    public boolean isChunked() {
+        return chunked;
+    }
+
+    @Override
+    public MultiMap headers() {
+        return headers;
+    }
+
+    @Override
+    public HttpClientRequest putHeader(String name, String value) {
+        headers.set(name, value);
+        return this;
+    }
+
+    @Override
+    public HttpClientRequest putHeader(CharSequence name, CharSequence value) {
+        headers.set(name, value);
+        return this;
+    }
+
+    @Override
+    public HttpClientRequest putHeader(String name, Iterable<String> values) {
+        headers.set(name, values);
+        return this;
+    }
+
+    @Override
+    public HttpClientRequest putHeader(CharSequence name, Iterable<CharSequence> values) {
+        headers.set(name, values);
+        return this;
+    }
+
+    @Override
+    public HttpClientRequest write(Buffer chunk) {
+        lastChunk = chunk;
+        return this;
+    }
+
+    @Override
+    public HttpClientRequest write(String chunk) {
+        return write(new Buffer(chunk));
+    }
+
+    @Override
+    public HttpClientRequest write(String chunk, String enc) {
+        return write(new Buffer(chunk, enc));
+    }
+
+    @Override
+    public HttpClientRequest continueHandler(Handler<Void> handler) {
+        return this;
+    }
+
+    @Override
+    public HttpClientRequest sendHead() {
+        return this;
+    }
+
+    @Override
+    public void end(String chunk) {
+        end(new Buffer(chunk));
+    }
+
+    @Override
+    public void end(String chunk, String enc) {
+        end(new Buffer(chunk, enc));
+    }
+
+    @Override
+    public void end(Buffer chunk) {
+        lastChunk = chunk;
+        ended = true;
+    }
+
+    @Override
+    public void end() {
+        ended = true;
+    }
+
+    @Override
+    public HttpClientRequest setTimeout(long timeoutMs) {
+        return this;
+    }
+
+    @Override
+    public HttpClientRequest setWriteQueueMaxSize(int maxSize) {
+        return this;
+    }
+
+    @Override
+    public boolean writeQueueFull() {
+        return false;
+    }
+
+    @Override
+    public HttpClientRequest drainHandler(Handler<Void> handler) {
+        return this;
+    }
+
+    @Override
+    public HttpClientRequest exceptionHandler(Handler<Throwable> handler) {
+        return this;
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.benchmark;
+
+import org.vertx.java.core.MultiMap;
+import org.vertx.java.core.Vertx;
+import org.vertx.java.core.http.HttpClient;
+import org.vertx.java.core.http.HttpClientResponse;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * Stubs for the parts of the Vert.x HTTP client which are too big to implement by hand. Only the methods the client
+ * calls on the measured paths are answered, everything else returns the default value of its return type.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public final class Stubs {
+
+    private Stubs() {
+    }
+
+    /**
+     * @return A vertx instance which does nothing
+     */
+    public static Vertx vertx() {
+        return (Vertx) Proxy.newProxyInstance(Stubs.class.getClassLoader(), new Class<?>[]{Vertx.class}, (proxy, method, args) -> defaultValue(method.getReturnType()));
+    }
+
+    /**
+     * @return A client whose {@code request} method returns a new {@link StubHttpClientRequest}
+     */
+    public static HttpClient httpClient() {
+        return (HttpClient) Proxy.newProxyInstance(Stubs.class.getClassLoader(), new Class<?>[]{HttpClient.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "request":
+                    return new StubHttpClientRequest();
+                case "getHost":
+                    return "localhost";
+                case "getPort":
+                    return 80;
+                default:
+                    return defaultValue(method.getReturnType());
+            }
+        });
+    }
+
+    /**
+     * @param statusCode The status code of the response
+     * @param headers The headers of the response
+     * @return A response with the given status code and headers
+     */
+    public static HttpClientResponse httpClientResponse(int statusCode, MultiMap headers) {
+        return (HttpClientResponse) Proxy.newProxyInstance(Stubs.class.getClassLoader(), new Class<?>[]{HttpClientResponse.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "statusCode":
+                    return statusCode;
+                case "headers":
+                    return headers;
+                default:
+                    return defaultValue(method.getReturnType());
+            }
+        });
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == long.class) {
+            return 0L;
+        } else {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.benchmark.load;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The collection counts and times of all garbage collectors at one point in time.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class GcStats {
+
+    private final Map<String, long[]> collectors;
+
+    private GcStats(Map<String, long[]> collectors) {
+        this.collectors = collectors;
+    }
+
+    public static GcStats capture() {
+        final Map<String, long[]> collectors = new LinkedHashMap<>();
+        for (GarbageCollectorMXBean garbageCollector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            collectors.put(garbageCollector.getName(), new long[]{garbageCollector.getCollectionCount(), garbageCollector.getCollectionTime()});
+        }
+        return new GcStats(collectors);
+    }
+
+    /**
+     * @param earlier Stats captured before these
+     * @return The collections and the time spent collecting in between
+     */
+    public GcStats since(GcStats earlier) {
+        final Map<String, long[]> collectors = new LinkedHashMap<>();
+        for (Map.Entry<String, long[]> entry : this.collectors.entrySet()) {
+            final long[] before = earlier.collectors.getOrDefault(entry.getKey(), new long[2]);
+            collectors.put(entry.getKey(), new long[]{entry.getValue()[0] - before[0], entry.getValue()[1] - before[1]});
+        }
+        return new GcStats(collectors);
+    }
+
+    /**
+     * @return The names of the collectors mapped to their collection count and collection time in milliseconds
+     */
+    public Map<String, long[]> getCollectors() {
+        return collectors;
+    }
+
+    public long getTotalCollectionTimeInMillis() {
+        long total = 0;
+        for (long[] collector : collectors.values()) {
+            total += collector[1];
+        }
+        return total;
+    }
+}
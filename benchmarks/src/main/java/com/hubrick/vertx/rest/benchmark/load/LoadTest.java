@@ -0,0 +1,171 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.benchmark.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.hubrick.vertx.rest.converter.JacksonJsonHttpMessageConverter;
+import com.hubrick.vertx.rest.converter.StringHttpMessageConverter;
+import com.hubrick.vertx.rest.impl.DefaultRestClient;
+import org.HdrHistogram.Histogram;
+import org.vertx.java.core.Vertx;
+import org.vertx.java.core.VertxFactory;
+
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput and latency of {@link DefaultRestClient} under a constant request rate against a local
+ * {@link StandInServer} or an existing server, and reports latency percentiles, the achieved throughput and the garbage
+ * collections during the measurement. Run it with
+ * <pre>
+ * java -cp target/benchmarks.jar com.hubrick.vertx.rest.benchmark.load.LoadTest --rate 50000 --clients 4 --pool-size 20
+ * </pre>
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public final class LoadTest {
+
+    private static final long DRAIN_TIMEOUT_IN_SECONDS = 30;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (Arrays.asList(args).contains("--help")) {
+            System.out.println(LoadTestOptions.USAGE);
+            return;
+        }
+
+        final LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(LoadTestOptions.USAGE);
+            System.exit(1);
+            return;
+        }
+
+        final Vertx serverVertx = options.isStandInServer() ? VertxFactory.newVertx() : null;
+        final StandInServer standInServer = serverVertx != null ? new StandInServer(serverVertx, options.getServerProfile()) : null;
+        if (standInServer != null) {
+            standInServer.start(options.getHost(), options.getPort());
+        }
+
+        final Vertx clientVertx = VertxFactory.newVertx();
+        final LoadTestResults results = new LoadTestResults();
+        final List<OpenLoopLoadGenerator> loadGenerators = new ArrayList<>();
+        for (int i = 0; i < options.getClients(); i++) {
+            loadGenerators.add(new OpenLoopLoadGenerator(
+                    clientVertx,
+                    () -> new DefaultRestClient(clientVertx, ImmutableList.of(new StringHttpMessageConverter(), new JacksonJsonHttpMessageConverter<>(new ObjectMapper())))
+                            .setHost(options.getHost())
+                            .setPort(options.getPort())
+                            .setKeepAlive(options.isKeepAlive())
+                            .setPipelining(options.isPipelining())
+                            .setMaxPoolSize(options.getMaxPoolSize())
+                            .setMaxWaiterQueueSize(options.getMaxWaiterQueueSize()),
+                    options.getPath(),
+                    (double) options.getRate() / options.getClients(),
+                    results
+            ));
+        }
+
+        System.out.println("Running " + options);
+        final long startNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        final long warmupEndNanos = startNanos + options.getWarmupInNanos();
+        final long endNanos = warmupEndNanos + options.getDurationInNanos();
+        for (OpenLoopLoadGenerator loadGenerator : loadGenerators) {
+            loadGenerator.start(startNanos, warmupEndNanos, endNanos);
+        }
+
+        sleepUntil(warmupEndNanos);
+        final GcStats gcStatsBefore = GcStats.capture();
+        sleepUntil(endNanos);
+        final GcStats gcStats = GcStats.capture().since(gcStatsBefore);
+
+        boolean drained = true;
+        for (OpenLoopLoadGenerator loadGenerator : loadGenerators) {
+            drained &= loadGenerator.awaitDone(DRAIN_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS);
+        }
+
+        report(System.out, options, results, gcStats, drained, warmupEndNanos);
+        if (options.getHistogramFile() != null) {
+            try (PrintStream histogramOut = new PrintStream(new FileOutputStream(options.getHistogramFile()))) {
+                results.getCorrectedLatency().outputPercentileDistribution(histogramOut, 1000.0);
+            }
+        }
+
+        for (OpenLoopLoadGenerator loadGenerator : loadGenerators) {
+            loadGenerator.close();
+        }
+        if (standInServer != null) {
+            standInServer.stop();
+        }
+        System.exit(0);
+    }
+
+    private static void sleepUntil(long nanos) throws InterruptedException {
+        long remaining;
+        while ((remaining = nanos - System.nanoTime()) > 0) {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        }
+    }
+
+    private static void report(PrintStream out, LoadTestOptions options, LoadTestResults results, GcStats gcStats, boolean drained, long warmupEndNanos) {
+        // A client which falls behind keeps completing requests after the measurement ended, which has to count against it
+        final long durationInNanos = Math.max(options.getDurationInNanos(), results.getLastFinishedNanos() - warmupEndNanos);
+        final double durationInSeconds = durationInNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        out.println();
+        out.printf("Requests:    %d sent, %d completed, %d failed%s%n", results.getSent(), results.getCompleted(), results.getFailed(),
+                drained ? "" : ", " + (results.getSent() - results.getCompleted() - results.getFailed()) + " still outstanding after " + DRAIN_TIMEOUT_IN_SECONDS + "s");
+        out.printf("Status:      1xx=%d, 2xx=%d, 3xx=%d, 4xx=%d, 5xx=%d%n", results.getStatusClassCount(1), results.getStatusClassCount(2),
+                results.getStatusClassCount(3), results.getStatusClassCount(4), results.getStatusClassCount(5));
+        out.printf("Throughput:  %.1f req/s completed over %.1fs, %.1f req/s target%n", results.getCompleted() / durationInSeconds, durationInSeconds, (double) options.getRate());
+
+        final Histogram corrected = results.getCorrectedLatency();
+        final Histogram uncorrected = results.getUncorrectedLatency();
+        out.println();
+        out.printf("Latency in ms   %12s %12s%n", "corrected", "uncorrected");
+        out.printf("  mean          %12.3f %12.3f%n", corrected.getMean() / 1000, uncorrected.getMean() / 1000);
+        for (double percentile : PERCENTILES) {
+            out.printf("  p%-12s %12.3f %12.3f%n", formatPercentile(percentile),
+                    corrected.getValueAtPercentile(percentile) / 1000.0, uncorrected.getValueAtPercentile(percentile) / 1000.0);
+        }
+        out.printf("  max           %12.3f %12.3f%n", corrected.getMaxValue() / 1000.0, uncorrected.getMaxValue() / 1000.0);
+
+        out.println();
+        out.printf("GC:          %d ms in total, %.2f%% of the measurement%n", gcStats.getTotalCollectionTimeInMillis(),
+                100.0 * gcStats.getTotalCollectionTimeInMillis() / TimeUnit.NANOSECONDS.toMillis(options.getDurationInNanos()));
+        for (Map.Entry<String, long[]> collector : gcStats.getCollectors().entrySet()) {
+            out.printf("  %-26s %d collections, %d ms%n", collector.getKey(), collector.getValue()[0], collector.getValue()[1]);
+        }
+        final Runtime runtime = Runtime.getRuntime();
+        out.printf("Heap:        %d MB used of %d MB%n", (runtime.totalMemory() - runtime.freeMemory()) >> 20, runtime.totalMemory() >> 20);
+    }
+
+    private static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+}
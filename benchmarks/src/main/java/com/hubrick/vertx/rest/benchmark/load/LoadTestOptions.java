@@ -0,0 +1,210 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.benchmark.load;
+
+import com.google.common.base.Splitter;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * The command line options of the {@link LoadTest}. Every option is given as {@code --name value}.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class LoadTestOptions {
+
+    static final String USAGE = "Options:\n" +
+            "  --rate <n>               Requests per second to send, regardless of the response times (default 1000)\n" +
+            "  --duration <s>           Seconds to measure (default 30)\n" +
+            "  --warmup <s>             Seconds to send at the target rate before measuring (default 10)\n" +
+            "  --clients <n>            Rest clients, each on its own event loop, the rate is split evenly (default 1)\n" +
+            "  --pool-size <n>          Max pool size of each client (default 5)\n" +
+            "  --max-waiters <n>        Max waiter queue size of each client, -1 is unbounded (default -1)\n" +
+            "  --keep-alive <bool>      Keep connections alive (default true)\n" +
+            "  --pipelining <bool>      Pipeline requests on kept alive connections (default false)\n" +
+            "  --target <host:port>     Load an existing server instead of starting the stand-in server\n" +
+            "  --path <path>            The path to request (default /load)\n" +
+            "  --server-latency <ms>    Fixed latency of the stand-in server (default 0)\n" +
+            "  --server-jitter <ms>     Uniformly distributed latency added on top of the fixed one (default 0)\n" +
+            "  --payload-size <bytes>   Size of the response bodies of the stand-in server (default 256)\n" +
+            "  --histogram <file>       Write the corrected latency distribution in .hgrm format to a file";
+
+    private long rate = 1000;
+    private long durationInSeconds = 30;
+    private long warmupInSeconds = 10;
+    private int clients = 1;
+    private int maxPoolSize = 5;
+    private int maxWaiterQueueSize = -1;
+    private boolean keepAlive = true;
+    private boolean pipelining = false;
+    private String host = "localhost";
+    private int port = 18081;
+    private boolean standInServer = true;
+    private String path = "/load";
+    private ServerProfile serverProfile = new ServerProfile(0, 0, 256);
+    private String histogramFile;
+
+    /**
+     * @param args The command line arguments
+     * @return The parsed options
+     * @throws IllegalArgumentException If an option is unknown or has an invalid value
+     */
+    public static LoadTestOptions parse(String[] args) {
+        checkArgument(args.length % 2 == 0, "Every option needs a value");
+
+        final Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < args.length; i += 2) {
+            checkArgument(args[i].startsWith("--"), "Unknown option " + args[i]);
+            values.put(args[i].substring(2), args[i + 1]);
+        }
+
+        final LoadTestOptions options = new LoadTestOptions();
+        long serverLatency = 0;
+        long serverJitter = 0;
+        int payloadSize = 256;
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            final String value = entry.getValue();
+            switch (entry.getKey()) {
+                case "rate":
+                    options.rate = Long.parseLong(value);
+                    break;
+                case "duration":
+                    options.durationInSeconds = Long.parseLong(value);
+                    break;
+                case "warmup":
+                    options.warmupInSeconds = Long.parseLong(value);
+                    break;
+                case "clients":
+                    options.clients = Integer.parseInt(value);
+                    break;
+                case "pool-size":
+                    options.maxPoolSize = Integer.parseInt(value);
+                    break;
+                case "max-waiters":
+                    options.maxWaiterQueueSize = Integer.parseInt(value);
+                    break;
+                case "keep-alive":
+                    options.keepAlive = Boolean.parseBoolean(value);
+                    break;
+                case "pipelining":
+                    options.pipelining = Boolean.parseBoolean(value);
+                    break;
+                case "target":
+                    final Iterator<String> hostAndPort = Splitter.on(':').split(value).iterator();
+                    options.host = hostAndPort.next();
+                    checkArgument(hostAndPort.hasNext(), "target must be of the form host:port");
+                    options.port = Integer.parseInt(hostAndPort.next());
+                    options.standInServer = false;
+                    break;
+                case "path":
+                    options.path = value;
+                    break;
+                case "server-latency":
+                    serverLatency = Long.parseLong(value);
+                    break;
+                case "server-jitter":
+                    serverJitter = Long.parseLong(value);
+                    break;
+                case "payload-size":
+                    payloadSize = Integer.parseInt(value);
+                    break;
+                case "histogram":
+                    options.histogramFile = value;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option --" + entry.getKey());
+            }
+        }
+        options.serverProfile = new ServerProfile(serverLatency, serverJitter, payloadSize);
+
+        checkArgument(options.rate > 0, "rate must be greater than 0");
+        checkArgument(options.durationInSeconds > 0, "duration must be greater than 0");
+        checkArgument(options.warmupInSeconds >= 0, "warmup must not be negative");
+        checkArgument(options.clients > 0, "clients must be greater than 0");
+        checkArgument(options.maxPoolSize > 0, "pool-size must be greater than 0");
+        checkArgument(!options.pipelining || options.keepAlive, "pipelining requires keep-alive");
+        return options;
+    }
+
+    public long getRate() {
+        return rate;
+    }
+
+    public long getDurationInNanos() {
+        return TimeUnit.SECONDS.toNanos(durationInSeconds);
+    }
+
+    public long getWarmupInNanos() {
+        return TimeUnit.SECONDS.toNanos(warmupInSeconds);
+    }
+
+    public int getClients() {
+        return clients;
+    }
+
+    public int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    public int getMaxWaiterQueueSize() {
+        return maxWaiterQueueSize;
+    }
+
+    public boolean isKeepAlive() {
+        return keepAlive;
+    }
+
+    public boolean isPipelining() {
+        return pipelining;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public boolean isStandInServer() {
+        return standInServer;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public ServerProfile getServerProfile() {
+        return serverProfile;
+    }
+
+    public String getHistogramFile() {
+        return histogramFile;
+    }
+
+    @Override
+    public String toString() {
+        return "rate=" + rate + "/s, duration=" + durationInSeconds + "s, warmup=" + warmupInSeconds + "s, clients=" + clients +
+                ", pool-size=" + maxPoolSize + ", max-waiters=" + maxWaiterQueueSize + ", keep-alive=" + keepAlive +
+                ", pipelining=" + pipelining + ", target=" + host + ":" + port + (standInServer ? " (" + serverProfile + ")" : "");
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.benchmark.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the outcome of the measured requests of all {@link OpenLoopLoadGenerator}s. Latencies are recorded in
+ * microseconds twice: corrected, measured from the time the request was scheduled to be sent, and uncorrected, measured
+ * from the time it was actually handed to the client. Only the corrected latencies are free of coordinated omission.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class LoadTestResults {
+
+    private final Recorder correctedLatency = new Recorder(3);
+    private final Recorder uncorrectedLatency = new Recorder(3);
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder[] statusClassCounts = new LongAdder[5];
+    private final LongAccumulator lastFinishedNanos = new LongAccumulator(Math::max, Long.MIN_VALUE);
+    private Histogram correctedHistogram;
+    private Histogram uncorrectedHistogram;
+
+    public LoadTestResults() {
+        for (int i = 0; i < statusClassCounts.length; i++) {
+            statusClassCounts[i] = new LongAdder();
+        }
+    }
+
+    void recordSent() {
+        sent.increment();
+    }
+
+    void recordCompleted(int statusCode, long intendedStartNanos, long actualStartNanos, long endNanos) {
+        completed.increment();
+        final int statusClass = statusCode / 100;
+        if (statusClass >= 1 && statusClass <= 5) {
+            statusClassCounts[statusClass - 1].increment();
+        }
+        correctedLatency.recordValue(TimeUnit.NANOSECONDS.toMicros(endNanos - intendedStartNanos));
+        uncorrectedLatency.recordValue(TimeUnit.NANOSECONDS.toMicros(endNanos - actualStartNanos));
+        lastFinishedNanos.accumulate(endNanos);
+    }
+
+    void recordFailed(long endNanos) {
+        failed.increment();
+        lastFinishedNanos.accumulate(endNanos);
+    }
+
+    public long getSent() {
+        return sent.sum();
+    }
+
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /**
+     * @return When the last measured request completed or failed, as {@link System#nanoTime()}
+     */
+    public long getLastFinishedNanos() {
+        return lastFinishedNanos.get();
+    }
+
+    /**
+     * @param statusClass The status class, 1 for 1xx up to 5 for 5xx
+     * @return The number of completed requests with a status of the given class
+     */
+    public long getStatusClassCount(int statusClass) {
+        return statusClassCounts[statusClass - 1].sum();
+    }
+
+    /**
+     * @return The latencies measured from the scheduled send time in microseconds
+     */
+    public synchronized Histogram getCorrectedLatency() {
+        if (correctedHistogram == null) {
+            correctedHistogram = correctedLatency.getIntervalHistogram();
+        }
+        return correctedHistogram;
+    }
+
+    /**
+     * @return The latencies measured from the actual send time in microseconds
+     */
+    public synchronized Histogram getUncorrectedLatency() {
+        if (uncorrectedHistogram == null) {
+            uncorrectedHistogram = uncorrectedLatency.getIntervalHistogram();
+        }
+        return uncorrectedHistogram;
+    }
+}
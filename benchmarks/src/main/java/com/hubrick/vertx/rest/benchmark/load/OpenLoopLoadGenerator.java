@@ -0,0 +1,202 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.benchmark.load;
+
+import com.hubrick.vertx.rest.RestClient;
+import com.hubrick.vertx.rest.RestClientRequest;
+import com.hubrick.vertx.rest.exception.HttpStatusCodeException;
+import org.vertx.java.core.Context;
+import org.vertx.java.core.Vertx;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Drives one rest client at a fixed rate without waiting for responses (open loop). The send time of every request is
+ * fixed in advance, and its latency is measured from that time, so a stalled client or server shows up in the latencies
+ * instead of silently lowering the rate (coordinated omission).<p>
+ * The client is created on and only used from its own context. Vert.x timers have a resolution of one millisecond, so
+ * every tick sends all requests which became due since the previous one. At low rates this adds up to a millisecond to
+ * the corrected latencies.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class OpenLoopLoadGenerator {
+
+    private final Vertx vertx;
+    private final Supplier<RestClient> restClientFactory;
+    private final String path;
+    private final double intervalInNanos;
+    private final LoadTestResults results;
+    private final CountDownLatch done = new CountDownLatch(1);
+
+    private Context context;
+    private RestClient restClient;
+    private long timerId = -1;
+    private long startNanos;
+    private long warmupEndNanos;
+    private long endNanos;
+    private long scheduled;
+    private long outstanding;
+    private boolean sending;
+
+    /**
+     * @param vertx The vertx instance of the client
+     * @param restClientFactory Creates the client, called once on the context of the generator
+     * @param path The path to request
+     * @param rate The requests per second to send
+     * @param results Where to record the measured requests
+     */
+    public OpenLoopLoadGenerator(Vertx vertx, Supplier<RestClient> restClientFactory, String path, double rate, LoadTestResults results) {
+        checkNotNull(vertx, "vertx must not be null");
+        checkNotNull(restClientFactory, "restClientFactory must not be null");
+        checkNotNull(path, "path must not be null");
+        checkArgument(rate > 0, "rate must be greater than 0");
+        checkNotNull(results, "results must not be null");
+
+        this.vertx = vertx;
+        this.restClientFactory = restClientFactory;
+        this.path = path;
+        this.intervalInNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        this.results = results;
+    }
+
+    /**
+     * Creates the client on a new context and starts sending.
+     *
+     * @param startNanos When to send the first request, as {@link System#nanoTime()}
+     * @param warmupEndNanos Requests scheduled before are sent but not recorded
+     * @param endNanos No requests are scheduled from this time on
+     */
+    public void start(long startNanos, long warmupEndNanos, long endNanos) throws InterruptedException {
+        checkState(context == null, "Already started");
+
+        final CountDownLatch started = new CountDownLatch(1);
+        vertx.runOnContext(event -> {
+            this.context = vertx.currentContext();
+            this.restClient = restClientFactory.get();
+            this.startNanos = startNanos;
+            this.warmupEndNanos = warmupEndNanos;
+            this.endNanos = endNanos;
+            this.sending = true;
+            this.timerId = vertx.setPeriodic(1, id -> tick());
+            started.countDown();
+        });
+        checkState(started.await(10, TimeUnit.SECONDS), "Load generator did not start in time");
+    }
+
+    /**
+     * Waits until the sending has ended and every request has completed or failed.
+     *
+     * @return true if all requests finished in time
+     */
+    public boolean awaitDone(long timeout, TimeUnit unit) throws InterruptedException {
+        return done.await(timeout, unit);
+    }
+
+    public void close() {
+        if (context != null) {
+            context.runOnContext(event -> {
+                if (timerId != -1) {
+                    vertx.cancelTimer(timerId);
+                    timerId = -1;
+                }
+                restClient.close();
+            });
+        }
+    }
+
+    private void tick() {
+        final long now = System.nanoTime();
+        long intendedStartNanos = startNanos + (long) (scheduled * intervalInNanos);
+        while (intendedStartNanos <= now && intendedStartNanos < endNanos) {
+            send(intendedStartNanos);
+            scheduled++;
+            intendedStartNanos = startNanos + (long) (scheduled * intervalInNanos);
+        }
+
+        if (intendedStartNanos >= endNanos) {
+            vertx.cancelTimer(timerId);
+            timerId = -1;
+            sending = false;
+            checkDone();
+        }
+    }
+
+    private void send(long intendedStartNanos) {
+        final Exchange exchange = new Exchange(intendedStartNanos, intendedStartNanos >= warmupEndNanos);
+        outstanding++;
+        if (exchange.measured) {
+            results.recordSent();
+        }
+
+        final RestClientRequest<String> request = restClient.get(path, String.class, response -> exchange.completed(response.statusCode()));
+        request.exceptionHandler(exchange::failed);
+        request.end();
+    }
+
+    private void checkDone() {
+        if (!sending && outstanding == 0) {
+            done.countDown();
+        }
+    }
+
+    private class Exchange {
+
+        private final long intendedStartNanos;
+        private final long actualStartNanos = System.nanoTime();
+        private final boolean measured;
+        private boolean finished;
+
+        private Exchange(long intendedStartNanos, boolean measured) {
+            this.intendedStartNanos = intendedStartNanos;
+            this.measured = measured;
+        }
+
+        private void completed(int statusCode) {
+            if (!finished) {
+                if (measured) {
+                    results.recordCompleted(statusCode, intendedStartNanos, actualStartNanos, System.nanoTime());
+                }
+                finish();
+            }
+        }
+
+        // A request can fail after its response was handled, e.g. when the connection closes, but only counts once
+        private void failed(Throwable exception) {
+            if (exception instanceof HttpStatusCodeException) {
+                completed(((HttpStatusCodeException) exception).getStatusCode());
+            } else if (!finished) {
+                if (measured) {
+                    results.recordFailed(System.nanoTime());
+                }
+                finish();
+            }
+        }
+
+        private void finish() {
+            finished = true;
+            outstanding--;
+            checkDone();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.benchmark.load;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * How the {@link StandInServer} answers: every response is delayed by a fixed latency plus a uniformly distributed
+ * jitter and carries a JSON body of the given size.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class ServerProfile {
+
+    private final long latencyInMillis;
+    private final long jitterInMillis;
+    private final int payloadSize;
+
+    /**
+     * @param latencyInMillis The fixed latency of every response
+     * @param jitterInMillis The upper bound of the random latency added on top of the fixed one
+     * @param payloadSize The size of the response bodies in bytes
+     */
+    public ServerProfile(long latencyInMillis, long jitterInMillis, int payloadSize) {
+        checkArgument(latencyInMillis >= 0, "latencyInMillis must not be negative");
+        checkArgument(jitterInMillis >= 0, "jitterInMillis must not be negative");
+        checkArgument(payloadSize >= 2, "payloadSize must be at least 2");
+
+        this.latencyInMillis = latencyInMillis;
+        this.jitterInMillis = jitterInMillis;
+        this.payloadSize = payloadSize;
+    }
+
+    public long getLatencyInMillis() {
+        return latencyInMillis;
+    }
+
+    public long getJitterInMillis() {
+        return jitterInMillis;
+    }
+
+    public int getPayloadSize() {
+        return payloadSize;
+    }
+
+    @Override
+    public String toString() {
+        return "latency=" + latencyInMillis + "ms, jitter=" + jitterInMillis + "ms, payload-size=" + payloadSize + "b";
+    }
+}
@@ -0,0 +1,111 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.benchmark.load;
+
+import com.google.common.base.Strings;
+import org.vertx.java.core.Vertx;
+import org.vertx.java.core.buffer.Buffer;
+import org.vertx.java.core.http.HttpHeaders;
+import org.vertx.java.core.http.HttpServer;
+import org.vertx.java.core.http.HttpServerRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * A local HTTP server which stands in for a real backend and answers every request according to a {@link ServerProfile}.
+ * Delays are implemented with timers, so a slow profile costs no threads.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class StandInServer {
+
+    private final Vertx vertx;
+    private final ServerProfile serverProfile;
+    private final byte[] body;
+    private final String contentLength;
+    private HttpServer httpServer;
+
+    /**
+     * @param vertx The vertx instance to run on, ideally not the one of the clients under test
+     * @param serverProfile How to answer
+     */
+    public StandInServer(Vertx vertx, ServerProfile serverProfile) {
+        checkNotNull(vertx, "vertx must not be null");
+        checkNotNull(serverProfile, "serverProfile must not be null");
+
+        this.vertx = vertx;
+        this.serverProfile = serverProfile;
+        this.body = ("\"" + Strings.repeat("x", serverProfile.getPayloadSize() - 2) + "\"").getBytes(StandardCharsets.UTF_8);
+        this.contentLength = String.valueOf(body.length);
+    }
+
+    /**
+     * Starts listening and waits until the server is bound.
+     *
+     * @param host The host to bind to
+     * @param port The port to bind to
+     */
+    public void start(String host, int port) throws InterruptedException {
+        checkState(httpServer == null, "Already started");
+
+        final CountDownLatch listening = new CountDownLatch(1);
+        final Throwable[] failure = new Throwable[1];
+        httpServer = vertx.createHttpServer()
+                .requestHandler(this::handle)
+                .listen(port, host, result -> {
+                    failure[0] = result.cause();
+                    listening.countDown();
+                });
+        checkState(listening.await(10, TimeUnit.SECONDS), "Stand-in server did not start in time");
+        if (failure[0] != null) {
+            throw new IllegalStateException("Stand-in server could not listen on " + host + ":" + port, failure[0]);
+        }
+    }
+
+    public void stop() {
+        if (httpServer != null) {
+            httpServer.close();
+            httpServer = null;
+        }
+    }
+
+    private void handle(HttpServerRequest request) {
+        final long delay = serverProfile.getLatencyInMillis()
+                + (serverProfile.getJitterInMillis() > 0 ? ThreadLocalRandom.current().nextLong(serverProfile.getJitterInMillis() + 1) : 0);
+        // The request body has to be consumed before the connection can serve the next request
+        request.endHandler(event -> {
+            if (delay > 0) {
+                vertx.setTimer(delay, timerId -> respond(request));
+            } else {
+                respond(request);
+            }
+        });
+    }
+
+    private void respond(HttpServerRequest request) {
+        request.response()
+                .putHeader(HttpHeaders.CONTENT_TYPE, "application/json")
+                .putHeader(HttpHeaders.CONTENT_LENGTH, contentLength)
+                .end(new Buffer(body));
+    }
+}
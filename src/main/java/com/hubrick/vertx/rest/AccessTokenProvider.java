@@ -0,0 +1,47 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest;
+
+import org.vertx.java.core.AsyncResult;
+import org.vertx.java.core.Handler;
+
+/**
+ * Provides the value of the Authorization header for requests to a protected server, e.g. an OAuth2 bearer token.<p>
+ * If an AccessTokenProvider is set on the {@link com.hubrick.vertx.rest.RestClient}, every request which has no Authorization
+ * header yet asks the provider for one before anything is sent. Implementations must never block the event loop.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public interface AccessTokenProvider {
+
+    /**
+     * Calls the handler with the value of the Authorization header, e.g. {@code Bearer <token>}. The handler may be called
+     * synchronously if a valid value is cached.
+     *
+     * @param handler The handler which is called with the header value or the failure
+     */
+    void getAuthorizationHeader(Handler<AsyncResult<CharSequence>> handler);
+
+    /**
+     * Called when the server rejected a request with {@code 401 Unauthorized}, so a cached value which was revoked or
+     * expired early is not handed out again. Does nothing by default.
+     *
+     * @param authorizationHeader The rejected value of the Authorization header
+     */
+    default void invalidate(CharSequence authorizationHeader) {
+    }
+}
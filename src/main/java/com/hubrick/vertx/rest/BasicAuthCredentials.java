@@ -0,0 +1,145 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest;
+
+import com.google.common.base.Charsets;
+import org.vertx.java.core.MultiMap;
+import org.vertx.java.core.http.HttpHeaders;
+import org.vertx.java.core.json.impl.Base64;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Credentials for the HTTP basic authentication. The value of the Authorization header is encoded once on creation,
+ * so applying the credentials to a request neither allocates nor re-encodes any strings.<p>
+ * Instances of BasicAuthCredentials are immutable and thread-safe.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public final class BasicAuthCredentials {
+
+    /**
+     * The prefix of the Authorization header value for the basic authentication.
+     */
+    public static final String BASIC_PREFIX = "Basic ";
+
+    private final String user;
+    private final String userPassCombination;
+    private final CharSequence authorizationHeaderValue;
+
+    /**
+     * Create new credentials for the given user and password.
+     *
+     * @param user The user, must not contain a colon
+     * @param password The password
+     */
+    public BasicAuthCredentials(String user, String password) {
+        this(checkUser(user) + ":" + checkNotNull(password, "password must not be null"));
+    }
+
+    /**
+     * Create new credentials from the given combination of user and password. A value without a colon is encoded as
+     * it is, like {@link RestClientRequest#setBasicAuth(String)} always did, and taken as the user.
+     *
+     * @param userPassCombination This should be in the following format {@code <user>:<password>}
+     */
+    public BasicAuthCredentials(String userPassCombination) {
+        checkNotNull(userPassCombination, "userPassCombination must not be null");
+        final int separatorIndex = userPassCombination.indexOf(':');
+
+        this.user = separatorIndex != -1 ? userPassCombination.substring(0, separatorIndex) : userPassCombination;
+        this.userPassCombination = userPassCombination;
+        this.authorizationHeaderValue = HttpHeaders.createOptimized(BASIC_PREFIX + Base64.encodeBytes(userPassCombination.getBytes(Charsets.UTF_8)));
+    }
+
+    /**
+     * Decodes the credentials from the value of an Authorization header.
+     *
+     * @param authorizationHeaderValue The value of the Authorization header
+     * @return The credentials if the header value is a valid basic authentication otherwise null.
+     */
+    public static BasicAuthCredentials fromAuthorizationHeader(String authorizationHeaderValue) {
+        if (authorizationHeaderValue == null || !authorizationHeaderValue.regionMatches(true, 0, BASIC_PREFIX, 0, BASIC_PREFIX.length())) {
+            return null;
+        }
+
+        final byte[] decoded = Base64.decode(authorizationHeaderValue.substring(BASIC_PREFIX.length()).trim());
+        if (decoded == null) {
+            return null;
+        }
+
+        return new BasicAuthCredentials(new String(decoded, Charsets.UTF_8));
+    }
+
+    /**
+     * @return The user
+     */
+    public String getUser() {
+        return user;
+    }
+
+    /**
+     * @return The credentials in the following format {@code <user>:<password>}
+     */
+    public String getUserPassCombination() {
+        return userPassCombination;
+    }
+
+    /**
+     * @return The pre-encoded value of the Authorization header
+     */
+    public CharSequence getAuthorizationHeaderValue() {
+        return authorizationHeaderValue;
+    }
+
+    /**
+     * Sets the Authorization header on the given headers.
+     *
+     * @param headers The headers to apply the credentials to
+     */
+    public void applyTo(MultiMap headers) {
+        headers.set(HttpHeaders.AUTHORIZATION, authorizationHeaderValue);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof BasicAuthCredentials)) {
+            return false;
+        }
+        return userPassCombination.equals(((BasicAuthCredentials) other).userPassCombination);
+    }
+
+    @Override
+    public int hashCode() {
+        return userPassCombination.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "BasicAuthCredentials{user=" + user + "}";
+    }
+
+    private static String checkUser(String user) {
+        checkNotNull(user, "user must not be null");
+        checkArgument(user.indexOf(':') == -1, "user must not contain a colon");
+        return user;
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest;
+
+import org.vertx.java.core.Handler;
+
+/**
+ * A connection to a {@code text/event-stream} which is reopened when it ends or fails, sending the id of the last
+ * received event as {@code Last-Event-ID} header. Reconnects wait for the delay requested by the server, or the
+ * reconnect delay if it requested none, doubled for every attempt which did not deliver an event up to the max reconnect
+ * delay. Responses with a 4xx status or a Content-Type other than {@code text/event-stream} close the event source,
+ * a 204 response ends it as requested by the server. The global request timeout of the {@link RestClient} does not
+ * apply, a stream may be quiet for any time.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public interface EventSource {
+
+    /**
+     * Sets a header which is sent with every connection attempt.
+     *
+     * @param name The header name
+     * @param value The header value
+     * @return A reference to this, so multiple method calls can be chained.
+     */
+    EventSource putHeader(String name, String value);
+
+    /**
+     * Sets the id to resume the stream from with the first connection.
+     *
+     * @param lastEventId The id of the last event received before
+     * @return A reference to this, so multiple method calls can be chained.
+     */
+    EventSource setLastEventId(String lastEventId);
+
+    /**
+     * @param reconnectDelayMs The delay before reconnecting unless the server requested one, 3 seconds by default
+     * @return A reference to this, so multiple method calls can be chained.
+     */
+    EventSource setReconnectDelay(long reconnectDelayMs);
+
+    /**
+     * @param maxReconnectDelayMs The upper bound of the growing delay between failing attempts, 1 minute by default
+     * @return A reference to this, so multiple method calls can be chained.
+     */
+    EventSource setMaxReconnectDelay(long maxReconnectDelayMs);
+
+    /**
+     * @param exceptionHandler Called once with the failure which closed the event source
+     * @return A reference to this, so multiple method calls can be chained.
+     */
+    EventSource exceptionHandler(Handler<Throwable> exceptionHandler);
+
+    /**
+     * @param endHandler Called once the server ended the stream with a 204 response
+     * @return A reference to this, so multiple method calls can be chained.
+     */
+    EventSource endHandler(Handler<Void> endHandler);
+
+    /**
+     * @return The id of the last received event, empty if none was sent
+     */
+    String getLastEventId();
+
+    /**
+     * Opens the first connection.
+     */
+    void open();
+
+    /**
+     * Closes the current connection and stops reconnecting. No handler is called afterwards.
+     * <p>
+     * Each event source connects through an HTTP client of its own with the settings of the {@link RestClient}, so its
+     * connection neither counts against nor is returned to the connection pool of the {@link RestClient}. Closing the
+     * {@link RestClient} closes its open event sources.
+     */
+    void close();
+}
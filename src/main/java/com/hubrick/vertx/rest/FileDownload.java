@@ -0,0 +1,66 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A response body which was written to a file by {@link RestClient#download(String, String, org.vertx.java.core.Handler)}.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public final class FileDownload {
+
+    private final String path;
+    private final long size;
+    private final String sha256;
+
+    public FileDownload(String path, long size, String sha256) {
+        checkNotNull(path, "path must not be null");
+        checkNotNull(sha256, "sha256 must not be null");
+
+        this.path = path;
+        this.size = size;
+        this.sha256 = sha256;
+    }
+
+    /**
+     * @return The path of the file the body was written to
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * @return The size of the body in bytes
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * @return The SHA-256 digest of the body as lower case hex string
+     */
+    public String getSha256() {
+        return sha256;
+    }
+
+    @Override
+    public String toString() {
+        return "FileDownload{path='" + path + "', size=" + size + ", sha256=" + sha256 + '}';
+    }
+}
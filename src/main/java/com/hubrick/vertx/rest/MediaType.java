@@ -56,6 +56,16 @@ public class MediaType extends MimeType implements Serializable {
      */
     public final static String APPLICATION_ATOM_XML_VALUE = "application/atom+xml";
 
+    /**
+     * Public constant media type for {@code application/cbor}.
+     */
+    public final static MediaType APPLICATION_CBOR;
+
+    /**
+     * A String equivalent of {@link MediaType#APPLICATION_CBOR}.
+     */
+    public final static String APPLICATION_CBOR_VALUE = "application/cbor";
+
     /**
      * Public constant media type for {@code application/x-www-form-urlencoded}.
      */
@@ -76,6 +86,26 @@ public class MediaType extends MimeType implements Serializable {
      */
     public final static String APPLICATION_JSON_VALUE = "application/json";
 
+    /**
+     * Public constant media type for {@code application/msgpack}.
+     */
+    public final static MediaType APPLICATION_MSGPACK;
+
+    /**
+     * A String equivalent of {@link MediaType#APPLICATION_MSGPACK}.
+     */
+    public final static String APPLICATION_MSGPACK_VALUE = "application/msgpack";
+
+    /**
+     * Public constant media type for {@code application/x-ndjson}.
+     */
+    public final static MediaType APPLICATION_NDJSON;
+
+    /**
+     * A String equivalent of {@link MediaType#APPLICATION_NDJSON}.
+     */
+    public final static String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
     /**
      * Public constant media type for {@code application/octet-stream}.
      */
@@ -86,6 +116,26 @@ public class MediaType extends MimeType implements Serializable {
      */
     public final static String APPLICATION_OCTET_STREAM_VALUE = "application/octet-stream";
 
+    /**
+     * Public constant media type for {@code application/x-protobuf}.
+     */
+    public final static MediaType APPLICATION_PROTOBUF;
+
+    /**
+     * A String equivalent of {@link MediaType#APPLICATION_PROTOBUF}.
+     */
+    public final static String APPLICATION_PROTOBUF_VALUE = "application/x-protobuf";
+
+    /**
+     * Public constant media type for {@code application/x-jackson-smile}.
+     */
+    public final static MediaType APPLICATION_SMILE;
+
+    /**
+     * A String equivalent of {@link MediaType#APPLICATION_SMILE}.
+     */
+    public final static String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
     /**
      * Public constant media type for {@code application/xhtml+xml}.
      */
@@ -146,6 +196,16 @@ public class MediaType extends MimeType implements Serializable {
      */
     public final static String MULTIPART_FORM_DATA_VALUE = "multipart/form-data";
 
+    /**
+     * Public constant media type for {@code text/event-stream}.
+     */
+    public final static MediaType TEXT_EVENT_STREAM;
+
+    /**
+     * A String equivalent of {@link MediaType#TEXT_EVENT_STREAM}.
+     */
+    public final static String TEXT_EVENT_STREAM_VALUE = "text/event-stream";
+
     /**
      * Public constant media type for {@code text/html}.
      */
@@ -183,15 +243,21 @@ public class MediaType extends MimeType implements Serializable {
     static {
         ALL = valueOf(ALL_VALUE);
         APPLICATION_ATOM_XML = valueOf(APPLICATION_ATOM_XML_VALUE);
+        APPLICATION_CBOR = valueOf(APPLICATION_CBOR_VALUE);
         APPLICATION_FORM_URLENCODED = valueOf(APPLICATION_FORM_URLENCODED_VALUE);
         APPLICATION_JSON = valueOf(APPLICATION_JSON_VALUE);
+        APPLICATION_MSGPACK = valueOf(APPLICATION_MSGPACK_VALUE);
+        APPLICATION_NDJSON = valueOf(APPLICATION_NDJSON_VALUE);
         APPLICATION_OCTET_STREAM = valueOf(APPLICATION_OCTET_STREAM_VALUE);
+        APPLICATION_PROTOBUF = valueOf(APPLICATION_PROTOBUF_VALUE);
+        APPLICATION_SMILE = valueOf(APPLICATION_SMILE_VALUE);
         APPLICATION_XHTML_XML = valueOf(APPLICATION_XHTML_XML_VALUE);
         APPLICATION_XML = valueOf(APPLICATION_XML_VALUE);
         IMAGE_GIF = valueOf(IMAGE_GIF_VALUE);
         IMAGE_JPEG = valueOf(IMAGE_JPEG_VALUE);
         IMAGE_PNG = valueOf(IMAGE_PNG_VALUE);
         MULTIPART_FORM_DATA = valueOf(MULTIPART_FORM_DATA_VALUE);
+        TEXT_EVENT_STREAM = valueOf(TEXT_EVENT_STREAM_VALUE);
         TEXT_HTML = valueOf(TEXT_HTML_VALUE);
         TEXT_PLAIN = valueOf(TEXT_PLAIN_VALUE);
         TEXT_XML = valueOf(TEXT_XML_VALUE);
@@ -378,7 +444,7 @@ public class MediaType extends MimeType implements Serializable {
      * @throws IllegalArgumentException if the string cannot be parsed
      */
     public static List<MediaType> parseMediaTypes(String mediaTypes) {
-        if (!Strings.isNullOrEmpty(mediaTypes)) {
+        if (Strings.isNullOrEmpty(mediaTypes)) {
             return Collections.emptyList();
         }
         String[] tokens = mediaTypes.split(",\\s*");
@@ -0,0 +1,198 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest;
+
+import com.google.common.collect.ImmutableList;
+import org.vertx.java.core.buffer.Buffer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The parts of a {@code multipart/form-data} request body, written by the
+ * {@link com.hubrick.vertx.rest.converter.MultipartHttpMessageConverter}. Parts are either held in memory or refer to a
+ * file which is only read while the request is sent.<p>
+ * Instances of MultipartForm are immutable and thread-safe as long as the buffers of the parts are not modified.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public final class MultipartForm {
+
+    private final List<Part> parts;
+
+    private MultipartForm(List<Part> parts) {
+        this.parts = parts;
+    }
+
+    /**
+     * @return A new builder for a {@link MultipartForm}
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public List<Part> getParts() {
+        return parts;
+    }
+
+    /**
+     * @return True if at least one part is read from a file
+     */
+    public boolean hasFileParts() {
+        for (Part part : parts) {
+            if (part.isFile()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "MultipartForm{parts=" + parts + '}';
+    }
+
+    /**
+     * A single part with either in memory content or the path of the file to read the content from.
+     */
+    public static final class Part {
+
+        private final String name;
+        private final String filename;
+        private final MediaType contentType;
+        private final Buffer content;
+        private final String path;
+
+        private Part(String name, String filename, MediaType contentType, Buffer content, String path) {
+            this.name = name;
+            this.filename = filename;
+            this.contentType = contentType;
+            this.content = content;
+            this.path = path;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return The filename sent in the Content-Disposition header or null
+         */
+        public String getFilename() {
+            return filename;
+        }
+
+        /**
+         * @return The Content-Type of the part or null
+         */
+        public MediaType getContentType() {
+            return contentType;
+        }
+
+        /**
+         * @return The content of in memory parts, null for file parts
+         */
+        public Buffer getContent() {
+            return content;
+        }
+
+        /**
+         * @return The path of the file of file parts, null for in memory parts
+         */
+        public String getPath() {
+            return path;
+        }
+
+        public boolean isFile() {
+            return path != null;
+        }
+
+        @Override
+        public String toString() {
+            return "Part{name='" + name + '\'' + (filename != null ? ", filename='" + filename + '\'' : "")
+                    + (contentType != null ? ", contentType=" + contentType : "")
+                    + (path != null ? ", path='" + path + '\'' : ", length=" + content.length()) + '}';
+        }
+    }
+
+    /**
+     * A builder for {@link MultipartForm}s. Parts are sent in the order they are added. Builders are not thread-safe.
+     */
+    public static final class Builder {
+
+        private final ImmutableList.Builder<Part> parts = ImmutableList.builder();
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a text field, encoded as UTF-8.
+         *
+         * @param name The name of the field
+         * @param value The value of the field
+         * @return A reference to this, so multiple method calls can be chained.
+         */
+        public Builder field(String name, String value) {
+            checkNotNull(value, "value must not be null");
+            return part(name, null, null, new Buffer(value.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        /**
+         * Adds a part with in memory content.
+         *
+         * @param name The name of the part
+         * @param filename The filename to send or null
+         * @param contentType The Content-Type of the part or null
+         * @param content The content of the part
+         * @return A reference to this, so multiple method calls can be chained.
+         */
+        public Builder part(String name, String filename, MediaType contentType, Buffer content) {
+            checkArgument(name != null && !name.isEmpty(), "name must not be empty");
+            checkNotNull(content, "content must not be null");
+
+            parts.add(new Part(name, filename, contentType, content, null));
+            return this;
+        }
+
+        /**
+         * Adds a part whose content is streamed from a file while the request is sent.
+         *
+         * @param name The name of the part
+         * @param filename The filename to send or null
+         * @param contentType The Content-Type of the part or null
+         * @param path The path of the file
+         * @return A reference to this, so multiple method calls can be chained.
+         */
+        public Builder file(String name, String filename, MediaType contentType, String path) {
+            checkArgument(name != null && !name.isEmpty(), "name must not be empty");
+            checkArgument(path != null && !path.isEmpty(), "path must not be empty");
+
+            parts.add(new Part(name, filename, contentType, null, path));
+            return this;
+        }
+
+        /**
+         * @return A new {@link MultipartForm} with the parts added so far
+         */
+        public MultipartForm build() {
+            return new MultipartForm(parts.build());
+        }
+    }
+}
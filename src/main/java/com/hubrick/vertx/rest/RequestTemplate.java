@@ -0,0 +1,174 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest;
+
+import com.google.common.base.Joiner;
+import org.vertx.java.core.MultiMap;
+import org.vertx.java.core.http.HttpHeaders;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * An immutable set of HTTP headers which are shared by many requests, e.g. authentication, tenant, Accept, Content-Type or tracing headers.<p>
+ * The header names and values are encoded once when the template is built, so applying a template to a request does
+ * not re-encode them when the request is sent. Applying still copies every header into the headers of the request. A
+ * template can be applied to a single request with
+ * {@link RestClientRequest#applyTemplate(RequestTemplate)} or to every request of a client with
+ * {@link RestClient#setDefaultRequestTemplate(RequestTemplate)}.<p>
+ * Instances of RequestTemplate are immutable and thread-safe.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public final class RequestTemplate {
+
+    private final CharSequence[] names;
+    private final CharSequence[] values;
+    private final boolean[] replaces;
+
+    private RequestTemplate(List<String> names, List<String> values) {
+        final int size = names.size();
+        this.names = new CharSequence[size];
+        this.values = new CharSequence[size];
+        this.replaces = new boolean[size];
+
+        final Set<String> seenNames = new HashSet<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            this.names[i] = HttpHeaders.createOptimized(names.get(i));
+            this.values[i] = HttpHeaders.createOptimized(values.get(i));
+            this.replaces[i] = seenNames.add(names.get(i).toLowerCase(Locale.ENGLISH));
+        }
+    }
+
+    /**
+     * @return A new builder for a {@link RequestTemplate}
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Applies all headers of this template to the given headers. Headers of the template replace existing headers with the same name.
+     *
+     * @param headers The headers to apply the template to
+     */
+    public void applyTo(MultiMap headers) {
+        for (int i = 0; i < names.length; i++) {
+            if (replaces[i]) {
+                headers.set(names[i], values[i]);
+            } else {
+                headers.add(names[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * @return The number of header values in this template
+     */
+    public int size() {
+        return names.length;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("RequestTemplate{");
+        for (int i = 0; i < names.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(names[i]).append(": ").append(values[i]);
+        }
+        return builder.append('}').toString();
+    }
+
+    /**
+     * A builder for {@link RequestTemplate}s. Builders are not thread-safe.
+     */
+    public static final class Builder {
+
+        private final List<String> names = new ArrayList<>();
+        private final List<String> values = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a header. Adding the same header name more than once results in a multi-value header.
+         *
+         * @param name The header name
+         * @param value The header value
+         * @return A reference to this, so multiple method calls can be chained.
+         */
+        public Builder header(String name, String value) {
+            checkArgument(name != null && !name.isEmpty(), "name must not be empty");
+            checkNotNull(value, "value must not be null");
+
+            names.add(name);
+            values.add(value);
+            return this;
+        }
+
+        /**
+         * Adds a header. Adding the same header name more than once results in a multi-value header.
+         *
+         * @param name The header name
+         * @param value The header value
+         * @return A reference to this, so multiple method calls can be chained.
+         */
+        public Builder header(CharSequence name, String value) {
+            checkNotNull(name, "name must not be null");
+            return header(name.toString(), value);
+        }
+
+        /**
+         * Sets the Content-Type header.
+         *
+         * @param contentType The content type
+         * @return A reference to this, so multiple method calls can be chained.
+         */
+        public Builder contentType(MediaType contentType) {
+            checkNotNull(contentType, "contentType must not be null");
+            return header(HttpHeaders.CONTENT_TYPE, contentType.toString());
+        }
+
+        /**
+         * Sets the Accept header.
+         *
+         * @param mediaTypes The accepted media types
+         * @return A reference to this, so multiple method calls can be chained.
+         */
+        public Builder accept(MediaType... mediaTypes) {
+            checkNotNull(mediaTypes, "mediaTypes must not be null");
+            checkArgument(mediaTypes.length > 0, "mediaTypes must not be empty");
+            return header(HttpHeaders.ACCEPT, Joiner.on(",").join(Arrays.asList(mediaTypes)));
+        }
+
+        /**
+         * @return A new immutable {@link RequestTemplate} with the headers added so far
+         */
+        public RequestTemplate build() {
+            return new RequestTemplate(names, values);
+        }
+    }
+}
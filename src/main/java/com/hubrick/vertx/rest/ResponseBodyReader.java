@@ -0,0 +1,42 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest;
+
+import org.vertx.java.core.AsyncResult;
+import org.vertx.java.core.Handler;
+import org.vertx.java.core.http.HttpClientResponse;
+
+/**
+ * Consumes the body of a successful response while it arrives instead of aggregating it in memory and handing it to a
+ * {@link com.hubrick.vertx.rest.converter.HttpMessageConverter}. Used with
+ * {@link RestClient#request(HttpMethod, String, ResponseBodyReader, Handler)}; responses with a 4xx or 5xx status are
+ * still aggregated and turned into exceptions as usual.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public interface ResponseBodyReader<T> {
+
+    /**
+     * Starts reading the body. The data, end and exception handlers of the response are free to use, and the response
+     * can be paused to apply backpressure. The result handler has to be called exactly once, after the body ended or
+     * reading it failed.
+     *
+     * @param httpClientResponse The response with a 2xx or 3xx status
+     * @param resultHandler Receives the value which becomes the body of the {@link RestClientResponse}
+     */
+    void read(HttpClientResponse httpClientResponse, Handler<AsyncResult<T>> resultHandler);
+}
@@ -15,8 +15,15 @@
  */
 package com.hubrick.vertx.rest;
 
+import com.google.common.cache.CacheStats;
+import com.hubrick.vertx.rest.interceptor.RestClientInterceptor;
+import com.hubrick.vertx.rest.metrics.ConnectionPoolStats;
+import com.hubrick.vertx.rest.metrics.RestClientMetrics;
 import org.vertx.java.core.Handler;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * An REST client that maintains a pool of connections to a specific host, at a specific port. The client supports
  * pipelining of requests.<p>
@@ -180,6 +187,103 @@ public interface RestClient extends SslSupport<RestClient> {
      */
     RestClient setConnectionMaxOutstandingRequestCount(int connectionMaxOutstandingRequestCount);
 
+    /**
+     * Set the time in milliseconds for which a {@code 404 Not Found} or {@code 410 Gone} response to a GET request is remembered.<p>
+     * While a GET request with the same uri, {@code Accept} and {@code Authorization} headers is negatively cached, it is not sent to the server. Instead a
+     * {@link com.hubrick.vertx.rest.exception.HttpClientErrorException} with the remembered status, headers and body is passed
+     * to the exception handler when the request is ended.
+     * A value of {@code 0} (the default) disables negative caching. Changing the value discards all remembered responses.
+     *
+     * @param negativeCacheTtlInMillis The time to live of a negative cache entry in millis
+     * @return A reference to this, so multiple invocations can be chained together.
+     */
+    RestClient setNegativeCacheTtl(int negativeCacheTtlInMillis);
+
+    /**
+     * Set the maximum number of requests which are negatively cached at the same time. The default value is {@code 1000}.
+     * Changing the value discards all remembered responses.
+     *
+     * @param negativeCacheMaxSize The maximum number of negative cache entries
+     * @return A reference to this, so multiple invocations can be chained together.
+     */
+    RestClient setNegativeCacheMaxSize(int negativeCacheMaxSize);
+
+    /**
+     * Set a template with headers which will be applied to every request. Headers which are set on the request level
+     * replace headers with the same name from the default template.
+     *
+     * @param defaultRequestTemplate The default request template or {@code null} to remove it
+     * @return A reference to this, so multiple invocations can be chained together.
+     */
+    RestClient setDefaultRequestTemplate(RequestTemplate defaultRequestTemplate);
+
+    /**
+     * Set the credentials for the basic auth which will be used for every request. It can be overridden on Request level.
+     *
+     * @param defaultBasicAuthCredentials The default credentials or {@code null} to remove them
+     * @return A reference to this, so multiple invocations can be chained together.
+     */
+    RestClient setDefaultBasicAuth(BasicAuthCredentials defaultBasicAuthCredentials);
+
+    /**
+     * Set a provider for the Authorization header, e.g. for OAuth2 bearer tokens. Every request which has no Authorization
+     * header when its head is sent asks the provider for one. Nothing is sent before the provider has answered.
+     *
+     * @param accessTokenProvider The access token provider or {@code null} to remove it
+     * @return A reference to this, so multiple invocations can be chained together.
+     */
+    RestClient setAccessTokenProvider(AccessTokenProvider accessTokenProvider);
+
+    /**
+     * Set the metrics to which the outcome and the latencies of every request are reported. Requests are aggregated by host,
+     * method and route tag, see {@link RestClientRequest#setRouteTag(String)}. Requests made with a {@link UriTemplate} are
+     * tagged with the template.
+     *
+     * @param metrics The metrics or {@code null} to disable them
+     * @return A reference to this, so multiple invocations can be chained together.
+     */
+    RestClient setMetrics(RestClientMetrics metrics);
+
+    /**
+     * Add an interceptor which is called on every step of the lifecycle of every request, e.g. to propagate tracing headers.
+     * Interceptors are called in the order in which they were added. Without interceptors, requests are not intercepted at all.
+     *
+     * @param interceptor The interceptor
+     * @return A reference to this, so multiple invocations can be chained together.
+     */
+    RestClient addInterceptor(RestClientInterceptor interceptor);
+
+    /**
+     * Remove an interceptor.
+     *
+     * @param interceptor The interceptor
+     * @return A reference to this, so multiple invocations can be chained together.
+     */
+    RestClient removeInterceptor(RestClientInterceptor interceptor);
+
+    /**
+     * Instrument the connection pool, so {@link #getConnectionPoolStats()} can report the number of open and idle
+     * connections, the number of requests waiting for a connection and the time they waited, and the published metrics
+     * include them.<p>
+     * Vert.x 2 doesn't expose its connection pool, so this replaces the private pool of the HttpClient shipped with
+     * Vert.x 2.1 by a measuring proxy through reflection. It is disabled by default and can't be undone.
+     *
+     * @return A reference to this, so multiple invocations can be chained together.
+     * @throws IllegalStateException If the internals of the HttpClient don't match Vert.x 2.1
+     */
+    RestClient enableConnectionPoolInstrumentation();
+
+    /**
+     * Periodically publish a JSON snapshot of the metrics to the given event bus address. If no metrics are set,
+     * {@link com.hubrick.vertx.rest.metrics.impl.DefaultRestClientMetrics} are set. Custom metrics can't be published.
+     * See {@link com.hubrick.vertx.rest.metrics.impl.EventBusMetricsPublisher} for the format of the snapshot.
+     *
+     * @param address The event bus address or {@code null} to stop publishing
+     * @param intervalInMillis The interval between two snapshots in millis
+     * @return A reference to this, so multiple invocations can be chained together.
+     */
+    RestClient setMetricsPublishing(String address, long intervalInMillis);
+
     /**
      * Close the HTTP client. This will cause any pooled HTTP connections to be closed.
      */
@@ -263,6 +367,76 @@ public interface RestClient extends SslSupport<RestClient> {
      */
     boolean getTryUseCompression();
 
+    /**
+     *
+     * @return The time to live of a negative cache entry in milliseconds. {@code 0} if negative caching is disabled.
+     */
+    int getNegativeCacheTtlInMillis();
+
+    /**
+     *
+     * @return The maximum number of negative cache entries
+     */
+    int getNegativeCacheMaxSize();
+
+    /**
+     *
+     * @return The hit and miss statistics of the negative cache. All counters are zero if negative caching is disabled.
+     */
+    CacheStats getNegativeCacheStats();
+
+    /**
+     *
+     * @return The default request template if present otherwise null.
+     */
+    RequestTemplate getDefaultRequestTemplate();
+
+    /**
+     *
+     * @return The default credentials for the basic auth if present otherwise null.
+     */
+    BasicAuthCredentials getDefaultBasicAuth();
+
+    /**
+     *
+     * @return The access token provider if present otherwise null.
+     */
+    AccessTokenProvider getAccessTokenProvider();
+
+    /**
+     *
+     * @return The metrics if present otherwise null.
+     */
+    RestClientMetrics getMetrics();
+
+    /**
+     *
+     * @return The interceptors in the order in which they are called.
+     */
+    List<RestClientInterceptor> getInterceptors();
+
+    /**
+     *
+     * @return The event bus address the metrics are published to if present otherwise null.
+     */
+    String getMetricsPublishAddress();
+
+    /**
+     * Returns the number of open and idle connections, the number of requests waiting for a connection and the time
+     * they waited. The time spent queued is measured from enabling the connection pool instrumentation on, and each call
+     * returns all times measured so far.
+     *
+     * @return The current connection pool stats
+     * @throws IllegalStateException If the connection pool instrumentation is not enabled, see {@link #enableConnectionPoolInstrumentation()}
+     */
+    ConnectionPoolStats getConnectionPoolStats();
+
+    /**
+     *
+     * @return True if the connection pool instrumentation is enabled.
+     */
+    boolean isConnectionPoolInstrumented();
+
     /**
      * Makes a GET call with no response value.
      *
@@ -359,4 +533,144 @@ public interface RestClient extends SslSupport<RestClient> {
      * @return A reference to the {@link com.hubrick.vertx.rest.RestClientRequest}
      */
     <T> RestClientRequest request(HttpMethod method, String uri, Class<T> responseClass, Handler<RestClientResponse<T>> responseHandler);
+
+    /**
+     * Makes a GET call with no response value.
+     *
+     * @param uriTemplate The uri template which should be expanded and called.
+     * @param uriVariables The variables to expand the uri template with
+     * @param responseHandler The handler for the response callback
+     * @return A reference to the {@link com.hubrick.vertx.rest.RestClientRequest}
+     */
+    RestClientRequest get(UriTemplate uriTemplate, Map<String, ?> uriVariables, Handler<RestClientResponse<Void>> responseHandler);
+
+    /**
+     * Makes a GET call with a expected response value.
+     *
+     * @param uriTemplate The uri template which should be expanded and called.
+     * @param uriVariables The variables to expand the uri template with
+     * @param responseClass The class which represents the response
+     * @param responseHandler The handler for the response callback
+     * @return A reference to the {@link com.hubrick.vertx.rest.RestClientRequest}
+     */
+    <T> RestClientRequest get(UriTemplate uriTemplate, Map<String, ?> uriVariables, Class<T> responseClass, Handler<RestClientResponse<T>> responseHandler);
+
+    /**
+     * Makes a POST call with no response value.
+     *
+     * @param uriTemplate The uri template which should be expanded and called.
+     * @param uriVariables The variables to expand the uri template with
+     * @param responseHandler The handler for the response callback
+     * @return A reference to the {@link com.hubrick.vertx.rest.RestClientRequest}
+     */
+    RestClientRequest post(UriTemplate uriTemplate, Map<String, ?> uriVariables, Handler<RestClientResponse<Void>> responseHandler);
+
+    /**
+     * Makes a POST call with a expected response value.
+     *
+     * @param uriTemplate The uri template which should be expanded and called.
+     * @param uriVariables The variables to expand the uri template with
+     * @param responseClass The class which represents the response
+     * @param responseHandler The handler for the response callback
+     * @return A reference to the {@link com.hubrick.vertx.rest.RestClientRequest}
+     */
+    <T> RestClientRequest post(UriTemplate uriTemplate, Map<String, ?> uriVariables, Class<T> responseClass, Handler<RestClientResponse<T>> responseHandler);
+
+    /**
+     * Makes a PUT call with no response value.
+     *
+     * @param uriTemplate The uri template which should be expanded and called.
+     * @param uriVariables The variables to expand the uri template with
+     * @param responseHandler The handler for the response callback
+     * @return A reference to the {@link com.hubrick.vertx.rest.RestClientRequest}
+     */
+    RestClientRequest put(UriTemplate uriTemplate, Map<String, ?> uriVariables, Handler<RestClientResponse<Void>> responseHandler);
+
+    /**
+     * Makes a PUT call with a expected response value.
+     *
+     * @param uriTemplate The uri template which should be expanded and called.
+     * @param uriVariables The variables to expand the uri template with
+     * @param responseClass The class which represents the response
+     * @param responseHandler The handler for the response callback
+     * @return A reference to the {@link com.hubrick.vertx.rest.RestClientRequest}
+     */
+    <T> RestClientRequest put(UriTemplate uriTemplate, Map<String, ?> uriVariables, Class<T> responseClass, Handler<RestClientResponse<T>> responseHandler);
+
+    /**
+     * Makes a DELETE call with no response value.
+     *
+     * @param uriTemplate The uri template which should be expanded and called.
+     * @param uriVariables The variables to expand the uri template with
+     * @param responseHandler The handler for the response callback
+     * @return A reference to the {@link com.hubrick.vertx.rest.RestClientRequest}
+     */
+    RestClientRequest delete(UriTemplate uriTemplate, Map<String, ?> uriVariables, Handler<RestClientResponse<Void>> responseHandler);
+
+    /**
+     * Makes a DELETE call with a expected response value.
+     *
+     * @param uriTemplate The uri template which should be expanded and called.
+     * @param uriVariables The variables to expand the uri template with
+     * @param responseClass The class which represents the response
+     * @param responseHandler The handler for the response callback
+     * @return A reference to the {@link com.hubrick.vertx.rest.RestClientRequest}
+     */
+    <T> RestClientRequest delete(UriTemplate uriTemplate, Map<String, ?> uriVariables, Class<T> responseClass, Handler<RestClientResponse<T>> responseHandler);
+
+    /**
+     * Makes a GET, POST, PUT or DELETE call with no response value. It's a generic method for REST calls.
+     *
+     * @param method The http method to be used for this call
+     * @param uriTemplate The uri template which should be expanded and called.
+     * @param uriVariables The variables to expand the uri template with
+     * @param responseHandler The handler for the response callback
+     * @return A reference to the {@link com.hubrick.vertx.rest.RestClientRequest}
+     */
+    RestClientRequest request(HttpMethod method, UriTemplate uriTemplate, Map<String, ?> uriVariables, Handler<RestClientResponse<Void>> responseHandler);
+
+    /**
+     * Makes a GET, POST, PUT or DELETE call with a expected response value. It's a generic method for REST calls.
+     *
+     * @param method The http method to be used for this call
+     * @param uriTemplate The uri template which should be expanded and called.
+     * @param uriVariables The variables to expand the uri template with
+     * @param responseClass The class which represents the response
+     * @param responseHandler The handler for the response callback
+     * @return A reference to the {@link com.hubrick.vertx.rest.RestClientRequest}
+     */
+    <T> RestClientRequest request(HttpMethod method, UriTemplate uriTemplate, Map<String, ?> uriVariables, Class<T> responseClass, Handler<RestClientResponse<T>> responseHandler);
+
+    /**
+     * Makes a call whose successful response body is consumed by the given reader while it arrives instead of being
+     * aggregated in memory and converted. Responses with a 4xx or 5xx status fail as usual.
+     *
+     * @param method The http method to be used for this call
+     * @param uri The uri which should be called.
+     * @param responseBodyReader Reads the body of successful responses
+     * @param responseHandler The handler for the response callback, called once the body was read
+     * @return A reference to the {@link com.hubrick.vertx.rest.RestClientRequest}
+     */
+    <T> RestClientRequest<T> request(HttpMethod method, String uri, ResponseBodyReader<T> responseBodyReader, Handler<RestClientResponse<T>> responseHandler);
+
+    /**
+     * Makes a GET call and writes the successful response body to a file as it arrives. An existing file is replaced,
+     * a partially written file is deleted when the download fails.
+     *
+     * @param uri The uri which should be called.
+     * @param path The path of the file to write the body to
+     * @param responseHandler The handler for the response callback, called once the body is on disk
+     * @return A reference to the {@link com.hubrick.vertx.rest.RestClientRequest}
+     */
+    RestClientRequest<FileDownload> download(String uri, String path, Handler<RestClientResponse<FileDownload>> responseHandler);
+
+    /**
+     * Creates an event source which receives the events of a {@code text/event-stream} while they arrive and reconnects
+     * as described by {@link EventSource}. Nothing is sent before {@link EventSource#open()} is called.
+     *
+     * @param uri The uri of the event stream
+     * @param eventHandler The handler for the events
+     * @return The {@link com.hubrick.vertx.rest.EventSource} to configure and open
+     */
+    EventSource eventSource(String uri, Handler<ServerSentEvent> eventHandler);
 }
@@ -0,0 +1,62 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest;
+
+import org.vertx.java.core.Handler;
+
+/**
+ * Collects single lookups by key and resolves them with one request to a bulk endpoint of the server
+ * (e.g. {@code GET /api/users?ids=1,2,3}).<p>
+ * Lookups are collected until either {@link #getMaxBatchSize()} distinct keys are queued or {@link #getMaxDelayInMillis()}
+ * have passed since the first lookup of the batch was queued, whichever occurs first. The results of the bulk request are
+ * then dispatched to the handlers of the single lookups by key.<p>
+ * Instances of RestClientBatcher are not thread-safe and should be used from the event loop on which they were created.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public interface RestClientBatcher<K, V> {
+
+    /**
+     * Queues a lookup for the given key. Lookups for the same key which are queued in the same batch are sent only once.
+     * If the bulk response contains no value for the key the result handler will be called with {@code null}.
+     *
+     * @param key The key to look up
+     * @param resultHandler The handler which is called with the value for the key
+     * @param exceptionHandler The handler which is called if the bulk request fails
+     */
+    void get(K key, Handler<V> resultHandler, Handler<Throwable> exceptionHandler);
+
+    /**
+     * Sends all queued lookups immediately without waiting for the batch to fill up or the delay to pass.
+     */
+    void flush();
+
+    /**
+     * @return The number of distinct keys which are waiting for the next bulk request
+     */
+    int getQueuedKeyCount();
+
+    /**
+     * @return The maximum number of distinct keys per bulk request
+     */
+    int getMaxBatchSize();
+
+    /**
+     * @return The maximum time in milliseconds a lookup waits before the bulk request is sent
+     */
+    long getMaxDelayInMillis();
+}
@@ -17,6 +17,8 @@ package com.hubrick.vertx.rest;
 
 import org.vertx.java.core.Handler;
 import org.vertx.java.core.MultiMap;
+import org.vertx.java.core.streams.ReadStream;
+import rx.Observable;
 
 import java.util.List;
 
@@ -77,6 +79,14 @@ public interface RestClientRequest<T> {
 
     RestClientRequest<T> putHeader(CharSequence name, Iterable<CharSequence> values);
 
+    /**
+     * Put all HTTP headers of the given template. Headers of the template replace existing headers with the same name.
+     *
+     * @param requestTemplate The template with the pre-encoded headers
+     * @return A reference to this, so multiple method calls can be chained.
+     */
+    RestClientRequest<T> applyTemplate(RequestTemplate requestTemplate);
+
     /**
      * Write a object to the request body.
      * NOTE: if using this method you have either to set the request to chunked or
@@ -119,6 +129,37 @@ public interface RestClientRequest<T> {
      */
     void end();
 
+    /**
+     * Ends the request with the content of the file as body. The file is read asynchronously in chunks and written as
+     * fast as the connection takes it, so it is never held in memory. Unless the request is chunked the Content-Length
+     * is taken from the file size, the Content-Type defaults to {@code application/octet-stream}. Failures to read the
+     * file are reported to the exception handler.
+     *
+     * @param filename The path of the file to send
+     */
+    void sendFile(String filename);
+
+    /**
+     * Ends the request with the buffers of the source as body. The source is paused whenever the connection falls behind
+     * and resumed once it drained, so producers are throttled to network speed. Unless a Content-Length header is set
+     * the body is sent chunked, the Content-Type defaults to {@code application/octet-stream}. Failures of the source
+     * are reported to the exception handler.
+     *
+     * @param source The stream to read the body from
+     */
+    void sendStream(ReadStream<?> source);
+
+    /**
+     * Ends the request with the elements of the observable as body, each converted on its own by the
+     * {@link com.hubrick.vertx.rest.converter.HttpMessageConverter} for the Content-Type, which must be set. Elements are
+     * requested one at a time and only while the connection keeps up, observables which do not support backpressure
+     * are written as they emit. Unless a Content-Length header is set the body is sent chunked. Failures of the
+     * observable or the conversion are reported to the exception handler.
+     *
+     * @param elements The elements to send
+     */
+    void sendStream(Observable<?> elements);
+
     /**
      * Set's the amount of time after which if a response is not received TimeoutException()
      * will be sent to the exception handler of this request. Calling this method more than once
@@ -158,18 +199,40 @@ public interface RestClientRequest<T> {
     List<MediaType> getAcceptHeader();
 
     /**
-     * Set's the credentials for the basic auth.
+     * Set's the credentials for the basic auth. The value is encoded as it is, also if it contains no colon.
      *
-     * @param userPassCombination This has to be in the following format {@code <user>:<password>}
+     * @param userPassCombination This should be in the following format {@code <user>:<password>}
      */
     void setBasicAuth(String userPassCombination);
 
+    /**
+     * Set's the credentials for the basic auth. The pre-encoded Authorization header of the credentials is used as is.
+     *
+     * @param basicAuthCredentials The credentials
+     */
+    void setBasicAuth(BasicAuthCredentials basicAuthCredentials);
+
     /**
      *
      * @return The basic auth credentials in the following format {@code <user>:<password>} if present otherwise null.
      */
     String getBasicAuth();
 
+    /**
+     * Set the route tag under which the metrics of this request are aggregated, e.g. {@code /api/users/{id}}.
+     * Without a route tag the metrics are only aggregated by host and method.
+     *
+     * @param routeTag The route tag
+     * @return A reference to this, so multiple invocations can be chained together.
+     */
+    RestClientRequest<T> setRouteTag(String routeTag);
+
+    /**
+     *
+     * @return The route tag if present otherwise null.
+     */
+    String getRouteTag();
+
     /**
      * Set an exception handler. Will override the exception handler which was eventually inherited from {@link com.hubrick.vertx.rest.RestClient}.
      * This exception handler will be inherited by the {@link com.hubrick.vertx.rest.RestClientResponse}. On each level he can we overridden.
@@ -0,0 +1,67 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * An event received from a {@code text/event-stream} by an {@link EventSource}.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public final class ServerSentEvent {
+
+    private final String id;
+    private final String event;
+    private final String data;
+
+    public ServerSentEvent(String id, String event, String data) {
+        checkNotNull(id, "id must not be null");
+        checkNotNull(event, "event must not be null");
+        checkNotNull(data, "data must not be null");
+
+        this.id = id;
+        this.event = event;
+        this.data = data;
+    }
+
+    /**
+     * @return The last event id of the stream when the event was dispatched, empty if none was sent
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return The type of the event, {@code message} if the event did not name one
+     */
+    public String getEvent() {
+        return event;
+    }
+
+    /**
+     * @return The data lines of the event joined by newlines
+     */
+    public String getData() {
+        return data;
+    }
+
+    @Override
+    public String toString() {
+        return "ServerSentEvent{id='" + id + "', event='" + event + "', data='" + data + "'}";
+    }
+}
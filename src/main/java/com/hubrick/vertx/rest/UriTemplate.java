@@ -0,0 +1,425 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest;
+
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A precompiled uri template as defined in <a href="http://tools.ietf.org/html/rfc6570">RFC 6570</a>.<p>
+ * The template is parsed once on creation, so it can be reused for an arbitrary number of expansions.
+ * The following expressions are supported:
+ * <ul>
+ *     <li>{@code {var}} - simple string expansion</li>
+ *     <li>{@code {+var}} - reserved expansion, reserved characters are not encoded</li>
+ *     <li>{@code {#var}} - fragment expansion</li>
+ *     <li>{@code {/var}} - path segment expansion</li>
+ *     <li>{@code {?var}} - form-style query expansion</li>
+ *     <li>{@code {&var}} - form-style query continuation</li>
+ * </ul>
+ * Every expression can contain multiple comma separated variables and each variable can have the explode modifier {@code *}.
+ * Variables with a {@code null} value are omitted. Values of type {@link Iterable} or arrays are expanded as lists.
+ * All other values are converted with {@link String#valueOf(Object)} and percent-encoded as UTF-8.<p>
+ * Instances of UriTemplate are immutable and thread-safe.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public final class UriTemplate implements Serializable {
+
+    private static final long serialVersionUID = -5128620716313917546L;
+
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    /**
+     * Characters which are never encoded.
+     *
+     * @see <a href="http://tools.ietf.org/html/rfc3986#section-2.3">RFC 3986, section 2.3</a>
+     */
+    private static final BitSet UNRESERVED;
+
+    /**
+     * Characters which are not encoded by the reserved and fragment expansion.
+     *
+     * @see <a href="http://tools.ietf.org/html/rfc3986#section-2.2">RFC 3986, section 2.2</a>
+     */
+    private static final BitSet UNRESERVED_OR_RESERVED;
+
+    static {
+        final BitSet unreserved = new BitSet(128);
+        unreserved.set('a', 'z' + 1);
+        unreserved.set('A', 'Z' + 1);
+        unreserved.set('0', '9' + 1);
+        unreserved.set('-');
+        unreserved.set('.');
+        unreserved.set('_');
+        unreserved.set('~');
+
+        final BitSet unreservedOrReserved = new BitSet(128);
+        unreservedOrReserved.or(unreserved);
+        for (char reserved : ":/?#[]@!$&'()*+,;=".toCharArray()) {
+            unreservedOrReserved.set(reserved);
+        }
+
+        UNRESERVED = unreserved;
+        UNRESERVED_OR_RESERVED = unreservedOrReserved;
+    }
+
+    private final String template;
+    private final Part[] parts;
+    private final List<String> variableNames;
+    private final int expectedLength;
+
+    /**
+     * Parses the given uri template.
+     *
+     * @param template The uri template, e.g. {@code /api/users/{id}/items{?page,size}}
+     * @throws IllegalArgumentException if the template is not valid
+     */
+    public UriTemplate(String template) {
+        checkNotNull(template, "template must not be null");
+
+        final List<Part> parts = new ArrayList<>();
+        final Set<String> variableNames = new LinkedHashSet<>();
+        int position = 0;
+        while (position < template.length()) {
+            final int expressionStart = template.indexOf('{', position);
+            if (expressionStart == -1) {
+                parts.add(new Literal(template.substring(position)));
+                break;
+            }
+
+            final int expressionEnd = template.indexOf('}', expressionStart);
+            checkArgument(expressionEnd != -1, "Unclosed expression at position %s in uri template \"%s\"", expressionStart, template);
+            if (expressionStart > position) {
+                parts.add(new Literal(template.substring(position, expressionStart)));
+            }
+
+            final Expression expression = parseExpression(template, expressionStart + 1, expressionEnd);
+            for (Variable variable : expression.variables) {
+                variableNames.add(variable.name);
+            }
+            parts.add(expression);
+            position = expressionEnd + 1;
+        }
+
+        this.template = template;
+        this.parts = parts.toArray(new Part[parts.size()]);
+        this.variableNames = Collections.unmodifiableList(new ArrayList<>(variableNames));
+        this.expectedLength = template.length() + 16 * variableNames.size();
+    }
+
+    /**
+     * @return The names of all variables in the order of their first occurrence in the template
+     */
+    public List<String> getVariableNames() {
+        return variableNames;
+    }
+
+    /**
+     * Expands the template with the given variables.
+     *
+     * @param uriVariables The variable values by variable name. Missing variables are omitted.
+     * @return The expanded and percent-encoded uri
+     */
+    public String expand(Map<String, ?> uriVariables) {
+        checkNotNull(uriVariables, "uriVariables must not be null");
+
+        final StringBuilder uri = new StringBuilder(expectedLength);
+        for (Part part : parts) {
+            part.expand(uriVariables, uri);
+        }
+        return uri.toString();
+    }
+
+    /**
+     * Expands the template with the given variable values. The values are assigned to the variables in the
+     * order of {@link #getVariableNames()}.
+     *
+     * @param uriVariableValues The variable values
+     * @return The expanded and percent-encoded uri
+     */
+    public String expand(Object... uriVariableValues) {
+        checkNotNull(uriVariableValues, "uriVariableValues must not be null");
+        checkArgument(uriVariableValues.length <= variableNames.size(), "Uri template \"%s\" has only %s variables but %s values were given", template, variableNames.size(), uriVariableValues.length);
+
+        final Map<String, Object> uriVariables = new HashMap<>(uriVariableValues.length * 2);
+        for (int i = 0; i < uriVariableValues.length; i++) {
+            uriVariables.put(variableNames.get(i), uriVariableValues[i]);
+        }
+        return expand(uriVariables);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof UriTemplate)) {
+            return false;
+        }
+        return template.equals(((UriTemplate) other).template);
+    }
+
+    @Override
+    public int hashCode() {
+        return template.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+
+    private static Expression parseExpression(String template, int start, int end) {
+        checkArgument(start < end, "Empty expression at position %s in uri template \"%s\"", start - 1, template);
+
+        final Operator operator = Operator.forCharacter(template.charAt(start));
+        final int variablesStart = operator == Operator.SIMPLE ? start : start + 1;
+        final List<Variable> variables = new ArrayList<>();
+        int position = variablesStart;
+        while (position <= end) {
+            int variableEnd = template.indexOf(',', position);
+            if (variableEnd == -1 || variableEnd > end) {
+                variableEnd = end;
+            }
+
+            String name = template.substring(position, variableEnd);
+            final boolean explode = name.endsWith("*");
+            if (explode) {
+                name = name.substring(0, name.length() - 1);
+            }
+            checkArgument(isValidVariableName(name), "Invalid variable name \"%s\" in uri template \"%s\"", name, template);
+            variables.add(new Variable(name, explode));
+            position = variableEnd + 1;
+        }
+
+        return new Expression(operator, variables.toArray(new Variable[variables.size()]));
+    }
+
+    private static boolean isValidVariableName(String name) {
+        if (name.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            final char c = name.charAt(i);
+            if (!UNRESERVED.get(c) || c == '-' || c == '~') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void appendEncoded(CharSequence value, BitSet allowed, StringBuilder uri) {
+        final int length = value.length();
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            if (c < 128) {
+                if (allowed.get(c)) {
+                    uri.append(c);
+                } else {
+                    appendEscaped(c, uri);
+                }
+            } else if (c < 0x800) {
+                appendEscaped(0xC0 | (c >> 6), uri);
+                appendEscaped(0x80 | (c & 0x3F), uri);
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                final int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                appendEscaped(0xF0 | (codePoint >> 18), uri);
+                appendEscaped(0x80 | ((codePoint >> 12) & 0x3F), uri);
+                appendEscaped(0x80 | ((codePoint >> 6) & 0x3F), uri);
+                appendEscaped(0x80 | (codePoint & 0x3F), uri);
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogate, encode the replacement character like String.getBytes() does
+                appendEncoded("?", allowed, uri);
+            } else {
+                appendEscaped(0xE0 | (c >> 12), uri);
+                appendEscaped(0x80 | ((c >> 6) & 0x3F), uri);
+                appendEscaped(0x80 | (c & 0x3F), uri);
+            }
+        }
+    }
+
+    private static void appendEscaped(int b, StringBuilder uri) {
+        uri.append('%').append(HEX_DIGITS[(b >> 4) & 0x0F]).append(HEX_DIGITS[b & 0x0F]);
+    }
+
+    private enum Operator {
+        SIMPLE("", ',', false, UNRESERVED),
+        RESERVED("", ',', false, UNRESERVED_OR_RESERVED),
+        FRAGMENT("#", ',', false, UNRESERVED_OR_RESERVED),
+        PATH_SEGMENT("/", '/', false, UNRESERVED),
+        QUERY("?", '&', true, UNRESERVED),
+        QUERY_CONTINUATION("&", '&', true, UNRESERVED);
+
+        private final String first;
+        private final char separator;
+        private final boolean named;
+        private final BitSet allowed;
+
+        Operator(String first, char separator, boolean named, BitSet allowed) {
+            this.first = first;
+            this.separator = separator;
+            this.named = named;
+            this.allowed = allowed;
+        }
+
+        private static Operator forCharacter(char c) {
+            switch (c) {
+                case '+':
+                    return RESERVED;
+                case '#':
+                    return FRAGMENT;
+                case '/':
+                    return PATH_SEGMENT;
+                case '?':
+                    return QUERY;
+                case '&':
+                    return QUERY_CONTINUATION;
+                case '.':
+                case ';':
+                case '=':
+                case ',':
+                case '!':
+                case '@':
+                case '|':
+                    throw new IllegalArgumentException("Unsupported uri template operator '" + c + "'");
+                default:
+                    return SIMPLE;
+            }
+        }
+    }
+
+    private interface Part extends Serializable {
+
+        void expand(Map<String, ?> uriVariables, StringBuilder uri);
+    }
+
+    private static final class Literal implements Part {
+
+        private static final long serialVersionUID = 2542179522460392519L;
+
+        private final String value;
+
+        private Literal(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public void expand(Map<String, ?> uriVariables, StringBuilder uri) {
+            uri.append(value);
+        }
+    }
+
+    private static final class Variable implements Serializable {
+
+        private static final long serialVersionUID = 8617417463209962180L;
+
+        private final String name;
+        private final boolean explode;
+
+        private Variable(String name, boolean explode) {
+            this.name = name;
+            this.explode = explode;
+        }
+    }
+
+    private static final class Expression implements Part {
+
+        private static final long serialVersionUID = -2862040954580389542L;
+
+        private final Operator operator;
+        private final Variable[] variables;
+
+        private Expression(Operator operator, Variable[] variables) {
+            this.operator = operator;
+            this.variables = variables;
+        }
+
+        @Override
+        public void expand(Map<String, ?> uriVariables, StringBuilder uri) {
+            boolean first = true;
+            for (Variable variable : variables) {
+                final Object value = uriVariables.get(variable.name);
+                if (value == null) {
+                    continue;
+                }
+
+                final Iterator<?> values = toIterator(value);
+                if (values == null) {
+                    first = appendSeparator(first, uri);
+                    appendName(variable, uri);
+                    appendEncoded(String.valueOf(value), operator.allowed, uri);
+                } else if (values.hasNext()) {
+                    first = appendSeparator(first, uri);
+                    appendName(variable, uri);
+                    appendEncoded(String.valueOf(values.next()), operator.allowed, uri);
+                    while (values.hasNext()) {
+                        if (variable.explode) {
+                            uri.append(operator.separator);
+                            appendName(variable, uri);
+                        } else {
+                            uri.append(',');
+                        }
+                        appendEncoded(String.valueOf(values.next()), operator.allowed, uri);
+                    }
+                }
+            }
+        }
+
+        private boolean appendSeparator(boolean first, StringBuilder uri) {
+            if (first) {
+                uri.append(operator.first);
+            } else {
+                uri.append(operator.separator);
+            }
+            return false;
+        }
+
+        private void appendName(Variable variable, StringBuilder uri) {
+            if (operator.named) {
+                uri.append(variable.name).append('=');
+            }
+        }
+
+        private static Iterator<?> toIterator(Object value) {
+            if (value instanceof Iterable) {
+                return ((Iterable<?>) value).iterator();
+            }
+            if (value.getClass().isArray()) {
+                final int length = Array.getLength(value);
+                final List<Object> values = new ArrayList<>(length);
+                for (int i = 0; i < length; i++) {
+                    values.add(Array.get(value, i));
+                }
+                return values.iterator();
+            }
+            return null;
+        }
+    }
+}
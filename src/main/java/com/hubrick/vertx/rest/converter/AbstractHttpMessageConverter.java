@@ -15,9 +15,9 @@
  */
 package com.hubrick.vertx.rest.converter;
 
-import com.google.common.base.Charsets;
 import com.hubrick.vertx.rest.MediaType;
 import com.hubrick.vertx.rest.exception.HttpMessageConverterException;
+import com.hubrick.vertx.rest.logging.BodyLogger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.vertx.java.core.MultiMap;
@@ -81,15 +81,10 @@ public abstract class AbstractHttpMessageConverter<T> implements HttpMessageConv
             }
 
             final byte[] buffer = writeInternal(object, httpClientRequest.headers());
+            BodyLogger.logRequestBody(buffer, headers, !endRequest);
             if(endRequest) {
-                if(log.isDebugEnabled()) {
-                    log.debug("Request body: {}", new String(buffer, Charsets.UTF_8));
-                }
                 httpClientRequest.end(new Buffer(buffer));
             } else {
-                if(log.isDebugEnabled()) {
-                    log.debug("Partial request body: {}", new String(buffer, Charsets.UTF_8));
-                }
                 httpClientRequest.write(new Buffer(buffer));
             }
         } catch (HttpMessageConverterException e) {
@@ -0,0 +1,159 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.converter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hubrick.vertx.rest.MediaType;
+import com.hubrick.vertx.rest.exception.HttpMessageConverterException;
+import org.vertx.java.core.MultiMap;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Base class for converters which map objects with a Jackson {@link ObjectMapper}. The encoding is defined by the
+ * {@link com.fasterxml.jackson.core.JsonFactory} of the mapper, so JSON and binary formats share the same databind
+ * configuration, annotations and modules.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public abstract class AbstractJacksonHttpMessageConverter<T> extends AbstractHttpMessageConverter<T> {
+
+    // Check for Jackson 2.3's overloaded canDeserialize/canSerialize variants with cause reference
+    private static final boolean jackson23Available = getMethodIfAvailable(ObjectMapper.class, "canDeserialize", JavaType.class, AtomicReference.class) != null;
+
+    private final ObjectMapper objectMapper;
+    private final String formatName;
+
+    /**
+     * @param objectMapper The mapper to read and write objects with
+     * @param formatName The name of the format used in error messages
+     * @param supportedMediaTypes The supported media types
+     */
+    protected AbstractJacksonHttpMessageConverter(ObjectMapper objectMapper, String formatName, MediaType... supportedMediaTypes) {
+        super(supportedMediaTypes);
+        checkNotNull(objectMapper, "objectMapper must not be null");
+        checkNotNull(formatName, "formatName must not be null");
+
+        this.objectMapper = objectMapper;
+        this.formatName = formatName;
+    }
+
+    private static Method getMethodIfAvailable(Class<?> clazz, String methodName, Class<?>... paramTypes) {
+        checkNotNull(clazz, "Class must not be null");
+        checkNotNull(methodName, "Method name must not be null");
+        if (paramTypes != null) {
+            try {
+                return clazz.getMethod(methodName, paramTypes);
+            } catch (NoSuchMethodException ex) {
+                return null;
+            }
+        } else {
+            Set<Method> candidates = new HashSet<>(1);
+            Method[] methods = clazz.getMethods();
+            for (Method method : methods) {
+                if (methodName.equals(method.getName())) {
+                    candidates.add(method);
+                }
+            }
+            if (candidates.size() == 1) {
+                return candidates.iterator().next();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * @return The mapper objects are read and written with
+     */
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        JavaType javaType = getJavaType(clazz, null);
+        if (!jackson23Available) {
+            return (this.objectMapper.canDeserialize(javaType) && canRead(mediaType));
+        }
+        AtomicReference<Throwable> causeRef = new AtomicReference<>();
+        if (this.objectMapper.canDeserialize(javaType, causeRef) && canRead(mediaType)) {
+            return true;
+        }
+        Throwable cause = causeRef.get();
+        if (cause != null) {
+            log.warn("Failed to evaluate deserialization for type {}", javaType, cause);
+        }
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        if (!jackson23Available) {
+            return (this.objectMapper.canSerialize(clazz) && canWrite(mediaType));
+        }
+        AtomicReference<Throwable> causeRef = new AtomicReference<Throwable>();
+        if (this.objectMapper.canSerialize(clazz, causeRef) && canWrite(mediaType)) {
+            return true;
+        }
+        Throwable cause = causeRef.get();
+        if (cause != null) {
+            log.warn("Failed to evaluate serialization for type [{}]", clazz, cause);
+        }
+        return false;
+    }
+
+    protected JavaType getJavaType(Type type, Class<?> contextClass) {
+        return this.objectMapper.getTypeFactory().constructType(type, contextClass);
+    }
+
+    /**
+     * Not consulted by this class, {@link #canRead(Class, MediaType)} and {@link #canWrite(Class, MediaType)} are
+     * overridden to ask the {@link ObjectMapper} whether it can handle a class. Final so the type checks of subclasses go
+     * into those methods as well.
+     */
+    @Override
+    protected final boolean supports(Class<?> clazz) {
+        return true;
+    }
+
+    @Override
+    protected T readInternal(Class<? extends T> clazz, byte[] buffer, MultiMap responseHeaders) throws HttpMessageConverterException {
+        try {
+            return objectMapper.readValue(buffer, clazz);
+        } catch (IOException e) {
+            throw new HttpMessageConverterException("Error converting from " + formatName + ".", e);
+        }
+    }
+
+    @Override
+    protected byte[] writeInternal(T object, MultiMap requestHeaders) throws HttpMessageConverterException {
+        try {
+            return objectMapper.writeValueAsBytes(object);
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageConverterException("Error converting to " + formatName + ".", e);
+        }
+    }
+}
@@ -16,26 +16,18 @@
 package com.hubrick.vertx.rest.converter;
 
 import com.google.common.base.Charsets;
-import com.google.common.base.Splitter;
-import com.google.common.collect.FluentIterable;
-import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Multimap;
 import com.hubrick.vertx.rest.MediaType;
 import com.hubrick.vertx.rest.exception.HttpMessageConverterException;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.hubrick.vertx.rest.logging.BodyLogger;
+import org.vertx.java.core.Handler;
 import org.vertx.java.core.buffer.Buffer;
 import org.vertx.java.core.http.HttpClientRequest;
 import org.vertx.java.core.http.HttpClientResponse;
 import org.vertx.java.core.http.HttpHeaders;
 
-import java.io.IOException;
-import java.io.UnsupportedEncodingException;
-import java.net.URLDecoder;
-import java.net.URLEncoder;
 import java.nio.charset.Charset;
-import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -44,44 +36,19 @@ import java.util.List;
  */
 public class FormHttpMessageConverter implements HttpMessageConverter<Multimap<String, Object>> {
 
-    private static final Logger log = LoggerFactory.getLogger(FormHttpMessageConverter.class);
-
     private static final Charset charset = Charsets.UTF_8;
     private static final List<MediaType> supportedMediaTypes = ImmutableList.of(MediaType.APPLICATION_FORM_URLENCODED);
 
     @Override
     public Multimap<String, Object> read(Class<? extends Multimap<String, Object>> clazz, byte[] buffer, HttpClientResponse httpClientResponse) throws HttpMessageConverterException {
         final MediaType mediaType = MediaType.parseMediaType(httpClientResponse.headers().get(HttpHeaders.CONTENT_TYPE));
-        Charset charset = (mediaType.getCharSet() != null ? mediaType.getCharSet() : this.charset);
-        String body = new String(buffer, charset);
-
-        try {
-            String[] pairs = FluentIterable.from(Splitter.on("&").split(body)).toArray(String.class);
-            Multimap<String, Object> result = HashMultimap.create();
-            for (String pair : pairs) {
-                int idx = pair.indexOf('=');
-                if (idx == -1) {
-                    result.put(URLDecoder.decode(pair, charset.name()), null);
-                } else {
-                    String name = URLDecoder.decode(pair.substring(0, idx), charset.name());
-                    String value = URLDecoder.decode(pair.substring(idx + 1), charset.name());
-                    result.put(name, value);
-                }
-            }
-
-            return result;
-        } catch (UnsupportedEncodingException e) {
-            throw new HttpMessageConverterException(e);
-        }
+        final Charset charset = (mediaType.getCharSet() != null ? mediaType.getCharSet() : this.charset);
+        return FormUrlDecoder.decode(buffer, charset);
     }
 
     @Override
     public void write(Multimap<String, Object> object, MediaType contentType, HttpClientRequest httpClientRequest, boolean endRequest) throws HttpMessageConverterException {
-        try {
-            writeForm(object, contentType, httpClientRequest, endRequest);
-        } catch (IOException e) {
-            throw new HttpMessageConverterException(e);
-        }
+        writeForm(object, contentType, httpClientRequest, endRequest);
     }
 
     @Override
@@ -121,7 +88,7 @@ public class FormHttpMessageConverter implements HttpMessageConverter<Multimap<S
         return false;
     }
 
-    private void writeForm(Multimap<String, Object> form, MediaType contentType, HttpClientRequest httpClientRequest, boolean endRequest) throws IOException {
+    private void writeForm(Multimap<String, Object> form, MediaType contentType, HttpClientRequest httpClientRequest, boolean endRequest) {
 
         Charset charset;
         if (contentType != null) {
@@ -132,34 +99,51 @@ public class FormHttpMessageConverter implements HttpMessageConverter<Multimap<S
             charset = this.charset;
         }
 
-        StringBuilder builder = new StringBuilder();
-        for (Iterator<String> nameIterator = form.keySet().iterator(); nameIterator.hasNext(); ) {
-            String name = nameIterator.next();
-            for (Iterator<Object> valueIterator = form.get(name).iterator(); valueIterator.hasNext(); ) {
-                Object value = valueIterator.next();
-                builder.append(URLEncoder.encode(name, charset.name()));
-                if (value != null) {
-                    builder.append('=');
-                    builder.append(URLEncoder.encode(String.valueOf(value), charset.name()));
-                    if (valueIterator.hasNext()) {
-                        builder.append('&');
-                    }
-                }
+        final FormUrlEncoder.Output output = new FormUrlEncoder.Output(FormUrlEncoder.chunk(), null);
+        FormUrlEncoder.encode(form, charset, output);
+        if (output.isSingleChunk()) {
+            final byte[] bytes = output.getPending();
+            httpClientRequest.headers().set(HttpHeaders.CONTENT_LENGTH, String.valueOf(bytes.length));
+
+            BodyLogger.logRequestBody(bytes, charset, !endRequest);
+            if (endRequest) {
+                httpClientRequest.end(new Buffer(bytes));
+            } else {
+                httpClientRequest.write(new Buffer(bytes));
             }
-            if (nameIterator.hasNext()) {
-                builder.append('&');
+        } else {
+            // The first pass only counted the bytes of the large form, the second one streams them chunk by chunk
+            httpClientRequest.headers().set(HttpHeaders.CONTENT_LENGTH, String.valueOf(output.getLength()));
+
+            final ChunkWriter chunkWriter = new ChunkWriter(httpClientRequest, charset);
+            final FormUrlEncoder.Output streamingOutput = new FormUrlEncoder.Output(FormUrlEncoder.chunk(), chunkWriter);
+            FormUrlEncoder.encode(form, charset, streamingOutput);
+            if (endRequest) {
+                httpClientRequest.end(new Buffer(streamingOutput.getPending()));
+            } else {
+                httpClientRequest.write(new Buffer(streamingOutput.getPending()));
             }
         }
-        final String payload = builder.toString();
-        final byte[] bytes = payload.getBytes(charset.name());
-        httpClientRequest.headers().set(HttpHeaders.CONTENT_LENGTH, String.valueOf(bytes.length));
+    }
 
-        if(endRequest) {
-            log.debug("Request body: {}", payload);
-            httpClientRequest.end(new Buffer(bytes));
-        } else {
-            log.debug("Partial request body: {}", payload);
-            httpClientRequest.write(new Buffer(bytes));
+    private static class ChunkWriter implements Handler<Buffer> {
+
+        private final HttpClientRequest httpClientRequest;
+        private final Charset charset;
+        private boolean first = true;
+
+        private ChunkWriter(HttpClientRequest httpClientRequest, Charset charset) {
+            this.httpClientRequest = httpClientRequest;
+            this.charset = charset;
+        }
+
+        @Override
+        public void handle(Buffer chunk) {
+            if (first) {
+                BodyLogger.logRequestBody(chunk.getBytes(), charset, true);
+                first = false;
+            }
+            httpClientRequest.write(chunk);
         }
     }
 }
@@ -0,0 +1,129 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.converter;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.LinkedListMultimap;
+import com.google.common.collect.Multimap;
+import com.hubrick.vertx.rest.exception.HttpMessageConverterException;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Decodes url-encoded forms in a single pass over the bytes, producing the same names and values as
+ * {@link java.net.URLDecoder} without decoding the whole body into a string first. Only names and values which contain
+ * escapes are copied before they become strings. The charset has to encode ASCII like US-ASCII does, which is true for
+ * every charset used for forms in practice.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+final class FormUrlDecoder {
+
+    private static final byte[] ASCII_PROBE = {'&', '=', '%', '+', 'a', 'Z', '0'};
+
+    private final byte[] bytes;
+    private final Charset charset;
+    private byte[] scratch;
+
+    private FormUrlDecoder(byte[] bytes, Charset charset) {
+        this.bytes = bytes;
+        this.charset = charset;
+    }
+
+    /**
+     * Decodes {@code name=value} pairs separated by {@code &}, keeping their order. Names without {@code =} get a null
+     * value, empty pairs are skipped.
+     *
+     * @param bytes The body to decode
+     * @param charset The charset of the names and values after they are percent-decoded
+     * @return The names mapped to their values in the order they appear in the body
+     * @throws HttpMessageConverterException If the charset is not ASCII compatible or an escape is invalid
+     */
+    static Multimap<String, Object> decode(byte[] bytes, Charset charset) {
+        if (!isAsciiCompatible(charset)) {
+            throw new HttpMessageConverterException("Can't decode forms in " + charset + " because it is not ASCII compatible");
+        }
+        return new FormUrlDecoder(bytes, charset).decode();
+    }
+
+    private static boolean isAsciiCompatible(Charset charset) {
+        return Charsets.UTF_8.equals(charset) || Charsets.ISO_8859_1.equals(charset) || Charsets.US_ASCII.equals(charset)
+                || Arrays.equals(ASCII_PROBE, new String(ASCII_PROBE, Charsets.US_ASCII).getBytes(charset));
+    }
+
+    private Multimap<String, Object> decode() {
+        final Multimap<String, Object> result = LinkedListMultimap.create();
+        int start = 0;
+        int equals = -1;
+        boolean nameEscaped = false;
+        boolean valueEscaped = false;
+        for (int i = 0; i <= bytes.length; i++) {
+            final byte b = i < bytes.length ? bytes[i] : (byte) '&';
+            if (b == '&') {
+                if (i > start) {
+                    if (equals == -1) {
+                        result.put(decode(start, i, nameEscaped), null);
+                    } else {
+                        result.put(decode(start, equals, nameEscaped), decode(equals + 1, i, valueEscaped));
+                    }
+                }
+                start = i + 1;
+                equals = -1;
+                nameEscaped = false;
+                valueEscaped = false;
+            } else if (b == '=' && equals == -1) {
+                equals = i;
+            } else if (b == '%' || b == '+') {
+                if (equals == -1) {
+                    nameEscaped = true;
+                } else {
+                    valueEscaped = true;
+                }
+            }
+        }
+        return result;
+    }
+
+    private String decode(int from, int to, boolean escaped) {
+        if (!escaped) {
+            return new String(bytes, from, to - from, charset);
+        }
+
+        if (scratch == null || scratch.length < to - from) {
+            scratch = new byte[Math.max(to - from, 256)];
+        }
+        int length = 0;
+        for (int i = from; i < to; i++) {
+            final byte b = bytes[i];
+            if (b == '+') {
+                scratch[length++] = ' ';
+            } else if (b == '%') {
+                final int high = i + 2 < to ? Character.digit(bytes[i + 1], 16) : -1;
+                final int low = high != -1 ? Character.digit(bytes[i + 2], 16) : -1;
+                if (low == -1) {
+                    throw new HttpMessageConverterException("Invalid escape at position " + i + " of the form");
+                }
+                scratch[length++] = (byte) ((high << 4) | low);
+                i += 2;
+            } else {
+                scratch[length++] = b;
+            }
+        }
+        return new String(scratch, 0, length, charset);
+    }
+}
@@ -0,0 +1,198 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.converter;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.Multimap;
+import org.vertx.java.core.Handler;
+import org.vertx.java.core.buffer.Buffer;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Url-encodes forms straight into bytes, producing the same output as {@link java.net.URLEncoder} without the
+ * intermediate strings. The bytes are collected in a reusable per thread chunk, so forms of any size are encoded with a
+ * constant amount of memory.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+final class FormUrlEncoder {
+
+    static final int CHUNK_SIZE = 64 * 1024;
+
+    private static final boolean[] SAFE = new boolean[128];
+    private static final byte[] HEX = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'};
+    private static final ThreadLocal<byte[]> CHUNKS = ThreadLocal.withInitial(() -> new byte[CHUNK_SIZE]);
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            SAFE[c] = true;
+        }
+        for (char c = 'A'; c <= 'Z'; c++) {
+            SAFE[c] = true;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            SAFE[c] = true;
+        }
+        SAFE['.'] = true;
+        SAFE['-'] = true;
+        SAFE['*'] = true;
+        SAFE['_'] = true;
+    }
+
+    private FormUrlEncoder() {
+    }
+
+    /**
+     * @return The chunk of the current thread, only to be used for a single {@link Output} at a time
+     */
+    static byte[] chunk() {
+        return CHUNKS.get();
+    }
+
+    /**
+     * Encodes the form as {@code name=value} pairs separated by {@code &}. Names with a null value are encoded without
+     * {@code =}.
+     *
+     * @param form The form to encode
+     * @param charset The charset of the names and values before they are percent-encoded
+     * @param output Where to write the bytes
+     */
+    static void encode(Multimap<String, Object> form, Charset charset, Output output) {
+        final boolean utf8 = Charsets.UTF_8.equals(charset);
+        boolean first = true;
+        for (Map.Entry<String, Collection<Object>> entry : form.asMap().entrySet()) {
+            for (Object value : entry.getValue()) {
+                if (!first) {
+                    output.put('&');
+                }
+                first = false;
+
+                encode(entry.getKey(), charset, utf8, output);
+                if (value != null) {
+                    output.put('=');
+                    encode(String.valueOf(value), charset, utf8, output);
+                }
+            }
+        }
+    }
+
+    private static void encode(String string, Charset charset, boolean utf8, Output output) {
+        final int length = string.length();
+        for (int i = 0; i < length; i++) {
+            final char c = string.charAt(i);
+            if (c < 128 && SAFE[c]) {
+                output.put(c);
+            } else if (c == ' ') {
+                output.put('+');
+            } else if (!utf8) {
+                int end = i + 1;
+                while (end < length && !isSafeOrSpace(string.charAt(end))) {
+                    end++;
+                }
+                final ByteBuffer bytes = charset.encode(CharBuffer.wrap(string, i, end));
+                while (bytes.hasRemaining()) {
+                    putEscaped(bytes.get(), output);
+                }
+                i = end - 1;
+            } else if (c < 0x80) {
+                putEscaped(c, output);
+            } else if (c < 0x800) {
+                putEscaped(0xC0 | (c >> 6), output);
+                putEscaped(0x80 | (c & 0x3F), output);
+            } else if (!Character.isSurrogate(c)) {
+                putEscaped(0xE0 | (c >> 12), output);
+                putEscaped(0x80 | ((c >> 6) & 0x3F), output);
+                putEscaped(0x80 | (c & 0x3F), output);
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(string.charAt(i + 1))) {
+                final int codePoint = Character.toCodePoint(c, string.charAt(++i));
+                putEscaped(0xF0 | (codePoint >> 18), output);
+                putEscaped(0x80 | ((codePoint >> 12) & 0x3F), output);
+                putEscaped(0x80 | ((codePoint >> 6) & 0x3F), output);
+                putEscaped(0x80 | (codePoint & 0x3F), output);
+            } else {
+                // Like String.getBytes a malformed surrogate becomes a question mark
+                putEscaped('?', output);
+            }
+        }
+    }
+
+    private static boolean isSafeOrSpace(char c) {
+        return c == ' ' || (c < 128 && SAFE[c]);
+    }
+
+    private static void putEscaped(int b, Output output) {
+        output.put('%');
+        output.put(HEX[(b >> 4) & 0x0F]);
+        output.put(HEX[b & 0x0F]);
+    }
+
+    /**
+     * Collects the encoded bytes in a chunk and hands a copy of it to the chunk handler whenever it is full. Without a
+     * chunk handler full chunks are only counted.
+     */
+    static class Output {
+
+        private final byte[] chunk;
+        private final Handler<Buffer> chunkHandler;
+        private int position;
+        private long flushed;
+
+        Output(byte[] chunk, Handler<Buffer> chunkHandler) {
+            this.chunk = chunk;
+            this.chunkHandler = chunkHandler;
+        }
+
+        void put(int b) {
+            if (position == chunk.length) {
+                flush();
+            }
+            chunk[position++] = (byte) b;
+        }
+
+        void flush() {
+            if (chunkHandler != null && position > 0) {
+                chunkHandler.handle(new Buffer(Arrays.copyOf(chunk, position)));
+            }
+            flushed += position;
+            position = 0;
+        }
+
+        /**
+         * @return True if no chunk was flushed yet, so all bytes are still in the current chunk
+         */
+        boolean isSingleChunk() {
+            return flushed == 0;
+        }
+
+        /**
+         * @return The bytes which were not flushed yet
+         */
+        byte[] getPending() {
+            return Arrays.copyOf(chunk, position);
+        }
+
+        long getLength() {
+            return flushed + position;
+        }
+    }
+}
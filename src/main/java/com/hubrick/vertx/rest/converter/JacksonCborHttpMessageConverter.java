@@ -0,0 +1,40 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.converter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.hubrick.vertx.rest.MediaType;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Encodes objects as CBOR (RFC 7049), a compact binary encoding of the JSON data model. Requires
+ * {@code com.fasterxml.jackson.dataformat:jackson-dataformat-cbor} on the classpath.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class JacksonCborHttpMessageConverter<T> extends AbstractJacksonHttpMessageConverter<T> {
+
+    /**
+     * @param objectMapper A mapper created with a {@link CBORFactory}, e.g. {@code new ObjectMapper(new CBORFactory())}
+     */
+    public JacksonCborHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper, "cbor", MediaType.APPLICATION_CBOR);
+        checkArgument(objectMapper.getFactory() instanceof CBORFactory, "objectMapper must be created with a CBORFactory");
+    }
+}
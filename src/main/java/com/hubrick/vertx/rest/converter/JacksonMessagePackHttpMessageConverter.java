@@ -0,0 +1,41 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.converter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hubrick.vertx.rest.MediaType;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Encodes objects as MessagePack. Bodies are written as {@code application/msgpack}, the commonly used
+ * {@code application/x-msgpack} is read as well. Requires {@code org.msgpack:jackson-dataformat-msgpack} on the
+ * classpath.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class JacksonMessagePackHttpMessageConverter<T> extends AbstractJacksonHttpMessageConverter<T> {
+
+    /**
+     * @param objectMapper A mapper created with a {@link MessagePackFactory}, e.g. {@code new ObjectMapper(new MessagePackFactory())}
+     */
+    public JacksonMessagePackHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper, "msgpack", MediaType.APPLICATION_MSGPACK, new MediaType("application", "x-msgpack"));
+        checkArgument(objectMapper.getFactory() instanceof MessagePackFactory, "objectMapper must be created with a MessagePackFactory");
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.converter;
+
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.hubrick.vertx.rest.MediaType;
+import com.hubrick.vertx.rest.ResponseBodyReader;
+import com.hubrick.vertx.rest.exception.HttpMessageConverterException;
+import org.vertx.java.core.Handler;
+import org.vertx.java.core.MultiMap;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Writes each object as one line of newline-delimited JSON, so the elements of a
+ * {@link com.hubrick.vertx.rest.RestClientRequest#sendStream(rx.Observable)} become the records of the body. An
+ * {@link Iterable}, an object array or a JSON array node is written as one line per element. Records are never
+ * indented, whatever the {@link SerializationFeature#INDENT_OUTPUT} setting of the mapper.
+ * A response body is a sequence of records rather than one object and is therefore not read by this converter, use
+ * a {@link #recordReader(Class, Handler)} to read it record by record while it arrives.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class JacksonNdjsonHttpMessageConverter<T> extends AbstractJacksonHttpMessageConverter<T> {
+
+    private static final byte NEWLINE = '\n';
+
+    private final ObjectWriter objectWriter;
+
+    public JacksonNdjsonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper, "json", MediaType.APPLICATION_NDJSON);
+
+        // An indented record would span several lines
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    /**
+     * Creates a reader which hands each record of a response body to the handler as soon as its line arrived. Only the
+     * record which is not complete yet is held in memory. Blank lines are skipped, the result is the number of records.
+     *
+     * @param recordClass The class to read the records as
+     * @param recordHandler Called with each record in order
+     * @return The reader to pass to {@link com.hubrick.vertx.rest.RestClient#request(com.hubrick.vertx.rest.HttpMethod, String, ResponseBodyReader, Handler)}
+     */
+    public <R> ResponseBodyReader<Long> recordReader(Class<R> recordClass, Handler<R> recordHandler) {
+        return new NdjsonRecordReader<>(getObjectMapper().reader(recordClass), recordHandler);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        // The elements of a primitive array are no records
+        return !(clazz.isArray() && clazz.getComponentType().isPrimitive()) && super.canWrite(clazz, mediaType);
+    }
+
+    @Override
+    protected T readInternal(Class<? extends T> clazz, byte[] buffer, MultiMap responseHeaders) throws HttpMessageConverterException {
+        throw new HttpMessageConverterException("Error converting from json. Records are read with a recordReader.");
+    }
+
+    @Override
+    protected byte[] writeInternal(T object, MultiMap requestHeaders) throws HttpMessageConverterException {
+        try (ByteArrayBuilder builder = new ByteArrayBuilder()) {
+            for (Object record : toRecords(object)) {
+                objectWriter.writeValue(builder, record);
+                builder.write(NEWLINE);
+            }
+            return builder.toByteArray();
+        } catch (IOException e) {
+            throw new HttpMessageConverterException("Error converting to json.", e);
+        }
+    }
+
+    private static Iterable<?> toRecords(Object object) {
+        if (object instanceof JsonNode) {
+            // Object nodes are iterable as well, their values are no records
+            return ((JsonNode) object).isArray() ? (JsonNode) object : Collections.singleton(object);
+        } else if (object instanceof Iterable) {
+            return (Iterable<?>) object;
+        } else if (object instanceof Object[]) {
+            return Arrays.asList((Object[]) object);
+        }
+        return Collections.singleton(object);
+    }
+}
@@ -0,0 +1,41 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.converter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.hubrick.vertx.rest.MediaType;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Encodes objects as Smile, the binary equivalent of JSON. It maps the same objects as the
+ * {@link JacksonJsonHttpMessageConverter} but is parsed considerably faster and produces smaller bodies. Requires
+ * {@code com.fasterxml.jackson.dataformat:jackson-dataformat-smile} on the classpath.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class JacksonSmileHttpMessageConverter<T> extends AbstractJacksonHttpMessageConverter<T> {
+
+    /**
+     * @param objectMapper A mapper created with a {@link SmileFactory}, e.g. {@code new ObjectMapper(new SmileFactory())}
+     */
+    public JacksonSmileHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper, "smile", MediaType.APPLICATION_SMILE);
+        checkArgument(objectMapper.getFactory() instanceof SmileFactory, "objectMapper must be created with a SmileFactory");
+    }
+}
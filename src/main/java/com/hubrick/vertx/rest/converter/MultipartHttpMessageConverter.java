@@ -0,0 +1,262 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.converter;
+
+import com.google.common.collect.ImmutableList;
+import com.hubrick.vertx.rest.MediaType;
+import com.hubrick.vertx.rest.MultipartForm;
+import com.hubrick.vertx.rest.exception.HttpMessageConverterException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vertx.java.core.Handler;
+import org.vertx.java.core.Vertx;
+import org.vertx.java.core.buffer.Buffer;
+import org.vertx.java.core.file.AsyncFile;
+import org.vertx.java.core.http.HttpClientRequest;
+import org.vertx.java.core.http.HttpClientResponse;
+import org.vertx.java.core.http.HttpHeaders;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Writes {@link MultipartForm}s as {@code multipart/form-data} with chunked transfer encoding. Parts are sent one after
+ * the other behind a {@link WriteWindow}, file parts are read from an {@link AsyncFile} only while the request keeps up,
+ * so no file is ever held in memory, not even before the request has its connection. All files are opened before the first byte is written, so a missing file fails the request
+ * without sending anything. Reading multipart responses is not supported.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class MultipartHttpMessageConverter implements StreamingHttpMessageConverter<MultipartForm> {
+
+    private static final Logger log = LoggerFactory.getLogger(MultipartHttpMessageConverter.class);
+    private static final List<MediaType> supportedMediaTypes = ImmutableList.of(MediaType.MULTIPART_FORM_DATA);
+    private static final char[] BOUNDARY_CHARS = "-_1234567890abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+    private static final Buffer CRLF = new Buffer("\r\n");
+
+    private final Vertx vertx;
+
+    /**
+     * @param vertx The vertx instance whose file system is used to read file parts
+     */
+    public MultipartHttpMessageConverter(Vertx vertx) {
+        checkNotNull(vertx, "vertx must not be null");
+        this.vertx = vertx;
+    }
+
+    @Override
+    public MultipartForm read(Class<? extends MultipartForm> clazz, byte[] buffer, HttpClientResponse httpClientResponse) throws HttpMessageConverterException {
+        throw new HttpMessageConverterException("Reading multipart responses is not supported");
+    }
+
+    @Override
+    public void write(MultipartForm object, MediaType contentType, HttpClientRequest httpClientRequest, boolean endRequest, Handler<Throwable> exceptionHandler) throws HttpMessageConverterException {
+        if (!endRequest && object.hasFileParts()) {
+            throw new HttpMessageConverterException("Multipart forms with file parts can only be sent with end");
+        }
+
+        String boundary = contentType != null ? contentType.getParameter("boundary") : null;
+        if (boundary == null) {
+            boundary = generateBoundary();
+        }
+        // Not formatted by MediaType, which lower-cases parameter values
+        httpClientRequest.headers().set(HttpHeaders.CONTENT_TYPE, MediaType.MULTIPART_FORM_DATA_VALUE + "; boundary=" + boundary);
+        httpClientRequest.headers().remove(HttpHeaders.CONTENT_LENGTH);
+        httpClientRequest.setChunked(true);
+
+        final MultipartWriter multipartWriter = new MultipartWriter(object.getParts(), boundary, httpClientRequest, endRequest, exceptionHandler);
+        if (object.hasFileParts()) {
+            multipartWriter.openFiles(0);
+        } else {
+            multipartWriter.writePart(0);
+        }
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes() {
+        return supportedMediaTypes;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        if (!MultipartForm.class.isAssignableFrom(clazz)) {
+            return false;
+        }
+        return mediaType == null || MediaType.ALL.equals(mediaType) || MediaType.MULTIPART_FORM_DATA.isCompatibleWith(mediaType);
+    }
+
+    private static String generateBoundary() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final char[] boundary = new char[32];
+        for (int i = 0; i < boundary.length; i++) {
+            boundary[i] = BOUNDARY_CHARS[random.nextInt(BOUNDARY_CHARS.length)];
+        }
+        return new String(boundary);
+    }
+
+    private static Buffer createPartHeader(MultipartForm.Part part, String boundary, boolean first) {
+        final StringBuilder header = new StringBuilder(128);
+        if (!first) {
+            header.append("\r\n");
+        }
+        header.append("--").append(boundary).append("\r\n");
+        header.append("Content-Disposition: form-data; name=\"").append(escape(part.getName())).append('"');
+        if (part.getFilename() != null) {
+            header.append("; filename=\"").append(escape(part.getFilename())).append('"');
+        }
+        header.append("\r\n");
+        if (part.getContentType() != null) {
+            header.append("Content-Type: ").append(part.getContentType()).append("\r\n");
+        }
+        header.append("\r\n");
+        return new Buffer(header.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\r", "%0D").replace("\n", "%0A");
+    }
+
+    /**
+     * Writes the parts of one form, continuing from the callbacks of the files and the drain handler of the request.
+     */
+    private class MultipartWriter {
+
+        private final List<MultipartForm.Part> parts;
+        private final String boundary;
+        private final HttpClientRequest httpClientRequest;
+        private final boolean endRequest;
+        private final Handler<Throwable> exceptionHandler;
+        private final AsyncFile[] files;
+        private final WriteWindow writeWindow;
+        private boolean failed;
+
+        private MultipartWriter(List<MultipartForm.Part> parts,
+                                String boundary,
+                                HttpClientRequest httpClientRequest,
+                                boolean endRequest,
+                                Handler<Throwable> exceptionHandler) {
+            this.parts = parts;
+            this.boundary = boundary;
+            this.httpClientRequest = httpClientRequest;
+            this.endRequest = endRequest;
+            this.exceptionHandler = exceptionHandler;
+            this.files = new AsyncFile[parts.size()];
+            this.writeWindow = new WriteWindow(vertx, httpClientRequest);
+        }
+
+        private void openFiles(int index) {
+            if (index == parts.size()) {
+                writePart(0);
+                return;
+            }
+
+            final MultipartForm.Part part = parts.get(index);
+            if (!part.isFile()) {
+                openFiles(index + 1);
+                return;
+            }
+
+            vertx.fileSystem().open(part.getPath(), null, true, false, false, result -> {
+                if (result.failed()) {
+                    fail(new HttpMessageConverterException("Could not open file " + part.getPath() + " of part " + part.getName(), result.cause()));
+                    return;
+                }
+                files[index] = result.result();
+                openFiles(index + 1);
+            });
+        }
+
+        private void writePart(int index) {
+            if (failed) {
+                return;
+            }
+
+            for (int i = index; i < parts.size(); i++) {
+                final MultipartForm.Part part = parts.get(i);
+                write(createPartHeader(part, boundary, i == 0));
+                if (part.isFile()) {
+                    writeFile(part, i);
+                    return;
+                }
+
+                write(part.getContent());
+                if (endRequest && writeWindow.isFull() && i + 1 < parts.size()) {
+                    final int next = i + 1;
+                    writeWindow.drainHandler(() -> writePart(next));
+                    return;
+                }
+            }
+
+            final Buffer closingBoundary = new Buffer(parts.isEmpty() ? "" : "\r\n");
+            closingBoundary.appendString("--").appendString(boundary).appendString("--").appendBuffer(CRLF);
+            if (endRequest) {
+                httpClientRequest.end(closingBoundary);
+            } else {
+                httpClientRequest.write(closingBoundary);
+            }
+        }
+
+        private void write(Buffer buffer) {
+            httpClientRequest.write(buffer);
+            writeWindow.written(buffer.length());
+        }
+
+        private void writeFile(MultipartForm.Part part, int index) {
+            final AsyncFile file = files[index];
+            file.exceptionHandler(throwable -> {
+                file.dataHandler(null);
+                fail(new HttpMessageConverterException("Could not read file " + part.getPath() + " of part " + part.getName(), throwable));
+            });
+            file.endHandler(event -> {
+                files[index] = null;
+                file.close();
+                writePart(index + 1);
+            });
+            // Starts reading the file
+            file.dataHandler(buffer -> {
+                write(buffer);
+                if (writeWindow.isFull()) {
+                    file.pause();
+                    writeWindow.drainHandler(file::resume);
+                }
+            });
+        }
+
+        private void fail(Throwable throwable) {
+            failed = true;
+            for (AsyncFile file : files) {
+                if (file != null) {
+                    file.close();
+                }
+            }
+
+            if (exceptionHandler != null) {
+                exceptionHandler.handle(throwable);
+            } else {
+                log.error("Could not write multipart form", throwable);
+            }
+        }
+    }
+}
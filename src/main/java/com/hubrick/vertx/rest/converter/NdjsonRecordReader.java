@@ -0,0 +1,166 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.converter;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.hubrick.vertx.rest.ResponseBodyReader;
+import com.hubrick.vertx.rest.exception.HttpMessageConverterException;
+import io.netty.buffer.ByteBuf;
+import org.vertx.java.core.AsyncResult;
+import org.vertx.java.core.Handler;
+import org.vertx.java.core.buffer.Buffer;
+import org.vertx.java.core.http.HttpClientResponse;
+import org.vertx.java.core.impl.DefaultFutureResult;
+
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Splits a newline-delimited JSON body into lines as the chunks arrive and reads each line as one record. Lines are
+ * parsed straight from the chunk, only a line spanning chunks is copied.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+class NdjsonRecordReader<R> implements ResponseBodyReader<Long> {
+
+    private final ObjectReader objectReader;
+    private final Handler<R> recordHandler;
+
+    NdjsonRecordReader(ObjectReader objectReader, Handler<R> recordHandler) {
+        checkNotNull(objectReader, "objectReader must not be null");
+        checkNotNull(recordHandler, "recordHandler must not be null");
+
+        this.objectReader = objectReader;
+        this.recordHandler = recordHandler;
+    }
+
+    @Override
+    public void read(HttpClientResponse httpClientResponse, Handler<AsyncResult<Long>> resultHandler) {
+        final Records records = new Records(resultHandler);
+        httpClientResponse.dataHandler(records::handleChunk);
+        httpClientResponse.endHandler(event -> records.handleEnd());
+        httpClientResponse.exceptionHandler(records::fail);
+    }
+
+    private class Records {
+
+        private final Handler<AsyncResult<Long>> resultHandler;
+        private byte[] partialLine = new byte[256];
+        private int partialLineLength;
+        private long count;
+        private boolean done;
+
+        private Records(Handler<AsyncResult<Long>> resultHandler) {
+            this.resultHandler = resultHandler;
+        }
+
+        private void handleChunk(Buffer chunk) {
+            if (done) {
+                return;
+            }
+
+            final ByteBuf byteBuf = chunk.getByteBuf();
+            final byte[] bytes;
+            final int offset;
+            if (byteBuf.hasArray()) {
+                bytes = byteBuf.array();
+                offset = byteBuf.arrayOffset() + byteBuf.readerIndex();
+            } else {
+                bytes = chunk.getBytes();
+                offset = 0;
+            }
+
+            final int end = offset + byteBuf.readableBytes();
+            int lineStart = offset;
+            for (int i = offset; i < end && !done; i++) {
+                if (bytes[i] == '\n') {
+                    if (partialLineLength > 0) {
+                        appendPartialLine(bytes, lineStart, i - lineStart);
+                        handleLine(partialLine, 0, partialLineLength);
+                        partialLineLength = 0;
+                    } else {
+                        handleLine(bytes, lineStart, i - lineStart);
+                    }
+                    lineStart = i + 1;
+                }
+            }
+            if (!done && lineStart < end) {
+                appendPartialLine(bytes, lineStart, end - lineStart);
+            }
+        }
+
+        private void handleEnd() {
+            if (done) {
+                return;
+            }
+            if (partialLineLength > 0) {
+                handleLine(partialLine, 0, partialLineLength);
+            }
+            if (!done) {
+                done = true;
+                resultHandler.handle(new DefaultFutureResult<>(count));
+            }
+        }
+
+        private void handleLine(byte[] bytes, int offset, int length) {
+            if (isBlank(bytes, offset, length)) {
+                return;
+            }
+
+            final R record;
+            try {
+                record = objectReader.readValue(bytes, offset, length);
+            } catch (Exception e) {
+                fail(new HttpMessageConverterException("Error converting record " + (count + 1) + " from json.", e));
+                return;
+            }
+            count++;
+            try {
+                recordHandler.handle(record);
+            } catch (Throwable t) {
+                fail(t);
+            }
+        }
+
+        private void appendPartialLine(byte[] bytes, int offset, int length) {
+            if (partialLineLength + length > partialLine.length) {
+                partialLine = Arrays.copyOf(partialLine, Math.max(partialLine.length * 2, partialLineLength + length));
+            }
+            System.arraycopy(bytes, offset, partialLine, partialLineLength, length);
+            partialLineLength += length;
+        }
+
+        private void fail(Throwable throwable) {
+            if (!done) {
+                done = true;
+                partialLine = null;
+                resultHandler.handle(new DefaultFutureResult<>(throwable));
+            }
+        }
+
+        private boolean isBlank(byte[] bytes, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                final byte b = bytes[i];
+                if (b != ' ' && b != '\t' && b != '\r') {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.converter;
+
+import com.google.protobuf.ExtensionRegistryLite;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import com.google.protobuf.Parser;
+import com.hubrick.vertx.rest.MediaType;
+import com.hubrick.vertx.rest.exception.HttpMessageConverterException;
+import org.vertx.java.core.MultiMap;
+
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Encodes generated Protocol Buffers messages in their binary wire format. The parser of a message class is looked up
+ * through its default instance once and cached, so reading a body costs no reflection. Requires
+ * {@code com.google.protobuf:protobuf-java} on the classpath.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class ProtobufHttpMessageConverter extends AbstractHttpMessageConverter<Message> {
+
+    private final ConcurrentMap<Class<?>, Parser<?>> parsers = new ConcurrentHashMap<>();
+    private final ExtensionRegistryLite extensionRegistry;
+
+    public ProtobufHttpMessageConverter() {
+        this(ExtensionRegistryLite.getEmptyRegistry());
+    }
+
+    /**
+     * @param extensionRegistry The registry of the extensions to parse
+     */
+    public ProtobufHttpMessageConverter(ExtensionRegistryLite extensionRegistry) {
+        super(MediaType.APPLICATION_PROTOBUF);
+        checkNotNull(extensionRegistry, "extensionRegistry must not be null");
+
+        this.extensionRegistry = extensionRegistry;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Message.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        // Only concrete generated classes provide the default instance holding the parser
+        return super.canRead(clazz, mediaType) && !Modifier.isAbstract(clazz.getModifiers());
+    }
+
+    @Override
+    protected Message readInternal(Class<? extends Message> clazz, byte[] buffer, MultiMap responseHeaders) throws HttpMessageConverterException {
+        try {
+            return getParser(clazz).parseFrom(buffer, extensionRegistry);
+        } catch (InvalidProtocolBufferException e) {
+            throw new HttpMessageConverterException("Error converting from protobuf.", e);
+        }
+    }
+
+    @Override
+    protected byte[] writeInternal(Message object, MultiMap requestHeaders) throws HttpMessageConverterException {
+        // Sized by getSerializedSize(), which the message memoizes, so the body is allocated once and never copied
+        return object.toByteArray();
+    }
+
+    private Parser<? extends Message> getParser(Class<? extends Message> clazz) {
+        @SuppressWarnings("unchecked")
+        Parser<? extends Message> parser = (Parser<? extends Message>) parsers.get(clazz);
+        if (parser == null) {
+            parser = lookupParser(clazz);
+            parsers.putIfAbsent(clazz, parser);
+        }
+        return parser;
+    }
+
+    private static Parser<? extends Message> lookupParser(Class<? extends Message> clazz) {
+        try {
+            final Message defaultInstance = (Message) clazz.getMethod("getDefaultInstance").invoke(null);
+            return defaultInstance.getParserForType();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new HttpMessageConverterException("No protobuf parser found for " + clazz.getName(), e);
+        }
+    }
+}
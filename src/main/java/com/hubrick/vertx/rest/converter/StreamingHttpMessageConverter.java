@@ -0,0 +1,54 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.converter;
+
+import com.hubrick.vertx.rest.MediaType;
+import com.hubrick.vertx.rest.exception.HttpMessageConverterException;
+import org.vertx.java.core.Handler;
+import org.vertx.java.core.http.HttpClientRequest;
+
+/**
+ * A converter which may keep writing the request body after {@link #write(Object, MediaType, HttpClientRequest, boolean)}
+ * returned, e.g. while it reads a file. Failures which happen after that are reported to the exception handler passed to
+ * {@link #write(Object, MediaType, HttpClientRequest, boolean, Handler)}, which the client wires to the exception handler
+ * of the request.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public interface StreamingHttpMessageConverter<T> extends HttpMessageConverter<T> {
+
+    /**
+     * Starts writing the object. Once a failure was reported the request is neither written to nor ended anymore, so a
+     * request timeout should be set to release the connection in that case.
+     *
+     * @param object The object to write
+     * @param contentType The content type of the request
+     * @param httpClientRequest The request to write to
+     * @param endRequest Whether to end the request after the object was written
+     * @param exceptionHandler Receives failures which happen after this method returned
+     * @throws HttpMessageConverterException If the object can't be written at all
+     */
+    void write(T object, MediaType contentType, HttpClientRequest httpClientRequest, boolean endRequest, Handler<Throwable> exceptionHandler) throws HttpMessageConverterException;
+
+    /**
+     * Starts writing the object, failures after this method returned are logged.
+     */
+    @Override
+    default void write(T object, MediaType contentType, HttpClientRequest httpClientRequest, boolean endRequest) throws HttpMessageConverterException {
+        write(object, contentType, httpClientRequest, endRequest, null);
+    }
+}
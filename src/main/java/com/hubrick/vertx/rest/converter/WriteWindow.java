@@ -0,0 +1,82 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.converter;
+
+import org.vertx.java.core.Vertx;
+import org.vertx.java.core.http.HttpClientRequest;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Tells when a streamed body has to wait for the request to drain. Vert.x reports the write queue as never full until
+ * the request got its connection and buffers everything written before, so the body also waits after
+ * {@link #MAX_UNDRAINED_BYTES}. Once connected that drain follows immediately unless the queue really is full, before
+ * it follows the flush of the buffered bytes on connect since they exceed the high water mark of the connection.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public final class WriteWindow {
+
+    /**
+     * The bytes written before the body waits for a drain even though the write queue is not full
+     */
+    public static final int MAX_UNDRAINED_BYTES = 128 * 1024;
+
+    private final Vertx vertx;
+    private final HttpClientRequest httpClientRequest;
+    private long undrainedBytes;
+
+    /**
+     * @param vertx The vertx instance to defer the drain with
+     * @param httpClientRequest The request the body is written to
+     */
+    public WriteWindow(Vertx vertx, HttpClientRequest httpClientRequest) {
+        checkNotNull(vertx, "vertx must not be null");
+        checkNotNull(httpClientRequest, "httpClientRequest must not be null");
+
+        this.vertx = vertx;
+        this.httpClientRequest = httpClientRequest;
+    }
+
+    /**
+     * @param bytes The number of bytes just written to the request
+     */
+    public void written(long bytes) {
+        undrainedBytes += bytes;
+    }
+
+    /**
+     * @return Whether the writer has to wait for {@link #drainHandler(Runnable)} before writing again
+     */
+    public boolean isFull() {
+        return undrainedBytes >= MAX_UNDRAINED_BYTES || httpClientRequest.writeQueueFull();
+    }
+
+    /**
+     * Calls the handler once on the next drain, right away when the request is connected and its queue not full.
+     *
+     * @param handler Continues writing the body
+     */
+    public void drainHandler(Runnable handler) {
+        undrainedBytes = 0;
+        httpClientRequest.drainHandler(event -> {
+            httpClientRequest.drainHandler(null);
+            // The drain may come while Vert.x flushes the buffered bytes on connect, anything written then is lost
+            vertx.runOnContext(ignored -> handler.run());
+        });
+    }
+}
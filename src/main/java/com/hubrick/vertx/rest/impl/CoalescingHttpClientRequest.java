@@ -0,0 +1,175 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.impl;
+
+import org.vertx.java.core.Handler;
+import org.vertx.java.core.MultiMap;
+import org.vertx.java.core.buffer.Buffer;
+import org.vertx.java.core.http.HttpClientRequest;
+
+/**
+ * Decorates a {@link HttpClientRequest} to collect the chunks written to it until {@link #flush()} is called. Vert.x
+ * flushes every chunk to the socket on its own, which dominates the cost of a body streamed as many small elements.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+class CoalescingHttpClientRequest implements HttpClientRequest {
+
+    private final HttpClientRequest delegate;
+    private Buffer pending = new Buffer();
+
+    CoalescingHttpClientRequest(HttpClientRequest delegate) {
+        this.delegate = delegate;
+    }
+
+    int getPendingBytes() {
+        return pending.length();
+    }
+
+    /**
+     * @return The number of bytes written to the request
+     */
+    int flush() {
+        final int length = pending.length();
+        if (length > 0) {
+            delegate.write(pending);
+            pending = new Buffer();
+        }
+        return length;
+    }
+
+    @Override
+    public HttpClientRequest setChunked(boolean chunked) {
+        delegate.setChunked(chunked);
+        return this;
+    }
+
+    @Override
+    public boolean isChunked() {
+        return delegate.isChunked();
+    }
+
+    @Override
+    public MultiMap headers() {
+        return delegate.headers();
+    }
+
+    @Override
+    public HttpClientRequest putHeader(String name, String value) {
+        delegate.putHeader(name, value);
+        return this;
+    }
+
+    @Override
+    public HttpClientRequest putHeader(CharSequence name, CharSequence value) {
+        delegate.putHeader(name, value);
+        return this;
+    }
+
+    @Override
+    public HttpClientRequest putHeader(String name, Iterable<String> values) {
+        delegate.putHeader(name, values);
+        return this;
+    }
+
+    @Override
+    public HttpClientRequest putHeader(CharSequence name, Iterable<CharSequence> values) {
+        delegate.putHeader(name, values);
+        return this;
+    }
+
+    @Override
+    public HttpClientRequest write(Buffer chunk) {
+        pending.appendBuffer(chunk);
+        return this;
+    }
+
+    @Override
+    public HttpClientRequest write(String chunk) {
+        pending.appendString(chunk);
+        return this;
+    }
+
+    @Override
+    public HttpClientRequest write(String chunk, String enc) {
+        pending.appendString(chunk, enc);
+        return this;
+    }
+
+    @Override
+    public HttpClientRequest continueHandler(Handler<Void> handler) {
+        delegate.continueHandler(handler);
+        return this;
+    }
+
+    @Override
+    public HttpClientRequest sendHead() {
+        delegate.sendHead();
+        return this;
+    }
+
+    @Override
+    public void end(String chunk) {
+        end(new Buffer(chunk));
+    }
+
+    @Override
+    public void end(String chunk, String enc) {
+        end(new Buffer(chunk, enc));
+    }
+
+    @Override
+    public void end(Buffer chunk) {
+        pending.appendBuffer(chunk);
+        end();
+    }
+
+    @Override
+    public void end() {
+        flush();
+        delegate.end();
+    }
+
+    @Override
+    public HttpClientRequest setTimeout(long timeoutMs) {
+        delegate.setTimeout(timeoutMs);
+        return this;
+    }
+
+    @Override
+    public HttpClientRequest setWriteQueueMaxSize(int maxSize) {
+        delegate.setWriteQueueMaxSize(maxSize);
+        return this;
+    }
+
+    @Override
+    public boolean writeQueueFull() {
+        return delegate.writeQueueFull();
+    }
+
+    @Override
+    public HttpClientRequest drainHandler(Handler<Void> handler) {
+        delegate.drainHandler(handler);
+        return this;
+    }
+
+    @Override
+    public HttpClientRequest exceptionHandler(Handler<Throwable> handler) {
+        delegate.exceptionHandler(handler);
+        return this;
+    }
+}
@@ -0,0 +1,198 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.impl;
+
+import com.hubrick.vertx.rest.metrics.ConnectionPoolStats;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vertx.java.core.Handler;
+import org.vertx.java.core.http.HttpClient;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Gauges for the connection pool of a Vert.x {@link HttpClient}.<p>
+ * Vert.x 2 doesn't expose its connection pool, so the private pool of the client is replaced by a proxy which measures
+ * how long each request waits for a connection, and the number of open and idle connections is read from the pool itself.
+ * This only works with the client shipped with Vert.x 2.1, for any other client the constructor fails.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+class ConnectionPoolGauges {
+
+    private static final Logger log = LoggerFactory.getLogger(ConnectionPoolGauges.class);
+
+    private static final long HIGHEST_TRACKABLE_TIME_QUEUED_IN_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final String SUPPORTED_HTTP_CLIENT_CLASS = "org.vertx.java.core.http.impl.DefaultHttpClient";
+
+    private final HttpClient httpClient;
+    private final LongAdder waitingRequests = new LongAdder();
+    private final Recorder timeQueued = new Recorder(HIGHEST_TRACKABLE_TIME_QUEUED_IN_MICROS, 2);
+    private final Histogram cumulativeTimeQueued = new Histogram(HIGHEST_TRACKABLE_TIME_QUEUED_IN_MICROS, 2);
+    private Histogram intervalTimeQueued;
+    private final Object pool;
+    private final Field connectionCountField;
+    private final Field availableField;
+
+    /**
+     * Replaces the connection pool of the client by a measuring proxy.
+     *
+     * @param httpClient The client shipped with Vert.x 2.1
+     * @throws IllegalStateException If the client or its pool doesn't have the internals of Vert.x 2.1
+     */
+    ConnectionPoolGauges(HttpClient httpClient) {
+        checkState(SUPPORTED_HTTP_CLIENT_CLASS.equals(httpClient.getClass().getName()),
+                "Connection pool instrumentation requires %s of Vert.x 2.1 but the client is a %s", SUPPORTED_HTTP_CLIENT_CLASS, httpClient.getClass().getName());
+
+        this.httpClient = httpClient;
+        try {
+            final Field poolField = httpClient.getClass().getDeclaredField("pool");
+            final Class<?> httpPoolInterface = poolField.getType();
+            checkState(httpPoolInterface.isInterface(), "Expected the pool field to be typed by an interface but it is a %s", httpPoolInterface.getName());
+            httpPoolInterface.getMethod("getConnection", Handler.class, Handler.class, Class.forName("org.vertx.java.core.impl.DefaultContext"));
+
+            poolField.setAccessible(true);
+            final Object originalPool = poolField.get(httpClient);
+            final Class<?> poolClass = originalPool.getClass().getSuperclass();
+            connectionCountField = poolClass.getDeclaredField("connectionCount");
+            checkState(connectionCountField.getType() == int.class, "Expected connectionCount of %s to be an int", poolClass.getName());
+            connectionCountField.setAccessible(true);
+            availableField = poolClass.getDeclaredField("available");
+            checkState(Collection.class.isAssignableFrom(availableField.getType()), "Expected available of %s to be a collection", poolClass.getName());
+            availableField.setAccessible(true);
+
+            pool = originalPool;
+            poolField.set(httpClient, Proxy.newProxyInstance(httpPoolInterface.getClassLoader(), new Class<?>[]{httpPoolInterface}, new TimingInvocationHandler(originalPool)));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new IllegalStateException("Connection pool of " + httpClient.getClass().getName() + " can't be instrumented, the Vert.x internals don't match version 2.1", e);
+        }
+        log.debug("Instrumented the connection pool of {}", httpClient);
+    }
+
+    /**
+     * @return The number of open connections including the ones which are being established
+     */
+    int getOpenConnections() {
+        synchronized (pool) {
+            try {
+                return connectionCountField.getInt(pool);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * @return The number of open connections which are not used by any request
+     */
+    int getIdleConnections() {
+        synchronized (pool) {
+            try {
+                return ((Collection<?>) availableField.get(pool)).size();
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * @return The number of requests which are waiting for a connection
+     */
+    long getWaitingRequests() {
+        return waitingRequests.sum();
+    }
+
+    /**
+     * Takes a snapshot of the gauges. The histogram of the time spent queued contains all connection requests which were
+     * served so far, taking a snapshot doesn't reset it.
+     */
+    ConnectionPoolStats snapshot() {
+        final Histogram timeQueuedInMicros = getCumulativeTimeQueued();
+        final int openConnections;
+        final int idleConnections;
+        synchronized (pool) {
+            openConnections = getOpenConnections();
+            idleConnections = getIdleConnections();
+        }
+
+        return new ConnectionPoolStats(
+                openConnections,
+                idleConnections,
+                getWaitingRequests(),
+                httpClient.getMaxPoolSize(),
+                httpClient.getMaxWaiterQueueSize(),
+                timeQueuedInMicros
+        );
+    }
+
+    private synchronized Histogram getCumulativeTimeQueued() {
+        intervalTimeQueued = timeQueued.getIntervalHistogram(intervalTimeQueued);
+        cumulativeTimeQueued.add(intervalTimeQueued);
+        return cumulativeTimeQueued.copy();
+    }
+
+    private void recordServed(long startNanos) {
+        waitingRequests.decrement();
+        final long timeQueuedInMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        timeQueued.recordValue(Math.min(timeQueuedInMicros, HIGHEST_TRACKABLE_TIME_QUEUED_IN_MICROS));
+    }
+
+    private class TimingInvocationHandler implements InvocationHandler {
+
+        private final Object delegate;
+
+        private TimingInvocationHandler(Object delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if ("getConnection".equals(method.getName()) && args.length == 3) {
+                final Handler<Object> connectionHandler = (Handler<Object>) args[0];
+                final Handler<Throwable> connectionExceptionHandler = (Handler<Throwable>) args[1];
+                final long startNanos = System.nanoTime();
+                waitingRequests.increment();
+                args[0] = (Handler<Object>) connection -> {
+                    recordServed(startNanos);
+                    connectionHandler.handle(connection);
+                };
+                args[1] = (Handler<Throwable>) t -> {
+                    recordServed(startNanos);
+                    connectionExceptionHandler.handle(t);
+                };
+            }
+
+            try {
+                return method.invoke(delegate, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,265 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.impl;
+
+import com.hubrick.vertx.rest.EventSource;
+import com.hubrick.vertx.rest.MediaType;
+import com.hubrick.vertx.rest.ResponseBodyReader;
+import com.hubrick.vertx.rest.RestClientRequest;
+import com.hubrick.vertx.rest.RestClientResponse;
+import com.hubrick.vertx.rest.ServerSentEvent;
+import com.hubrick.vertx.rest.exception.HttpClientErrorException;
+import com.hubrick.vertx.rest.exception.InvalidMediaTypeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vertx.java.core.AsyncResult;
+import org.vertx.java.core.Handler;
+import org.vertx.java.core.Vertx;
+import org.vertx.java.core.http.HttpClient;
+import org.vertx.java.core.http.HttpClientResponse;
+import org.vertx.java.core.http.HttpHeaders;
+import org.vertx.java.core.impl.DefaultFutureResult;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Connects through an HTTP client of its own, which is closed with the event source to stop an open stream, so the
+ * connection pool of the {@link com.hubrick.vertx.rest.RestClient} is never affected.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+class DefaultEventSource implements EventSource {
+
+    private static final Logger log = LoggerFactory.getLogger(DefaultEventSource.class);
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private final Vertx vertx;
+    private final DefaultRestClient restClient;
+    private final String uri;
+    private final Handler<ServerSentEvent> eventHandler;
+    private final Map<String, String> headers = new LinkedHashMap<>();
+    private long reconnectDelayMs = 3000;
+    private long maxReconnectDelayMs = 60000;
+    private Long serverReconnectDelayMs;
+    private Handler<Throwable> exceptionHandler;
+    private Handler<Void> endHandler;
+    private String lastEventId = "";
+    private int failedAttempts;
+    private boolean opened;
+    private boolean closed;
+    private long reconnectTimerId = -1;
+    private HttpClient httpClient;
+
+    DefaultEventSource(Vertx vertx, DefaultRestClient restClient, String uri, Handler<ServerSentEvent> eventHandler) {
+        checkNotNull(vertx, "vertx must not be null");
+        checkNotNull(restClient, "restClient must not be null");
+        checkNotNull(uri, "uri must not be null");
+        checkNotNull(eventHandler, "eventHandler must not be null");
+
+        this.vertx = vertx;
+        this.restClient = restClient;
+        this.uri = uri;
+        this.eventHandler = eventHandler;
+    }
+
+    @Override
+    public EventSource putHeader(String name, String value) {
+        checkNotNull(name, "name must not be null");
+        checkNotNull(value, "value must not be null");
+        headers.put(name, value);
+        return this;
+    }
+
+    @Override
+    public EventSource setLastEventId(String lastEventId) {
+        checkNotNull(lastEventId, "lastEventId must not be null");
+        this.lastEventId = lastEventId;
+        return this;
+    }
+
+    @Override
+    public EventSource setReconnectDelay(long reconnectDelayMs) {
+        checkArgument(reconnectDelayMs >= 0, "reconnectDelayMs must not be negative");
+        this.reconnectDelayMs = reconnectDelayMs;
+        return this;
+    }
+
+    @Override
+    public EventSource setMaxReconnectDelay(long maxReconnectDelayMs) {
+        checkArgument(maxReconnectDelayMs >= 0, "maxReconnectDelayMs must not be negative");
+        this.maxReconnectDelayMs = maxReconnectDelayMs;
+        return this;
+    }
+
+    @Override
+    public EventSource exceptionHandler(Handler<Throwable> exceptionHandler) {
+        this.exceptionHandler = exceptionHandler;
+        return this;
+    }
+
+    @Override
+    public EventSource endHandler(Handler<Void> endHandler) {
+        this.endHandler = endHandler;
+        return this;
+    }
+
+    @Override
+    public String getLastEventId() {
+        return lastEventId;
+    }
+
+    @Override
+    public void open() {
+        checkState(!opened, "The event source is already open");
+        opened = true;
+        httpClient = restClient.createEventStreamHttpClient();
+        restClient.eventSourceOpened(this);
+        connect();
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (reconnectTimerId != -1) {
+            vertx.cancelTimer(reconnectTimerId);
+            reconnectTimerId = -1;
+        }
+        release();
+    }
+
+    private void connect() {
+        // A connect scheduled without a timer can't be cancelled by close()
+        if (closed) {
+            return;
+        }
+        log.debug("Connecting to event stream {} with last event id '{}'", uri, lastEventId);
+        final RestClientRequest<Void> request = restClient.eventStreamRequest(httpClient, uri, new EventStreamReader(), this::handleEnd);
+        request.exceptionHandler(this::handleFailure);
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            request.putHeader(header.getKey(), header.getValue());
+        }
+        request.putHeader(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE);
+        request.putHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        if (!lastEventId.isEmpty()) {
+            request.putHeader(LAST_EVENT_ID, lastEventId);
+        }
+        request.end();
+    }
+
+    private void handleEnd(RestClientResponse<Void> response) {
+        if (closed) {
+            return;
+        }
+        if (response.statusCode() == 204) {
+            closed = true;
+            release();
+            if (endHandler != null) {
+                endHandler.handle(null);
+            }
+            return;
+        }
+        reconnect();
+    }
+
+    private void handleFailure(Throwable throwable) {
+        if (closed) {
+            return;
+        }
+        if (throwable instanceof HttpClientErrorException || throwable instanceof InvalidMediaTypeException) {
+            closed = true;
+            release();
+            if (exceptionHandler != null) {
+                exceptionHandler.handle(throwable);
+            } else {
+                log.error("Event stream {} FAILED", uri, throwable);
+            }
+            return;
+        }
+        log.warn("Event stream {} failed, reconnecting", uri, throwable);
+        reconnect();
+    }
+
+    private void reconnect() {
+        final long baseDelayMs = serverReconnectDelayMs != null ? serverReconnectDelayMs : reconnectDelayMs;
+        final long delayMs = Math.min(maxReconnectDelayMs, baseDelayMs << Math.min(failedAttempts, 20));
+        failedAttempts++;
+        if (delayMs == 0) {
+            vertx.runOnContext(event -> connect());
+            return;
+        }
+        reconnectTimerId = vertx.setTimer(delayMs, timerId -> {
+            reconnectTimerId = -1;
+            connect();
+        });
+    }
+
+    private void handleEvent(ServerSentEvent serverSentEvent) {
+        if (closed) {
+            return;
+        }
+        lastEventId = serverSentEvent.getId();
+        failedAttempts = 0;
+        eventHandler.handle(serverSentEvent);
+    }
+
+    private void release() {
+        if (httpClient != null) {
+            // Vert.x cannot cancel a response, closing the client closes the connection of an open stream
+            httpClient.close();
+            httpClient = null;
+            restClient.eventSourceClosed(this);
+        }
+    }
+
+    private class EventStreamReader implements ResponseBodyReader<Void> {
+
+        @Override
+        public void read(HttpClientResponse httpClientResponse, Handler<AsyncResult<Void>> resultHandler) {
+            if (closed) {
+                resultHandler.handle(new DefaultFutureResult<>((Void) null));
+                return;
+            }
+            if (httpClientResponse.statusCode() == 204) {
+                httpClientResponse.endHandler(event -> resultHandler.handle(new DefaultFutureResult<>((Void) null)));
+                return;
+            }
+            final String contentType = httpClientResponse.headers().get(HttpHeaders.CONTENT_TYPE);
+            if (contentType == null || !MediaType.TEXT_EVENT_STREAM.includes(MediaType.parseMediaType(contentType))) {
+                // The failure closes the event source and with it the connection
+                resultHandler.handle(new DefaultFutureResult<>(new InvalidMediaTypeException(String.valueOf(contentType), "expected " + MediaType.TEXT_EVENT_STREAM_VALUE)));
+                return;
+            }
+
+            final ServerSentEventParser parser = new ServerSentEventParser(lastEventId, DefaultEventSource.this::handleEvent, retry -> serverReconnectDelayMs = retry);
+            httpClientResponse.dataHandler(chunk -> {
+                if (!closed) {
+                    parser.parse(chunk);
+                }
+            });
+            httpClientResponse.endHandler(event -> resultHandler.handle(new DefaultFutureResult<>((Void) null)));
+            httpClientResponse.exceptionHandler(throwable -> resultHandler.handle(new DefaultFutureResult<>(throwable)));
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.impl;
+
+import com.hubrick.vertx.rest.HttpMethod;
+import com.hubrick.vertx.rest.interceptor.RequestContext;
+import org.vertx.java.core.MultiMap;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The default implementation.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+class DefaultRequestContext implements RequestContext {
+
+    private final HttpMethod method;
+    private final String host;
+    private final int port;
+    private final String uri;
+    private final String routeTag;
+    private final MultiMap requestHeaders;
+    private long startNanos;
+    private long handedToVertxNanos;
+    private long firstByteNanos;
+    private Map<String, Object> attributes;
+
+    DefaultRequestContext(HttpMethod method, String host, int port, String uri, String routeTag, MultiMap requestHeaders) {
+        this.method = method;
+        this.host = host;
+        this.port = port;
+        this.uri = uri;
+        this.routeTag = routeTag;
+        this.requestHeaders = requestHeaders;
+    }
+
+    @Override
+    public HttpMethod getMethod() {
+        return method;
+    }
+
+    @Override
+    public String getHost() {
+        return host;
+    }
+
+    @Override
+    public int getPort() {
+        return port;
+    }
+
+    @Override
+    public String getUri() {
+        return uri;
+    }
+
+    @Override
+    public String getRouteTag() {
+        return routeTag;
+    }
+
+    @Override
+    public MultiMap getRequestHeaders() {
+        return requestHeaders;
+    }
+
+    @Override
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    void setStartNanos(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    @Override
+    public long getHandedToVertxNanos() {
+        return handedToVertxNanos;
+    }
+
+    void setHandedToVertxNanos(long handedToVertxNanos) {
+        this.handedToVertxNanos = handedToVertxNanos;
+    }
+
+    @Override
+    public long getFirstByteNanos() {
+        return firstByteNanos;
+    }
+
+    void setFirstByteNanos(long firstByteNanos) {
+        this.firstByteNanos = firstByteNanos;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> V getAttribute(String name) {
+        return attributes != null ? (V) attributes.get(name) : null;
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        if (attributes == null) {
+            attributes = new HashMap<>(4);
+        }
+        attributes.put(name, value);
+    }
+}
@@ -15,19 +15,50 @@
  */
 package com.hubrick.vertx.rest.impl;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import com.hubrick.vertx.rest.AccessTokenProvider;
+import com.hubrick.vertx.rest.BasicAuthCredentials;
+import com.hubrick.vertx.rest.EventSource;
+import com.hubrick.vertx.rest.FileDownload;
 import com.hubrick.vertx.rest.HttpMethod;
+import com.hubrick.vertx.rest.RequestTemplate;
+import com.hubrick.vertx.rest.ResponseBodyReader;
 import com.hubrick.vertx.rest.RestClient;
 import com.hubrick.vertx.rest.RestClientRequest;
 import com.hubrick.vertx.rest.RestClientResponse;
+import com.hubrick.vertx.rest.ServerSentEvent;
+import com.hubrick.vertx.rest.UriTemplate;
 import com.hubrick.vertx.rest.converter.HttpMessageConverter;
+import com.hubrick.vertx.rest.interceptor.RestClientInterceptor;
+import com.hubrick.vertx.rest.metrics.ConnectionPoolStats;
+import com.hubrick.vertx.rest.metrics.RestClientMetrics;
+import com.hubrick.vertx.rest.metrics.impl.DefaultRestClientMetrics;
+import com.hubrick.vertx.rest.metrics.impl.EventBusMetricsPublisher;
+import org.HdrHistogram.Histogram;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.vertx.java.core.Handler;
 import org.vertx.java.core.Vertx;
 import org.vertx.java.core.http.HttpClient;
+import org.vertx.java.core.json.JsonObject;
 
+import javax.annotation.Nullable;
 import javax.net.ssl.SSLContext;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
 
 /**
  * The default implementation.
@@ -39,11 +70,27 @@ public class DefaultRestClient implements RestClient {
 
     private static final Logger log = LoggerFactory.getLogger(DefaultRestClient.class);
 
+    private static final int DEFAULT_NEGATIVE_CACHE_MAX_SIZE = 1000;
+    private static final CacheStats EMPTY_CACHE_STATS = new CacheStats(0, 0, 0, 0, 0, 0);
+
     private final Vertx vertx;
     private final HttpClient httpClient;
     private final List<HttpMessageConverter> httpMessageConverters;
     private Handler<Throwable> exceptionHandler;
     private int globalRequestTimeoutInMillis = 0;
+    private int negativeCacheTtlInMillis = 0;
+    private int negativeCacheMaxSize = DEFAULT_NEGATIVE_CACHE_MAX_SIZE;
+    private volatile Cache<NegativeCacheKey, NegativeCacheEntry> negativeCache;
+    private RequestTemplate defaultRequestTemplate;
+    private BasicAuthCredentials defaultBasicAuthCredentials;
+    private AccessTokenProvider accessTokenProvider;
+    private RestClientMetrics metrics;
+    private EventBusMetricsPublisher metricsPublisher;
+    private ConnectionPoolGauges connectionPoolGauges;
+    private Histogram publishedTimeQueuedInMicros;
+    private volatile List<RestClientInterceptor> interceptors = ImmutableList.of();
+    private SSLContext sslContext;
+    private final Set<DefaultEventSource> openEventSources = Collections.newSetFromMap(new ConcurrentHashMap<>());
 
     public DefaultRestClient(Vertx vertx, List<HttpMessageConverter> httpMessageConverters) {
         this.vertx = vertx;
@@ -147,8 +194,101 @@ public class DefaultRestClient implements RestClient {
         return this;
     }
 
+    @Override
+    public RestClient setNegativeCacheTtl(int negativeCacheTtlInMillis) {
+        checkArgument(negativeCacheTtlInMillis >= 0, "negativeCacheTtlInMillis must not be negative");
+        this.negativeCacheTtlInMillis = negativeCacheTtlInMillis;
+        this.negativeCache = createNegativeCache();
+        return this;
+    }
+
+    @Override
+    public RestClient setNegativeCacheMaxSize(int negativeCacheMaxSize) {
+        checkArgument(negativeCacheMaxSize > 0, "negativeCacheMaxSize must be greater than 0");
+        this.negativeCacheMaxSize = negativeCacheMaxSize;
+        this.negativeCache = createNegativeCache();
+        return this;
+    }
+
+    @Override
+    public RestClient setDefaultRequestTemplate(RequestTemplate defaultRequestTemplate) {
+        this.defaultRequestTemplate = defaultRequestTemplate;
+        return this;
+    }
+
+    @Override
+    public RestClient setDefaultBasicAuth(BasicAuthCredentials defaultBasicAuthCredentials) {
+        this.defaultBasicAuthCredentials = defaultBasicAuthCredentials;
+        return this;
+    }
+
+    @Override
+    public RestClient setAccessTokenProvider(AccessTokenProvider accessTokenProvider) {
+        this.accessTokenProvider = accessTokenProvider;
+        return this;
+    }
+
+    @Override
+    public RestClient setMetrics(RestClientMetrics metrics) {
+        checkState(metrics == null || metricsPublisher == null || metrics instanceof DefaultRestClientMetrics, "Only DefaultRestClientMetrics can be published");
+        this.metrics = metrics;
+        if (metricsPublisher != null) {
+            setMetricsPublishing(metrics != null ? metricsPublisher.getAddress() : null, metricsPublisher.getIntervalInMillis());
+        }
+        return this;
+    }
+
+    @Override
+    public synchronized RestClient addInterceptor(RestClientInterceptor interceptor) {
+        checkNotNull(interceptor, "interceptor must not be null");
+        interceptors = ImmutableList.<RestClientInterceptor>builder().addAll(interceptors).add(interceptor).build();
+        return this;
+    }
+
+    @Override
+    public synchronized RestClient removeInterceptor(RestClientInterceptor interceptor) {
+        interceptors = ImmutableList.copyOf(Iterables.filter(interceptors, existing -> existing != interceptor));
+        return this;
+    }
+
+    @Override
+    public synchronized RestClient enableConnectionPoolInstrumentation() {
+        if (connectionPoolGauges == null) {
+            connectionPoolGauges = new ConnectionPoolGauges(httpClient);
+        }
+        return this;
+    }
+
+    @Override
+    public RestClient setMetricsPublishing(String address, long intervalInMillis) {
+        if (metricsPublisher != null) {
+            metricsPublisher.stop();
+            metricsPublisher = null;
+        }
+        if (address == null) {
+            return this;
+        }
+
+        if (metrics == null) {
+            setMetrics(new DefaultRestClientMetrics());
+        }
+        checkState(metrics instanceof DefaultRestClientMetrics, "Only DefaultRestClientMetrics can be published");
+
+        final DefaultRestClientMetrics defaultRestClientMetrics = (DefaultRestClientMetrics) metrics;
+        metricsPublisher = new EventBusMetricsPublisher(vertx, defaultRestClientMetrics, this::createClientGauges, address, intervalInMillis);
+        metricsPublisher.start();
+        return this;
+    }
+
     @Override
     public void close() {
+        if (metricsPublisher != null) {
+            metricsPublisher.stop();
+            metricsPublisher = null;
+        }
+        for (DefaultEventSource eventSource : new ArrayList<>(openEventSources)) {
+            eventSource.close();
+        }
         httpClient.close();
     }
 
@@ -222,6 +362,62 @@ public class DefaultRestClient implements RestClient {
         return httpClient.getTryUseCompression();
     }
 
+    @Override
+    public int getNegativeCacheTtlInMillis() {
+        return negativeCacheTtlInMillis;
+    }
+
+    @Override
+    public int getNegativeCacheMaxSize() {
+        return negativeCacheMaxSize;
+    }
+
+    @Override
+    public CacheStats getNegativeCacheStats() {
+        final Cache<NegativeCacheKey, NegativeCacheEntry> currentNegativeCache = negativeCache;
+        return currentNegativeCache != null ? currentNegativeCache.stats() : EMPTY_CACHE_STATS;
+    }
+
+    @Override
+    public RequestTemplate getDefaultRequestTemplate() {
+        return defaultRequestTemplate;
+    }
+
+    @Override
+    public BasicAuthCredentials getDefaultBasicAuth() {
+        return defaultBasicAuthCredentials;
+    }
+
+    @Override
+    public AccessTokenProvider getAccessTokenProvider() {
+        return accessTokenProvider;
+    }
+
+    @Override
+    public List<RestClientInterceptor> getInterceptors() {
+        return interceptors;
+    }
+
+    @Override
+    public RestClientMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public String getMetricsPublishAddress() {
+        return metricsPublisher != null ? metricsPublisher.getAddress() : null;
+    }
+
+    @Override
+    public ConnectionPoolStats getConnectionPoolStats() {
+        return getConnectionPoolGauges().snapshot();
+    }
+
+    @Override
+    public boolean isConnectionPoolInstrumented() {
+        return connectionPoolGauges != null;
+    }
+
     @Override
     public RestClientRequest<Void> get(String uri, Handler<RestClientResponse<Void>> responseHandler) {
         return get(uri, Void.class, responseHandler);
@@ -277,17 +473,211 @@ public class DefaultRestClient implements RestClient {
         return handleRequest(method, uri, responseClass, responseHandler);
     }
 
+    @Override
+    public RestClientRequest<Void> get(UriTemplate uriTemplate, Map<String, ?> uriVariables, Handler<RestClientResponse<Void>> responseHandler) {
+        return get(uriTemplate.expand(uriVariables), responseHandler).setRouteTag(uriTemplate.toString());
+    }
+
+    @Override
+    public <T> RestClientRequest<T> get(UriTemplate uriTemplate, Map<String, ?> uriVariables, Class<T> responseClass, Handler<RestClientResponse<T>> responseHandler) {
+        return get(uriTemplate.expand(uriVariables), responseClass, responseHandler).setRouteTag(uriTemplate.toString());
+    }
+
+    @Override
+    public RestClientRequest<Void> post(UriTemplate uriTemplate, Map<String, ?> uriVariables, Handler<RestClientResponse<Void>> responseHandler) {
+        return post(uriTemplate.expand(uriVariables), responseHandler).setRouteTag(uriTemplate.toString());
+    }
+
+    @Override
+    public <T> RestClientRequest<T> post(UriTemplate uriTemplate, Map<String, ?> uriVariables, Class<T> responseClass, Handler<RestClientResponse<T>> responseHandler) {
+        return post(uriTemplate.expand(uriVariables), responseClass, responseHandler).setRouteTag(uriTemplate.toString());
+    }
+
+    @Override
+    public RestClientRequest<Void> put(UriTemplate uriTemplate, Map<String, ?> uriVariables, Handler<RestClientResponse<Void>> responseHandler) {
+        return put(uriTemplate.expand(uriVariables), responseHandler).setRouteTag(uriTemplate.toString());
+    }
+
+    @Override
+    public <T> RestClientRequest<T> put(UriTemplate uriTemplate, Map<String, ?> uriVariables, Class<T> responseClass, Handler<RestClientResponse<T>> responseHandler) {
+        return put(uriTemplate.expand(uriVariables), responseClass, responseHandler).setRouteTag(uriTemplate.toString());
+    }
+
+    @Override
+    public RestClientRequest<Void> delete(UriTemplate uriTemplate, Map<String, ?> uriVariables, Handler<RestClientResponse<Void>> responseHandler) {
+        return delete(uriTemplate.expand(uriVariables), responseHandler).setRouteTag(uriTemplate.toString());
+    }
+
+    @Override
+    public <T> RestClientRequest<T> delete(UriTemplate uriTemplate, Map<String, ?> uriVariables, Class<T> responseClass, Handler<RestClientResponse<T>> responseHandler) {
+        return delete(uriTemplate.expand(uriVariables), responseClass, responseHandler).setRouteTag(uriTemplate.toString());
+    }
+
+    @Override
+    public RestClientRequest<Void> request(HttpMethod method, UriTemplate uriTemplate, Map<String, ?> uriVariables, Handler<RestClientResponse<Void>> responseHandler) {
+        return request(method, uriTemplate.expand(uriVariables), responseHandler).setRouteTag(uriTemplate.toString());
+    }
+
+    @Override
+    public <T> RestClientRequest<T> request(HttpMethod method, UriTemplate uriTemplate, Map<String, ?> uriVariables, Class<T> responseClass, Handler<RestClientResponse<T>> responseHandler) {
+        return request(method, uriTemplate.expand(uriVariables), responseClass, responseHandler).setRouteTag(uriTemplate.toString());
+    }
+
+    @Override
+    public <T> RestClientRequest<T> request(HttpMethod method, String uri, ResponseBodyReader<T> responseBodyReader, Handler<RestClientResponse<T>> responseHandler) {
+        checkNotNull(responseBodyReader, "responseBodyReader must not be null");
+        log.debug("Calling uri: {}", uri);
+        return handleRequest(method, uri, (Class<T>) Object.class, responseHandler, responseBodyReader);
+    }
+
+    @Override
+    public RestClientRequest<FileDownload> download(String uri, String path, Handler<RestClientResponse<FileDownload>> responseHandler) {
+        return request(HttpMethod.GET, uri, new FileDownloadReader(vertx, path), responseHandler);
+    }
+
+    @Override
+    public EventSource eventSource(String uri, Handler<ServerSentEvent> eventHandler) {
+        return new DefaultEventSource(vertx, this, uri, eventHandler);
+    }
+
+    /**
+     * Creates a GET request for an event stream on the given HTTP client instead of the pooled one, with everything else
+     * configured for this client but the global request timeout. Vert.x restarts that timeout with every chunk, so it
+     * would end a stream whenever the server is quiet for longer.
+     */
+    RestClientRequest<Void> eventStreamRequest(HttpClient httpClient, String uri, ResponseBodyReader<Void> responseBodyReader, Handler<RestClientResponse<Void>> responseHandler) {
+        checkNotNull(httpClient, "httpClient must not be null");
+        checkNotNull(responseBodyReader, "responseBodyReader must not be null");
+        log.debug("Calling uri: {}", uri);
+        return handleRequest(httpClient, 0, HttpMethod.GET, uri, Void.class, responseHandler, responseBodyReader);
+    }
+
+    /**
+     * Creates an HTTP client with the connection settings of this client for a single event source. Vert.x cannot cancel
+     * a response, an open event stream is only stopped by closing the client it was requested with.
+     */
+    HttpClient createEventStreamHttpClient() {
+        final HttpClient eventStreamHttpClient = vertx.createHttpClient()
+                .setHost(httpClient.getHost())
+                .setPort(httpClient.getPort())
+                .setKeepAlive(httpClient.isKeepAlive())
+                .setTCPKeepAlive(httpClient.isTCPKeepAlive())
+                .setTCPNoDelay(httpClient.isTCPNoDelay())
+                .setConnectTimeout(httpClient.getConnectTimeout())
+                .setTryUseCompression(httpClient.getTryUseCompression())
+                .setVerifyHost(httpClient.isVerifyHost())
+                .setSSL(httpClient.isSSL())
+                .setTrustAll(httpClient.isTrustAll())
+                .setMaxPoolSize(1);
+        if (sslContext != null) {
+            eventStreamHttpClient.setSSLContext(sslContext);
+        }
+        if (httpClient.getKeyStorePath() != null) {
+            eventStreamHttpClient.setKeyStorePath(httpClient.getKeyStorePath()).setKeyStorePassword(httpClient.getKeyStorePassword());
+        }
+        if (httpClient.getTrustStorePath() != null) {
+            eventStreamHttpClient.setTrustStorePath(httpClient.getTrustStorePath()).setTrustStorePassword(httpClient.getTrustStorePassword());
+        }
+        if (exceptionHandler != null) {
+            eventStreamHttpClient.exceptionHandler(exceptionHandler);
+        }
+        return eventStreamHttpClient;
+    }
+
+    void eventSourceOpened(DefaultEventSource eventSource) {
+        openEventSources.add(eventSource);
+    }
+
+    void eventSourceClosed(DefaultEventSource eventSource) {
+        openEventSources.remove(eventSource);
+    }
+
     private <T> DefaultRestClientRequest<T> handleRequest(HttpMethod method, String uri, Class<T> responseClass, Handler<RestClientResponse<T>> responseHandler) {
-        return new DefaultRestClientRequest(
+        return handleRequest(method, uri, responseClass, responseHandler, null);
+    }
+
+    private <T> DefaultRestClientRequest<T> handleRequest(HttpMethod method,
+                                                          String uri,
+                                                          Class<T> responseClass,
+                                                          Handler<RestClientResponse<T>> responseHandler,
+                                                          @Nullable ResponseBodyReader<T> responseBodyReader) {
+        return handleRequest(httpClient, globalRequestTimeoutInMillis, method, uri, responseClass, responseHandler, responseBodyReader);
+    }
+
+    private <T> DefaultRestClientRequest<T> handleRequest(HttpClient httpClient,
+                                                          int requestTimeoutInMillis,
+                                                          HttpMethod method,
+                                                          String uri,
+                                                          Class<T> responseClass,
+                                                          Handler<RestClientResponse<T>> responseHandler,
+                                                          @Nullable ResponseBodyReader<T> responseBodyReader) {
+        final DefaultRestClientRequest<T> restClientRequest = new DefaultRestClientRequest(
+                vertx,
                 httpClient,
                 httpMessageConverters,
                 method,
                 uri,
                 responseClass,
                 responseHandler,
-                globalRequestTimeoutInMillis,
-                exceptionHandler
+                responseBodyReader,
+                requestTimeoutInMillis,
+                exceptionHandler,
+                method == HttpMethod.GET ? negativeCache : null,
+                defaultRequestTemplate,
+                accessTokenProvider,
+                metrics,
+                interceptors,
+                null
         );
+
+        if (defaultBasicAuthCredentials != null) {
+            restClientRequest.setBasicAuth(defaultBasicAuthCredentials);
+        }
+        return restClientRequest;
+    }
+
+    private synchronized ConnectionPoolGauges getConnectionPoolGauges() {
+        checkState(connectionPoolGauges != null, "Connection pool instrumentation is not enabled, see RestClient.enableConnectionPoolInstrumentation()");
+        return connectionPoolGauges;
+    }
+
+    private JsonObject createClientGauges() {
+        final JsonObject clientGauges = new JsonObject()
+                .putNumber("inFlight", ((DefaultRestClientMetrics) metrics).getInFlightCount())
+                .putNumber("maxPoolSize", getMaxPoolSize())
+                .putNumber("maxWaiterQueueSize", getMaxWaiterQueueSize());
+        if (!isConnectionPoolInstrumented()) {
+            return clientGauges;
+        }
+
+        final ConnectionPoolStats connectionPoolStats = getConnectionPoolStats();
+        // The published time queued refers to the interval since the previous publication
+        final Histogram timeQueuedInMicros = connectionPoolStats.getTimeQueuedInMicros().copy();
+        if (publishedTimeQueuedInMicros != null) {
+            timeQueuedInMicros.subtract(publishedTimeQueuedInMicros);
+        }
+        publishedTimeQueuedInMicros = connectionPoolStats.getTimeQueuedInMicros();
+        return clientGauges
+                .putNumber("openConnections", connectionPoolStats.getOpenConnections())
+                .putNumber("idleConnections", connectionPoolStats.getIdleConnections())
+                .putNumber("waitingRequests", connectionPoolStats.getWaitingRequests())
+                .putNumber("poolUtilization", connectionPoolStats.getUtilization())
+                .putObject("timeQueued", new JsonObject()
+                        .putNumber("p50", timeQueuedInMicros.getValueAtPercentile(50))
+                        .putNumber("p99", timeQueuedInMicros.getValueAtPercentile(99))
+                        .putNumber("max", timeQueuedInMicros.getMaxValue()));
+    }
+
+    private Cache<NegativeCacheKey, NegativeCacheEntry> createNegativeCache() {
+        if (negativeCacheTtlInMillis == 0) {
+            return null;
+        }
+
+        return CacheBuilder.newBuilder()
+                .expireAfterWrite(negativeCacheTtlInMillis, TimeUnit.MILLISECONDS)
+                .maximumSize(negativeCacheMaxSize)
+                .recordStats()
+                .build();
     }
 
     @Override
@@ -314,6 +704,7 @@ public class DefaultRestClient implements RestClient {
 
     @Override
     public RestClient setSSLContext(SSLContext sslContext) {
+        this.sslContext = sslContext;
         httpClient.setSSLContext(sslContext);
         return this;
     }
@@ -0,0 +1,216 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.impl;
+
+import com.google.common.collect.LinkedListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.hubrick.vertx.rest.RestClient;
+import com.hubrick.vertx.rest.RestClientBatcher;
+import com.hubrick.vertx.rest.RestClientRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vertx.java.core.Handler;
+import org.vertx.java.core.Vertx;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The default implementation.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class DefaultRestClientBatcher<K, V> implements RestClientBatcher<K, V> {
+
+    private static final Logger log = LoggerFactory.getLogger(DefaultRestClientBatcher.class);
+
+    private final Vertx vertx;
+    private final RestClient restClient;
+    private final Function<Set<K>, String> uriBuilder;
+    private final Class<V[]> responseClass;
+    private final Function<V, K> keyExtractor;
+    private final int maxBatchSize;
+    private final long maxDelayInMillis;
+
+    private ListMultimap<K, PendingLookup<V>> pendingLookups = LinkedListMultimap.create();
+    private long timerId = -1;
+
+    /**
+     * @param vertx The vertx instance used to schedule the delayed bulk requests
+     * @param restClient The client which sends the bulk requests
+     * @param uriBuilder Builds the uri of the bulk request from the distinct keys of a batch
+     * @param responseClass The array class which represents the bulk response
+     * @param keyExtractor Extracts the key from a single value of the bulk response
+     * @param maxBatchSize The maximum number of distinct keys per bulk request
+     * @param maxDelayInMillis The maximum time in milliseconds a lookup waits before the bulk request is sent
+     */
+    public DefaultRestClientBatcher(Vertx vertx,
+                                    RestClient restClient,
+                                    Function<Set<K>, String> uriBuilder,
+                                    Class<V[]> responseClass,
+                                    Function<V, K> keyExtractor,
+                                    int maxBatchSize,
+                                    long maxDelayInMillis) {
+        checkNotNull(vertx, "vertx must not be null");
+        checkNotNull(restClient, "restClient must not be null");
+        checkNotNull(uriBuilder, "uriBuilder must not be null");
+        checkNotNull(responseClass, "responseClass must not be null");
+        checkNotNull(keyExtractor, "keyExtractor must not be null");
+        checkArgument(maxBatchSize > 0, "maxBatchSize must be greater than 0");
+        checkArgument(maxDelayInMillis > 0, "maxDelayInMillis must be greater than 0");
+
+        this.vertx = vertx;
+        this.restClient = restClient;
+        this.uriBuilder = uriBuilder;
+        this.responseClass = responseClass;
+        this.keyExtractor = keyExtractor;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayInMillis = maxDelayInMillis;
+    }
+
+    @Override
+    public void get(K key, Handler<V> resultHandler, Handler<Throwable> exceptionHandler) {
+        checkNotNull(key, "key must not be null");
+        checkNotNull(resultHandler, "resultHandler must not be null");
+        checkNotNull(exceptionHandler, "exceptionHandler must not be null");
+
+        pendingLookups.put(key, new PendingLookup<>(resultHandler, exceptionHandler));
+        if (pendingLookups.keySet().size() >= maxBatchSize) {
+            flush();
+        } else if (timerId == -1) {
+            timerId = vertx.setTimer(maxDelayInMillis, event -> {
+                timerId = -1;
+                flush();
+            });
+        }
+    }
+
+    @Override
+    public void flush() {
+        if (timerId != -1) {
+            vertx.cancelTimer(timerId);
+            timerId = -1;
+        }
+        if (pendingLookups.isEmpty()) {
+            return;
+        }
+
+        final Batch batch = new Batch(pendingLookups);
+        pendingLookups = LinkedListMultimap.create();
+
+        try {
+            final String uri = uriBuilder.apply(Collections.unmodifiableSet(batch.lookups.keySet()));
+            log.debug("Sending batch of {} keys to uri: {}", batch.lookups.keySet().size(), uri);
+            final RestClientRequest<V[]> restClientRequest = restClient.get(uri, responseClass, restClientResponse -> {
+                final V[] values = restClientResponse.getBody();
+                batch.complete(values);
+            });
+            restClientRequest.exceptionHandler(batch::fail);
+            restClientRequest.end();
+        } catch (Throwable t) {
+            batch.fail(t);
+        }
+    }
+
+    @Override
+    public int getQueuedKeyCount() {
+        return pendingLookups.keySet().size();
+    }
+
+    @Override
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    @Override
+    public long getMaxDelayInMillis() {
+        return maxDelayInMillis;
+    }
+
+    private class Batch {
+
+        private final ListMultimap<K, PendingLookup<V>> lookups;
+        private boolean done = false;
+
+        private Batch(ListMultimap<K, PendingLookup<V>> lookups) {
+            this.lookups = lookups;
+        }
+
+        private void complete(V[] values) {
+            // The exception handler was already called if the body could not be converted
+            if (done) {
+                return;
+            }
+
+            final Map<K, V> valuesByKey = new HashMap<>(values != null ? values.length * 2 : 0);
+            try {
+                if (values != null) {
+                    for (V value : values) {
+                        if (value != null) {
+                            valuesByKey.put(keyExtractor.apply(value), value);
+                        }
+                    }
+                }
+            } catch (Throwable t) {
+                fail(t);
+                return;
+            }
+            done = true;
+
+            for (Map.Entry<K, PendingLookup<V>> entry : lookups.entries()) {
+                final V value = valuesByKey.get(entry.getKey());
+                try {
+                    entry.getValue().resultHandler.handle(value);
+                } catch (Throwable t) {
+                    log.error("Failed invoking batch result handler for key {}", entry.getKey(), t);
+                }
+            }
+        }
+
+        private void fail(Throwable throwable) {
+            if (done) {
+                return;
+            }
+            done = true;
+
+            for (Map.Entry<K, PendingLookup<V>> entry : lookups.entries()) {
+                try {
+                    entry.getValue().exceptionHandler.handle(throwable);
+                } catch (Throwable t) {
+                    log.error("Failed invoking batch exception handler for key {}", entry.getKey(), t);
+                }
+            }
+        }
+    }
+
+    private static class PendingLookup<V> {
+
+        private final Handler<V> resultHandler;
+        private final Handler<Throwable> exceptionHandler;
+
+        private PendingLookup(Handler<V> resultHandler, Handler<Throwable> exceptionHandler) {
+            this.resultHandler = resultHandler;
+            this.exceptionHandler = exceptionHandler;
+        }
+    }
+}
@@ -15,28 +15,45 @@
  */
 package com.hubrick.vertx.rest.impl;
 
-import com.google.common.base.Charsets;
 import com.google.common.base.Joiner;
 import com.google.common.base.Splitter;
 import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
 import com.google.common.collect.FluentIterable;
+import com.hubrick.vertx.rest.AccessTokenProvider;
+import com.hubrick.vertx.rest.BasicAuthCredentials;
 import com.hubrick.vertx.rest.HttpMethod;
 import com.hubrick.vertx.rest.MediaType;
+import com.hubrick.vertx.rest.RequestTemplate;
+import com.hubrick.vertx.rest.ResponseBodyReader;
 import com.hubrick.vertx.rest.RestClientRequest;
 import com.hubrick.vertx.rest.RestClientResponse;
 import com.hubrick.vertx.rest.converter.HttpMessageConverter;
+import com.hubrick.vertx.rest.converter.StreamingHttpMessageConverter;
+import com.hubrick.vertx.rest.converter.WriteWindow;
 import com.hubrick.vertx.rest.exception.HttpClientErrorException;
 import com.hubrick.vertx.rest.exception.HttpServerErrorException;
 import com.hubrick.vertx.rest.exception.RestClientException;
+import com.hubrick.vertx.rest.interceptor.RestClientInterceptor;
+import com.hubrick.vertx.rest.logging.BodyLogger;
+import com.hubrick.vertx.rest.metrics.RequestMetricsKey;
+import com.hubrick.vertx.rest.metrics.RestClientMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.vertx.java.core.Context;
 import org.vertx.java.core.Handler;
 import org.vertx.java.core.MultiMap;
+import org.vertx.java.core.Vertx;
+import org.vertx.java.core.buffer.Buffer;
+import org.vertx.java.core.file.AsyncFile;
+import org.vertx.java.core.file.FileProps;
 import org.vertx.java.core.http.HttpClient;
 import org.vertx.java.core.http.HttpClientRequest;
 import org.vertx.java.core.http.HttpClientResponse;
 import org.vertx.java.core.http.HttpHeaders;
-import org.vertx.java.core.json.impl.Base64;
+import org.vertx.java.core.streams.ReadStream;
+import rx.Observable;
+import rx.Subscriber;
 
 import javax.annotation.Nullable;
 import java.util.ArrayList;
@@ -57,54 +74,112 @@ import static com.google.common.base.Preconditions.checkNotNull;
 public class DefaultRestClientRequest<T> implements RestClientRequest<T> {
 
     private static final Logger log = LoggerFactory.getLogger(DefaultRestClientRequest.class);
+    private static final int COALESCED_CHUNK_BYTES = 8 * 1024;
 
+    private final Vertx vertx;
     private final HttpClient httpClient;
     private final List<HttpMessageConverter> httpMessageConverters;
     private final HttpClientRequest httpClientRequest;
+    private final String uri;
+    private final Cache<NegativeCacheKey, NegativeCacheEntry> negativeCache;
+    private NegativeCacheKey negativeCacheKey;
+    private final HttpMethod method;
+    private final RestClientMetrics metrics;
+    private final InterceptorChain interceptorChain;
+    private String routeTag;
+    private RequestMetricsKey metricsKey;
+    private DefaultRequestContext requestContext;
+    private long firstByteNanos;
+    private boolean finished;
     private Handler<Throwable> exceptionHandler;
+    private AccessTokenProvider accessTokenProvider;
+    private List<Runnable> actionsWaitingForAuthorization;
+    private AccessTokenProvider authorizedBy;
+    private CharSequence providedAuthorizationHeader;
 
-    public DefaultRestClientRequest(HttpClient httpClient,
+    public DefaultRestClientRequest(Vertx vertx,
+                                    HttpClient httpClient,
                                     List<HttpMessageConverter> httpMessageConverters,
                                     HttpMethod method,
                                     String uri,
                                     Class<T> responseClass,
                                     Handler<RestClientResponse<T>> responseHandler,
+                                    @Nullable ResponseBodyReader<T> responseBodyReader,
                                     int timeoutInMillis,
-                                    @Nullable Handler<Throwable> exceptionHandler) {
+                                    @Nullable Handler<Throwable> exceptionHandler,
+                                    @Nullable Cache<NegativeCacheKey, NegativeCacheEntry> negativeCache,
+                                    @Nullable RequestTemplate defaultRequestTemplate,
+                                    @Nullable AccessTokenProvider accessTokenProvider,
+                                    @Nullable RestClientMetrics metrics,
+                                    List<RestClientInterceptor> interceptors,
+                                    @Nullable String routeTag) {
+        checkNotNull(vertx, "vertx must not be null");
         checkNotNull(httpClient, "httpClient must not be null");
         checkNotNull(httpMessageConverters, "dataMappers must not be null");
         checkArgument(!httpMessageConverters.isEmpty(), "dataMappers must not be empty");
 
+        this.vertx = vertx;
         this.httpClient = httpClient;
         this.httpMessageConverters = httpMessageConverters;
         this.exceptionHandler = exceptionHandler;
-
-        httpClientRequest = httpClient.request(method.toString(), uri, (httpClientResponse) -> {
-            handleResponse(httpClientResponse, responseClass, responseHandler);
+        this.uri = uri;
+        this.negativeCache = negativeCache;
+        this.accessTokenProvider = accessTokenProvider;
+        this.method = method;
+        this.metrics = metrics;
+        this.interceptorChain = interceptors.isEmpty() ? null : new InterceptorChain(interceptors);
+        this.routeTag = routeTag;
+
+        final HttpClientRequest request = httpClient.request(method.toString(), uri, (httpClientResponse) -> {
+            handleResponse(httpClientResponse, responseClass, responseHandler, responseBodyReader);
         });
+        if (metrics != null || interceptorChain != null) {
+            httpClientRequest = new MeteredHttpClientRequest(request, this::handleRequestStart, this::handleHandedToVertx);
+        } else {
+            httpClientRequest = request;
+        }
+
+        if (defaultRequestTemplate != null) {
+            defaultRequestTemplate.applyTo(httpClientRequest.headers());
+        }
 
         if (timeoutInMillis > 0) {
             httpClientRequest.setTimeout(timeoutInMillis);
         }
 
-        if(exceptionHandler != null) {
+        if (httpClientRequest instanceof MeteredHttpClientRequest) {
+            httpClientRequest.exceptionHandler(this::handleRequestException);
+        } else if (exceptionHandler != null) {
             httpClientRequest.exceptionHandler(exceptionHandler);
         }
     }
 
-    private void handleResponse(HttpClientResponse httpClientResponse, Class clazz, Handler<RestClientResponse<T>> handler) {
+    private void handleResponse(HttpClientResponse httpClientResponse, Class clazz, Handler<RestClientResponse<T>> handler, ResponseBodyReader<T> responseBodyReader) {
+        if (httpClientRequest instanceof MeteredHttpClientRequest) {
+            handleFirstByte(httpClientResponse);
+        }
+
         final Integer firstStatusDigit = httpClientResponse.statusCode() / 100;
         if (firstStatusDigit == 4 || firstStatusDigit == 5) {
             httpClientResponse.bodyHandler((buffer) -> {
-                if (log.isDebugEnabled()) {
-                    final String body = new String(buffer.getBytes(), Charsets.UTF_8);
-                    log.warn("Http request FAILED. Return status: {}, message: {}, body: {}", new Object[]{httpClientResponse.statusCode(), httpClientResponse.statusMessage(), body});
+                if (httpClientRequest instanceof MeteredHttpClientRequest) {
+                    handleComplete(httpClientResponse, buffer, buffer.length());
+                }
+                log.warn("Http request {} {} FAILED. Return status: {}, message: {}", new Object[]{method, uri, httpClientResponse.statusCode(), httpClientResponse.statusMessage()});
+                BodyLogger.logResponseBody(httpClientResponse.statusCode(), httpClientResponse.statusMessage(), buffer);
+
+                if (httpClientResponse.statusCode() == 401 && authorizedBy != null) {
+                    authorizedBy.invalidate(providedAuthorizationHeader);
                 }
 
                 RuntimeException exception = null;
                 switch (firstStatusDigit) {
                     case 4:
-                        exception = new HttpClientErrorException(httpClientResponse, httpMessageConverters, buffer.getBytes());
+                        final HttpClientErrorException httpClientErrorException = new HttpClientErrorException(httpClientResponse, httpMessageConverters, buffer.getBytes());
+                        if (negativeCacheKey != null && isNegativelyCacheable(httpClientResponse.statusCode())) {
+                            negativeCache.put(negativeCacheKey, NegativeCacheEntry.of(httpClientResponse, httpClientErrorException.getResponseBodyAsByteArray()));
+                        }
+                        exception = httpClientErrorException;
                         break;
                     case 5:
                         exception = new HttpServerErrorException(httpClientResponse, httpMessageConverters, buffer.getBytes());
@@ -116,12 +191,15 @@ public class DefaultRestClientRequest<T> implements RestClientRequest<T> {
                     throw exception;
                 }
             });
+        } else if (responseBodyReader != null) {
+            readResponseBody(httpClientResponse, handler, responseBodyReader);
         } else {
             httpClientResponse.bodyHandler((buffer) -> {
-                if (log.isDebugEnabled()) {
-                    final String body = new String(buffer.getBytes(), Charsets.UTF_8);
-                    log.debug("Http request SUCCESSFUL. Return status: {}, message: {}, body: {}", new Object[]{httpClientResponse.statusCode(), httpClientResponse.statusMessage(), body});
+                if (httpClientRequest instanceof MeteredHttpClientRequest) {
+                    handleComplete(httpClientResponse, buffer, buffer.length());
                 }
+                log.debug("Http request SUCCESSFUL. Return status: {}, message: {}", httpClientResponse.statusCode(), httpClientResponse.statusMessage());
+                BodyLogger.logResponseBody(httpClientResponse.statusCode(), httpClientResponse.statusMessage(), buffer);
 
                 try {
                     final RestClientResponse<T> restClientResponse = new DefaultRestClientResponse(
@@ -147,7 +225,7 @@ public class DefaultRestClientRequest<T> implements RestClientRequest<T> {
 
     @Override
     public RestClientRequest setChunked(boolean chunked) {
-        httpClientRequest.setChunked(true);
+        httpClientRequest.setChunked(chunked);
         return this;
     }
 
@@ -185,9 +263,15 @@ public class DefaultRestClientRequest<T> implements RestClientRequest<T> {
         return this;
     }
 
+    @Override
+    public RestClientRequest applyTemplate(RequestTemplate requestTemplate) {
+        requestTemplate.applyTo(httpClientRequest.headers());
+        return this;
+    }
+
     @Override
     public RestClientRequest write(Object requestObject) {
-        handleRequest(requestObject, false);
+        runAuthorized(() -> handleRequest(requestObject, false));
         return this;
     }
 
@@ -199,21 +283,93 @@ public class DefaultRestClientRequest<T> implements RestClientRequest<T> {
 
     @Override
     public RestClientRequest sendHead() {
-        httpClientRequest.sendHead();
+        runAuthorized(httpClientRequest::sendHead);
         return this;
     }
 
 
     @Override
     public void end(Object requestObject) {
-        populateAcceptHeaderIfNotPresent();
-        handleRequest(requestObject, true);
+        if (replayNegativelyCachedResponse()) {
+            return;
+        }
+
+        runAuthorized(() -> {
+            populateAcceptHeaderIfNotPresent();
+            handleRequest(requestObject, true);
+        });
     }
 
     @Override
     public void end() {
-        populateAcceptHeaderIfNotPresent();
-        httpClientRequest.end();
+        if (replayNegativelyCachedResponse()) {
+            return;
+        }
+
+        runAuthorized(() -> {
+            populateAcceptHeaderIfNotPresent();
+            httpClientRequest.end();
+        });
+    }
+
+    @Override
+    public void sendFile(String filename) {
+        checkNotNull(filename, "filename must not be null");
+        if (replayNegativelyCachedResponse()) {
+            return;
+        }
+
+        runAuthorized(() -> {
+            populateAcceptHeaderIfNotPresent();
+            vertx.fileSystem().props(filename, props -> {
+                if (props.failed()) {
+                    handleStreamException(new RestClientException("Could not read file " + filename, props.cause()));
+                    return;
+                }
+                vertx.fileSystem().open(filename, null, true, false, false, file -> {
+                    if (file.failed()) {
+                        handleStreamException(new RestClientException("Could not open file " + filename, file.cause()));
+                        return;
+                    }
+                    pumpFile(filename, props.result(), file.result());
+                });
+            });
+        });
+    }
+
+    @Override
+    public void sendStream(ReadStream<?> source) {
+        checkNotNull(source, "source must not be null");
+        if (replayNegativelyCachedResponse()) {
+            return;
+        }
+
+        // Nothing may be lost while the Authorization header is obtained
+        source.pause();
+        runAuthorized(() -> {
+            populateAcceptHeaderIfNotPresent();
+            prepareStreamedBody();
+            if (!httpClientRequest.headers().contains(HttpHeaders.CONTENT_TYPE)) {
+                httpClientRequest.headers().set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            }
+
+            pipe(source, throwable -> handleStreamException(new RestClientException("Could not read request body stream", throwable)), httpClientRequest::end);
+            source.resume();
+        });
+    }
+
+    @Override
+    public void sendStream(Observable<?> elements) {
+        checkNotNull(elements, "elements must not be null");
+        if (replayNegativelyCachedResponse()) {
+            return;
+        }
+
+        runAuthorized(() -> {
+            populateAcceptHeaderIfNotPresent();
+            prepareStreamedBody();
+            elements.subscribe(new RequestBodySubscriber(vertx.currentContext()));
+        });
     }
 
     @Override
@@ -249,26 +405,40 @@ public class DefaultRestClientRequest<T> implements RestClientRequest<T> {
 
     @Override
     public void setBasicAuth(String userPassCombination) {
-        httpClientRequest.headers().set(HttpHeaders.AUTHORIZATION, "Basic " + Base64.encodeBytes(userPassCombination.getBytes(Charsets.UTF_8)));
+        setBasicAuth(new BasicAuthCredentials(userPassCombination));
+    }
+
+    @Override
+    public void setBasicAuth(BasicAuthCredentials basicAuthCredentials) {
+        basicAuthCredentials.applyTo(httpClientRequest.headers());
     }
 
     @Override
     public String getBasicAuth() {
-        final String base64UserPassCombination = httpClientRequest.headers().get(HttpHeaders.AUTHORIZATION);
-        if (base64UserPassCombination != null && base64UserPassCombination.startsWith("Basic")) {
-            return new String(Base64.decode(base64UserPassCombination), Charsets.UTF_8).replaceFirst("Basic", "").trim();
-        } else {
-            return null;
-        }
+        final BasicAuthCredentials basicAuthCredentials = BasicAuthCredentials.fromAuthorizationHeader(httpClientRequest.headers().get(HttpHeaders.AUTHORIZATION));
+        return basicAuthCredentials != null ? basicAuthCredentials.getUserPassCombination() : null;
     }
 
     @Override
     public RestClientRequest exceptionHandler(Handler<Throwable> exceptionHandler) {
         this.exceptionHandler = exceptionHandler;
-        httpClientRequest.exceptionHandler(exceptionHandler);
+        if (!(httpClientRequest instanceof MeteredHttpClientRequest)) {
+            httpClientRequest.exceptionHandler(exceptionHandler);
+        }
+        return this;
+    }
+
+    @Override
+    public RestClientRequest setRouteTag(String routeTag) {
+        this.routeTag = routeTag;
         return this;
     }
 
+    @Override
+    public String getRouteTag() {
+        return routeTag;
+    }
+
     private void handleRequest(Object requestObject, Boolean endRequest) {
         try {
             if (requestObject == null) {
@@ -277,21 +447,7 @@ public class DefaultRestClientRequest<T> implements RestClientRequest<T> {
                     httpClientRequest.putHeader(HttpHeaders.CONTENT_LENGTH, "0");
                 }
             } else {
-                final Class<?> requestType = requestObject.getClass();
-                final MediaType requestContentType = getContentType();
-                for (HttpMessageConverter httpMessageConverter : httpMessageConverters) {
-                    if (httpMessageConverter.canWrite(requestType, requestContentType)) {
-                        httpMessageConverter.write(requestObject, requestContentType, httpClientRequest, endRequest);
-                        return;
-                    }
-                }
-
-                String message = "Could not write request: no suitable HttpMessageConverter found for request type [" + requestType.getName() + "]";
-                if (requestContentType != null) {
-                    message += " and content type [" + requestContentType + "]";
-                }
-
-                throw new RestClientException(message);
+                writeObject(httpClientRequest, requestObject, endRequest);
             }
         } catch (Throwable t) {
             if (exceptionHandler != null) {
@@ -302,6 +458,260 @@ public class DefaultRestClientRequest<T> implements RestClientRequest<T> {
         }
     }
 
+    private void writeObject(HttpClientRequest target, Object requestObject, boolean endRequest) {
+        final MediaType requestContentType = getContentType();
+        writeObject(target, findConverter(requestObject.getClass(), requestContentType), requestObject, requestContentType, endRequest);
+    }
+
+    private void writeObject(HttpClientRequest target, HttpMessageConverter httpMessageConverter, Object requestObject, MediaType requestContentType, boolean endRequest) {
+        if (httpMessageConverter instanceof StreamingHttpMessageConverter) {
+            ((StreamingHttpMessageConverter<Object>) httpMessageConverter).write(requestObject, requestContentType, target, endRequest, this::handleStreamException);
+        } else {
+            httpMessageConverter.write(requestObject, requestContentType, target, endRequest);
+        }
+    }
+
+    private HttpMessageConverter findConverter(Class<?> requestType, MediaType requestContentType) {
+        for (HttpMessageConverter httpMessageConverter : httpMessageConverters) {
+            if (httpMessageConverter.canWrite(requestType, requestContentType)) {
+                return httpMessageConverter;
+            }
+        }
+
+        String message = "Could not write request: no suitable HttpMessageConverter found for request type [" + requestType.getName() + "]";
+        if (requestContentType != null) {
+            message += " and content type [" + requestContentType + "]";
+        }
+
+        throw new RestClientException(message);
+    }
+
+    /**
+     * Runs the action once the Authorization header is obtained from the {@link AccessTokenProvider}. Actions which are
+     * submitted while the header is requested are queued and run in order. If no provider is set or the request already
+     * has an Authorization header the action runs immediately.
+     */
+    private void runAuthorized(Runnable action) {
+        if (accessTokenProvider == null) {
+            action.run();
+            return;
+        }
+        if (actionsWaitingForAuthorization != null) {
+            actionsWaitingForAuthorization.add(action);
+            return;
+        }
+        if (httpClientRequest.headers().contains(HttpHeaders.AUTHORIZATION)) {
+            accessTokenProvider = null;
+            action.run();
+            return;
+        }
+
+        actionsWaitingForAuthorization = new ArrayList<>(2);
+        actionsWaitingForAuthorization.add(action);
+        final AccessTokenProvider provider = accessTokenProvider;
+        provider.getAuthorizationHeader(result -> {
+            final List<Runnable> actions = actionsWaitingForAuthorization;
+            actionsWaitingForAuthorization = null;
+            accessTokenProvider = null;
+
+            if (result.failed()) {
+                final RestClientException exception = new RestClientException("Could not obtain Authorization header", result.cause());
+                if (exceptionHandler != null) {
+                    exceptionHandler.handle(exception);
+                } else {
+                    throw exception;
+                }
+                return;
+            }
+
+            authorizedBy = provider;
+            providedAuthorizationHeader = result.result();
+            httpClientRequest.headers().set(HttpHeaders.AUTHORIZATION, result.result());
+            for (Runnable waitingAction : actions) {
+                waitingAction.run();
+            }
+        });
+    }
+
+    private void handleRequestStart() {
+        if (metrics != null) {
+            metricsKey = createMetricsKey();
+            metrics.requestStarted(metricsKey);
+        }
+        if (interceptorChain != null) {
+            requestContext = new DefaultRequestContext(method, httpClient.getHost(), httpClient.getPort(), uri, routeTag, httpClientRequest.headers());
+            requestContext.setStartNanos(System.nanoTime());
+            interceptorChain.onRequestStart(requestContext);
+        }
+    }
+
+    private void handleHandedToVertx() {
+        if (interceptorChain != null) {
+            requestContext.setHandedToVertxNanos(System.nanoTime());
+            interceptorChain.onHandedToVertx(requestContext);
+        }
+    }
+
+    private void handleFirstByte(HttpClientResponse httpClientResponse) {
+        firstByteNanos = System.nanoTime();
+        if (interceptorChain != null && requestContext != null) {
+            requestContext.setFirstByteNanos(firstByteNanos);
+            interceptorChain.onFirstByte(requestContext, httpClientResponse);
+        }
+    }
+
+    private void readResponseBody(HttpClientResponse httpClientResponse, Handler<RestClientResponse<T>> handler, ResponseBodyReader<T> responseBodyReader) {
+        final boolean metered = httpClientRequest instanceof MeteredHttpClientRequest;
+        final HttpClientResponse readHttpClientResponse = metered ? new MeteredHttpClientResponse(httpClientResponse) : httpClientResponse;
+        responseBodyReader.read(readHttpClientResponse, result -> {
+            if (result.failed()) {
+                handleStreamException(result.cause());
+                return;
+            }
+            if (metered) {
+                handleComplete(httpClientResponse, new Buffer(0), ((MeteredHttpClientResponse) readHttpClientResponse).getBytesRead());
+            }
+            log.debug("Http request SUCCESSFUL. Return status: {}, message: {}", httpClientResponse.statusCode(), httpClientResponse.statusMessage());
+
+            try {
+                handler.handle(new StreamedRestClientResponse<>(result.result(), httpClientResponse));
+            } catch (Throwable t) {
+                log.error("Failed invoking rest handler", t);
+                if (exceptionHandler != null) {
+                    exceptionHandler.handle(t);
+                } else {
+                    throw t;
+                }
+            }
+        });
+    }
+
+    private void handleComplete(HttpClientResponse httpClientResponse, Buffer body, long bodyLength) {
+        if (finished) {
+            return;
+        }
+
+        finished = true;
+        final MeteredHttpClientRequest meteredHttpClientRequest = (MeteredHttpClientRequest) httpClientRequest;
+        if (metricsKey != null) {
+            final long startNanos = meteredHttpClientRequest.getStartNanos();
+            metrics.requestCompleted(
+                    metricsKey,
+                    httpClientResponse.statusCode(),
+                    firstByteNanos - startNanos,
+                    System.nanoTime() - startNanos,
+                    meteredHttpClientRequest.getBytesWritten(),
+                    bodyLength
+            );
+        }
+        if (requestContext != null) {
+            interceptorChain.onComplete(requestContext, httpClientResponse, body);
+        }
+    }
+
+    private void handleRequestException(Throwable t) {
+        if (!finished) {
+            finished = true;
+            final MeteredHttpClientRequest meteredHttpClientRequest = (MeteredHttpClientRequest) httpClientRequest;
+            if (metricsKey != null) {
+                metrics.requestFailed(metricsKey, t, System.nanoTime() - meteredHttpClientRequest.getStartNanos(), meteredHttpClientRequest.getBytesWritten());
+            }
+            if (requestContext != null) {
+                interceptorChain.onError(requestContext, t);
+            }
+        }
+
+        if (exceptionHandler != null) {
+            exceptionHandler.handle(t);
+        } else {
+            log.error("Http request FAILED", t);
+        }
+    }
+
+    private void pumpFile(String filename, FileProps fileProps, AsyncFile file) {
+        final MultiMap httpHeaders = httpClientRequest.headers();
+        if (!httpClientRequest.isChunked()) {
+            httpHeaders.set(HttpHeaders.CONTENT_LENGTH, String.valueOf(fileProps.size()));
+        }
+        if (!httpHeaders.contains(HttpHeaders.CONTENT_TYPE)) {
+            httpHeaders.set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        }
+
+        pipe(file, throwable -> {
+            file.close();
+            handleStreamException(new RestClientException("Could not read file " + filename, throwable));
+        }, () -> {
+            file.close();
+            httpClientRequest.end();
+        });
+    }
+
+    /**
+     * Writes the buffers of the source to the request, pausing the source while the request waits for a drain.
+     */
+    private void pipe(ReadStream<?> source, Handler<Throwable> failureHandler, Runnable endHandler) {
+        final WriteWindow writeWindow = new WriteWindow(vertx, httpClientRequest);
+        source.dataHandler(buffer -> {
+            httpClientRequest.write(buffer);
+            writeWindow.written(buffer.length());
+            if (writeWindow.isFull()) {
+                source.pause();
+                writeWindow.drainHandler(source::resume);
+            }
+        });
+        source.exceptionHandler(throwable -> {
+            source.dataHandler(null);
+            failureHandler.handle(throwable);
+        });
+        source.endHandler(event -> endHandler.run());
+    }
+
+    private void prepareStreamedBody() {
+        if (!httpClientRequest.headers().contains(HttpHeaders.CONTENT_LENGTH)) {
+            httpClientRequest.setChunked(true);
+        }
+    }
+
+    private void handleStreamException(Throwable t) {
+        if (httpClientRequest instanceof MeteredHttpClientRequest) {
+            handleRequestException(t);
+        } else if (exceptionHandler != null) {
+            exceptionHandler.handle(t);
+        } else {
+            log.error("Http request FAILED", t);
+        }
+    }
+
+    private RequestMetricsKey createMetricsKey() {
+        return new RequestMetricsKey(httpClient.getHost() + ":" + httpClient.getPort(), method, routeTag);
+    }
+
+    private boolean isNegativelyCacheable(int statusCode) {
+        return statusCode == 404 || statusCode == 410;
+    }
+
+    private boolean replayNegativelyCachedResponse() {
+        if (negativeCache == null) {
+            return false;
+        }
+
+        // The headers are complete once the request is ended, the key also identifies the entry to store a 404/410 in
+        negativeCacheKey = NegativeCacheKey.of(method, uri, httpClientRequest.headers());
+        final NegativeCacheEntry cachedResponse = negativeCache.getIfPresent(negativeCacheKey);
+        if (cachedResponse == null) {
+            return false;
+        }
+
+        log.debug("Negative cache hit for {}, status: {}", negativeCacheKey, cachedResponse.getStatusCode());
+        final HttpClientErrorException cachedException = cachedResponse.toException(httpMessageConverters);
+        if (exceptionHandler != null) {
+            exceptionHandler.handle(cachedException);
+        } else {
+            throw cachedException;
+        }
+        return true;
+    }
+
     private void populateAcceptHeaderIfNotPresent() {
         final String acceptHeader = httpClientRequest.headers().get(HttpHeaders.ACCEPT);
         if (Strings.isNullOrEmpty(acceptHeader)) {
@@ -337,4 +747,110 @@ public class DefaultRestClientRequest<T> implements RestClientRequest<T> {
         }
         return result;
     }
+
+    /**
+     * Writes each element to the request as it arrives. The next element is requested only once the request is ready to
+     * take it. Small elements are coalesced into chunks of {@link #COALESCED_CHUNK_BYTES} or whatever arrived within one
+     * run of the event loop. Elements emitted on another thread are handed over to the context of the request.
+     */
+    private class RequestBodySubscriber extends Subscriber<Object> {
+
+        private final Context context;
+        private final CoalescingHttpClientRequest coalescingRequest = new CoalescingHttpClientRequest(httpClientRequest);
+        private final WriteWindow writeWindow = new WriteWindow(vertx, httpClientRequest);
+        private MediaType contentType;
+        private Class<?> elementClass;
+        private HttpMessageConverter elementConverter;
+        private boolean flushScheduled;
+        // Elements may still be on their way to the context after the observable completed and unsubscribed
+        private boolean done;
+
+        private RequestBodySubscriber(Context context) {
+            this.context = context;
+        }
+
+        @Override
+        public void onStart() {
+            request(1);
+        }
+
+        @Override
+        public void onNext(Object element) {
+            runOnContext(() -> {
+                if (done) {
+                    return;
+                }
+                try {
+                    writeElement(element);
+                } catch (Throwable t) {
+                    done = true;
+                    unsubscribe();
+                    handleStreamException(t);
+                    return;
+                }
+
+                if (coalescingRequest.getPendingBytes() >= COALESCED_CHUNK_BYTES) {
+                    flush();
+                } else if (!flushScheduled) {
+                    flushScheduled = true;
+                    vertx.runOnContext(event -> {
+                        flushScheduled = false;
+                        if (!done) {
+                            flush();
+                        }
+                    });
+                }
+
+                if (writeWindow.isFull()) {
+                    writeWindow.drainHandler(() -> request(1));
+                } else {
+                    request(1);
+                }
+            });
+        }
+
+        @Override
+        public void onCompleted() {
+            runOnContext(() -> {
+                if (!done) {
+                    done = true;
+                    coalescingRequest.end();
+                }
+            });
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            runOnContext(() -> {
+                if (!done) {
+                    done = true;
+                    handleStreamException(new RestClientException("Could not read request body stream", throwable));
+                }
+            });
+        }
+
+        private void writeElement(Object element) {
+            // Resolving the converter is costly compared to writing a small element
+            if (contentType == null) {
+                contentType = getContentType();
+            }
+            if (element.getClass() != elementClass) {
+                elementConverter = findConverter(element.getClass(), contentType);
+                elementClass = element.getClass();
+            }
+            writeObject(coalescingRequest, elementConverter, element, contentType, false);
+        }
+
+        private void flush() {
+            writeWindow.written(coalescingRequest.flush());
+        }
+
+        private void runOnContext(Runnable action) {
+            if (context == null || vertx.currentContext() == context) {
+                action.run();
+            } else {
+                context.runOnContext(event -> action.run());
+            }
+        }
+    }
 }
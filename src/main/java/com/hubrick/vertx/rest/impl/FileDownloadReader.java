@@ -0,0 +1,140 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.impl;
+
+import com.google.common.io.BaseEncoding;
+import com.hubrick.vertx.rest.FileDownload;
+import com.hubrick.vertx.rest.ResponseBodyReader;
+import com.hubrick.vertx.rest.exception.RestClientException;
+import org.vertx.java.core.AsyncResult;
+import org.vertx.java.core.Handler;
+import org.vertx.java.core.Vertx;
+import org.vertx.java.core.buffer.Buffer;
+import org.vertx.java.core.file.AsyncFile;
+import org.vertx.java.core.http.HttpClientResponse;
+import org.vertx.java.core.impl.DefaultFutureResult;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Writes the response body to a file while computing its SHA-256 digest. The response is paused whenever the writes to
+ * the file fall behind. An existing file is replaced, a partially written file is deleted when the download fails.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+class FileDownloadReader implements ResponseBodyReader<FileDownload> {
+
+    private final Vertx vertx;
+    private final String path;
+
+    FileDownloadReader(Vertx vertx, String path) {
+        checkNotNull(vertx, "vertx must not be null");
+        checkNotNull(path, "path must not be null");
+
+        this.vertx = vertx;
+        this.path = path;
+    }
+
+    @Override
+    public void read(HttpClientResponse httpClientResponse, Handler<AsyncResult<FileDownload>> resultHandler) {
+        // Nothing may arrive before the file is open
+        httpClientResponse.pause();
+        vertx.fileSystem().delete(path, deleted -> vertx.fileSystem().open(path, null, false, true, true, opened -> {
+            if (opened.failed()) {
+                httpClientResponse.resume();
+                resultHandler.handle(new DefaultFutureResult<>(new RestClientException("Could not open file " + path, opened.cause())));
+                return;
+            }
+            new Download(httpClientResponse, opened.result(), resultHandler).start();
+        }));
+    }
+
+    private class Download {
+
+        private final HttpClientResponse httpClientResponse;
+        private final AsyncFile file;
+        private final Handler<AsyncResult<FileDownload>> resultHandler;
+        private final MessageDigest digest;
+        private long size;
+        private boolean done;
+
+        private Download(HttpClientResponse httpClientResponse, AsyncFile file, Handler<AsyncResult<FileDownload>> resultHandler) {
+            this.httpClientResponse = httpClientResponse;
+            this.file = file;
+            this.resultHandler = resultHandler;
+            try {
+                this.digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not supported", e);
+            }
+        }
+
+        private void start() {
+            file.exceptionHandler(throwable -> fail(new RestClientException("Could not write file " + path, throwable)));
+            httpClientResponse.exceptionHandler(throwable -> fail(new RestClientException("Could not read response body for file " + path, throwable)));
+            httpClientResponse.dataHandler(this::write);
+            httpClientResponse.endHandler(event -> complete());
+            httpClientResponse.resume();
+        }
+
+        private void write(Buffer buffer) {
+            if (done) {
+                return;
+            }
+            digest.update(buffer.getByteBuf().nioBuffer());
+            size += buffer.length();
+            file.write(buffer);
+            if (file.writeQueueFull()) {
+                httpClientResponse.pause();
+                // The drain handler is called only once
+                file.drainHandler(event -> httpClientResponse.resume());
+            }
+        }
+
+        private void complete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            // Closing waits for the pending writes
+            file.close(closed -> {
+                if (closed.failed()) {
+                    deleteAndFail(new RestClientException("Could not write file " + path, closed.cause()));
+                } else {
+                    resultHandler.handle(new DefaultFutureResult<>(new FileDownload(path, size, BaseEncoding.base16().lowerCase().encode(digest.digest()))));
+                }
+            });
+        }
+
+        private void fail(Throwable throwable) {
+            if (done) {
+                return;
+            }
+            done = true;
+            // Keep the connection usable by discarding the rest of the body
+            httpClientResponse.resume();
+            file.close(closed -> deleteAndFail(throwable));
+        }
+
+        private void deleteAndFail(Throwable throwable) {
+            vertx.fileSystem().delete(path, deleted -> resultHandler.handle(new DefaultFutureResult<>(throwable)));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.impl;
+
+import com.hubrick.vertx.rest.interceptor.RequestContext;
+import com.hubrick.vertx.rest.interceptor.RestClientInterceptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vertx.java.core.buffer.Buffer;
+import org.vertx.java.core.http.HttpClientResponse;
+
+import java.util.List;
+
+/**
+ * Calls the interceptors of a request in order and shields the request from exceptions thrown by them.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+class InterceptorChain {
+
+    private static final Logger log = LoggerFactory.getLogger(InterceptorChain.class);
+
+    private final List<RestClientInterceptor> interceptors;
+
+    /**
+     * @param interceptors An immutable list of interceptors which is shared by all requests of a client
+     */
+    InterceptorChain(List<RestClientInterceptor> interceptors) {
+        this.interceptors = interceptors;
+    }
+
+    void onRequestStart(RequestContext context) {
+        for (int i = 0; i < interceptors.size(); i++) {
+            final RestClientInterceptor interceptor = interceptors.get(i);
+            try {
+                interceptor.onRequestStart(context);
+            } catch (Throwable t) {
+                log.warn("Interceptor {} failed on request start", interceptor, t);
+            }
+        }
+    }
+
+    void onHandedToVertx(RequestContext context) {
+        for (int i = 0; i < interceptors.size(); i++) {
+            final RestClientInterceptor interceptor = interceptors.get(i);
+            try {
+                interceptor.onHandedToVertx(context);
+            } catch (Throwable t) {
+                log.warn("Interceptor {} failed on request handed to Vert.x", interceptor, t);
+            }
+        }
+    }
+
+    void onFirstByte(RequestContext context, HttpClientResponse httpClientResponse) {
+        for (int i = 0; i < interceptors.size(); i++) {
+            final RestClientInterceptor interceptor = interceptors.get(i);
+            try {
+                interceptor.onFirstByte(context, httpClientResponse);
+            } catch (Throwable t) {
+                log.warn("Interceptor {} failed on first byte", interceptor, t);
+            }
+        }
+    }
+
+    void onComplete(RequestContext context, HttpClientResponse httpClientResponse, Buffer body) {
+        for (int i = 0; i < interceptors.size(); i++) {
+            final RestClientInterceptor interceptor = interceptors.get(i);
+            try {
+                interceptor.onComplete(context, httpClientResponse, body);
+            } catch (Throwable t) {
+                log.warn("Interceptor {} failed on complete", interceptor, t);
+            }
+        }
+    }
+
+    void onError(RequestContext context, Throwable cause) {
+        for (int i = 0; i < interceptors.size(); i++) {
+            final RestClientInterceptor interceptor = interceptors.get(i);
+            try {
+                interceptor.onError(context, cause);
+            } catch (Throwable t) {
+                log.warn("Interceptor {} failed on error", interceptor, t);
+            }
+        }
+    }
+}
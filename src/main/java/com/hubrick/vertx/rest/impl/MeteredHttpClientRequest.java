@@ -0,0 +1,203 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.impl;
+
+import org.vertx.java.core.Handler;
+import org.vertx.java.core.MultiMap;
+import org.vertx.java.core.buffer.Buffer;
+import org.vertx.java.core.http.HttpClientRequest;
+
+/**
+ * Decorates a {@link HttpClientRequest} to count the written body bytes and to notice when the request is started,
+ * i.e. right before and right after the head and the first chunk of the body are handed to Vert.x. The calls return
+ * once Vert.x buffered the data, the actual write to the socket is not observable in Vert.x 2.
+ * Only used when metrics or interceptors are enabled.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+class MeteredHttpClientRequest implements HttpClientRequest {
+
+    private final HttpClientRequest delegate;
+    private final Runnable startListener;
+    private final Runnable handedToVertxListener;
+    private long startNanos;
+    private boolean handedToVertx;
+    private long bytesWritten;
+
+    MeteredHttpClientRequest(HttpClientRequest delegate, Runnable startListener, Runnable handedToVertxListener) {
+        this.delegate = delegate;
+        this.startListener = startListener;
+        this.handedToVertxListener = handedToVertxListener;
+    }
+
+    long getStartNanos() {
+        return startNanos;
+    }
+
+    long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    private void markStarted() {
+        if (startNanos == 0) {
+            startNanos = System.nanoTime();
+            startListener.run();
+        }
+    }
+
+    private void markHandedToVertx() {
+        if (!handedToVertx) {
+            handedToVertx = true;
+            handedToVertxListener.run();
+        }
+    }
+
+    private Buffer count(Buffer chunk) {
+        markStarted();
+        bytesWritten += chunk.length();
+        return chunk;
+    }
+
+    @Override
+    public HttpClientRequest setChunked(boolean chunked) {
+        delegate.setChunked(chunked);
+        return this;
+    }
+
+    @Override
+    public boolean isChunked() {
+        return delegate.isChunked();
+    }
+
+    @Override
+    public MultiMap headers() {
+        return delegate.headers();
+    }
+
+    @Override
+    public HttpClientRequest putHeader(String name, String value) {
+        delegate.putHeader(name, value);
+        return this;
+    }
+
+    @Override
+    public HttpClientRequest putHeader(CharSequence name, CharSequence value) {
+        delegate.putHeader(name, value);
+        return this;
+    }
+
+    @Override
+    public HttpClientRequest putHeader(String name, Iterable<String> values) {
+        delegate.putHeader(name, values);
+        return this;
+    }
+
+    @Override
+    public HttpClientRequest putHeader(CharSequence name, Iterable<CharSequence> values) {
+        delegate.putHeader(name, values);
+        return this;
+    }
+
+    @Override
+    public HttpClientRequest write(Buffer chunk) {
+        delegate.write(count(chunk));
+        markHandedToVertx();
+        return this;
+    }
+
+    @Override
+    public HttpClientRequest write(String chunk) {
+        delegate.write(count(new Buffer(chunk)));
+        markHandedToVertx();
+        return this;
+    }
+
+    @Override
+    public HttpClientRequest write(String chunk, String enc) {
+        delegate.write(count(new Buffer(chunk, enc)));
+        markHandedToVertx();
+        return this;
+    }
+
+    @Override
+    public HttpClientRequest continueHandler(Handler<Void> handler) {
+        delegate.continueHandler(handler);
+        return this;
+    }
+
+    @Override
+    public HttpClientRequest sendHead() {
+        markStarted();
+        delegate.sendHead();
+        markHandedToVertx();
+        return this;
+    }
+
+    @Override
+    public void end(String chunk) {
+        delegate.end(count(new Buffer(chunk)));
+        markHandedToVertx();
+    }
+
+    @Override
+    public void end(String chunk, String enc) {
+        delegate.end(count(new Buffer(chunk, enc)));
+        markHandedToVertx();
+    }
+
+    @Override
+    public void end(Buffer chunk) {
+        delegate.end(count(chunk));
+        markHandedToVertx();
+    }
+
+    @Override
+    public void end() {
+        markStarted();
+        delegate.end();
+        markHandedToVertx();
+    }
+
+    @Override
+    public HttpClientRequest setTimeout(long timeoutMs) {
+        delegate.setTimeout(timeoutMs);
+        return this;
+    }
+
+    @Override
+    public HttpClientRequest setWriteQueueMaxSize(int maxSize) {
+        delegate.setWriteQueueMaxSize(maxSize);
+        return this;
+    }
+
+    @Override
+    public boolean writeQueueFull() {
+        return delegate.writeQueueFull();
+    }
+
+    @Override
+    public HttpClientRequest drainHandler(Handler<Void> handler) {
+        delegate.drainHandler(handler);
+        return this;
+    }
+
+    @Override
+    public HttpClientRequest exceptionHandler(Handler<Throwable> handler) {
+        delegate.exceptionHandler(handler);
+        return this;
+    }
+}
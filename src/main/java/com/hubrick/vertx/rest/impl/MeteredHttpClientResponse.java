@@ -0,0 +1,117 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.impl;
+
+import org.vertx.java.core.Handler;
+import org.vertx.java.core.MultiMap;
+import org.vertx.java.core.buffer.Buffer;
+import org.vertx.java.core.http.HttpClientResponse;
+import org.vertx.java.core.net.NetSocket;
+
+import java.util.List;
+
+/**
+ * Decorates a {@link HttpClientResponse} to count the body bytes which are read by a
+ * {@link com.hubrick.vertx.rest.ResponseBodyReader}. Only used when metrics or interceptors are enabled.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+class MeteredHttpClientResponse implements HttpClientResponse {
+
+    private final HttpClientResponse delegate;
+    private long bytesRead;
+
+    MeteredHttpClientResponse(HttpClientResponse delegate) {
+        this.delegate = delegate;
+    }
+
+    long getBytesRead() {
+        return bytesRead;
+    }
+
+    @Override
+    public int statusCode() {
+        return delegate.statusCode();
+    }
+
+    @Override
+    public String statusMessage() {
+        return delegate.statusMessage();
+    }
+
+    @Override
+    public MultiMap headers() {
+        return delegate.headers();
+    }
+
+    @Override
+    public MultiMap trailers() {
+        return delegate.trailers();
+    }
+
+    @Override
+    public List<String> cookies() {
+        return delegate.cookies();
+    }
+
+    @Override
+    public HttpClientResponse bodyHandler(Handler<Buffer> bodyHandler) {
+        delegate.bodyHandler(bodyHandler == null ? null : body -> {
+            bytesRead += body.length();
+            bodyHandler.handle(body);
+        });
+        return this;
+    }
+
+    @Override
+    public NetSocket netSocket() {
+        return delegate.netSocket();
+    }
+
+    @Override
+    public HttpClientResponse endHandler(Handler<Void> endHandler) {
+        delegate.endHandler(endHandler);
+        return this;
+    }
+
+    @Override
+    public HttpClientResponse dataHandler(Handler<Buffer> dataHandler) {
+        delegate.dataHandler(dataHandler == null ? null : data -> {
+            bytesRead += data.length();
+            dataHandler.handle(data);
+        });
+        return this;
+    }
+
+    @Override
+    public HttpClientResponse pause() {
+        delegate.pause();
+        return this;
+    }
+
+    @Override
+    public HttpClientResponse resume() {
+        delegate.resume();
+        return this;
+    }
+
+    @Override
+    public HttpClientResponse exceptionHandler(Handler<Throwable> exceptionHandler) {
+        delegate.exceptionHandler(exceptionHandler);
+        return this;
+    }
+}
@@ -0,0 +1,144 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.impl;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import com.hubrick.vertx.rest.converter.HttpMessageConverter;
+import com.hubrick.vertx.rest.exception.HttpClientErrorException;
+import org.vertx.java.core.Handler;
+import org.vertx.java.core.MultiMap;
+import org.vertx.java.core.buffer.Buffer;
+import org.vertx.java.core.http.CaseInsensitiveMultiMap;
+import org.vertx.java.core.http.HttpClientResponse;
+import org.vertx.java.core.http.HttpHeaders;
+import org.vertx.java.core.net.NetSocket;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The status line, headers and body of a negatively cached response. Only these are kept, the response itself holds
+ * on to its connection. Every replay gets a new {@link HttpClientErrorException} with its own copy of the headers and
+ * body, so requests never share a mutable exception.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+final class NegativeCacheEntry {
+
+    private final int statusCode;
+    private final String statusMessage;
+    private final List<Map.Entry<String, String>> headers;
+    private final byte[] body;
+
+    private NegativeCacheEntry(int statusCode, String statusMessage, List<Map.Entry<String, String>> headers, byte[] body) {
+        this.statusCode = statusCode;
+        this.statusMessage = statusMessage;
+        this.headers = headers;
+        this.body = body;
+    }
+
+    static NegativeCacheEntry of(HttpClientResponse httpClientResponse, byte[] body) {
+        final ImmutableList.Builder<Map.Entry<String, String>> headers = ImmutableList.builder();
+        for (Map.Entry<String, String> header : httpClientResponse.headers()) {
+            headers.add(Maps.immutableEntry(header.getKey(), header.getValue()));
+        }
+        return new NegativeCacheEntry(httpClientResponse.statusCode(), httpClientResponse.statusMessage(), headers.build(), body.clone());
+    }
+
+    int getStatusCode() {
+        return statusCode;
+    }
+
+    HttpClientErrorException toException(List<HttpMessageConverter> httpMessageConverters) {
+        return new HttpClientErrorException(new ReplayedHttpClientResponse(), httpMessageConverters, body.clone());
+    }
+
+    /**
+     * A response without a connection whose body has already been read.
+     */
+    private class ReplayedHttpClientResponse implements HttpClientResponse {
+
+        private final MultiMap replayedHeaders = new CaseInsensitiveMultiMap();
+
+        ReplayedHttpClientResponse() {
+            for (Map.Entry<String, String> header : headers) {
+                replayedHeaders.add(header.getKey(), header.getValue());
+            }
+        }
+
+        @Override
+        public int statusCode() {
+            return statusCode;
+        }
+
+        @Override
+        public String statusMessage() {
+            return statusMessage;
+        }
+
+        @Override
+        public MultiMap headers() {
+            return replayedHeaders;
+        }
+
+        @Override
+        public MultiMap trailers() {
+            return new CaseInsensitiveMultiMap();
+        }
+
+        @Override
+        public List<String> cookies() {
+            return replayedHeaders.getAll(HttpHeaders.SET_COOKIE);
+        }
+
+        @Override
+        public HttpClientResponse bodyHandler(Handler<Buffer> bodyHandler) {
+            return this;
+        }
+
+        @Override
+        public NetSocket netSocket() {
+            throw new UnsupportedOperationException("A replayed response has no connection");
+        }
+
+        @Override
+        public HttpClientResponse endHandler(Handler<Void> endHandler) {
+            return this;
+        }
+
+        @Override
+        public HttpClientResponse dataHandler(Handler<Buffer> dataHandler) {
+            return this;
+        }
+
+        @Override
+        public HttpClientResponse pause() {
+            return this;
+        }
+
+        @Override
+        public HttpClientResponse resume() {
+            return this;
+        }
+
+        @Override
+        public HttpClientResponse exceptionHandler(Handler<Throwable> exceptionHandler) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.impl;
+
+import com.google.common.collect.ImmutableList;
+import com.hubrick.vertx.rest.HttpMethod;
+import org.vertx.java.core.MultiMap;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Identifies a request in the negative cache by its method, uri and its {@code Accept} and {@code Authorization}
+ * headers, so requests for another representation or on behalf of another caller do not share a cached response. Other
+ * headers are ignored, as per-request headers like {@code traceparent} or {@code X-Request-Id} would make every key
+ * unique.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+final class NegativeCacheKey {
+
+    private static final List<String> KEY_HEADERS = ImmutableList.of("accept", "authorization");
+
+    private final HttpMethod method;
+    private final String uri;
+    private final List<String> headers;
+    private final int hashCode;
+
+    private NegativeCacheKey(HttpMethod method, String uri, List<String> headers) {
+        this.method = method;
+        this.uri = uri;
+        this.headers = headers;
+        this.hashCode = Objects.hash(method, uri, headers);
+    }
+
+    static NegativeCacheKey of(HttpMethod method, String uri, MultiMap headers) {
+        final ImmutableList.Builder<String> keyHeaders = ImmutableList.builder();
+        for (String name : KEY_HEADERS) {
+            for (String value : headers.getAll(name)) {
+                keyHeaders.add(name + ":" + value);
+            }
+        }
+        return new NegativeCacheKey(method, uri, keyHeaders.build());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final NegativeCacheKey that = (NegativeCacheKey) o;
+        return method == that.method && uri.equals(that.uri) && headers.equals(that.headers);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + uri;
+    }
+}
@@ -0,0 +1,248 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.impl;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.LinkedListMultimap;
+import com.google.common.collect.Multimap;
+import com.hubrick.vertx.rest.AccessTokenProvider;
+import com.hubrick.vertx.rest.BasicAuthCredentials;
+import com.hubrick.vertx.rest.MediaType;
+import com.hubrick.vertx.rest.RestClient;
+import com.hubrick.vertx.rest.RestClientRequest;
+import com.hubrick.vertx.rest.exception.RestClientException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vertx.java.core.AsyncResult;
+import org.vertx.java.core.Handler;
+import org.vertx.java.core.http.HttpHeaders;
+import org.vertx.java.core.impl.DefaultFutureResult;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * An {@link AccessTokenProvider} which fetches bearer tokens with the OAuth2 client credentials grant as defined in
+ * <a href="http://tools.ietf.org/html/rfc6749#section-4.4">RFC 6749, section 4.4</a>.<p>
+ * The token is cached until it expires. Once less than {@code refreshAheadInMillis} of its lifetime is left, the next call
+ * triggers a refresh in the background while the cached token is still handed out, so callers don't have to wait at expiry.
+ * There is never more than one token request in flight, all callers which need a token while no valid one is cached
+ * wait for the same request. After a failed token request, callers without a valid token fail immediately until the
+ * retry delay has passed, which doubles with every further failure up to the max retry delay. A token which the server
+ * rejected with {@code 401 Unauthorized} is discarded.<p>
+ * The token {@link RestClient} must be configured with a {@link com.hubrick.vertx.rest.converter.FormHttpMessageConverter}
+ * and a {@link com.hubrick.vertx.rest.converter.JacksonJsonHttpMessageConverter}.
+ * Instances are not thread-safe and should be used from the event loop on which they were created.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class OAuth2ClientCredentialsAccessTokenProvider implements AccessTokenProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(OAuth2ClientCredentialsAccessTokenProvider.class);
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    public static final long DEFAULT_MIN_RETRY_DELAY_IN_MILLIS = 1000;
+    public static final long DEFAULT_MAX_RETRY_DELAY_IN_MILLIS = 60000;
+
+    private final RestClient tokenRestClient;
+    private final String tokenUri;
+    private final BasicAuthCredentials clientCredentials;
+    private final String scope;
+    private final long refreshAheadInMillis;
+    private final LongSupplier clock;
+    private final List<Handler<AsyncResult<CharSequence>>> waitingHandlers = new ArrayList<>();
+
+    private long minRetryDelayInMillis = DEFAULT_MIN_RETRY_DELAY_IN_MILLIS;
+    private long maxRetryDelayInMillis = DEFAULT_MAX_RETRY_DELAY_IN_MILLIS;
+    private CharSequence authorizationHeader;
+    private long expiresAtInMillis;
+    private long refreshAtInMillis;
+    private boolean refreshInFlight = false;
+    private int failedAttempts;
+    private long retryAtInMillis;
+    private Throwable lastFailure;
+
+    /**
+     * @param tokenRestClient The client which is used to call the token endpoint
+     * @param tokenUri The uri of the token endpoint
+     * @param clientId The client id
+     * @param clientSecret The client secret
+     * @param scope The requested scope or {@code null} for the default scope of the client
+     * @param refreshAheadInMillis How long before the expiry of a token a new one is fetched in the background
+     */
+    public OAuth2ClientCredentialsAccessTokenProvider(RestClient tokenRestClient,
+                                                      String tokenUri,
+                                                      String clientId,
+                                                      String clientSecret,
+                                                      @Nullable String scope,
+                                                      long refreshAheadInMillis) {
+        this(tokenRestClient, tokenUri, clientId, clientSecret, scope, refreshAheadInMillis, System::currentTimeMillis);
+    }
+
+    OAuth2ClientCredentialsAccessTokenProvider(RestClient tokenRestClient,
+                                               String tokenUri,
+                                               String clientId,
+                                               String clientSecret,
+                                               @Nullable String scope,
+                                               long refreshAheadInMillis,
+                                               LongSupplier clock) {
+        checkNotNull(tokenRestClient, "tokenRestClient must not be null");
+        checkArgument(!Strings.isNullOrEmpty(tokenUri), "tokenUri must not be empty");
+        checkArgument(refreshAheadInMillis >= 0, "refreshAheadInMillis must not be negative");
+
+        this.tokenRestClient = tokenRestClient;
+        this.tokenUri = tokenUri;
+        this.clientCredentials = new BasicAuthCredentials(clientId, clientSecret);
+        this.scope = scope;
+        this.refreshAheadInMillis = refreshAheadInMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Sets the delay before the token is requested again after a failed request. It doubles with every further failure
+     * up to the max retry delay. Defaults to 1 second and 1 minute.
+     *
+     * @param minRetryDelayInMillis The delay after the first failure
+     * @param maxRetryDelayInMillis The upper bound of the delay
+     * @return A reference to this, so multiple method calls can be chained.
+     */
+    public OAuth2ClientCredentialsAccessTokenProvider setRetryDelay(long minRetryDelayInMillis, long maxRetryDelayInMillis) {
+        checkArgument(minRetryDelayInMillis >= 0, "minRetryDelayInMillis must not be negative");
+        checkArgument(maxRetryDelayInMillis >= minRetryDelayInMillis, "maxRetryDelayInMillis must not be less than minRetryDelayInMillis");
+
+        this.minRetryDelayInMillis = minRetryDelayInMillis;
+        this.maxRetryDelayInMillis = maxRetryDelayInMillis;
+        return this;
+    }
+
+    @Override
+    public void getAuthorizationHeader(Handler<AsyncResult<CharSequence>> handler) {
+        final long now = clock.getAsLong();
+        if (authorizationHeader != null && now < expiresAtInMillis) {
+            if (now >= refreshAtInMillis && now >= retryAtInMillis) {
+                refresh();
+            }
+            handler.handle(new DefaultFutureResult<>(authorizationHeader));
+            return;
+        }
+        if (now < retryAtInMillis) {
+            handler.handle(new DefaultFutureResult<>(new RestClientException("Access token request to " + tokenUri + " failed, retrying in " + (retryAtInMillis - now) + "ms", lastFailure)));
+            return;
+        }
+
+        waitingHandlers.add(handler);
+        refresh();
+    }
+
+    @Override
+    public void invalidate(CharSequence rejectedAuthorizationHeader) {
+        // A newer token may already have replaced the rejected one
+        if (authorizationHeader != null && authorizationHeader.toString().equals(rejectedAuthorizationHeader.toString())) {
+            log.debug("Discarding access token which was rejected by the server");
+            authorizationHeader = null;
+            expiresAtInMillis = 0;
+            refreshAtInMillis = 0;
+        }
+    }
+
+    private void refresh() {
+        if (refreshInFlight) {
+            return;
+        }
+        refreshInFlight = true;
+
+        final Multimap<String, Object> form = LinkedListMultimap.create();
+        form.put("grant_type", "client_credentials");
+        if (scope != null) {
+            form.put("scope", scope);
+        }
+
+        log.debug("Requesting access token from uri: {}", tokenUri);
+        try {
+            final RestClientRequest<AccessTokenResponse> restClientRequest = tokenRestClient.post(tokenUri, AccessTokenResponse.class, restClientResponse -> {
+                final AccessTokenResponse accessTokenResponse = restClientResponse.getBody();
+                // The exception handler was already called if the body could not be converted
+                if (refreshInFlight) {
+                    handleAccessTokenResponse(accessTokenResponse);
+                }
+            });
+            restClientRequest.exceptionHandler(this::handleFailure);
+            restClientRequest.setBasicAuth(clientCredentials);
+            restClientRequest.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+            restClientRequest.setAcceptHeader(ImmutableList.of(MediaType.APPLICATION_JSON));
+            restClientRequest.end(form);
+        } catch (Throwable t) {
+            handleFailure(t);
+        }
+    }
+
+    private void handleAccessTokenResponse(AccessTokenResponse accessTokenResponse) {
+        if (accessTokenResponse == null || Strings.isNullOrEmpty(accessTokenResponse.getAccessToken())) {
+            handleFailure(new RestClientException("Token response from " + tokenUri + " contains no access_token"));
+            return;
+        }
+
+        final long now = clock.getAsLong();
+        final Long expiresIn = accessTokenResponse.getExpiresIn();
+        if (expiresIn != null && expiresIn > 0) {
+            final long lifetimeInMillis = expiresIn * 1000;
+            expiresAtInMillis = now + lifetimeInMillis;
+            refreshAtInMillis = expiresAtInMillis - Math.min(refreshAheadInMillis, lifetimeInMillis / 2);
+        } else {
+            expiresAtInMillis = Long.MAX_VALUE;
+            refreshAtInMillis = Long.MAX_VALUE;
+        }
+        authorizationHeader = HttpHeaders.createOptimized(BEARER_PREFIX + accessTokenResponse.getAccessToken());
+        refreshInFlight = false;
+        failedAttempts = 0;
+        retryAtInMillis = 0;
+        lastFailure = null;
+        log.debug("Received access token which expires in {} seconds", expiresIn);
+
+        notifyWaitingHandlers(new DefaultFutureResult<>(authorizationHeader));
+    }
+
+    private void handleFailure(Throwable throwable) {
+        refreshInFlight = false;
+        failedAttempts++;
+        final long retryDelayInMillis = Math.min(maxRetryDelayInMillis, minRetryDelayInMillis << Math.min(failedAttempts - 1, 30));
+        retryAtInMillis = clock.getAsLong() + retryDelayInMillis;
+        lastFailure = throwable;
+        log.warn("Failed to request access token from uri: " + tokenUri + ", retrying in " + retryDelayInMillis + "ms", throwable);
+
+        notifyWaitingHandlers(new DefaultFutureResult<>(throwable));
+    }
+
+    private void notifyWaitingHandlers(AsyncResult<CharSequence> result) {
+        final List<Handler<AsyncResult<CharSequence>>> handlers = new ArrayList<>(waitingHandlers);
+        waitingHandlers.clear();
+        for (Handler<AsyncResult<CharSequence>> handler : handlers) {
+            try {
+                handler.handle(result);
+            } catch (Throwable t) {
+                log.error("Failed invoking access token handler", t);
+            }
+        }
+    }
+}
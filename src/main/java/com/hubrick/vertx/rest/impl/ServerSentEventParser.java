@@ -0,0 +1,240 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.impl;
+
+import com.google.common.base.Charsets;
+import com.hubrick.vertx.rest.ServerSentEvent;
+import io.netty.buffer.ByteBuf;
+import org.vertx.java.core.Handler;
+import org.vertx.java.core.buffer.Buffer;
+
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Parses a {@code text/event-stream} as its chunks arrive. Lines are interpreted straight from the chunk bytes and only a
+ * line spanning chunks is copied. Strings are created once per event for the data and only when they changed for the
+ * event type and id.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+class ServerSentEventParser {
+
+    private static final String DEFAULT_EVENT = "message";
+    private static final byte[] DATA = {'d', 'a', 't', 'a'};
+    private static final byte[] EVENT = {'e', 'v', 'e', 'n', 't'};
+    private static final byte[] ID = {'i', 'd'};
+    private static final byte[] RETRY = {'r', 'e', 't', 'r', 'y'};
+    private static final byte[] BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    private final Handler<ServerSentEvent> eventHandler;
+    private final Handler<Long> retryHandler;
+    private byte[] partialLine = new byte[128];
+    private int partialLineLength;
+    private boolean firstLine = true;
+    private boolean skipLineFeed;
+    private byte[] data = new byte[128];
+    private int dataLength;
+    private String event;
+    private String lastEventIdBuffer;
+    private String lastEventId;
+
+    ServerSentEventParser(String lastEventId, Handler<ServerSentEvent> eventHandler, Handler<Long> retryHandler) {
+        checkNotNull(lastEventId, "lastEventId must not be null");
+        checkNotNull(eventHandler, "eventHandler must not be null");
+        checkNotNull(retryHandler, "retryHandler must not be null");
+
+        this.lastEventId = lastEventId;
+        this.lastEventIdBuffer = lastEventId;
+        this.eventHandler = eventHandler;
+        this.retryHandler = retryHandler;
+    }
+
+    /**
+     * @return The id of the last dispatched event
+     */
+    String getLastEventId() {
+        return lastEventId;
+    }
+
+    void parse(Buffer chunk) {
+        final ByteBuf byteBuf = chunk.getByteBuf();
+        final byte[] bytes;
+        final int offset;
+        if (byteBuf.hasArray()) {
+            bytes = byteBuf.array();
+            offset = byteBuf.arrayOffset() + byteBuf.readerIndex();
+        } else {
+            bytes = chunk.getBytes();
+            offset = 0;
+        }
+
+        final int end = offset + byteBuf.readableBytes();
+        int lineStart = offset;
+        for (int i = offset; i < end; i++) {
+            final byte b = bytes[i];
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (b == '\n') {
+                    lineStart = i + 1;
+                    continue;
+                }
+            }
+            if (b == '\n' || b == '\r') {
+                if (partialLineLength > 0) {
+                    appendPartialLine(bytes, lineStart, i - lineStart);
+                    handleLine(partialLine, 0, partialLineLength);
+                    partialLineLength = 0;
+                } else {
+                    handleLine(bytes, lineStart, i - lineStart);
+                }
+                skipLineFeed = b == '\r';
+                lineStart = i + 1;
+            }
+        }
+        if (lineStart < end) {
+            appendPartialLine(bytes, lineStart, end - lineStart);
+        }
+    }
+
+    private void handleLine(byte[] bytes, int offset, int length) {
+        if (firstLine) {
+            firstLine = false;
+            if (startsWith(bytes, offset, length, BOM)) {
+                offset += BOM.length;
+                length -= BOM.length;
+            }
+        }
+        if (length == 0) {
+            dispatch();
+            return;
+        }
+        if (bytes[offset] == ':') {
+            return;
+        }
+
+        int nameLength = 0;
+        while (nameLength < length && bytes[offset + nameLength] != ':') {
+            nameLength++;
+        }
+        int valueOffset = offset + nameLength;
+        if (nameLength < length) {
+            valueOffset++;
+            if (valueOffset < offset + length && bytes[valueOffset] == ' ') {
+                valueOffset++;
+            }
+        }
+        final int valueLength = offset + length - valueOffset;
+
+        if (isField(bytes, offset, nameLength, DATA)) {
+            appendData(bytes, valueOffset, valueLength);
+        } else if (isField(bytes, offset, nameLength, EVENT)) {
+            event = decodeIfChanged(event, bytes, valueOffset, valueLength);
+        } else if (isField(bytes, offset, nameLength, ID)) {
+            if (!contains(bytes, valueOffset, valueLength, (byte) 0)) {
+                lastEventIdBuffer = decodeIfChanged(lastEventIdBuffer, bytes, valueOffset, valueLength);
+            }
+        } else if (isField(bytes, offset, nameLength, RETRY)) {
+            handleRetry(bytes, valueOffset, valueLength);
+        }
+    }
+
+    private void dispatch() {
+        lastEventId = lastEventIdBuffer;
+        if (dataLength == 0) {
+            event = null;
+            return;
+        }
+
+        // The data ends with the newline appended to its last line
+        final String eventData = new String(data, 0, dataLength - 1, Charsets.UTF_8);
+        final ServerSentEvent serverSentEvent = new ServerSentEvent(lastEventId, event != null && !event.isEmpty() ? event : DEFAULT_EVENT, eventData);
+        dataLength = 0;
+        event = null;
+        eventHandler.handle(serverSentEvent);
+    }
+
+    private void handleRetry(byte[] bytes, int offset, int length) {
+        if (length == 0 || length > 18) {
+            return;
+        }
+        long retry = 0;
+        for (int i = offset; i < offset + length; i++) {
+            if (bytes[i] < '0' || bytes[i] > '9') {
+                return;
+            }
+            retry = retry * 10 + bytes[i] - '0';
+        }
+        retryHandler.handle(retry);
+    }
+
+    private void appendData(byte[] bytes, int offset, int length) {
+        if (dataLength + length + 1 > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, dataLength + length + 1));
+        }
+        System.arraycopy(bytes, offset, data, dataLength, length);
+        dataLength += length;
+        data[dataLength++] = '\n';
+    }
+
+    private void appendPartialLine(byte[] bytes, int offset, int length) {
+        if (partialLineLength + length > partialLine.length) {
+            partialLine = Arrays.copyOf(partialLine, Math.max(partialLine.length * 2, partialLineLength + length));
+        }
+        System.arraycopy(bytes, offset, partialLine, partialLineLength, length);
+        partialLineLength += length;
+    }
+
+    private static String decodeIfChanged(String current, byte[] bytes, int offset, int length) {
+        if (current != null && current.length() == length) {
+            boolean same = true;
+            for (int i = 0; i < length && same; i++) {
+                same = current.charAt(i) == bytes[offset + i];
+            }
+            if (same) {
+                return current;
+            }
+        }
+        return new String(bytes, offset, length, Charsets.UTF_8);
+    }
+
+    private static boolean isField(byte[] bytes, int offset, int length, byte[] name) {
+        return length == name.length && startsWith(bytes, offset, length, name);
+    }
+
+    private static boolean startsWith(byte[] bytes, int offset, int length, byte[] prefix) {
+        if (length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (bytes[offset + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean contains(byte[] bytes, int offset, int length, byte b) {
+        for (int i = offset; i < offset + length; i++) {
+            if (bytes[i] == b) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.impl;
+
+import com.hubrick.vertx.rest.RestClientResponse;
+import org.vertx.java.core.Handler;
+import org.vertx.java.core.MultiMap;
+import org.vertx.java.core.http.HttpClientResponse;
+import org.vertx.java.core.net.NetSocket;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A response whose body was already read by a {@link com.hubrick.vertx.rest.ResponseBodyReader}.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+class StreamedRestClientResponse<T> implements RestClientResponse<T> {
+
+    private final T body;
+    private final HttpClientResponse httpClientResponse;
+
+    StreamedRestClientResponse(@Nullable T body, HttpClientResponse httpClientResponse) {
+        checkNotNull(httpClientResponse, "httpClientResponse must not be null");
+
+        this.body = body;
+        this.httpClientResponse = httpClientResponse;
+    }
+
+    @Override
+    public int statusCode() {
+        return httpClientResponse.statusCode();
+    }
+
+    @Override
+    public String statusMessage() {
+        return httpClientResponse.statusMessage();
+    }
+
+    @Override
+    public MultiMap headers() {
+        return httpClientResponse.headers();
+    }
+
+    @Override
+    public MultiMap trailers() {
+        return httpClientResponse.trailers();
+    }
+
+    @Override
+    public List<String> cookies() {
+        return httpClientResponse.cookies();
+    }
+
+    @Override
+    public NetSocket netSocket() {
+        return httpClientResponse.netSocket();
+    }
+
+    @Override
+    public T getBody() {
+        return body;
+    }
+
+    @Override
+    public void exceptionHandler(Handler<Throwable> exceptionHandler) {
+        // The body was read completely, so no more exceptions can occur
+    }
+}
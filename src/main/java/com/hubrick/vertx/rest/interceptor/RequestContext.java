@@ -0,0 +1,77 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.interceptor;
+
+import com.hubrick.vertx.rest.HttpMethod;
+import org.vertx.java.core.MultiMap;
+
+/**
+ * The view of a single request which is passed to every {@link RestClientInterceptor} callback. The same instance is
+ * passed to all callbacks of one request, so interceptors can keep per request state in its attributes.<p>
+ * All timestamps are taken with {@link System#nanoTime()} and are {@code 0} until the corresponding event happened.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public interface RequestContext {
+
+    HttpMethod getMethod();
+
+    String getHost();
+
+    int getPort();
+
+    String getUri();
+
+    /**
+     * @return The route tag of the request if present otherwise null.
+     */
+    String getRouteTag();
+
+    /**
+     * @return The request headers. They can only be changed in {@link RestClientInterceptor#onRequestStart(RequestContext)}.
+     */
+    MultiMap getRequestHeaders();
+
+    /**
+     * @return When the request was started, i.e. before its head was handed to Vert.x
+     */
+    long getStartNanos();
+
+    /**
+     * @return When the head of the request was handed to Vert.x, which doesn't mean it was written to the socket,
+     * see {@link RestClientInterceptor#onHandedToVertx(RequestContext)}
+     */
+    long getHandedToVertxNanos();
+
+    /**
+     * @return When the head of the response was received
+     */
+    long getFirstByteNanos();
+
+    /**
+     * @return The value of the attribute if present otherwise null.
+     */
+    <V> V getAttribute(String name);
+
+    /**
+     * Set an attribute which lives as long as the request.
+     *
+     * @param name The name of the attribute
+     * @param value The value of the attribute
+     */
+    void setAttribute(String name, Object value);
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.interceptor;
+
+import org.vertx.java.core.buffer.Buffer;
+import org.vertx.java.core.http.HttpClientResponse;
+
+/**
+ * Intercepts the lifecycle of every request of a {@link com.hubrick.vertx.rest.RestClient}, e.g. for tracing.<p>
+ * For every request {@link #onRequestStart} and {@link #onHandedToVertx} are called once when the request is sent, followed
+ * either by {@link #onFirstByte} and {@link #onComplete}, or by {@link #onError}. Requests which are never sent, e.g. because
+ * of the negative cache, are not intercepted. All callbacks are called on the event loop and must not block. An exception thrown
+ * by an interceptor is logged and doesn't affect the request.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public interface RestClientInterceptor {
+
+    /**
+     * Called before the head of the request is sent. This is the last point at which the request headers can be changed.
+     *
+     * @param context The context of the request
+     */
+    default void onRequestStart(RequestContext context) {
+    }
+
+    /**
+     * Called after the head and the first chunk of the body of the request were handed to Vert.x. Vert.x 2 doesn't tell
+     * when they were written to the socket, so this only means they were buffered, e.g. while the request still waits
+     * for a connection from the pool. The time until {@link #onFirstByte} therefore includes the time queued for a
+     * connection and the time to send the request.
+     *
+     * @param context The context of the request
+     */
+    default void onHandedToVertx(RequestContext context) {
+    }
+
+    /**
+     * Called when the head of the response was received.
+     *
+     * @param context The context of the request
+     * @param httpClientResponse The response. Its body must not be consumed.
+     */
+    default void onFirstByte(RequestContext context, HttpClientResponse httpClientResponse) {
+    }
+
+    /**
+     * Called when the response was received completely, regardless of its status code.
+     *
+     * @param context The context of the request
+     * @param httpClientResponse The response
+     * @param body The body of the response
+     */
+    default void onComplete(RequestContext context, HttpClientResponse httpClientResponse, Buffer body) {
+    }
+
+    /**
+     * Called when the request failed without a complete response, e.g. because of a connection error or a timeout.
+     *
+     * @param context The context of the request
+     * @param cause The cause of the failure
+     */
+    default void onError(RequestContext context, Throwable cause) {
+    }
+}
@@ -0,0 +1,159 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.interceptor;
+
+import com.hubrick.vertx.rest.HttpMethod;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A request which took longer than the threshold of the {@link SlowRequestInterceptor}, with the time until the head of
+ * the response arrived and the time spent receiving its body.<p>
+ * Instances of SlowRequest are immutable and thread-safe.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public final class SlowRequest {
+
+    private final HttpMethod method;
+    private final String host;
+    private final int port;
+    private final String uri;
+    private final String routeTag;
+    private final int statusCode;
+    private final long timeToFirstByteInNanos;
+    private final long receiveTimeInNanos;
+    private final long totalTimeInNanos;
+    private final String bodySnippet;
+    private final long bodyLength;
+    private final Throwable error;
+
+    public SlowRequest(HttpMethod method,
+                       String host,
+                       int port,
+                       String uri,
+                       @Nullable String routeTag,
+                       int statusCode,
+                       long timeToFirstByteInNanos,
+                       long receiveTimeInNanos,
+                       long totalTimeInNanos,
+                       @Nullable String bodySnippet,
+                       long bodyLength,
+                       @Nullable Throwable error) {
+        this.method = method;
+        this.host = host;
+        this.port = port;
+        this.uri = uri;
+        this.routeTag = routeTag;
+        this.statusCode = statusCode;
+        this.timeToFirstByteInNanos = timeToFirstByteInNanos;
+        this.receiveTimeInNanos = receiveTimeInNanos;
+        this.totalTimeInNanos = totalTimeInNanos;
+        this.bodySnippet = bodySnippet;
+        this.bodyLength = bodyLength;
+        this.error = error;
+    }
+
+    public HttpMethod getMethod() {
+        return method;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    /**
+     * @return The route tag if present otherwise null.
+     */
+    public String getRouteTag() {
+        return routeTag;
+    }
+
+    /**
+     * @return The status code of the response, {@code 0} if the request failed without a response
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * @return The time from the start of the request until the head of the response was received, which includes
+     * waiting for a connection, writing the request and the processing time of the server
+     */
+    public long getTimeToFirstByteInNanos() {
+        return timeToFirstByteInNanos;
+    }
+
+    /**
+     * @return The time from receiving the head of the response until its body was received completely
+     */
+    public long getReceiveTimeInNanos() {
+        return receiveTimeInNanos;
+    }
+
+    public long getTotalTimeInNanos() {
+        return totalTimeInNanos;
+    }
+
+    /**
+     * @return The beginning of the response body if it was sampled otherwise null.
+     */
+    public String getBodySnippet() {
+        return bodySnippet;
+    }
+
+    /**
+     * @return The length of the complete response body in bytes
+     */
+    public long getBodyLength() {
+        return bodyLength;
+    }
+
+    /**
+     * @return The cause if the request failed without a response otherwise null.
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder result = new StringBuilder(128 + (bodySnippet != null ? bodySnippet.length() : 0))
+                .append(method).append(' ').append(host).append(':').append(port).append(uri)
+                .append(" took ").append(TimeUnit.NANOSECONDS.toMillis(totalTimeInNanos)).append("ms")
+                .append(" (first byte: ").append(TimeUnit.NANOSECONDS.toMillis(timeToFirstByteInNanos))
+                .append("ms, receive: ").append(TimeUnit.NANOSECONDS.toMillis(receiveTimeInNanos)).append("ms)");
+        if (error != null) {
+            result.append(", failed: ").append(error);
+        } else {
+            result.append(", status: ").append(statusCode).append(", body length: ").append(bodyLength);
+        }
+        if (bodySnippet != null) {
+            result.append(", body: ").append(bodySnippet);
+        }
+        return result.toString();
+    }
+}
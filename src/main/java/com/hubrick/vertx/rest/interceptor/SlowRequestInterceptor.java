@@ -0,0 +1,133 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.interceptor;
+
+import com.google.common.base.Charsets;
+import com.hubrick.vertx.rest.logging.BodyLogger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vertx.java.core.Handler;
+import org.vertx.java.core.buffer.Buffer;
+import org.vertx.java.core.http.HttpClientResponse;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Reports the requests which take longer than a threshold with their time to first byte and the time spent receiving
+ * the response body. For a sample of the slow requests the beginning of the response body is captured as well. Only the slow requests are looked at, so the
+ * detector can stay enabled in production.<p>
+ * By default the slow requests are logged at warn level to the {@code com.hubrick.vertx.rest.slow} category.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class SlowRequestInterceptor implements RestClientInterceptor {
+
+    private static final Logger slowRequestLog = LoggerFactory.getLogger("com.hubrick.vertx.rest.slow");
+
+    private final long thresholdInNanos;
+    private final int maxBodySnippetLength;
+    private final double bodySampleRate;
+    private final Handler<SlowRequest> slowRequestHandler;
+
+    /**
+     * Logs the slow requests with the first 1024 bytes of the body of every tenth one.
+     *
+     * @param thresholdInMillis The duration above which a request is slow
+     */
+    public SlowRequestInterceptor(long thresholdInMillis) {
+        this(thresholdInMillis, 1024, 0.1, slowRequest -> slowRequestLog.warn("Slow request: {}", slowRequest));
+    }
+
+    /**
+     * @param thresholdInMillis The duration above which a request is slow
+     * @param maxBodySnippetLength The max number of body bytes which are captured, a multi byte character is never cut
+     * @param bodySampleRate The share of slow requests whose body is captured, between 0 and 1
+     * @param slowRequestHandler The handler for the slow requests
+     */
+    public SlowRequestInterceptor(long thresholdInMillis, int maxBodySnippetLength, double bodySampleRate, Handler<SlowRequest> slowRequestHandler) {
+        checkArgument(thresholdInMillis >= 0, "thresholdInMillis must not be negative");
+        checkArgument(maxBodySnippetLength >= 0, "maxBodySnippetLength must not be negative");
+        checkArgument(bodySampleRate >= 0 && bodySampleRate <= 1, "bodySampleRate must be between 0 and 1");
+        checkNotNull(slowRequestHandler, "slowRequestHandler must not be null");
+
+        this.thresholdInNanos = TimeUnit.MILLISECONDS.toNanos(thresholdInMillis);
+        this.maxBodySnippetLength = maxBodySnippetLength;
+        this.bodySampleRate = bodySampleRate;
+        this.slowRequestHandler = slowRequestHandler;
+    }
+
+    @Override
+    public void onComplete(RequestContext context, HttpClientResponse httpClientResponse, Buffer body) {
+        final long endNanos = System.nanoTime();
+        if (endNanos - context.getStartNanos() <= thresholdInNanos) {
+            return;
+        }
+
+        slowRequestHandler.handle(new SlowRequest(
+                context.getMethod(),
+                context.getHost(),
+                context.getPort(),
+                context.getUri(),
+                context.getRouteTag(),
+                httpClientResponse.statusCode(),
+                context.getFirstByteNanos() - context.getStartNanos(),
+                endNanos - context.getFirstByteNanos(),
+                endNanos - context.getStartNanos(),
+                sampleBodySnippet(body),
+                body.length(),
+                null
+        ));
+    }
+
+    @Override
+    public void onError(RequestContext context, Throwable cause) {
+        final long endNanos = System.nanoTime();
+        if (endNanos - context.getStartNanos() <= thresholdInNanos) {
+            return;
+        }
+
+        final long firstByteNanos = context.getFirstByteNanos() != 0 ? context.getFirstByteNanos() : endNanos;
+        slowRequestHandler.handle(new SlowRequest(
+                context.getMethod(),
+                context.getHost(),
+                context.getPort(),
+                context.getUri(),
+                context.getRouteTag(),
+                0,
+                firstByteNanos - context.getStartNanos(),
+                endNanos - firstByteNanos,
+                endNanos - context.getStartNanos(),
+                null,
+                0,
+                cause
+        ));
+    }
+
+    private String sampleBodySnippet(Buffer body) {
+        if (maxBodySnippetLength == 0 || body.length() == 0 || ThreadLocalRandom.current().nextDouble() >= bodySampleRate) {
+            return null;
+        }
+
+        final int snippetLength = BodyLogger.utf8PrefixLength(body, maxBodySnippetLength);
+        final String snippet = new String(body.getBytes(0, snippetLength), Charsets.UTF_8);
+        return snippetLength < body.length() ? snippet + "..." : snippet;
+    }
+}
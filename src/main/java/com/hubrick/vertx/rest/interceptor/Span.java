@@ -0,0 +1,144 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.interceptor;
+
+import com.hubrick.vertx.rest.HttpMethod;
+
+import javax.annotation.Nullable;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A finished client span as recorded by the {@link TraceContextInterceptor}.<p>
+ * Instances of Span are immutable and thread-safe.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public final class Span {
+
+    private final TraceContext traceContext;
+    private final String parentSpanId;
+    private final String name;
+    private final HttpMethod method;
+    private final String host;
+    private final int port;
+    private final String uri;
+    private final long startTimeInMicros;
+    private final long durationInNanos;
+    private final long timeToFirstByteInNanos;
+    private final int statusCode;
+    private final Throwable error;
+
+    public Span(TraceContext traceContext,
+                @Nullable String parentSpanId,
+                String name,
+                HttpMethod method,
+                String host,
+                int port,
+                String uri,
+                long startTimeInMicros,
+                long durationInNanos,
+                long timeToFirstByteInNanos,
+                int statusCode,
+                @Nullable Throwable error) {
+        checkNotNull(traceContext, "traceContext must not be null");
+        checkNotNull(name, "name must not be null");
+        checkNotNull(method, "method must not be null");
+
+        this.traceContext = traceContext;
+        this.parentSpanId = parentSpanId;
+        this.name = name;
+        this.method = method;
+        this.host = host;
+        this.port = port;
+        this.uri = uri;
+        this.startTimeInMicros = startTimeInMicros;
+        this.durationInNanos = durationInNanos;
+        this.timeToFirstByteInNanos = timeToFirstByteInNanos;
+        this.statusCode = statusCode;
+        this.error = error;
+    }
+
+    /**
+     * @return The trace id, span id and sampled flag of this span
+     */
+    public TraceContext getTraceContext() {
+        return traceContext;
+    }
+
+    /**
+     * @return The span id of the parent if present otherwise null.
+     */
+    public String getParentSpanId() {
+        return parentSpanId;
+    }
+
+    /**
+     * @return The name of the span, the method followed by the route tag or the path of the request
+     */
+    public String getName() {
+        return name;
+    }
+
+    public HttpMethod getMethod() {
+        return method;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    /**
+     * @return The start of the span in microseconds since the epoch
+     */
+    public long getStartTimeInMicros() {
+        return startTimeInMicros;
+    }
+
+    public long getDurationInNanos() {
+        return durationInNanos;
+    }
+
+    /**
+     * @return The time from the start of the span until the response head was received, {@code 0} if none was received
+     */
+    public long getTimeToFirstByteInNanos() {
+        return timeToFirstByteInNanos;
+    }
+
+    /**
+     * @return The status code of the response, {@code 0} if none was received
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * @return The cause if the request failed without a response otherwise null.
+     */
+    public Throwable getError() {
+        return error;
+    }
+}
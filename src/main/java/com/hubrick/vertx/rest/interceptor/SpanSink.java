@@ -0,0 +1,31 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.interceptor;
+
+/**
+ * Receives the spans recorded by the {@link TraceContextInterceptor}, e.g. to report them to a tracing backend.
+ * Called on the event loop, so implementations must not block.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public interface SpanSink {
+
+    /**
+     * @param span The finished span
+     */
+    void record(Span span);
+}
@@ -0,0 +1,190 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.interceptor;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The trace context of the W3C Trace Context specification: a 16 byte trace id, an 8 byte span id and the sampled flag,
+ * as carried by the {@code traceparent} header.<p>
+ * Instances of TraceContext are immutable and thread-safe.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public final class TraceContext {
+
+    public static final String TRACEPARENT = "traceparent";
+
+    private static final String VERSION = "00";
+    private static final int TRACEPARENT_LENGTH = 55;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final String INVALID_TRACE_ID = "00000000000000000000000000000000";
+    private static final String INVALID_SPAN_ID = "0000000000000000";
+
+    private final String traceId;
+    private final String spanId;
+    private final boolean sampled;
+
+    /**
+     * @param traceId The trace id as 32 lowercase hex digits
+     * @param spanId The span id as 16 lowercase hex digits
+     * @param sampled Whether the trace is recorded
+     */
+    public TraceContext(String traceId, String spanId, boolean sampled) {
+        checkNotNull(traceId, "traceId must not be null");
+        checkNotNull(spanId, "spanId must not be null");
+        checkArgument(isHex(traceId, 32) && !INVALID_TRACE_ID.equals(traceId), "traceId must be 32 lowercase hex digits and not all zero");
+        checkArgument(isHex(spanId, 16) && !INVALID_SPAN_ID.equals(spanId), "spanId must be 16 lowercase hex digits and not all zero");
+
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.sampled = sampled;
+    }
+
+    /**
+     * Creates the context of a new trace.
+     *
+     * @param sampled Whether the trace is recorded
+     * @return The new context
+     */
+    public static TraceContext newTrace(boolean sampled) {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        long high;
+        long low;
+        do {
+            high = random.nextLong();
+            low = random.nextLong();
+        } while (high == 0 && low == 0);
+
+        final char[] traceId = new char[32];
+        writeHex(traceId, 0, high);
+        writeHex(traceId, 16, low);
+        return new TraceContext(new String(traceId), newSpanId(), sampled);
+    }
+
+    /**
+     * Parses a {@code traceparent} header. Versions other than {@code 00} are parsed as far as they are compatible.
+     *
+     * @param traceparent The header value, may be null
+     * @return The context or null if the header is missing or invalid
+     */
+    public static TraceContext parse(String traceparent) {
+        if (traceparent == null || traceparent.length() < TRACEPARENT_LENGTH) {
+            return null;
+        }
+        if (traceparent.charAt(2) != '-' || traceparent.charAt(35) != '-' || traceparent.charAt(52) != '-') {
+            return null;
+        }
+        final String version = traceparent.substring(0, 2);
+        if (!isHex(version, 2) || "ff".equals(version) || (VERSION.equals(version) && traceparent.length() != TRACEPARENT_LENGTH)) {
+            return null;
+        }
+
+        final String traceId = traceparent.substring(3, 35);
+        final String spanId = traceparent.substring(36, 52);
+        final String flags = traceparent.substring(53, 55);
+        if (!isHex(traceId, 32) || INVALID_TRACE_ID.equals(traceId) || !isHex(spanId, 16) || INVALID_SPAN_ID.equals(spanId) || !isHex(flags, 2)) {
+            return null;
+        }
+        return new TraceContext(traceId, spanId, (Character.digit(flags.charAt(1), 16) & 1) == 1);
+    }
+
+    /**
+     * Creates the context of a child span in the same trace.
+     *
+     * @return The child context
+     */
+    public TraceContext createChild() {
+        return new TraceContext(traceId, newSpanId(), sampled);
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    /**
+     * @return The value of the {@code traceparent} header
+     */
+    public String toTraceparent() {
+        return VERSION + "-" + traceId + "-" + spanId + (sampled ? "-01" : "-00");
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof TraceContext)) {
+            return false;
+        }
+        final TraceContext that = (TraceContext) other;
+        return sampled == that.sampled && traceId.equals(that.traceId) && spanId.equals(that.spanId);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * traceId.hashCode() + spanId.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return toTraceparent();
+    }
+
+    private static String newSpanId() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        long id;
+        do {
+            id = random.nextLong();
+        } while (id == 0);
+
+        final char[] spanId = new char[16];
+        writeHex(spanId, 0, id);
+        return new String(spanId);
+    }
+
+    private static void writeHex(char[] destination, int offset, long value) {
+        for (int i = 15; i >= 0; i--) {
+            destination[offset + i] = HEX_DIGITS[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+
+    private static boolean isHex(String value, int length) {
+        if (value.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            if (!(c >= '0' && c <= '9') && !(c >= 'a' && c <= 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,128 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.interceptor;
+
+import org.vertx.java.core.buffer.Buffer;
+import org.vertx.java.core.http.HttpClientResponse;
+
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Propagates the W3C Trace Context. Every request gets a new span id in the {@code traceparent} header and, if the trace
+ * is sampled, a {@link Span} is recorded to the {@link SpanSink} when the request finishes.<p>
+ * The parent of a request is the {@code traceparent} header which was already set on the request, e.g. the one of the
+ * incoming request which is being processed, otherwise the one returned by the current trace context supplier. Without
+ * a parent a new trace is started. The {@code tracestate} header is left untouched.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class TraceContextInterceptor implements RestClientInterceptor {
+
+    private static final String SPAN_ATTRIBUTE = TraceContextInterceptor.class.getName() + ".span";
+
+    private final SpanSink spanSink;
+    private final Supplier<TraceContext> currentTraceContextSupplier;
+    private final boolean sampleNewTraces;
+
+    /**
+     * Starts a new sampled trace for every request which has no {@code traceparent} header.
+     *
+     * @param spanSink The sink for the recorded spans
+     */
+    public TraceContextInterceptor(SpanSink spanSink) {
+        this(spanSink, () -> null, true);
+    }
+
+    /**
+     * @param spanSink The sink for the recorded spans
+     * @param currentTraceContextSupplier Supplies the trace context of the current unit of work or null if there is none
+     * @param sampleNewTraces Whether new traces are sampled
+     */
+    public TraceContextInterceptor(SpanSink spanSink, Supplier<TraceContext> currentTraceContextSupplier, boolean sampleNewTraces) {
+        checkNotNull(spanSink, "spanSink must not be null");
+        checkNotNull(currentTraceContextSupplier, "currentTraceContextSupplier must not be null");
+
+        this.spanSink = spanSink;
+        this.currentTraceContextSupplier = currentTraceContextSupplier;
+        this.sampleNewTraces = sampleNewTraces;
+    }
+
+    @Override
+    public void onRequestStart(RequestContext context) {
+        TraceContext parent = TraceContext.parse(context.getRequestHeaders().get(TraceContext.TRACEPARENT));
+        if (parent == null) {
+            parent = currentTraceContextSupplier.get();
+        }
+
+        final TraceContext traceContext = parent != null ? parent.createChild() : TraceContext.newTrace(sampleNewTraces);
+        context.getRequestHeaders().set(TraceContext.TRACEPARENT, traceContext.toTraceparent());
+        context.setAttribute(SPAN_ATTRIBUTE, new SpanStart(traceContext, parent != null ? parent.getSpanId() : null, System.currentTimeMillis() * 1000));
+    }
+
+    @Override
+    public void onComplete(RequestContext context, HttpClientResponse httpClientResponse, Buffer body) {
+        recordSpan(context, httpClientResponse.statusCode(), null);
+    }
+
+    @Override
+    public void onError(RequestContext context, Throwable cause) {
+        recordSpan(context, 0, cause);
+    }
+
+    private void recordSpan(RequestContext context, int statusCode, Throwable error) {
+        final SpanStart spanStart = context.getAttribute(SPAN_ATTRIBUTE);
+        if (spanStart == null || !spanStart.traceContext.isSampled()) {
+            return;
+        }
+
+        final long endNanos = System.nanoTime();
+        spanSink.record(new Span(
+                spanStart.traceContext,
+                spanStart.parentSpanId,
+                context.getMethod() + " " + (context.getRouteTag() != null ? context.getRouteTag() : stripQuery(context.getUri())),
+                context.getMethod(),
+                context.getHost(),
+                context.getPort(),
+                context.getUri(),
+                spanStart.startTimeInMicros,
+                endNanos - context.getStartNanos(),
+                context.getFirstByteNanos() != 0 ? context.getFirstByteNanos() - context.getStartNanos() : 0,
+                statusCode,
+                error
+        ));
+    }
+
+    private static String stripQuery(String uri) {
+        final int queryStart = uri.indexOf('?');
+        return queryStart != -1 ? uri.substring(0, queryStart) : uri;
+    }
+
+    private static class SpanStart {
+
+        private final TraceContext traceContext;
+        private final String parentSpanId;
+        private final long startTimeInMicros;
+
+        private SpanStart(TraceContext traceContext, String parentSpanId, long startTimeInMicros) {
+            this.traceContext = traceContext;
+            this.parentSpanId = parentSpanId;
+            this.startTimeInMicros = startTimeInMicros;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.logging;
+
+import com.google.common.base.Charsets;
+import com.hubrick.vertx.rest.MediaType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vertx.java.core.MultiMap;
+import org.vertx.java.core.buffer.Buffer;
+import org.vertx.java.core.http.HttpHeaders;
+
+import java.nio.charset.Charset;
+import java.util.function.IntUnaryOperator;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Logs request and response bodies at debug level to their own log categories, so that body logging can be switched on
+ * independently of the rest of the client logging.<p>
+ * Bodies are only decoded when the category is enabled, and then only up to the max body length, which defaults to 2048
+ * bytes and can be changed with the {@value #MAX_BODY_LENGTH_PROPERTY} system property or {@link #setMaxBodyLength(int)}.
+ * UTF-8 bodies are never cut within a character.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public final class BodyLogger {
+
+    public static final String REQUEST_BODY_CATEGORY = "com.hubrick.vertx.rest.body.request";
+    public static final String RESPONSE_BODY_CATEGORY = "com.hubrick.vertx.rest.body.response";
+    public static final String MAX_BODY_LENGTH_PROPERTY = "com.hubrick.vertx.rest.body.maxLength";
+
+    private static final Logger requestBodyLog = LoggerFactory.getLogger(REQUEST_BODY_CATEGORY);
+    private static final Logger responseBodyLog = LoggerFactory.getLogger(RESPONSE_BODY_CATEGORY);
+
+    private static volatile int maxBodyLength = Integer.getInteger(MAX_BODY_LENGTH_PROPERTY, 2048);
+
+    private BodyLogger() {
+    }
+
+    /**
+     * @param maxBodyLength The max number of bytes of a body which are logged
+     */
+    public static void setMaxBodyLength(int maxBodyLength) {
+        checkArgument(maxBodyLength >= 0, "maxBodyLength must not be negative");
+        BodyLogger.maxBodyLength = maxBodyLength;
+    }
+
+    public static int getMaxBodyLength() {
+        return maxBodyLength;
+    }
+
+    public static boolean isRequestBodyLoggingEnabled() {
+        return requestBodyLog.isDebugEnabled();
+    }
+
+    public static boolean isResponseBodyLoggingEnabled() {
+        return responseBodyLog.isDebugEnabled();
+    }
+
+    /**
+     * @param body The request body or the chunk of it which is written
+     * @param charset The charset of the body
+     * @param partial Whether more chunks will follow
+     */
+    public static void logRequestBody(byte[] body, Charset charset, boolean partial) {
+        if (requestBodyLog.isDebugEnabled()) {
+            requestBodyLog.debug(partial ? "Partial request body ({} bytes): {}" : "Request body ({} bytes): {}", body.length, new TruncatedBody(body, charset));
+        }
+    }
+
+    /**
+     * @param body The request body or the chunk of it which is written
+     * @param requestHeaders The request headers, the charset is taken from their Content-Type only if the body is logged
+     * @param partial Whether more chunks will follow
+     */
+    public static void logRequestBody(byte[] body, MultiMap requestHeaders, boolean partial) {
+        if (requestBodyLog.isDebugEnabled()) {
+            final String contentType = requestHeaders.get(HttpHeaders.CONTENT_TYPE);
+            final Charset charset = contentType != null ? MediaType.parseMediaType(contentType).getCharSet() : null;
+            logRequestBody(body, charset != null ? charset : Charsets.UTF_8, partial);
+        }
+    }
+
+    /**
+     * @param statusCode The status code of the response
+     * @param statusMessage The status message of the response
+     * @param body The response body
+     */
+    public static void logResponseBody(int statusCode, String statusMessage, Buffer body) {
+        if (responseBodyLog.isDebugEnabled()) {
+            responseBodyLog.debug("Response status: {}, message: {}, body ({} bytes): {}", new Object[]{statusCode, statusMessage, body.length(), new TruncatedBody(body, Charsets.UTF_8)});
+        }
+    }
+
+    /**
+     * @param body The UTF-8 encoded body
+     * @param maxLength The max number of bytes
+     * @return The length of the longest prefix of at most {@code maxLength} bytes which does not end within a character
+     */
+    public static int utf8PrefixLength(Buffer body, int maxLength) {
+        return utf8PrefixLength(body::getByte, body.length(), maxLength);
+    }
+
+    /**
+     * @param body The UTF-8 encoded body
+     * @param maxLength The max number of bytes
+     * @return The length of the longest prefix of at most {@code maxLength} bytes which does not end within a character
+     */
+    public static int utf8PrefixLength(byte[] body, int maxLength) {
+        return utf8PrefixLength(index -> body[index], body.length, maxLength);
+    }
+
+    private static int utf8PrefixLength(IntUnaryOperator byteAt, int length, int maxLength) {
+        int prefixLength = Math.min(length, maxLength);
+        // Don't cut a multi byte UTF-8 sequence, its continuation bytes start with 10
+        while (prefixLength > 0 && prefixLength < length && (byteAt.applyAsInt(prefixLength) & 0xC0) == 0x80) {
+            prefixLength--;
+        }
+        return prefixLength;
+    }
+
+    /**
+     * Decodes the body only when it is formatted.
+     */
+    private static class TruncatedBody {
+
+        private final Object body;
+        private final Charset charset;
+
+        private TruncatedBody(Object body, Charset charset) {
+            this.body = body;
+            this.charset = charset;
+        }
+
+        @Override
+        public String toString() {
+            final int length = body instanceof Buffer ? ((Buffer) body).length() : ((byte[]) body).length;
+            final int loggedLength;
+            if (!Charsets.UTF_8.equals(charset)) {
+                loggedLength = Math.min(length, maxBodyLength);
+            } else if (body instanceof Buffer) {
+                loggedLength = utf8PrefixLength((Buffer) body, maxBodyLength);
+            } else {
+                loggedLength = utf8PrefixLength((byte[]) body, maxBodyLength);
+            }
+            final String loggedBody = body instanceof Buffer
+                    ? new String(((Buffer) body).getBytes(0, loggedLength), charset)
+                    : new String((byte[]) body, 0, loggedLength, charset);
+            return loggedLength < length ? loggedBody + "... (" + (length - loggedLength) + " more bytes)" : loggedBody;
+        }
+    }
+}
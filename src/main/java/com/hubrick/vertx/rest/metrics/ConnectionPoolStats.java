@@ -0,0 +1,100 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.metrics;
+
+import org.HdrHistogram.Histogram;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A point in time view of the connection pool of a {@link com.hubrick.vertx.rest.RestClient}.<p>
+ * The histogram of the time spent queued contains all connection requests which were served since the pool was
+ * measured and is recorded in microseconds.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public final class ConnectionPoolStats {
+
+    private final int openConnections;
+    private final int idleConnections;
+    private final long waitingRequests;
+    private final int maxPoolSize;
+    private final int maxWaiterQueueSize;
+    private final Histogram timeQueuedInMicros;
+
+    public ConnectionPoolStats(int openConnections,
+                               int idleConnections,
+                               long waitingRequests,
+                               int maxPoolSize,
+                               int maxWaiterQueueSize,
+                               Histogram timeQueuedInMicros) {
+        checkNotNull(timeQueuedInMicros, "timeQueuedInMicros must not be null");
+
+        this.openConnections = openConnections;
+        this.idleConnections = idleConnections;
+        this.waitingRequests = waitingRequests;
+        this.maxPoolSize = maxPoolSize;
+        this.maxWaiterQueueSize = maxWaiterQueueSize;
+        this.timeQueuedInMicros = timeQueuedInMicros;
+    }
+
+    /**
+     * @return The number of open connections including the ones which are being established
+     */
+    public int getOpenConnections() {
+        return openConnections;
+    }
+
+    /**
+     * @return The number of open connections which are not used by any request
+     */
+    public int getIdleConnections() {
+        return idleConnections;
+    }
+
+    /**
+     * @return The number of requests which are waiting for a connection
+     */
+    public long getWaitingRequests() {
+        return waitingRequests;
+    }
+
+    public int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    /**
+     * @return The max number of requests which may wait for a connection, {@code -1} if unbounded
+     */
+    public int getMaxWaiterQueueSize() {
+        return maxWaiterQueueSize;
+    }
+
+    /**
+     * @return The share of the max pool size which is in use, between 0 and 1
+     */
+    public double getUtilization() {
+        return maxPoolSize > 0 ? Math.min(1.0, (double) (openConnections - idleConnections) / maxPoolSize) : 0.0;
+    }
+
+    /**
+     * @return The time the served requests waited for a connection in microseconds
+     */
+    public Histogram getTimeQueuedInMicros() {
+        return timeQueuedInMicros;
+    }
+}
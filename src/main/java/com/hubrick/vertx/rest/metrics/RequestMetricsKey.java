@@ -0,0 +1,92 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.metrics;
+
+import com.hubrick.vertx.rest.HttpMethod;
+
+import javax.annotation.Nullable;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The dimensions by which request metrics are aggregated: the host, the HTTP method and an optional route tag.
+ * The route tag groups requests to the same logical endpoint, e.g. {@code /api/users/{id}}, so that metrics are
+ * not split up by path variables.<p>
+ * Instances of RequestMetricsKey are immutable and thread-safe.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public final class RequestMetricsKey {
+
+    private final String host;
+    private final HttpMethod method;
+    private final String routeTag;
+    private final int hashCode;
+
+    public RequestMetricsKey(String host, HttpMethod method, @Nullable String routeTag) {
+        checkNotNull(host, "host must not be null");
+        checkNotNull(method, "method must not be null");
+
+        this.host = host;
+        this.method = method;
+        this.routeTag = routeTag != null ? routeTag : "";
+        this.hashCode = 31 * (31 * host.hashCode() + method.hashCode()) + this.routeTag.hashCode();
+    }
+
+    /**
+     * @return The host the request was sent to
+     */
+    public String getHost() {
+        return host;
+    }
+
+    /**
+     * @return The HTTP method of the request
+     */
+    public HttpMethod getMethod() {
+        return method;
+    }
+
+    /**
+     * @return The route tag of the request or an empty string if none was set
+     */
+    public String getRouteTag() {
+        return routeTag;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof RequestMetricsKey)) {
+            return false;
+        }
+        final RequestMetricsKey that = (RequestMetricsKey) other;
+        return hashCode == that.hashCode && method == that.method && host.equals(that.host) && routeTag.equals(that.routeTag);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + host + (routeTag.isEmpty() ? "" : " " + routeTag);
+    }
+}
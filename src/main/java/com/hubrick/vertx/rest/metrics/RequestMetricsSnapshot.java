@@ -0,0 +1,128 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.metrics;
+
+import org.HdrHistogram.Histogram;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A point in time view of the metrics of one {@link RequestMetricsKey}.<p>
+ * The counters and the latency histograms are cumulative since the metrics were created. The latencies of an interval
+ * are the difference of the histograms of two snapshots, see {@link org.HdrHistogram.AbstractHistogram#subtract}.
+ * All latencies are recorded in microseconds.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public final class RequestMetricsSnapshot {
+
+    private final RequestMetricsKey key;
+    private final long inFlightCount;
+    private final long completedCount;
+    private final long[] statusClassCounts;
+    private final long failedCount;
+    private final long requestBytes;
+    private final long responseBytes;
+    private final Histogram timeToFirstByteInMicros;
+    private final Histogram totalTimeInMicros;
+
+    public RequestMetricsSnapshot(RequestMetricsKey key,
+                                  long inFlightCount,
+                                  long completedCount,
+                                  long[] statusClassCounts,
+                                  long failedCount,
+                                  long requestBytes,
+                                  long responseBytes,
+                                  Histogram timeToFirstByteInMicros,
+                                  Histogram totalTimeInMicros) {
+        checkNotNull(key, "key must not be null");
+        checkNotNull(statusClassCounts, "statusClassCounts must not be null");
+        checkNotNull(timeToFirstByteInMicros, "timeToFirstByteInMicros must not be null");
+        checkNotNull(totalTimeInMicros, "totalTimeInMicros must not be null");
+
+        this.key = key;
+        this.inFlightCount = inFlightCount;
+        this.completedCount = completedCount;
+        this.statusClassCounts = statusClassCounts.clone();
+        this.failedCount = failedCount;
+        this.requestBytes = requestBytes;
+        this.responseBytes = responseBytes;
+        this.timeToFirstByteInMicros = timeToFirstByteInMicros;
+        this.totalTimeInMicros = totalTimeInMicros;
+    }
+
+    public RequestMetricsKey getKey() {
+        return key;
+    }
+
+    /**
+     * @return The number of requests which were started but are neither completed nor failed yet
+     */
+    public long getInFlightCount() {
+        return inFlightCount;
+    }
+
+    /**
+     * @return The number of requests for which a response was received
+     */
+    public long getCompletedCount() {
+        return completedCount;
+    }
+
+    /**
+     * @param statusClass The first digit of the status code, e.g. {@code 2} for all 2xx responses
+     * @return The number of responses with a status code of the given class
+     */
+    public long getStatusClassCount(int statusClass) {
+        return statusClass >= 0 && statusClass < statusClassCounts.length ? statusClassCounts[statusClass] : 0;
+    }
+
+    /**
+     * @return The number of requests which failed without a response
+     */
+    public long getFailedCount() {
+        return failedCount;
+    }
+
+    /**
+     * @return The total number of request body bytes
+     */
+    public long getRequestBytes() {
+        return requestBytes;
+    }
+
+    /**
+     * @return The total number of response body bytes
+     */
+    public long getResponseBytes() {
+        return responseBytes;
+    }
+
+    /**
+     * @return The time to first byte of all completed requests in microseconds
+     */
+    public Histogram getTimeToFirstByteInMicros() {
+        return timeToFirstByteInMicros;
+    }
+
+    /**
+     * @return The total time of all completed requests in microseconds
+     */
+    public Histogram getTotalTimeInMicros() {
+        return totalTimeInMicros;
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.metrics;
+
+/**
+ * The SPI through which the {@link com.hubrick.vertx.rest.RestClient} reports the outcome of every request.<p>
+ * Implementations are called on the event loop for every request and must therefore be thread-safe,
+ * cheap and never block. See {@link com.hubrick.vertx.rest.metrics.impl.DefaultRestClientMetrics} for the default implementation.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public interface RestClientMetrics {
+
+    /**
+     * Called when the head or the first chunk of the body of a request is sent.
+     * Every started request is followed by exactly one call to {@link #requestCompleted} or {@link #requestFailed}.
+     *
+     * @param key The host, method and route tag of the request
+     */
+    void requestStarted(RequestMetricsKey key);
+
+    /**
+     * Called when a response was received completely, regardless of its status code.
+     *
+     * @param key The host, method and route tag of the request
+     * @param statusCode The status code of the response
+     * @param timeToFirstByteInNanos The time from sending the request until the response head was received
+     * @param totalTimeInNanos The time from sending the request until the response body was received completely
+     * @param requestBytes The number of request body bytes
+     * @param responseBytes The number of response body bytes
+     */
+    void requestCompleted(RequestMetricsKey key, int statusCode, long timeToFirstByteInNanos, long totalTimeInNanos, long requestBytes, long responseBytes);
+
+    /**
+     * Called when a request failed before a response was received completely, e.g. because of a connection error or a timeout.
+     *
+     * @param key The host, method and route tag of the request
+     * @param cause The cause of the failure
+     * @param totalTimeInNanos The time from sending the request until the failure
+     * @param requestBytes The number of request body bytes written before the failure
+     */
+    void requestFailed(RequestMetricsKey key, Throwable cause, long totalTimeInNanos, long requestBytes);
+}
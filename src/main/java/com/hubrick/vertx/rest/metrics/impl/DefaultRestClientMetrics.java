@@ -0,0 +1,191 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.metrics.impl;
+
+import com.hubrick.vertx.rest.metrics.RequestMetricsKey;
+import com.hubrick.vertx.rest.metrics.RequestMetricsSnapshot;
+import com.hubrick.vertx.rest.metrics.RestClientMetrics;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The default implementation. Latencies are recorded into HdrHistogram {@link Recorder}s which are wait-free
+ * for the recording threads, counters are {@link LongAdder}s. Nothing is aggregated on the recording path,
+ * all the work is done when a snapshot is taken. Taking a snapshot doesn't reset anything, so several readers like
+ * the {@link EventBusMetricsPublisher} and the application can take snapshots independently.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class DefaultRestClientMetrics implements RestClientMetrics {
+
+    private static final long DEFAULT_HIGHEST_TRACKABLE_LATENCY_IN_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final int DEFAULT_NUMBER_OF_SIGNIFICANT_VALUE_DIGITS = 2;
+
+    private final ConcurrentMap<RequestMetricsKey, RequestMetrics> requestMetrics = new ConcurrentHashMap<>();
+    private final long highestTrackableLatencyInMicros;
+    private final int numberOfSignificantValueDigits;
+
+    public DefaultRestClientMetrics() {
+        this(DEFAULT_HIGHEST_TRACKABLE_LATENCY_IN_MICROS, DEFAULT_NUMBER_OF_SIGNIFICANT_VALUE_DIGITS);
+    }
+
+    /**
+     * @param highestTrackableLatencyInMicros Latencies above this value are recorded as this value
+     * @param numberOfSignificantValueDigits The precision of the latency histograms, between 0 and 5
+     */
+    public DefaultRestClientMetrics(long highestTrackableLatencyInMicros, int numberOfSignificantValueDigits) {
+        this.highestTrackableLatencyInMicros = highestTrackableLatencyInMicros;
+        this.numberOfSignificantValueDigits = numberOfSignificantValueDigits;
+    }
+
+    @Override
+    public void requestStarted(RequestMetricsKey key) {
+        getRequestMetrics(key).inFlightCount.increment();
+    }
+
+    @Override
+    public void requestCompleted(RequestMetricsKey key, int statusCode, long timeToFirstByteInNanos, long totalTimeInNanos, long requestBytes, long responseBytes) {
+        final RequestMetrics metrics = getRequestMetrics(key);
+        metrics.timeToFirstByte.recordValue(toBoundedMicros(timeToFirstByteInNanos));
+        metrics.totalTime.recordValue(toBoundedMicros(totalTimeInNanos));
+        metrics.inFlightCount.decrement();
+        metrics.completedCount.increment();
+        metrics.requestBytes.add(requestBytes);
+        metrics.responseBytes.add(responseBytes);
+
+        final int statusClass = statusCode / 100;
+        if (statusClass >= 1 && statusClass <= 5) {
+            metrics.statusClassCounts[statusClass].increment();
+        }
+    }
+
+    @Override
+    public void requestFailed(RequestMetricsKey key, Throwable cause, long totalTimeInNanos, long requestBytes) {
+        final RequestMetrics metrics = getRequestMetrics(key);
+        metrics.inFlightCount.decrement();
+        metrics.failedCount.increment();
+        metrics.requestBytes.add(requestBytes);
+    }
+
+    /**
+     * @return The number of requests which were started but are neither completed nor failed yet
+     */
+    public long getInFlightCount() {
+        long inFlightCount = 0;
+        for (RequestMetrics metrics : requestMetrics.values()) {
+            inFlightCount += metrics.inFlightCount.sum();
+        }
+        return inFlightCount;
+    }
+
+    /**
+     * Takes a snapshot of all metrics. The latency histograms of the returned snapshots contain all requests
+     * which completed since the metrics were created. Subtract a previous snapshot to get the latencies of an interval.
+     *
+     * @return The snapshots by key
+     */
+    public Map<RequestMetricsKey, RequestMetricsSnapshot> snapshot() {
+        final Map<RequestMetricsKey, RequestMetricsSnapshot> snapshots = new HashMap<>(requestMetrics.size() * 2);
+        for (Map.Entry<RequestMetricsKey, RequestMetrics> entry : requestMetrics.entrySet()) {
+            snapshots.put(entry.getKey(), entry.getValue().snapshot(entry.getKey()));
+        }
+        return snapshots;
+    }
+
+    private RequestMetrics getRequestMetrics(RequestMetricsKey key) {
+        final RequestMetrics metrics = requestMetrics.get(key);
+        if (metrics != null) {
+            return metrics;
+        }
+        return requestMetrics.computeIfAbsent(key, newKey -> new RequestMetrics(highestTrackableLatencyInMicros, numberOfSignificantValueDigits));
+    }
+
+    private long toBoundedMicros(long nanos) {
+        return Math.max(0, Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), highestTrackableLatencyInMicros));
+    }
+
+    private static class RequestMetrics {
+
+        private final CumulativeRecorder timeToFirstByte;
+        private final CumulativeRecorder totalTime;
+        private final LongAdder inFlightCount = new LongAdder();
+        private final LongAdder completedCount = new LongAdder();
+        private final LongAdder failedCount = new LongAdder();
+        private final LongAdder requestBytes = new LongAdder();
+        private final LongAdder responseBytes = new LongAdder();
+        private final LongAdder[] statusClassCounts = new LongAdder[6];
+
+        private RequestMetrics(long highestTrackableLatencyInMicros, int numberOfSignificantValueDigits) {
+            this.timeToFirstByte = new CumulativeRecorder(highestTrackableLatencyInMicros, numberOfSignificantValueDigits);
+            this.totalTime = new CumulativeRecorder(highestTrackableLatencyInMicros, numberOfSignificantValueDigits);
+            for (int i = 0; i < statusClassCounts.length; i++) {
+                statusClassCounts[i] = new LongAdder();
+            }
+        }
+
+        private RequestMetricsSnapshot snapshot(RequestMetricsKey key) {
+            final long[] statusClassCountValues = new long[statusClassCounts.length];
+            for (int i = 0; i < statusClassCounts.length; i++) {
+                statusClassCountValues[i] = statusClassCounts[i].sum();
+            }
+
+            return new RequestMetricsSnapshot(
+                    key,
+                    inFlightCount.sum(),
+                    completedCount.sum(),
+                    statusClassCountValues,
+                    failedCount.sum(),
+                    requestBytes.sum(),
+                    responseBytes.sum(),
+                    timeToFirstByte.getCumulativeHistogram(),
+                    totalTime.getCumulativeHistogram()
+            );
+        }
+    }
+
+    /**
+     * Adds up the intervals of a {@link Recorder}, so reading it never takes samples away from another reader.
+     */
+    private static class CumulativeRecorder {
+
+        private final Recorder recorder;
+        private final Histogram cumulative;
+        private Histogram interval;
+
+        private CumulativeRecorder(long highestTrackableValue, int numberOfSignificantValueDigits) {
+            this.recorder = new Recorder(highestTrackableValue, numberOfSignificantValueDigits);
+            this.cumulative = new Histogram(highestTrackableValue, numberOfSignificantValueDigits);
+        }
+
+        private void recordValue(long value) {
+            recorder.recordValue(value);
+        }
+
+        private synchronized Histogram getCumulativeHistogram() {
+            interval = recorder.getIntervalHistogram(interval);
+            cumulative.add(interval);
+            return cumulative.copy();
+        }
+    }
+}
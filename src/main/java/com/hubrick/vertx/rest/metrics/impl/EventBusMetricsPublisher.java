@@ -0,0 +1,195 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.metrics.impl;
+
+import com.hubrick.vertx.rest.metrics.RequestMetricsKey;
+import com.hubrick.vertx.rest.metrics.RequestMetricsSnapshot;
+import org.HdrHistogram.Histogram;
+import org.vertx.java.core.Vertx;
+import org.vertx.java.core.json.JsonArray;
+import org.vertx.java.core.json.JsonObject;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Periodically publishes a JSON snapshot of {@link DefaultRestClientMetrics} to an event bus address.<p>
+ * A snapshot looks like this, all latencies are in microseconds. The latencies, {@code count} and
+ * {@code throughputPerSecond} refer to the time since the previous snapshot of this publisher, all other counters are
+ * cumulative. The publisher keeps its own interval, so snapshots taken elsewhere don't take samples away from it.
+ * The connection pool gauges under {@code client} are only present if the pool is instrumented:
+ * <pre>
+ * {
+ *   "timestamp": 1428573432000,
+ *   "intervalInMillis": 10000,
+ *   "client": {
+ *     "inFlight": 3, "maxPoolSize": 5, "maxWaiterQueueSize": -1, "openConnections": 5, "idleConnections": 2,
+ *     "waitingRequests": 0, "poolUtilization": 0.6, "timeQueued": { "p50": 0, "p99": 2015, "max": 3071 }
+ *   },
+ *   "requests": [ {
+ *     "host": "localhost:8080", "method": "GET", "routeTag": "/api/users/{id}",
+ *     "count": 1200, "throughputPerSecond": 120.0, "inFlight": 3, "completed": 53311, "failed": 2,
+ *     "status": { "1xx": 0, "2xx": 53290, "3xx": 0, "4xx": 19, "5xx": 2 }, "errors": 4,
+ *     "requestBytes": 0, "responseBytes": 18264112,
+ *     "timeToFirstByte": { "mean": 1834.2, "p50": 1607, "p90": 2911, "p99": 7503, "p999": 12031, "max": 15871 },
+ *     "totalTime": { ... }
+ *   } ]
+ * }
+ * </pre>
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class EventBusMetricsPublisher {
+
+    private final Vertx vertx;
+    private final DefaultRestClientMetrics metrics;
+    private final Supplier<JsonObject> clientGauges;
+    private final String address;
+    private final long intervalInMillis;
+    private long timerId = -1;
+    private Map<RequestMetricsKey, RequestMetricsSnapshot> previousSnapshots = Collections.emptyMap();
+
+    /**
+     * @param vertx The vertx instance
+     * @param metrics The metrics to publish
+     * @param clientGauges Supplies the client wide gauges which are published under {@code client}
+     * @param address The event bus address to publish to
+     * @param intervalInMillis The interval between two snapshots
+     */
+    public EventBusMetricsPublisher(Vertx vertx,
+                                    DefaultRestClientMetrics metrics,
+                                    Supplier<JsonObject> clientGauges,
+                                    String address,
+                                    long intervalInMillis) {
+        checkNotNull(vertx, "vertx must not be null");
+        checkNotNull(metrics, "metrics must not be null");
+        checkNotNull(clientGauges, "clientGauges must not be null");
+        checkNotNull(address, "address must not be null");
+        checkArgument(intervalInMillis > 0, "intervalInMillis must be greater than 0");
+
+        this.vertx = vertx;
+        this.metrics = metrics;
+        this.clientGauges = clientGauges;
+        this.address = address;
+        this.intervalInMillis = intervalInMillis;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public long getIntervalInMillis() {
+        return intervalInMillis;
+    }
+
+    /**
+     * Starts publishing. The first snapshot is published after one interval.
+     */
+    public void start() {
+        if (timerId == -1) {
+            timerId = vertx.setPeriodic(intervalInMillis, event -> publish());
+        }
+    }
+
+    /**
+     * Stops publishing.
+     */
+    public void stop() {
+        if (timerId != -1) {
+            vertx.cancelTimer(timerId);
+            timerId = -1;
+        }
+    }
+
+    /**
+     * Takes a snapshot and publishes it right away.
+     */
+    public void publish() {
+        vertx.eventBus().publish(address, createSnapshot());
+    }
+
+    /**
+     * Takes a snapshot and starts the next interval of this publisher.
+     *
+     * @return The snapshot as JSON
+     */
+    public JsonObject createSnapshot() {
+        final Map<RequestMetricsKey, RequestMetricsSnapshot> snapshots = metrics.snapshot();
+        final JsonArray requests = new JsonArray();
+        for (RequestMetricsSnapshot snapshot : snapshots.values()) {
+            requests.addObject(toJson(snapshot, previousSnapshots.get(snapshot.getKey())));
+        }
+        previousSnapshots = snapshots;
+
+        return new JsonObject()
+                .putNumber("timestamp", System.currentTimeMillis())
+                .putNumber("intervalInMillis", intervalInMillis)
+                .putObject("client", clientGauges.get())
+                .putArray("requests", requests);
+    }
+
+    private JsonObject toJson(RequestMetricsSnapshot snapshot, @Nullable RequestMetricsSnapshot previousSnapshot) {
+        final Histogram timeToFirstByteInMicros = intervalOf(snapshot.getTimeToFirstByteInMicros(), previousSnapshot != null ? previousSnapshot.getTimeToFirstByteInMicros() : null);
+        final Histogram totalTimeInMicros = intervalOf(snapshot.getTotalTimeInMicros(), previousSnapshot != null ? previousSnapshot.getTotalTimeInMicros() : null);
+        final long count = totalTimeInMicros.getTotalCount();
+        final JsonObject status = new JsonObject();
+        for (int statusClass = 1; statusClass <= 5; statusClass++) {
+            status.putNumber(statusClass + "xx", snapshot.getStatusClassCount(statusClass));
+        }
+
+        return new JsonObject()
+                .putString("host", snapshot.getKey().getHost())
+                .putString("method", snapshot.getKey().getMethod().toString())
+                .putString("routeTag", snapshot.getKey().getRouteTag())
+                .putNumber("count", count)
+                .putNumber("throughputPerSecond", count * 1000.0 / intervalInMillis)
+                .putNumber("inFlight", snapshot.getInFlightCount())
+                .putNumber("completed", snapshot.getCompletedCount())
+                .putNumber("failed", snapshot.getFailedCount())
+                .putObject("status", status)
+                .putNumber("errors", snapshot.getFailedCount() + snapshot.getStatusClassCount(5))
+                .putNumber("requestBytes", snapshot.getRequestBytes())
+                .putNumber("responseBytes", snapshot.getResponseBytes())
+                .putObject("timeToFirstByte", toJson(timeToFirstByteInMicros))
+                .putObject("totalTime", toJson(totalTimeInMicros));
+    }
+
+    private Histogram intervalOf(Histogram cumulative, @Nullable Histogram previous) {
+        if (previous == null) {
+            return cumulative;
+        }
+
+        final Histogram interval = cumulative.copy();
+        interval.subtract(previous);
+        return interval;
+    }
+
+    private JsonObject toJson(Histogram histogram) {
+        return new JsonObject()
+                .putNumber("mean", histogram.getTotalCount() > 0 ? histogram.getMean() : 0.0)
+                .putNumber("p50", histogram.getValueAtPercentile(50))
+                .putNumber("p90", histogram.getValueAtPercentile(90))
+                .putNumber("p99", histogram.getValueAtPercentile(99))
+                .putNumber("p999", histogram.getValueAtPercentile(99.9))
+                .putNumber("max", histogram.getMaxValue());
+    }
+}
@@ -15,11 +15,20 @@
  */
 package com.hubrick.vertx.rest.rx;
 
+import com.hubrick.vertx.rest.EventSource;
+import com.hubrick.vertx.rest.FileDownload;
 import com.hubrick.vertx.rest.HttpMethod;
+import com.hubrick.vertx.rest.ResponseBodyReader;
 import com.hubrick.vertx.rest.RestClientRequest;
 import com.hubrick.vertx.rest.RestClientResponse;
+import com.hubrick.vertx.rest.ServerSentEvent;
+import com.hubrick.vertx.rest.UriTemplate;
+import org.vertx.java.core.Handler;
 import rx.Observable;
 import rx.functions.Action1;
+import rx.functions.Func1;
+
+import java.util.Map;
 
 /**
  * An RX wrapper around {@link com.hubrick.vertx.rest.RestClient}
@@ -125,4 +134,160 @@ public interface RxRestClient {
      * @return A reference to the {@link RestClientRequest}
      */
     <T> Observable<RestClientResponse<T>> request(HttpMethod method, String uri, Class<T> responseClass, Action1<RestClientRequest> requestBuilder);
+
+    /**
+     * Makes a GET call with no response value.
+     *
+     * @param uriTemplate The uri template which should be expanded and called.
+     * @param uriVariables The variables to expand the uri template with
+     * @param requestBuilder The handler to build the request
+     * @return A reference to the {@link RestClientRequest}
+     */
+    Observable<RestClientResponse<Void>> get(UriTemplate uriTemplate, Map<String, ?> uriVariables, Action1<RestClientRequest> requestBuilder);
+
+    /**
+     * Makes a GET call with a expected response value.
+     *
+     * @param uriTemplate The uri template which should be expanded and called.
+     * @param uriVariables The variables to expand the uri template with
+     * @param responseClass The class which represents the response
+     * @param requestBuilder The handler to build the request
+     * @return A reference to the {@link RestClientRequest}
+     */
+    <T> Observable<RestClientResponse<T>> get(UriTemplate uriTemplate, Map<String, ?> uriVariables, Class<T> responseClass, Action1<RestClientRequest> requestBuilder);
+
+    /**
+     * Makes a POST call with no response value.
+     *
+     * @param uriTemplate The uri template which should be expanded and called.
+     * @param uriVariables The variables to expand the uri template with
+     * @param requestBuilder The handler to build the request
+     * @return A reference to the {@link RestClientRequest}
+     */
+    Observable<RestClientResponse<Void>> post(UriTemplate uriTemplate, Map<String, ?> uriVariables, Action1<RestClientRequest> requestBuilder);
+
+    /**
+     * Makes a POST call with a expected response value.
+     *
+     * @param uriTemplate The uri template which should be expanded and called.
+     * @param uriVariables The variables to expand the uri template with
+     * @param responseClass The class which represents the response
+     * @param requestBuilder The handler to build the request
+     * @return A reference to the {@link RestClientRequest}
+     */
+    <T> Observable<RestClientResponse<T>> post(UriTemplate uriTemplate, Map<String, ?> uriVariables, Class<T> responseClass, Action1<RestClientRequest> requestBuilder);
+
+    /**
+     * Makes a PUT call with no response value.
+     *
+     * @param uriTemplate The uri template which should be expanded and called.
+     * @param uriVariables The variables to expand the uri template with
+     * @param requestBuilder The handler to build the request
+     * @return A reference to the {@link RestClientRequest}
+     */
+    Observable<RestClientResponse<Void>> put(UriTemplate uriTemplate, Map<String, ?> uriVariables, Action1<RestClientRequest> requestBuilder);
+
+    /**
+     * Makes a PUT call with a expected response value.
+     *
+     * @param uriTemplate The uri template which should be expanded and called.
+     * @param uriVariables The variables to expand the uri template with
+     * @param responseClass The class which represents the response
+     * @param requestBuilder The handler to build the request
+     * @return A reference to the {@link RestClientRequest}
+     */
+    <T> Observable<RestClientResponse<T>> put(UriTemplate uriTemplate, Map<String, ?> uriVariables, Class<T> responseClass, Action1<RestClientRequest> requestBuilder);
+
+    /**
+     * Makes a DELETE call with no response value.
+     *
+     * @param uriTemplate The uri template which should be expanded and called.
+     * @param uriVariables The variables to expand the uri template with
+     * @param requestBuilder The handler to build the request
+     * @return A reference to the {@link RestClientRequest}
+     */
+    Observable<RestClientResponse<Void>> delete(UriTemplate uriTemplate, Map<String, ?> uriVariables, Action1<RestClientRequest> requestBuilder);
+
+    /**
+     * Makes a DELETE call with a expected response value.
+     *
+     * @param uriTemplate The uri template which should be expanded and called.
+     * @param uriVariables The variables to expand the uri template with
+     * @param responseClass The class which represents the response
+     * @param requestBuilder The handler to build the request
+     * @return A reference to the {@link RestClientRequest}
+     */
+    <T> Observable<RestClientResponse<T>> delete(UriTemplate uriTemplate, Map<String, ?> uriVariables, Class<T> responseClass, Action1<RestClientRequest> requestBuilder);
+
+    /**
+     * Makes a GET, POST, PUT or DELETE call with no response value. It's a generic method for REST calls.
+     *
+     * @param method The http method to be used for this call
+     * @param uriTemplate The uri template which should be expanded and called.
+     * @param uriVariables The variables to expand the uri template with
+     * @param requestBuilder The handler to build the request
+     * @return A reference to the {@link RestClientRequest}
+     */
+    Observable<RestClientResponse<Void>> request(HttpMethod method, UriTemplate uriTemplate, Map<String, ?> uriVariables, Action1<RestClientRequest> requestBuilder);
+
+    /**
+     * Makes a GET, POST, PUT or DELETE call with a expected response value. It's a generic method for REST calls.
+     *
+     * @param method The http method to be used for this call
+     * @param uriTemplate The uri template which should be expanded and called.
+     * @param uriVariables The variables to expand the uri template with
+     * @param responseClass The class which represents the response
+     * @param requestBuilder The handler to build the request
+     * @return A reference to the {@link RestClientRequest}
+     */
+    <T> Observable<RestClientResponse<T>> request(HttpMethod method, UriTemplate uriTemplate, Map<String, ?> uriVariables, Class<T> responseClass, Action1<RestClientRequest> requestBuilder);
+
+    /**
+     * Makes a call whose successful response body is consumed by the given reader while it arrives instead of being
+     * aggregated in memory and converted. Responses with a 4xx or 5xx status fail as usual.
+     *
+     * @param method The http method to be used for this call
+     * @param uri The uri which should be called.
+     * @param responseBodyReader Reads the body of successful responses
+     * @param requestBuilder The handler to build the request
+     * @return A reference to the {@link RestClientRequest}
+     */
+    <T> Observable<RestClientResponse<T>> request(HttpMethod method, String uri, ResponseBodyReader<T> responseBodyReader, Action1<RestClientRequest> requestBuilder);
+
+    /**
+     * Makes a GET call and writes the successful response body to a file as it arrives. An existing file is replaced,
+     * a partially written file is deleted when the download fails.
+     *
+     * @param uri The uri which should be called.
+     * @param path The path of the file to write the body to
+     * @param requestBuilder The handler to build the request
+     * @return A reference to the {@link RestClientRequest}
+     */
+    Observable<RestClientResponse<FileDownload>> download(String uri, String path, Action1<RestClientRequest> requestBuilder);
+
+    /**
+     * Makes a call and emits the items a reader produces from the successful response body while it arrives, e.g. the
+     * records of a {@link com.hubrick.vertx.rest.converter.JacksonNdjsonHttpMessageConverter#recordReader(Class, Handler)}.
+     * Unlike the other calls the returned observable is cold: every subscription makes the call and items are not
+     * memoized, so the body is processed with constant memory.
+     *
+     * @param method The http method to be used for this call
+     * @param uri The uri which should be called.
+     * @param readerFactory Creates the reader for a subscription from the handler which emits the items
+     * @param requestBuilder The handler to build the request
+     * @return An observable of the items
+     */
+    <R> Observable<R> requestStream(HttpMethod method, String uri, Func1<Handler<R>, ResponseBodyReader<?>> readerFactory, Action1<RestClientRequest> requestBuilder);
+
+    /**
+     * Receives the events of a {@code text/event-stream} while they arrive, reconnecting as described by
+     * {@link EventSource}. The returned observable is cold: every subscription opens an event source, unsubscribing
+     * closes it. It completes when the server ends the stream with a 204 response and fails when the event source is
+     * closed by a failure.
+     *
+     * @param uri The uri of the event stream
+     * @param eventSourceBuilder The handler to configure the event source, e.g. its headers
+     * @return An observable of the events
+     */
+    Observable<ServerSentEvent> eventStream(String uri, Action1<EventSource> eventSourceBuilder);
 }
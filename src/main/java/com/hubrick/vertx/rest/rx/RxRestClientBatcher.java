@@ -0,0 +1,41 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.rx;
+
+import rx.Observable;
+
+/**
+ * An RX wrapper around {@link com.hubrick.vertx.rest.RestClientBatcher}
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public interface RxRestClientBatcher<K, V> {
+
+    /**
+     * Queues a lookup for the given key. If the bulk response contains no value for the key the returned
+     * {@link Observable} emits {@code null}.
+     *
+     * @param key The key to look up
+     * @return An {@link Observable} which emits the value for the key once the bulk response is received
+     */
+    Observable<V> get(K key);
+
+    /**
+     * Sends all queued lookups immediately without waiting for the batch to fill up or the delay to pass.
+     */
+    void flush();
+}
@@ -15,13 +15,23 @@
  */
 package com.hubrick.vertx.rest.rx.impl;
 
+import com.hubrick.vertx.rest.EventSource;
+import com.hubrick.vertx.rest.FileDownload;
 import com.hubrick.vertx.rest.HttpMethod;
+import com.hubrick.vertx.rest.ResponseBodyReader;
 import com.hubrick.vertx.rest.RestClient;
 import com.hubrick.vertx.rest.RestClientRequest;
 import com.hubrick.vertx.rest.RestClientResponse;
+import com.hubrick.vertx.rest.ServerSentEvent;
+import com.hubrick.vertx.rest.UriTemplate;
 import com.hubrick.vertx.rest.rx.RxRestClient;
+import org.vertx.java.core.Handler;
 import rx.Observable;
 import rx.functions.Action1;
+import rx.functions.Func1;
+import rx.subscriptions.Subscriptions;
+
+import java.util.Map;
 
 /**
  * @author Emir Dizdarevic
@@ -99,4 +109,124 @@ public class DefaultRxRestClient implements RxRestClient {
 
         return Observable.create(handler.getSubscribe());
     }
+
+    @Override
+    public <T> Observable<RestClientResponse<T>> request(HttpMethod method, String uri, ResponseBodyReader<T> responseBodyReader, Action1<RestClientRequest> requestBuilder) {
+        final DefaultRxRestClientResponseMemoizeHandler<T> handler = new DefaultRxRestClientResponseMemoizeHandler<>();
+        return observe(restClient.request(method, uri, responseBodyReader, handler), handler, requestBuilder);
+    }
+
+    @Override
+    public Observable<RestClientResponse<FileDownload>> download(String uri, String path, Action1<RestClientRequest> requestBuilder) {
+        final DefaultRxRestClientResponseMemoizeHandler<FileDownload> handler = new DefaultRxRestClientResponseMemoizeHandler<>();
+        return observe(restClient.download(uri, path, handler), handler, requestBuilder);
+    }
+
+    @Override
+    public <R> Observable<R> requestStream(HttpMethod method, String uri, Func1<Handler<R>, ResponseBodyReader<?>> readerFactory, Action1<RestClientRequest> requestBuilder) {
+        return Observable.create(subscriber -> {
+            final ResponseBodyReader<?> responseBodyReader = readerFactory.call(item -> {
+                if (!subscriber.isUnsubscribed()) {
+                    subscriber.onNext(item);
+                }
+            });
+            final RestClientRequest<?> request = restClient.request(method, uri, responseBodyReader, response -> subscriber.onCompleted());
+            request.exceptionHandler(subscriber::onError);
+
+            try {
+                requestBuilder.call(new DefaultRxRestClientRequest<>(request));
+            } catch (Exception e) {
+                subscriber.onError(e);
+            }
+        });
+    }
+
+    @Override
+    public Observable<ServerSentEvent> eventStream(String uri, Action1<EventSource> eventSourceBuilder) {
+        return Observable.create(subscriber -> {
+            final EventSource eventSource = restClient.eventSource(uri, subscriber::onNext);
+            eventSource.exceptionHandler(subscriber::onError);
+            eventSource.endHandler(event -> subscriber.onCompleted());
+            subscriber.add(Subscriptions.create(eventSource::close));
+
+            try {
+                eventSourceBuilder.call(eventSource);
+                eventSource.open();
+            } catch (Exception e) {
+                subscriber.onError(e);
+            }
+        });
+    }
+
+    @Override
+    public Observable<RestClientResponse<Void>> get(UriTemplate uriTemplate, Map<String, ?> uriVariables, Action1<RestClientRequest> requestBuilder) {
+        return request(HttpMethod.GET, uriTemplate.expand(uriVariables), Void.class, withRouteTag(uriTemplate, requestBuilder));
+    }
+
+    @Override
+    public <T> Observable<RestClientResponse<T>> get(UriTemplate uriTemplate, Map<String, ?> uriVariables, Class<T> responseClass, Action1<RestClientRequest> requestBuilder) {
+        return request(HttpMethod.GET, uriTemplate.expand(uriVariables), responseClass, withRouteTag(uriTemplate, requestBuilder));
+    }
+
+    @Override
+    public Observable<RestClientResponse<Void>> post(UriTemplate uriTemplate, Map<String, ?> uriVariables, Action1<RestClientRequest> requestBuilder) {
+        return request(HttpMethod.POST, uriTemplate.expand(uriVariables), Void.class, withRouteTag(uriTemplate, requestBuilder));
+    }
+
+    @Override
+    public <T> Observable<RestClientResponse<T>> post(UriTemplate uriTemplate, Map<String, ?> uriVariables, Class<T> responseClass, Action1<RestClientRequest> requestBuilder) {
+        return request(HttpMethod.POST, uriTemplate.expand(uriVariables), responseClass, withRouteTag(uriTemplate, requestBuilder));
+    }
+
+    @Override
+    public Observable<RestClientResponse<Void>> put(UriTemplate uriTemplate, Map<String, ?> uriVariables, Action1<RestClientRequest> requestBuilder) {
+        return request(HttpMethod.PUT, uriTemplate.expand(uriVariables), Void.class, withRouteTag(uriTemplate, requestBuilder));
+    }
+
+    @Override
+    public <T> Observable<RestClientResponse<T>> put(UriTemplate uriTemplate, Map<String, ?> uriVariables, Class<T> responseClass, Action1<RestClientRequest> requestBuilder) {
+        return request(HttpMethod.PUT, uriTemplate.expand(uriVariables), responseClass, withRouteTag(uriTemplate, requestBuilder));
+    }
+
+    @Override
+    public Observable<RestClientResponse<Void>> delete(UriTemplate uriTemplate, Map<String, ?> uriVariables, Action1<RestClientRequest> requestBuilder) {
+        return request(HttpMethod.DELETE, uriTemplate.expand(uriVariables), Void.class, withRouteTag(uriTemplate, requestBuilder));
+    }
+
+    @Override
+    public <T> Observable<RestClientResponse<T>> delete(UriTemplate uriTemplate, Map<String, ?> uriVariables, Class<T> responseClass, Action1<RestClientRequest> requestBuilder) {
+        return request(HttpMethod.DELETE, uriTemplate.expand(uriVariables), responseClass, withRouteTag(uriTemplate, requestBuilder));
+    }
+
+    @Override
+    public Observable<RestClientResponse<Void>> request(HttpMethod method, UriTemplate uriTemplate, Map<String, ?> uriVariables, Action1<RestClientRequest> requestBuilder) {
+        return request(method, uriTemplate.expand(uriVariables), Void.class, withRouteTag(uriTemplate, requestBuilder));
+    }
+
+    @Override
+    public <T> Observable<RestClientResponse<T>> request(HttpMethod method, UriTemplate uriTemplate, Map<String, ?> uriVariables, Class<T> responseClass, Action1<RestClientRequest> requestBuilder) {
+        return request(method, uriTemplate.expand(uriVariables), responseClass, withRouteTag(uriTemplate, requestBuilder));
+    }
+
+    private static <T> Observable<RestClientResponse<T>> observe(RestClientRequest<T> originalRequest,
+                                                                 DefaultRxRestClientResponseMemoizeHandler<T> handler,
+                                                                 Action1<RestClientRequest> requestBuilder) {
+        originalRequest.exceptionHandler(event -> handler.fail(event));
+        final RestClientRequest<T> request = new DefaultRxRestClientRequest<>(originalRequest);
+
+        try {
+            requestBuilder.call(request);
+        } catch (Exception e) {
+            handler.fail(e);
+        }
+
+        return Observable.create(handler.getSubscribe());
+    }
+
+    private static Action1<RestClientRequest> withRouteTag(UriTemplate uriTemplate, Action1<RestClientRequest> requestBuilder) {
+        return request -> {
+            request.setRouteTag(uriTemplate.toString());
+            requestBuilder.call(request);
+        };
+    }
 }
@@ -0,0 +1,45 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.rx.impl;
+
+import com.hubrick.vertx.rest.RestClientBatcher;
+import com.hubrick.vertx.rest.rx.RxRestClientBatcher;
+import rx.Observable;
+
+/**
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class DefaultRxRestClientBatcher<K, V> implements RxRestClientBatcher<K, V> {
+
+    private final RestClientBatcher<K, V> restClientBatcher;
+
+    public DefaultRxRestClientBatcher(RestClientBatcher<K, V> restClientBatcher) {
+        this.restClientBatcher = restClientBatcher;
+    }
+
+    @Override
+    public Observable<V> get(K key) {
+        final MemoizeHandler<V, V> handler = new MemoizeHandler<>();
+        restClientBatcher.get(key, handler, handler::fail);
+        return Observable.create(handler.getSubscribe());
+    }
+
+    @Override
+    public void flush() {
+        restClientBatcher.flush();
+    }
+}
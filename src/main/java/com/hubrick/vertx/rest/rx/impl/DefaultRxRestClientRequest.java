@@ -15,12 +15,16 @@
  */
 package com.hubrick.vertx.rest.rx.impl;
 
+import com.hubrick.vertx.rest.BasicAuthCredentials;
 import com.hubrick.vertx.rest.MediaType;
+import com.hubrick.vertx.rest.RequestTemplate;
 import com.hubrick.vertx.rest.RestClientRequest;
 import com.hubrick.vertx.rest.RestClientResponse;
 import org.vertx.java.core.Handler;
 import org.vertx.java.core.MultiMap;
 import org.vertx.java.core.net.NetSocket;
+import org.vertx.java.core.streams.ReadStream;
+import rx.Observable;
 
 import java.util.List;
 
@@ -76,6 +80,11 @@ public class DefaultRxRestClientRequest<T> implements RestClientRequest<T> {
         return decorated.putHeader(name, values);
     }
 
+    @Override
+    public RestClientRequest<T> applyTemplate(RequestTemplate requestTemplate) {
+        return decorated.applyTemplate(requestTemplate);
+    }
+
     @Override
     public RestClientRequest<T> write(Object requestObject) {
         return decorated.write(requestObject);
@@ -101,6 +110,21 @@ public class DefaultRxRestClientRequest<T> implements RestClientRequest<T> {
         decorated.end();
     }
 
+    @Override
+    public void sendFile(String filename) {
+        decorated.sendFile(filename);
+    }
+
+    @Override
+    public void sendStream(ReadStream<?> source) {
+        decorated.sendStream(source);
+    }
+
+    @Override
+    public void sendStream(Observable<?> elements) {
+        decorated.sendStream(elements);
+    }
+
     @Override
     public RestClientRequest<T> setTimeout(long timeoutMs) {
         return decorated.setTimeout(timeoutMs);
@@ -131,8 +155,24 @@ public class DefaultRxRestClientRequest<T> implements RestClientRequest<T> {
         decorated.setBasicAuth(userPassCombination);
     }
 
+    @Override
+    public void setBasicAuth(BasicAuthCredentials basicAuthCredentials) {
+        decorated.setBasicAuth(basicAuthCredentials);
+    }
+
     @Override
     public String getBasicAuth() {
         return decorated.getBasicAuth();
     }
+
+    @Override
+    public RestClientRequest<T> setRouteTag(String routeTag) {
+        decorated.setRouteTag(routeTag);
+        return this;
+    }
+
+    @Override
+    public String getRouteTag() {
+        return decorated.getRouteTag();
+    }
 }
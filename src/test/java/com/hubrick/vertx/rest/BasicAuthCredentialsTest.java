@@ -0,0 +1,88 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest;
+
+import org.junit.Test;
+import org.vertx.java.core.MultiMap;
+import org.vertx.java.core.http.CaseInsensitiveMultiMap;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class BasicAuthCredentialsTest {
+
+    @Test
+    public void testEncodesHeader() {
+        final BasicAuthCredentials credentials = new BasicAuthCredentials("Aladdin", "open sesame");
+
+        assertThat(credentials.getAuthorizationHeaderValue().toString(), is("Basic QWxhZGRpbjpvcGVuIHNlc2FtZQ=="));
+        assertThat(credentials.getUser(), is("Aladdin"));
+        assertThat(credentials.getUserPassCombination(), is("Aladdin:open sesame"));
+    }
+
+    @Test
+    public void testEncodesUtf8() {
+        final BasicAuthCredentials credentials = new BasicAuthCredentials("test", "123\u00a3");
+
+        assertThat(credentials.getAuthorizationHeaderValue().toString(), is("Basic dGVzdDoxMjPCow=="));
+    }
+
+    @Test
+    public void testPasswordMayContainColon() {
+        final BasicAuthCredentials credentials = new BasicAuthCredentials("user:pass:word");
+
+        assertThat(credentials.getUser(), is("user"));
+        assertThat(credentials, is(new BasicAuthCredentials("user", "pass:word")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUserMustNotContainColon() {
+        new BasicAuthCredentials("us:er", "password");
+    }
+
+    @Test
+    public void testCombinationWithoutColonIsEncodedAsIs() {
+        final BasicAuthCredentials credentials = new BasicAuthCredentials("token");
+
+        assertThat(credentials.getUser(), is("token"));
+        assertThat(credentials.getAuthorizationHeaderValue().toString(), is("Basic dG9rZW4="));
+        assertThat(BasicAuthCredentials.fromAuthorizationHeader("Basic dG9rZW4="), is(credentials));
+    }
+
+    @Test
+    public void testFromAuthorizationHeader() {
+        assertThat(BasicAuthCredentials.fromAuthorizationHeader("Basic QWxhZGRpbjpvcGVuIHNlc2FtZQ==").getUserPassCombination(), is("Aladdin:open sesame"));
+        assertThat(BasicAuthCredentials.fromAuthorizationHeader("basic  QWxhZGRpbjpvcGVuIHNlc2FtZQ== ").getUserPassCombination(), is("Aladdin:open sesame"));
+        assertThat(BasicAuthCredentials.fromAuthorizationHeader("Bearer QWxhZGRpbjpvcGVuIHNlc2FtZQ=="), is(nullValue()));
+        assertThat(BasicAuthCredentials.fromAuthorizationHeader(null), is(nullValue()));
+    }
+
+    @Test
+    public void testApplyToReplacesAuthorizationHeader() {
+        final MultiMap headers = new CaseInsensitiveMultiMap();
+        headers.add("authorization", "Bearer abc");
+
+        new BasicAuthCredentials("Aladdin", "open sesame").applyTo(headers);
+
+        assertThat(headers.getAll("Authorization").size(), is(1));
+        assertThat(headers.get("Authorization"), is("Basic QWxhZGRpbjpvcGVuIHNlc2FtZQ=="));
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest;
+
+import com.google.common.collect.ImmutableList;
+import com.hubrick.vertx.rest.converter.StringHttpMessageConverter;
+import com.hubrick.vertx.rest.impl.DefaultRestClient;
+import com.hubrick.vertx.rest.metrics.ConnectionPoolStats;
+import org.junit.Test;
+import org.mockserver.model.Header;
+import org.vertx.testtools.VertxAssert;
+
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+import static org.vertx.testtools.VertxAssert.assertEquals;
+import static org.vertx.testtools.VertxAssert.assertFalse;
+import static org.vertx.testtools.VertxAssert.assertTrue;
+import static org.vertx.testtools.VertxAssert.fail;
+
+/**
+ * Runs against the HttpClient of the Vert.x version this module is built with.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class ConnectionPoolInstrumentationFunctionalTest extends AbstractFunctionalTest {
+
+    @Test
+    public void testStatsRequireInstrumentation() {
+        final RestClient restClient = createRestClient();
+        assertFalse(restClient.isConnectionPoolInstrumented());
+        try {
+            restClient.getConnectionPoolStats();
+            fail("Expected an IllegalStateException");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage().contains("enableConnectionPoolInstrumentation"));
+        }
+        VertxAssert.testComplete();
+    }
+
+    @Test
+    public void testInstrumentedPool() {
+        final String path = "/api/v1/pool/instrumented";
+        getMockServerClient().when(
+                request()
+                        .withMethod("GET")
+                        .withPath(path)
+        ).respond(
+                response()
+                        .withStatusCode(200)
+                        .withHeader(Header.header("Content-Type", "text/plain"))
+                        .withBody("ok")
+        );
+
+        final RestClient restClient = createRestClient().enableConnectionPoolInstrumentation();
+        assertTrue(restClient.isConnectionPoolInstrumented());
+        final ConnectionPoolStats before = restClient.getConnectionPoolStats();
+        assertEquals(0, before.getOpenConnections());
+        assertEquals(3, before.getMaxPoolSize());
+
+        restClient.get(path, String.class, restClientResponse -> vertx.setTimer(100, timerId -> {
+            final ConnectionPoolStats after = restClient.getConnectionPoolStats();
+            assertEquals(1, after.getOpenConnections());
+            assertEquals(1, after.getIdleConnections());
+            assertEquals(0L, after.getWaitingRequests());
+            assertEquals(1L, after.getTimeQueuedInMicros().getTotalCount());
+            restClient.close();
+            VertxAssert.testComplete();
+        })).end();
+    }
+
+    private RestClient createRestClient() {
+        return new DefaultRestClient(vertx, ImmutableList.of(new StringHttpMessageConverter()))
+                .setHost("localhost")
+                .setPort(8089)
+                .setMaxPoolSize(3);
+    }
+}
@@ -0,0 +1,164 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest;
+
+import com.google.common.collect.ImmutableList;
+import com.hubrick.vertx.rest.converter.StringHttpMessageConverter;
+import com.hubrick.vertx.rest.impl.DefaultRestClient;
+import org.junit.Test;
+import org.vertx.java.core.Handler;
+import org.vertx.java.core.http.HttpServer;
+import org.vertx.java.core.http.HttpServerRequest;
+import org.vertx.testtools.VertxAssert;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.vertx.testtools.VertxAssert.assertEquals;
+import static org.vertx.testtools.VertxAssert.assertNull;
+import static org.vertx.testtools.VertxAssert.assertTrue;
+import static org.vertx.testtools.VertxAssert.fail;
+
+/**
+ * Subscribes to event streams of a Vert.x server. Every test listens on its own port, as a closed Vert.x 2 server may
+ * not have released its port when the next test starts.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class EventSourceFunctionalTest extends AbstractFunctionalTest {
+
+    @Test
+    public void testReconnectsWithBackoffAndLastEventId() {
+        final List<Long> requestTimes = new ArrayList<>();
+        final List<String> lastEventIds = new ArrayList<>();
+        final List<String> events = new ArrayList<>();
+
+        serve(8131, request -> {
+            requestTimes.add(System.currentTimeMillis());
+            lastEventIds.add(request.headers().get("Last-Event-ID"));
+            switch (requestTimes.size()) {
+                case 1:
+                    stream(request, "retry: 100\nid: 1\ndata: first\n\n");
+                    break;
+                case 2:
+                case 3:
+                    request.response().setStatusCode(503).putHeader("Content-Type", "text/plain").end("Unavailable");
+                    break;
+                case 4:
+                    stream(request, "id: 2\ndata: second\n\n");
+                    break;
+                default:
+                    request.response().setStatusCode(204).end();
+            }
+        }, server -> {
+            final EventSource eventSource = createRestClient(8131).eventSource("/api/v1/notifications", event -> events.add(event.getData()));
+            eventSource.setReconnectDelay(5000);
+            eventSource.exceptionHandler(throwable -> fail(throwable.toString()));
+            eventSource.endHandler(event -> {
+                assertEquals(ImmutableList.of("first", "second"), events);
+                assertEquals("2", eventSource.getLastEventId());
+                assertEquals(5, lastEventIds.size());
+                assertNull(lastEventIds.get(0));
+                assertEquals(ImmutableList.of("1", "1", "1", "2"), lastEventIds.subList(1, 5));
+                // The delay requested by the server, doubled for every attempt without an event
+                assertDelay(requestTimes, 1, 100);
+                assertDelay(requestTimes, 2, 200);
+                assertDelay(requestTimes, 3, 400);
+                assertDelay(requestTimes, 4, 100);
+                server.close(closeResult -> VertxAssert.testComplete());
+            });
+            eventSource.open();
+        });
+    }
+
+    @Test
+    public void testCloseDoesNotCostAPooledConnection() {
+        serve(8132, request -> {
+            if (request.path().equals("/api/v1/notifications")) {
+                stream(request, "id: 1\ndata: first\n\n");
+            } else {
+                request.response().putHeader("Content-Type", "text/plain").end("ok");
+            }
+        }, server -> {
+            final RestClient restClient = createRestClient(8132).setMaxPoolSize(1);
+            final EventSource[] eventSource = new EventSource[1];
+            eventSource[0] = restClient.eventSource("/api/v1/notifications", event -> {
+                eventSource[0].close();
+                // The open stream is never ended, the single pooled connection has to be free anyway
+                restClient.get("/api/v1/users", String.class, response -> {
+                    assertEquals("ok", response.getBody());
+                    server.close(closeResult -> VertxAssert.testComplete());
+                }).exceptionHandler(throwable -> fail(throwable.toString())).end();
+            });
+            eventSource[0].open();
+        });
+    }
+
+    @Test
+    public void testGlobalRequestTimeoutDoesNotEndQuietStream() {
+        final AtomicInteger requests = new AtomicInteger();
+        final List<String> events = new ArrayList<>();
+
+        serve(8133, request -> {
+            if (requests.incrementAndGet() == 1) {
+                stream(request, "id: 1\ndata: first\n\n");
+                vertx.setTimer(400, timerId -> request.response().end("id: 2\ndata: second\n\n"));
+            } else {
+                request.response().setStatusCode(204).end();
+            }
+        }, server -> {
+            final RestClient restClient = createRestClient(8133).setGlobalRequestTimeout(100);
+            final EventSource eventSource = restClient.eventSource("/api/v1/notifications", event -> events.add(event.getData()));
+            eventSource.setReconnectDelay(0);
+            eventSource.exceptionHandler(throwable -> fail(throwable.toString()));
+            eventSource.endHandler(event -> {
+                assertEquals(ImmutableList.of("first", "second"), events);
+                assertEquals(2, requests.get());
+                server.close(closeResult -> VertxAssert.testComplete());
+            });
+            eventSource.open();
+        });
+    }
+
+    private static void stream(HttpServerRequest request, String events) {
+        request.response().setChunked(true).putHeader("Content-Type", "text/event-stream");
+        request.response().write(events);
+        if (events.contains("retry") || events.contains("second")) {
+            request.response().end();
+        }
+    }
+
+    private static void assertDelay(List<Long> requestTimes, int index, long minDelayInMillis) {
+        final long delayInMillis = requestTimes.get(index) - requestTimes.get(index - 1);
+        assertTrue("Reconnected after " + delayInMillis + "ms instead of " + minDelayInMillis + "ms", delayInMillis >= minDelayInMillis);
+    }
+
+    private void serve(int port, Handler<HttpServerRequest> requestHandler, Handler<HttpServer> client) {
+        final HttpServer server = vertx.createHttpServer().requestHandler(requestHandler);
+        server.listen(port, "localhost", listenResult -> {
+            assertTrue(listenResult.succeeded());
+            client.handle(server);
+        });
+    }
+
+    private RestClient createRestClient(int port) {
+        return new DefaultRestClient(vertx, ImmutableList.of(new StringHttpMessageConverter()))
+                .setHost("localhost")
+                .setPort(port);
+    }
+}
@@ -0,0 +1,136 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.Hashing;
+import com.hubrick.vertx.rest.converter.StringHttpMessageConverter;
+import com.hubrick.vertx.rest.exception.HttpClientErrorException;
+import com.hubrick.vertx.rest.exception.RestClientException;
+import com.hubrick.vertx.rest.impl.DefaultRestClient;
+import org.junit.Test;
+import org.vertx.java.core.Handler;
+import org.vertx.java.core.buffer.Buffer;
+import org.vertx.java.core.http.HttpServer;
+import org.vertx.java.core.http.HttpServerRequest;
+import org.vertx.testtools.VertxAssert;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.vertx.testtools.VertxAssert.assertEquals;
+import static org.vertx.testtools.VertxAssert.assertFalse;
+import static org.vertx.testtools.VertxAssert.assertTrue;
+import static org.vertx.testtools.VertxAssert.fail;
+
+/**
+ * Downloads response bodies from a Vert.x server to files. Every test listens on its own port, as a closed Vert.x 2
+ * server may not have released its port when the next test starts. Vert.x 2 does not report a connection dropped
+ * mid-body to the response, the cleanup of partial files is covered by {@code FileDownloadReaderTest}.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class FileDownloadFunctionalTest extends AbstractFunctionalTest {
+
+    @Test
+    public void testDownloadReplacesFileAndComputesDigest() throws IOException {
+        final byte[] content = randomBytes(3 * 1024 * 1024);
+        final Path path = Files.createTempFile("download", ".bin");
+        path.toFile().deleteOnExit();
+        Files.write(path, randomBytes(4 * 1024 * 1024));
+
+        serve(8111, request -> {
+            request.response().setChunked(true);
+            for (int offset = 0; offset < content.length; offset += 64 * 1024) {
+                request.response().write(new Buffer(Arrays.copyOfRange(content, offset, Math.min(content.length, offset + 64 * 1024))));
+            }
+            request.response().end();
+        }, server -> createRestClient(8111).download("/api/v1/exports/2015-q3", path.toString(), response -> {
+            final FileDownload fileDownload = response.getBody();
+            assertEquals(path.toString(), fileDownload.getPath());
+            assertEquals((long) content.length, fileDownload.getSize());
+            assertEquals(Hashing.sha256().hashBytes(content).toString(), fileDownload.getSha256());
+            try {
+                assertTrue(Arrays.equals(content, Files.readAllBytes(path)));
+            } catch (IOException e) {
+                fail(e.toString());
+            }
+            server.close(closeResult -> VertxAssert.testComplete());
+        }).exceptionHandler(throwable -> fail(throwable.toString())).end());
+    }
+
+    @Test
+    public void testErrorResponseCreatesNoFile() throws IOException {
+        final Path path = createMissingPath();
+
+        serve(8112, request -> request.response().setStatusCode(404).putHeader("Content-Type", "text/plain").end("No such export"),
+                server -> createRestClient(8112).download("/api/v1/exports/missing", path.toString(), response -> fail("Expected a 404"))
+                        .exceptionHandler(throwable -> {
+                            assertTrue(throwable instanceof HttpClientErrorException);
+                            assertEquals("No such export", ((HttpClientErrorException) throwable).getResponseBodyAsString());
+                            assertFalse(Files.exists(path));
+                            server.close(closeResult -> VertxAssert.testComplete());
+                        })
+                        .end());
+    }
+
+    @Test
+    public void testUnwritablePathFails() {
+        final String path = "/does/not/exist/export.bin";
+
+        serve(8113, request -> request.response().end("ok"),
+                server -> createRestClient(8113).download("/api/v1/exports/2015-q3", path, response -> fail("Expected the download to fail"))
+                        .exceptionHandler(throwable -> {
+                            assertTrue(throwable instanceof RestClientException);
+                            assertTrue(throwable.getMessage().contains(path));
+                            server.close(closeResult -> VertxAssert.testComplete());
+                        })
+                        .end());
+    }
+
+    private void serve(int port, Handler<HttpServerRequest> requestHandler, Handler<HttpServer> client) {
+        listen(vertx.createHttpServer().requestHandler(requestHandler), port, client);
+    }
+
+    private void listen(HttpServer server, int port, Handler<HttpServer> client) {
+        server.listen(port, "localhost", listenResult -> {
+            assertTrue(listenResult.succeeded());
+            client.handle(server);
+        });
+    }
+
+    private RestClient createRestClient(int port) {
+        return new DefaultRestClient(vertx, ImmutableList.of(new StringHttpMessageConverter()))
+                .setHost("localhost")
+                .setPort(port);
+    }
+
+    private static Path createMissingPath() throws IOException {
+        final Path path = Files.createTempFile("download", ".bin");
+        Files.delete(path);
+        return path;
+    }
+
+    private static byte[] randomBytes(int length) {
+        final byte[] content = new byte[length];
+        new Random(length).nextBytes(content);
+        return content;
+    }
+}
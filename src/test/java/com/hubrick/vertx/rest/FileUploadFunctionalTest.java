@@ -0,0 +1,164 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest;
+
+import com.google.common.collect.ImmutableList;
+import com.hubrick.vertx.rest.converter.StringHttpMessageConverter;
+import com.hubrick.vertx.rest.exception.RestClientException;
+import com.hubrick.vertx.rest.impl.DefaultRestClient;
+import org.junit.Test;
+import org.vertx.java.core.Handler;
+import org.vertx.java.core.buffer.Buffer;
+import org.vertx.java.core.http.HttpServer;
+import org.vertx.java.core.http.HttpServerRequest;
+import org.vertx.testtools.VertxAssert;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.vertx.testtools.VertxAssert.assertEquals;
+import static org.vertx.testtools.VertxAssert.assertNull;
+import static org.vertx.testtools.VertxAssert.assertTrue;
+import static org.vertx.testtools.VertxAssert.fail;
+
+/**
+ * Uploads files to a Vert.x server which captures the request. Every test listens on its own port, as a closed Vert.x 2
+ * server may not have released its port when the next test starts.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class FileUploadFunctionalTest extends AbstractFunctionalTest {
+
+    @Test
+    public void testUploadWithContentLength() throws IOException {
+        final byte[] content = randomBytes(2 * 1024 * 1024);
+        final String path = createTempFile(content);
+
+        captureUpload(8101, false, (request, body) -> {
+            assertEquals(String.valueOf(content.length), request.headers().get("Content-Length"));
+            assertNull(request.headers().get("Transfer-Encoding"));
+            assertEquals("application/octet-stream", request.headers().get("Content-Type"));
+            assertTrue(Arrays.equals(content, body.getBytes()));
+        }, request -> request.sendFile(path));
+    }
+
+    @Test
+    public void testChunkedUploadKeepsContentType() throws IOException {
+        final byte[] content = randomBytes(300 * 1024);
+        final String path = createTempFile(content);
+
+        captureUpload(8102, false, (request, body) -> {
+            assertEquals("chunked", request.headers().get("Transfer-Encoding"));
+            assertNull(request.headers().get("Content-Length"));
+            assertEquals("text/csv", request.headers().get("Content-Type"));
+            assertTrue(Arrays.equals(content, body.getBytes()));
+        }, request -> {
+            request.setChunked(true);
+            request.setContentType(MediaType.valueOf("text/csv"));
+            request.sendFile(path);
+        });
+    }
+
+    @Test
+    public void testUploadToPausedServer() throws IOException {
+        final byte[] content = randomBytes(4 * 1024 * 1024);
+        final String path = createTempFile(content);
+
+        captureUpload(8103, true, (request, body) -> {
+            assertTrue(Arrays.equals(content, body.getBytes()));
+        }, request -> request.sendFile(path));
+    }
+
+    @Test
+    public void testEmptyFile() throws IOException {
+        final String path = createTempFile(new byte[0]);
+
+        captureUpload(8104, false, (request, body) -> {
+            assertEquals("0", request.headers().get("Content-Length"));
+            assertEquals(0, body.length());
+        }, request -> request.sendFile(path));
+    }
+
+    @Test
+    public void testMissingFileFailsWithoutSending() {
+        final AtomicInteger receivedRequests = new AtomicInteger();
+        final HttpServer server = vertx.createHttpServer().requestHandler(request -> receivedRequests.incrementAndGet());
+        server.listen(8105, "localhost", listenResult -> {
+            assertTrue(listenResult.succeeded());
+            final RestClientRequest<String> request = createRestClient(8105).put("/api/v1/exports/missing", String.class, response -> fail("Expected the request to fail"));
+            request.exceptionHandler(throwable -> {
+                assertTrue(throwable instanceof RestClientException);
+                assertTrue(throwable.getMessage().contains("/does/not/exist.csv"));
+                vertx.setTimer(200, timerId -> {
+                    assertEquals(0, receivedRequests.get());
+                    server.close(closeResult -> VertxAssert.testComplete());
+                });
+            });
+            request.sendFile("/does/not/exist.csv");
+        });
+    }
+
+    private void captureUpload(int port, boolean pauseFirst, UploadAssertion assertion, Handler<RestClientRequest<String>> sender) {
+        final HttpServer server = vertx.createHttpServer().requestHandler(request -> {
+            if (pauseFirst) {
+                // Let the client fill its write queue before anything is read
+                request.pause();
+                vertx.setTimer(300, timerId -> request.resume());
+            }
+            request.bodyHandler(body -> {
+                assertion.check(request, body);
+                request.response().putHeader("Content-Type", "text/plain").end("ok");
+            });
+        });
+        server.listen(port, "localhost", listenResult -> {
+            assertTrue(listenResult.succeeded());
+            final RestClientRequest<String> request = createRestClient(port).put("/api/v1/exports/2015-q3", String.class, response -> {
+                assertEquals("ok", response.getBody());
+                server.close(closeResult -> VertxAssert.testComplete());
+            });
+            request.exceptionHandler(throwable -> fail(throwable.toString()));
+            sender.handle(request);
+        });
+    }
+
+    private RestClient createRestClient(int port) {
+        return new DefaultRestClient(vertx, ImmutableList.of(new StringHttpMessageConverter()))
+                .setHost("localhost")
+                .setPort(port);
+    }
+
+    private static byte[] randomBytes(int length) {
+        final byte[] content = new byte[length];
+        new Random(42).nextBytes(content);
+        return content;
+    }
+
+    private static String createTempFile(byte[] content) throws IOException {
+        final Path path = Files.createTempFile("upload", ".bin");
+        Files.write(path, content);
+        path.toFile().deleteOnExit();
+        return path.toString();
+    }
+
+    private interface UploadAssertion {
+        void check(HttpServerRequest request, Buffer body);
+    }
+}
@@ -0,0 +1,62 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class MediaTypeTest {
+
+    @Test
+    public void testParseMediaTypes() {
+        final List<MediaType> mediaTypes = MediaType.parseMediaTypes("application/json, text/plain;q=0.5,*/*");
+
+        assertThat(mediaTypes.size(), is(3));
+        assertThat(mediaTypes.get(0), is(MediaType.APPLICATION_JSON));
+        assertThat(mediaTypes.get(1).getSubtype(), is("plain"));
+        assertThat(mediaTypes.get(1).getQualityValue(), is(0.5));
+        assertThat(mediaTypes.get(2), is(MediaType.ALL));
+    }
+
+    @Test
+    public void testParseSingleMediaType() {
+        final List<MediaType> mediaTypes = MediaType.parseMediaTypes("application/json");
+
+        assertThat(mediaTypes.size(), is(1));
+        assertThat(mediaTypes.get(0), is(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    public void testParseEmptyMediaTypes() {
+        assertThat(MediaType.parseMediaTypes(null).isEmpty(), is(true));
+        assertThat(MediaType.parseMediaTypes("").isEmpty(), is(true));
+    }
+
+    @Test
+    public void testToStringRoundTrip() {
+        final List<MediaType> mediaTypes = MediaType.parseMediaTypes("application/json, text/plain;q=0.5");
+
+        assertThat(MediaType.parseMediaTypes(MediaType.toString(mediaTypes)), is(mediaTypes));
+    }
+}
@@ -0,0 +1,245 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest;
+
+import com.google.common.collect.ImmutableList;
+import com.hubrick.vertx.rest.converter.MultipartHttpMessageConverter;
+import com.hubrick.vertx.rest.converter.StringHttpMessageConverter;
+import com.hubrick.vertx.rest.exception.HttpMessageConverterException;
+import com.hubrick.vertx.rest.impl.DefaultRestClient;
+import org.junit.Test;
+import org.vertx.java.core.Handler;
+import org.vertx.java.core.buffer.Buffer;
+import org.vertx.java.core.http.HttpServer;
+import org.vertx.java.core.http.HttpServerRequest;
+import org.vertx.testtools.VertxAssert;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.vertx.testtools.VertxAssert.assertEquals;
+import static org.vertx.testtools.VertxAssert.assertTrue;
+import static org.vertx.testtools.VertxAssert.fail;
+
+/**
+ * Sends multipart forms to a Vert.x server, which captures the raw body or parses it. Every test listens on its own
+ * port, as a closed Vert.x 2 server may not have released its port when the next test starts.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class MultipartFunctionalTest extends AbstractFunctionalTest {
+
+    @Test
+    public void testBoundaryFramesEveryPart() {
+        final MultipartForm form = MultipartForm.builder()
+                .field("title", "Quarterly report")
+                .part("data", "data.txt", MediaType.TEXT_PLAIN, new Buffer("--looks like\r\n--a boundary"))
+                .build();
+
+        captureRawBody(8091, (request, body) -> {
+            final String contentType = request.headers().get("Content-Type");
+            assertTrue(contentType, contentType.matches("multipart/form-data; boundary=[-_0-9a-zA-Z]{32}"));
+            assertEquals("chunked", request.headers().get("Transfer-Encoding"));
+
+            final String boundary = contentType.substring(contentType.indexOf("boundary=") + "boundary=".length());
+            assertEquals("--" + boundary + "\r\n" +
+                    "Content-Disposition: form-data; name=\"title\"\r\n" +
+                    "\r\n" +
+                    "Quarterly report\r\n" +
+                    "--" + boundary + "\r\n" +
+                    "Content-Disposition: form-data; name=\"data\"; filename=\"data.txt\"\r\n" +
+                    "Content-Type: text/plain\r\n" +
+                    "\r\n" +
+                    "--looks like\r\n--a boundary\r\n" +
+                    "--" + boundary + "--\r\n", body.toString());
+        }, server -> post(server, 8091, form, null));
+    }
+
+    @Test
+    public void testExplicitBoundaryIsKept() {
+        final MultipartForm form = MultipartForm.builder()
+                .field("title", "Quarterly report")
+                .build();
+
+        captureRawBody(8092, (request, body) -> {
+            assertEquals("multipart/form-data; boundary=fixed-boundary-42", request.headers().get("Content-Type"));
+            assertEquals("--fixed-boundary-42\r\n" +
+                    "Content-Disposition: form-data; name=\"title\"\r\n" +
+                    "\r\n" +
+                    "Quarterly report\r\n" +
+                    "--fixed-boundary-42--\r\n", body.toString());
+        }, server -> post(server, 8092, form, MediaType.parseMediaType("multipart/form-data; boundary=fixed-boundary-42")));
+    }
+
+    @Test
+    public void testEmptyFormOnlyHasClosingBoundary() {
+        captureRawBody(8093, (request, body) -> {
+            assertEquals("--fixed-boundary-42--\r\n", body.toString());
+        }, server -> post(server, 8093, MultipartForm.builder().build(), MediaType.parseMediaType("multipart/form-data; boundary=fixed-boundary-42")));
+    }
+
+    @Test
+    public void testEscapedPartNames() {
+        final MultipartForm form = MultipartForm.builder()
+                .part("say \"hi\"", "line\r\nbreak.txt", null, new Buffer("hi"))
+                .build();
+
+        captureRawBody(8094, (request, body) -> {
+            assertTrue(body.toString(), body.toString().contains("Content-Disposition: form-data; name=\"say \\\"hi\\\"\"; filename=\"line%0D%0Abreak.txt\"\r\n\r\nhi\r\n"));
+        }, server -> post(server, 8094, form, MediaType.parseMediaType("multipart/form-data; boundary=fixed-boundary-42")));
+    }
+
+    @Test
+    public void testFilePartIsParsedByServer() throws IOException {
+        final byte[] content = new byte[300 * 1024];
+        new Random(42).nextBytes(content);
+        final Path path = Files.createTempFile("multipart", ".bin");
+        Files.write(path, content);
+        path.toFile().deleteOnExit();
+
+        final MultipartForm form = MultipartForm.builder()
+                .field("title", "Quarterly report")
+                .file("document", "report.bin", MediaType.APPLICATION_OCTET_STREAM, path.toString())
+                .field("comment", "after the file")
+                .build();
+
+        final Buffer upload = new Buffer();
+        final HttpServer server = vertx.createHttpServer().requestHandler(request -> {
+            request.expectMultiPart(true);
+            request.uploadHandler(fileUpload -> {
+                assertEquals("document", fileUpload.name());
+                assertEquals("report.bin", fileUpload.filename());
+                fileUpload.dataHandler(upload::appendBuffer);
+            });
+            request.endHandler(event -> {
+                assertEquals("Quarterly report", request.formAttributes().get("title"));
+                assertEquals("after the file", request.formAttributes().get("comment"));
+                assertTrue(Arrays.equals(content, upload.getBytes()));
+                request.response().putHeader("Content-Type", "text/plain").end("ok");
+            });
+        });
+        server.listen(8095, "localhost", listenResult -> {
+            assertTrue(listenResult.succeeded());
+            createRestClient(8095, response -> {
+                assertEquals("ok", response.getBody());
+                server.close(closeResult -> VertxAssert.testComplete());
+            }, null).end(form);
+        });
+    }
+
+    @Test
+    public void testPartsLargerThanWriteWindowOnNewConnection() throws IOException {
+        final byte[] part = new byte[200 * 1024];
+        new Random(7).nextBytes(part);
+        final byte[] content = new byte[4 * 1024 * 1024];
+        new Random(42).nextBytes(content);
+        final Path path = Files.createTempFile("multipart", ".bin");
+        Files.write(path, content);
+        path.toFile().deleteOnExit();
+
+        final MultipartForm form = MultipartForm.builder()
+                .part("first", "first.bin", MediaType.APPLICATION_OCTET_STREAM, new Buffer(part))
+                .part("second", "second.bin", MediaType.APPLICATION_OCTET_STREAM, new Buffer(part))
+                .file("document", "report.bin", MediaType.APPLICATION_OCTET_STREAM, path.toString())
+                .field("comment", "after the file")
+                .build();
+        final Buffer expectedBody = new Buffer()
+                .appendString("--fixed-boundary-42\r\nContent-Disposition: form-data; name=\"first\"; filename=\"first.bin\"\r\n")
+                .appendString("Content-Type: application/octet-stream\r\n\r\n").appendBytes(part)
+                .appendString("\r\n--fixed-boundary-42\r\nContent-Disposition: form-data; name=\"second\"; filename=\"second.bin\"\r\n")
+                .appendString("Content-Type: application/octet-stream\r\n\r\n").appendBytes(part)
+                .appendString("\r\n--fixed-boundary-42\r\nContent-Disposition: form-data; name=\"document\"; filename=\"report.bin\"\r\n")
+                .appendString("Content-Type: application/octet-stream\r\n\r\n").appendBytes(content)
+                .appendString("\r\n--fixed-boundary-42\r\nContent-Disposition: form-data; name=\"comment\"\r\n\r\nafter the file")
+                .appendString("\r\n--fixed-boundary-42--\r\n");
+
+        // Every test uses a new client, so the form is written before the request has its connection
+        final HttpServer server = vertx.createHttpServer().requestHandler(request -> {
+            request.pause();
+            vertx.setTimer(300, timerId -> request.resume());
+            request.bodyHandler(body -> {
+                assertTrue(Arrays.equals(expectedBody.getBytes(), body.getBytes()));
+                request.response().putHeader("Content-Type", "text/plain").end("ok");
+            });
+        });
+        server.listen(8097, "localhost", listenResult -> {
+            assertTrue(listenResult.succeeded());
+            post(server, 8097, form, MediaType.parseMediaType("multipart/form-data; boundary=fixed-boundary-42"));
+        });
+    }
+
+    @Test
+    public void testMissingFileFailsWithoutSending() {
+        final MultipartForm form = MultipartForm.builder()
+                .field("title", "Quarterly report")
+                .file("document", "report.bin", null, "/does/not/exist.bin")
+                .build();
+
+        final AtomicInteger receivedRequests = new AtomicInteger();
+        final HttpServer server = vertx.createHttpServer().requestHandler(request -> receivedRequests.incrementAndGet());
+        server.listen(8096, "localhost", listenResult -> {
+            assertTrue(listenResult.succeeded());
+            createRestClient(8096, response -> fail("Expected the request to fail"), throwable -> {
+                assertTrue(throwable instanceof HttpMessageConverterException);
+                vertx.setTimer(200, timerId -> {
+                    assertEquals(0, receivedRequests.get());
+                    server.close(closeResult -> VertxAssert.testComplete());
+                });
+            }).end(form);
+        });
+    }
+
+    private void captureRawBody(int port, RawBodyAssertion assertion, Handler<HttpServer> sender) {
+        final HttpServer server = vertx.createHttpServer().requestHandler(request -> request.bodyHandler(body -> {
+            request.response().putHeader("Content-Type", "text/plain").end("ok");
+            assertion.check(request, body);
+        }));
+        server.listen(port, "localhost", listenResult -> {
+            assertTrue(listenResult.succeeded());
+            sender.handle(server);
+        });
+    }
+
+    private void post(HttpServer server, int port, MultipartForm form, MediaType contentType) {
+        final RestClientRequest<String> request = createRestClient(port, response -> {
+            assertEquals("ok", response.getBody());
+            server.close(closeResult -> VertxAssert.testComplete());
+        }, null);
+        if (contentType != null) {
+            request.setContentType(contentType);
+        }
+        request.end(form);
+    }
+
+    private RestClientRequest<String> createRestClient(int port, Handler<RestClientResponse<String>> responseHandler, Handler<Throwable> exceptionHandler) {
+        final RestClient restClient = new DefaultRestClient(vertx, ImmutableList.of(new MultipartHttpMessageConverter(vertx), new StringHttpMessageConverter()))
+                .setHost("localhost")
+                .setPort(port);
+        final RestClientRequest<String> request = restClient.post("/api/v1/documents", String.class, responseHandler);
+        request.setContentType(MediaType.MULTIPART_FORM_DATA);
+        request.exceptionHandler(exceptionHandler != null ? exceptionHandler : throwable -> fail(throwable.toString()));
+        return request;
+    }
+
+    private interface RawBodyAssertion {
+        void check(HttpServerRequest request, Buffer body);
+    }
+}
@@ -0,0 +1,134 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest;
+
+import com.google.common.collect.ImmutableList;
+import com.hubrick.vertx.rest.converter.StringHttpMessageConverter;
+import com.hubrick.vertx.rest.exception.HttpClientErrorException;
+import com.hubrick.vertx.rest.impl.DefaultRestClient;
+import org.junit.Test;
+import org.mockserver.model.Header;
+import org.vertx.java.core.Handler;
+import org.vertx.testtools.VertxAssert;
+
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+import static org.mockserver.verify.VerificationTimes.exactly;
+import static org.vertx.testtools.VertxAssert.assertEquals;
+import static org.vertx.testtools.VertxAssert.assertNotSame;
+import static org.vertx.testtools.VertxAssert.assertTrue;
+import static org.vertx.testtools.VertxAssert.fail;
+
+/**
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class NegativeCacheFunctionalTest extends AbstractFunctionalTest {
+
+    @Test
+    public void testHitReplaysNewException() {
+        final String path = "/api/v1/negative-cache/hit";
+        mockNotFound(path);
+
+        final RestClient restClient = createRestClient(60000);
+        get(restClient, path, "Authorization", "Bearer a", first -> get(restClient, path, "Authorization", "Bearer a", second -> {
+            assertNotSame(first, second);
+            assertEquals(404, second.getStatusCode().intValue());
+            assertEquals("text/plain", second.getResponseHeaders().get("Content-Type"));
+            assertEquals("No such user", second.getResponseBodyAsString());
+            assertEquals(1L, restClient.getNegativeCacheStats().hitCount());
+
+            getMockServerClient().verify(request().withMethod("GET").withPath(path), exactly(1));
+            VertxAssert.testComplete();
+        }));
+    }
+
+    @Test
+    public void testMissOnDifferentRequestHeaders() {
+        final String path = "/api/v1/negative-cache/miss";
+        mockNotFound(path);
+
+        final RestClient restClient = createRestClient(60000);
+        get(restClient, path, "Authorization", "Bearer a", first -> get(restClient, path, "Authorization", "Bearer b", second -> {
+            assertEquals(404, second.getStatusCode().intValue());
+            assertEquals(0L, restClient.getNegativeCacheStats().hitCount());
+
+            getMockServerClient().verify(request().withMethod("GET").withPath(path), exactly(2));
+            VertxAssert.testComplete();
+        }));
+    }
+
+    @Test
+    public void testHitOnDifferentTracingHeaders() {
+        final String path = "/api/v1/negative-cache/tracing";
+        mockNotFound(path);
+
+        final RestClient restClient = createRestClient(60000);
+        get(restClient, path, "traceparent", "00-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-01", first ->
+                get(restClient, path, "traceparent", "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01", second -> {
+                    assertEquals(404, second.getStatusCode().intValue());
+                    assertEquals(1L, restClient.getNegativeCacheStats().hitCount());
+
+                    getMockServerClient().verify(request().withMethod("GET").withPath(path), exactly(1));
+                    VertxAssert.testComplete();
+                }));
+    }
+
+    @Test
+    public void testExpiry() {
+        final String path = "/api/v1/negative-cache/expiry";
+        mockNotFound(path);
+
+        final RestClient restClient = createRestClient(100);
+        get(restClient, path, "Authorization", "Bearer a", first -> vertx.setTimer(300, timerId -> get(restClient, path, "Authorization", "Bearer a", second -> {
+            assertEquals(404, second.getStatusCode().intValue());
+            assertEquals(0L, restClient.getNegativeCacheStats().hitCount());
+
+            getMockServerClient().verify(request().withMethod("GET").withPath(path), exactly(2));
+            VertxAssert.testComplete();
+        })));
+    }
+
+    private void mockNotFound(String path) {
+        getMockServerClient().when(
+                request()
+                        .withMethod("GET")
+                        .withPath(path)
+        ).respond(
+                response()
+                        .withStatusCode(404)
+                        .withHeader(Header.header("Content-Type", "text/plain"))
+                        .withBody("No such user")
+        );
+    }
+
+    private RestClient createRestClient(int negativeCacheTtlInMillis) {
+        return new DefaultRestClient(vertx, ImmutableList.of(new StringHttpMessageConverter()))
+                .setHost("localhost")
+                .setPort(8089)
+                .setNegativeCacheTtl(negativeCacheTtlInMillis);
+    }
+
+    private void get(RestClient restClient, String path, String headerName, String headerValue, Handler<HttpClientErrorException> exceptionHandler) {
+        restClient.get(path, String.class, restClientResponse -> fail("Expected a 404"))
+                .putHeader(headerName, headerValue)
+                .exceptionHandler(throwable -> {
+                    assertTrue(throwable instanceof HttpClientErrorException);
+                    exceptionHandler.handle((HttpClientErrorException) throwable);
+                })
+                .end();
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest;
+
+import com.google.common.collect.ImmutableList;
+import com.hubrick.vertx.rest.converter.StringHttpMessageConverter;
+import com.hubrick.vertx.rest.impl.DefaultRestClient;
+import org.junit.Test;
+import org.mockserver.model.Header;
+import org.vertx.testtools.VertxAssert;
+
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+import static org.vertx.testtools.VertxAssert.assertEquals;
+import static org.vertx.testtools.VertxAssert.fail;
+
+/**
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class RequestTemplateFunctionalTest extends AbstractFunctionalTest {
+
+    @Test
+    public void testRequestHeadersOverrideRequestTemplateOverridesDefaultTemplate() {
+        final String path = "/api/v1/templates";
+        getMockServerClient().when(
+                request()
+                        .withMethod("GET")
+                        .withPath(path)
+                        .withHeader(Header.header("X-Tenant", "request-template"))
+                        .withHeader(Header.header("X-Client", "default-template"))
+                        .withHeader(Header.header("X-Request-Id", "explicit"))
+        ).respond(
+                response()
+                        .withStatusCode(200)
+                        .withHeader(Header.header("Content-Type", "text/plain"))
+                        .withBody("merged")
+        );
+
+        final RestClient restClient = new DefaultRestClient(vertx, ImmutableList.of(new StringHttpMessageConverter()))
+                .setHost("localhost")
+                .setPort(8089)
+                .setDefaultRequestTemplate(RequestTemplate.builder()
+                        .header("X-Tenant", "default-template")
+                        .header("X-Client", "default-template")
+                        .header("X-Request-Id", "default-template")
+                        .build());
+
+        restClient.get(path, String.class, restClientResponse -> {
+            assertEquals("merged", restClientResponse.getBody());
+            VertxAssert.testComplete();
+        })
+                .applyTemplate(RequestTemplate.builder()
+                        .header("X-Tenant", "request-template")
+                        .header("X-Request-Id", "request-template")
+                        .build())
+                .putHeader("X-Request-Id", "explicit")
+                .exceptionHandler(throwable -> fail("Headers were not merged: " + throwable))
+                .end();
+    }
+}
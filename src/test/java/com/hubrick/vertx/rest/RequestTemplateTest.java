@@ -0,0 +1,89 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+import org.vertx.java.core.MultiMap;
+import org.vertx.java.core.http.CaseInsensitiveMultiMap;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class RequestTemplateTest {
+
+    @Test
+    public void testReplacesExistingHeadersCaseInsensitively() {
+        final MultiMap headers = new CaseInsensitiveMultiMap();
+        headers.add("x-tenant", "old");
+        headers.add("X-Request-Id", "123");
+
+        RequestTemplate.builder().header("X-Tenant", "new").build().applyTo(headers);
+
+        assertThat(headers.getAll("X-Tenant"), is((Object) ImmutableList.of("new")));
+        assertThat(headers.get("X-Request-Id"), is("123"));
+    }
+
+    @Test
+    public void testRepeatedNamesBecomeMultiValueHeader() {
+        final MultiMap headers = new CaseInsensitiveMultiMap();
+        headers.add("Via", "proxy");
+
+        RequestTemplate.builder().header("Via", "a").header("via", "b").build().applyTo(headers);
+
+        assertThat(headers.getAll("Via"), is((Object) ImmutableList.of("a", "b")));
+    }
+
+    @Test
+    public void testLaterTemplateOverridesEarlierTemplate() {
+        final MultiMap headers = new CaseInsensitiveMultiMap();
+        final RequestTemplate defaults = RequestTemplate.builder()
+                .header("X-Tenant", "default")
+                .accept(MediaType.APPLICATION_JSON)
+                .build();
+        final RequestTemplate overrides = RequestTemplate.builder()
+                .header("X-Tenant", "override")
+                .contentType(MediaType.TEXT_PLAIN)
+                .build();
+
+        defaults.applyTo(headers);
+        overrides.applyTo(headers);
+
+        assertThat(headers.get("X-Tenant"), is("override"));
+        assertThat(headers.get("Accept"), is("application/json"));
+        assertThat(headers.get("Content-Type"), is("text/plain"));
+        assertThat(headers.size(), is(3));
+    }
+
+    @Test
+    public void testTemplateIsReusable() {
+        final RequestTemplate template = RequestTemplate.builder().header("X-Tenant", "a").build();
+        final MultiMap first = new CaseInsensitiveMultiMap();
+        final MultiMap second = new CaseInsensitiveMultiMap();
+
+        template.applyTo(first);
+        template.applyTo(second);
+
+        assertThat(first.get("X-Tenant"), is("a"));
+        assertThat(second.get("X-Tenant"), is("a"));
+        assertThat(template.size(), is(1));
+        assertThat(template.toString(), is("RequestTemplate{X-Tenant: a}"));
+    }
+}
@@ -0,0 +1,198 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableList;
+import com.hubrick.vertx.rest.converter.JacksonJsonHttpMessageConverter;
+import com.hubrick.vertx.rest.exception.HttpServerErrorException;
+import com.hubrick.vertx.rest.impl.DefaultRestClient;
+import com.hubrick.vertx.rest.impl.DefaultRestClientBatcher;
+import com.hubrick.vertx.rest.rx.UserResponse;
+import org.junit.Test;
+import org.mockserver.model.Header;
+import org.vertx.testtools.VertxAssert;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+import static org.mockserver.verify.VerificationTimes.exactly;
+import static org.vertx.testtools.VertxAssert.assertEquals;
+import static org.vertx.testtools.VertxAssert.assertNull;
+import static org.vertx.testtools.VertxAssert.assertTrue;
+import static org.vertx.testtools.VertxAssert.fail;
+
+/**
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class RestClientBatcherFunctionalTest extends AbstractFunctionalTest {
+
+    private static final UUID USER_1 = UUID.fromString("e5297618-c299-4157-a85c-4957c8204819");
+    private static final UUID USER_2 = UUID.fromString("b9d8fb1a-38c5-45ea-a7ee-6450a964f4f8");
+    private static final UUID UNKNOWN_USER = UUID.fromString("00000000-0000-0000-0000-000000000000");
+
+    @Test
+    public void testFlushOnMaxBatchSize() {
+        final String path = "/api/v1/batch/size/" + USER_1 + "," + USER_2;
+        mockUsers(path, 200, "[" + user(USER_1) + "," + user(USER_2) + "]");
+
+        final RestClientBatcher<UUID, UserResponse> batcher = createBatcher("/api/v1/batch/size/", 2, 60000);
+        final AtomicInteger completed = new AtomicInteger();
+        final Runnable complete = () -> {
+            if (completed.incrementAndGet() == 3) {
+                getMockServerClient().verify(request().withMethod("GET").withPath(path), exactly(1));
+                VertxAssert.testComplete();
+            }
+        };
+
+        batcher.get(USER_1, user -> {
+            assertEquals(USER_1, user.getId());
+            complete.run();
+        }, this::unexpected);
+        batcher.get(USER_1, user -> {
+            assertEquals(USER_1, user.getId());
+            complete.run();
+        }, this::unexpected);
+        assertEquals(1, batcher.getQueuedKeyCount());
+
+        batcher.get(USER_2, user -> {
+            assertEquals(USER_2, user.getId());
+            complete.run();
+        }, this::unexpected);
+        assertEquals(0, batcher.getQueuedKeyCount());
+    }
+
+    @Test
+    public void testFlushAfterMaxDelayWithMissingKey() {
+        final String path = "/api/v1/batch/delay/" + USER_1 + "," + UNKNOWN_USER;
+        mockUsers(path, 200, "[" + user(USER_1) + "]");
+
+        final RestClientBatcher<UUID, UserResponse> batcher = createBatcher("/api/v1/batch/delay/", 50, 100);
+        final AtomicInteger completed = new AtomicInteger();
+        batcher.get(USER_1, user -> {
+            assertEquals(USER_1, user.getId());
+            completed.incrementAndGet();
+        }, this::unexpected);
+        batcher.get(UNKNOWN_USER, user -> {
+            assertNull(user);
+            assertEquals(1, completed.get());
+            VertxAssert.testComplete();
+        }, this::unexpected);
+
+        assertEquals(2, batcher.getQueuedKeyCount());
+    }
+
+    @Test
+    public void testThrowingResultHandlerDoesNotAffectOtherLookups() {
+        final String path = "/api/v1/batch/isolation/" + USER_1 + "," + USER_2;
+        mockUsers(path, 200, "[" + user(USER_1) + "," + user(USER_2) + "]");
+
+        final RestClientBatcher<UUID, UserResponse> batcher = createBatcher("/api/v1/batch/isolation/", 50, 60000);
+        batcher.get(USER_1, user -> {
+            throw new IllegalStateException("Failing result handler");
+        }, this::unexpected);
+        batcher.get(USER_2, user -> {
+            assertEquals(USER_2, user.getId());
+            VertxAssert.testComplete();
+        }, this::unexpected);
+        batcher.flush();
+    }
+
+    @Test
+    public void testFailureReachesEveryLookup() {
+        final String path = "/api/v1/batch/failure/" + USER_1 + "," + USER_2;
+        mockUsers(path, 500, "Internal error");
+
+        final RestClientBatcher<UUID, UserResponse> batcher = createBatcher("/api/v1/batch/failure/", 50, 60000);
+        final AtomicInteger failed = new AtomicInteger();
+        batcher.get(USER_1, user -> fail("Expected a failure"), exception -> {
+            failed.incrementAndGet();
+            throw new IllegalStateException("Failing exception handler");
+        });
+        batcher.get(USER_2, user -> fail("Expected a failure"), exception -> {
+            assertTrue(exception instanceof HttpServerErrorException);
+            assertEquals(1, failed.get());
+            VertxAssert.testComplete();
+        });
+        batcher.flush();
+    }
+
+    @Test
+    public void testThrowingKeyExtractorFailsEveryLookup() {
+        final String path = "/api/v1/batch/extractor/" + USER_1 + "," + USER_2;
+        mockUsers(path, 200, "[" + user(USER_1) + "," + user(USER_2) + "]");
+
+        final RestClientBatcher<UUID, UserResponse> batcher = createBatcher("/api/v1/batch/extractor/", 50, 60000, user -> {
+            throw new IllegalStateException("Failing key extractor");
+        });
+        final AtomicInteger failed = new AtomicInteger();
+        batcher.get(USER_1, user -> fail("Expected a failure"), exception -> {
+            assertEquals("Failing key extractor", exception.getMessage());
+            failed.incrementAndGet();
+        });
+        batcher.get(USER_2, user -> fail("Expected a failure"), exception -> {
+            assertEquals("Failing key extractor", exception.getMessage());
+            assertEquals(1, failed.get());
+            VertxAssert.testComplete();
+        });
+        batcher.flush();
+    }
+
+    private RestClientBatcher<UUID, UserResponse> createBatcher(String pathPrefix, int maxBatchSize, long maxDelayInMillis) {
+        return createBatcher(pathPrefix, maxBatchSize, maxDelayInMillis, UserResponse::getId);
+    }
+
+    private RestClientBatcher<UUID, UserResponse> createBatcher(String pathPrefix, int maxBatchSize, long maxDelayInMillis, Function<UserResponse, UUID> keyExtractor) {
+        final RestClient restClient = new DefaultRestClient(vertx, ImmutableList.of(new JacksonJsonHttpMessageConverter<>(new ObjectMapper())))
+                .setHost("localhost")
+                .setPort(8089);
+        return new DefaultRestClientBatcher<>(
+                vertx,
+                restClient,
+                ids -> pathPrefix + Joiner.on(",").join(ids),
+                UserResponse[].class,
+                keyExtractor,
+                maxBatchSize,
+                maxDelayInMillis
+        );
+    }
+
+    private void mockUsers(String path, int statusCode, String body) {
+        getMockServerClient().when(
+                request()
+                        .withMethod("GET")
+                        .withPath(path)
+        ).respond(
+                response()
+                        .withStatusCode(statusCode)
+                        .withHeader(Header.header("Content-Type", "application/json;charset=UTF-8"))
+                        .withBody(body)
+        );
+    }
+
+    private static String user(UUID id) {
+        return "{\"id\":\"" + id + "\",\"firstName\":\"First\",\"lastName\":\"Last\"}";
+    }
+
+    private void unexpected(Throwable throwable) {
+        fail("Unexpected exception: " + throwable);
+    }
+}
@@ -0,0 +1,127 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest;
+
+import com.google.common.collect.ImmutableList;
+import com.hubrick.vertx.rest.converter.StringHttpMessageConverter;
+import com.hubrick.vertx.rest.exception.HttpClientErrorException;
+import com.hubrick.vertx.rest.impl.DefaultRestClient;
+import com.hubrick.vertx.rest.metrics.RequestMetricsKey;
+import com.hubrick.vertx.rest.metrics.RequestMetricsSnapshot;
+import com.hubrick.vertx.rest.metrics.impl.DefaultRestClientMetrics;
+import org.junit.Test;
+import org.mockserver.model.Header;
+import org.vertx.testtools.VertxAssert;
+
+import java.util.Map;
+
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+import static org.vertx.testtools.VertxAssert.assertEquals;
+import static org.vertx.testtools.VertxAssert.assertTrue;
+import static org.vertx.testtools.VertxAssert.fail;
+
+/**
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class RestClientMetricsFunctionalTest extends AbstractFunctionalTest {
+
+    @Test
+    public void testCountsByStatusClassAndRoute() {
+        final String path = "/api/v1/metrics/users";
+        mockResponse("GET", path + "/1", 200, "ok");
+        mockResponse("GET", path + "/2", 200, "ok");
+        mockResponse("GET", path + "/3", 404, "No such user");
+        mockResponse("POST", path, 201, "created");
+
+        final DefaultRestClientMetrics metrics = new DefaultRestClientMetrics();
+        final RestClient restClient = createRestClient(8089, metrics);
+        restClient.get(path + "/1", String.class, first -> {
+            restClient.get(path + "/2", String.class, second -> {
+                restClient.get(path + "/3", String.class, third -> fail("Expected a 404"))
+                        .setRouteTag("users")
+                        .exceptionHandler(throwable -> {
+                            assertTrue(throwable instanceof HttpClientErrorException);
+                            final RestClientRequest<String> postRequest = restClient.post(path, String.class, created -> {
+                                final Map<RequestMetricsKey, RequestMetricsSnapshot> snapshots = metrics.snapshot();
+                                assertEquals(2, snapshots.size());
+                                assertEquals(0L, metrics.getInFlightCount());
+
+                                final RequestMetricsSnapshot getSnapshot = snapshots.get(new RequestMetricsKey("localhost:8089", HttpMethod.GET, "users"));
+                                assertEquals(3L, getSnapshot.getCompletedCount());
+                                assertEquals(2L, getSnapshot.getStatusClassCount(2));
+                                assertEquals(1L, getSnapshot.getStatusClassCount(4));
+                                assertEquals(0L, getSnapshot.getStatusClassCount(5));
+                                assertEquals(0L, getSnapshot.getFailedCount());
+                                assertEquals(0L, getSnapshot.getRequestBytes());
+                                assertEquals((long) "okokNo such user".length(), getSnapshot.getResponseBytes());
+                                assertEquals(3L, getSnapshot.getTotalTimeInMicros().getTotalCount());
+                                assertEquals(3L, getSnapshot.getTimeToFirstByteInMicros().getTotalCount());
+
+                                final RequestMetricsSnapshot postSnapshot = snapshots.get(new RequestMetricsKey("localhost:8089", HttpMethod.POST, "create"));
+                                assertEquals(1L, postSnapshot.getCompletedCount());
+                                assertEquals(1L, postSnapshot.getStatusClassCount(2));
+                                assertEquals((long) "hello".length(), postSnapshot.getRequestBytes());
+                                assertEquals((long) "created".length(), postSnapshot.getResponseBytes());
+                                VertxAssert.testComplete();
+                            });
+                            postRequest.setRouteTag("create");
+                            postRequest.setContentType(MediaType.TEXT_PLAIN);
+                            postRequest.end("hello");
+                        })
+                        .end();
+            }).setRouteTag("users").end();
+        }).setRouteTag("users").end();
+    }
+
+    @Test
+    public void testConnectionFailureCountedAsFailed() {
+        final DefaultRestClientMetrics metrics = new DefaultRestClientMetrics();
+        final RestClient restClient = createRestClient(8090, metrics);
+        restClient.get("/api/v1/metrics/unreachable", String.class, restClientResponse -> fail("Expected a connection failure"))
+                .setRouteTag("unreachable")
+                .exceptionHandler(throwable -> {
+                    final RequestMetricsSnapshot snapshot = metrics.snapshot().get(new RequestMetricsKey("localhost:8090", HttpMethod.GET, "unreachable"));
+                    assertEquals(1L, snapshot.getFailedCount());
+                    assertEquals(0L, snapshot.getCompletedCount());
+                    assertEquals(0L, snapshot.getInFlightCount());
+                    assertEquals(0L, snapshot.getTotalTimeInMicros().getTotalCount());
+                    VertxAssert.testComplete();
+                })
+                .end();
+    }
+
+    private void mockResponse(String method, String path, int statusCode, String body) {
+        getMockServerClient().when(
+                request()
+                        .withMethod(method)
+                        .withPath(path)
+        ).respond(
+                response()
+                        .withStatusCode(statusCode)
+                        .withHeader(Header.header("Content-Type", "text/plain"))
+                        .withBody(body)
+        );
+    }
+
+    private RestClient createRestClient(int port, DefaultRestClientMetrics metrics) {
+        return new DefaultRestClient(vertx, ImmutableList.of(new StringHttpMessageConverter()))
+                .setHost("localhost")
+                .setPort(port)
+                .setMetrics(metrics);
+    }
+}
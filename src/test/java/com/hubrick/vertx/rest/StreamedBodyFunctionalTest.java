@@ -0,0 +1,219 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import com.hubrick.vertx.rest.converter.StringHttpMessageConverter;
+import com.hubrick.vertx.rest.impl.DefaultRestClient;
+import org.junit.Test;
+import org.vertx.java.core.Handler;
+import org.vertx.java.core.buffer.Buffer;
+import org.vertx.java.core.http.HttpServer;
+import org.vertx.java.core.streams.ReadStream;
+import org.vertx.testtools.VertxAssert;
+import rx.Observable;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.vertx.testtools.VertxAssert.assertEquals;
+import static org.vertx.testtools.VertxAssert.assertTrue;
+import static org.vertx.testtools.VertxAssert.fail;
+
+/**
+ * Streams request bodies to a Vert.x server which counts the received bytes. Every test listens on its own port, as a
+ * closed Vert.x 2 server may not have released its port when the next test starts.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class StreamedBodyFunctionalTest extends AbstractFunctionalTest {
+
+    private static final int WRITE_WINDOW_BYTES = 128 * 1024;
+    private static final int CHUNK_BYTES = 16 * 1024;
+
+    @Test
+    public void testReadStreamWaitsForDrainBeforeConnected() {
+        final GeneratingReadStream source = new GeneratingReadStream(1024 * 1024);
+
+        countReceivedBytes(8121, 0, request -> request.sendStream(source), (receivedBytes, bytesProducedWhilePaused) -> {
+            // Vert.x buffers everything written before the connection exists, the window stops the source anyway
+            assertEquals(WRITE_WINDOW_BYTES, source.getBytesProducedAtFirstPause());
+            assertEquals(1024 * 1024, receivedBytes);
+        });
+    }
+
+    @Test
+    public void testReadStreamIsPausedWhileServerDoesNotRead() {
+        final int length = 32 * 1024 * 1024;
+        final GeneratingReadStream source = new GeneratingReadStream(length);
+
+        countReceivedBytes(8122, 500, request -> request.sendStream(source), (receivedBytes, ignored) -> {
+            assertTrue("Produced " + source.getBytesProducedWhenServerResumed() + " bytes while the server did not read",
+                    source.getBytesProducedWhenServerResumed() < length / 2);
+            assertEquals(length, receivedBytes);
+        }, source);
+    }
+
+    @Test
+    public void testObservableIsRequestedOnlyWhileServerReads() {
+        final int elements = 32 * 1024;
+        final String element = Strings.repeat("x", 1024);
+        final AtomicInteger emittedElements = new AtomicInteger();
+
+        countReceivedBytes(8123, 500, request -> {
+            request.setContentType(MediaType.TEXT_PLAIN);
+            request.sendStream(Observable.range(0, elements).map(index -> element).doOnNext(next -> emittedElements.incrementAndGet()));
+        }, (receivedBytes, emittedWhilePaused) -> {
+            assertTrue("Emitted " + emittedWhilePaused + " elements while the server did not read", emittedWhilePaused < elements / 2);
+            assertEquals(elements * 1024, receivedBytes);
+        }, emittedElements::get);
+    }
+
+    private void countReceivedBytes(int port, long pauseInMillis, Handler<RestClientRequest<String>> sender, ReceiveAssertion assertion) {
+        countReceivedBytes(port, pauseInMillis, sender, assertion, () -> 0);
+    }
+
+    private void countReceivedBytes(int port, long pauseInMillis, Handler<RestClientRequest<String>> sender, ReceiveAssertion assertion, ProducedCounter producedCounter) {
+        final HttpServer server = vertx.createHttpServer().requestHandler(request -> {
+            final int[] receivedBytes = new int[1];
+            final int[] producedWhilePaused = new int[1];
+            if (pauseInMillis > 0) {
+                // Let the client fill every buffer on the way before anything is read
+                request.pause();
+                vertx.setTimer(pauseInMillis, timerId -> {
+                    producedWhilePaused[0] = producedCounter.get();
+                    request.resume();
+                });
+            }
+            request.dataHandler(data -> receivedBytes[0] += data.length());
+            request.endHandler(event -> {
+                assertion.check(receivedBytes[0], producedWhilePaused[0]);
+                request.response().putHeader("Content-Type", "text/plain").end("ok");
+            });
+        });
+        server.listen(port, "localhost", listenResult -> {
+            assertTrue(listenResult.succeeded());
+            final RestClientRequest<String> request = createRestClient(port).put("/api/v1/imports", String.class, response -> {
+                assertEquals("ok", response.getBody());
+                server.close(closeResult -> VertxAssert.testComplete());
+            });
+            request.exceptionHandler(throwable -> fail(throwable.toString()));
+            sender.handle(request);
+        });
+    }
+
+    private RestClient createRestClient(int port) {
+        return new DefaultRestClient(vertx, ImmutableList.of(new StringHttpMessageConverter()))
+                .setHost("localhost")
+                .setPort(port);
+    }
+
+    private interface ReceiveAssertion {
+        void check(int receivedBytes, int producedWhilePaused);
+    }
+
+    private interface ProducedCounter {
+        int get();
+    }
+
+    /**
+     * Emits chunks of {@link #CHUNK_BYTES}, one per run of the event loop, for as long as it is not paused.
+     */
+    private class GeneratingReadStream implements ReadStream<GeneratingReadStream>, ProducedCounter {
+
+        private final int length;
+        private Handler<Buffer> dataHandler;
+        private Handler<Void> endHandler;
+        private boolean paused;
+        private boolean scheduled;
+        private int producedBytes;
+        private int bytesProducedAtFirstPause = -1;
+        private int bytesProducedWhenServerResumed;
+
+        private GeneratingReadStream(int length) {
+            this.length = length;
+        }
+
+        @Override
+        public GeneratingReadStream dataHandler(Handler<Buffer> handler) {
+            this.dataHandler = handler;
+            return this;
+        }
+
+        @Override
+        public GeneratingReadStream pause() {
+            if (producedBytes > 0 && bytesProducedAtFirstPause < 0) {
+                bytesProducedAtFirstPause = producedBytes;
+            }
+            paused = true;
+            return this;
+        }
+
+        @Override
+        public GeneratingReadStream resume() {
+            paused = false;
+            schedule();
+            return this;
+        }
+
+        @Override
+        public GeneratingReadStream exceptionHandler(Handler<Throwable> handler) {
+            return this;
+        }
+
+        @Override
+        public GeneratingReadStream endHandler(Handler<Void> endHandler) {
+            this.endHandler = endHandler;
+            return this;
+        }
+
+        @Override
+        public int get() {
+            bytesProducedWhenServerResumed = producedBytes;
+            return producedBytes;
+        }
+
+        private int getBytesProducedAtFirstPause() {
+            return bytesProducedAtFirstPause;
+        }
+
+        private int getBytesProducedWhenServerResumed() {
+            return bytesProducedWhenServerResumed;
+        }
+
+        private void schedule() {
+            if (scheduled) {
+                return;
+            }
+            scheduled = true;
+            vertx.runOnContext(event -> {
+                scheduled = false;
+                if (paused || dataHandler == null) {
+                    return;
+                }
+                if (producedBytes == length) {
+                    endHandler.handle(null);
+                    return;
+                }
+                final int chunkBytes = Math.min(CHUNK_BYTES, length - producedBytes);
+                producedBytes += chunkBytes;
+                dataHandler.handle(new Buffer(new byte[chunkBytes]));
+                schedule();
+            });
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class UriTemplateTest {
+
+    @Test
+    public void testExpandPathAndQueryVariables() {
+        final UriTemplate uriTemplate = new UriTemplate("/api/users/{id}/items{?page,size}");
+
+        assertThat(uriTemplate.getVariableNames(), is(ImmutableList.of("id", "page", "size")));
+        assertThat(uriTemplate.expand(ImmutableMap.of("id", "a b/c", "page", 2, "size", 10)), is("/api/users/a%20b%2Fc/items?page=2&size=10"));
+        assertThat(uriTemplate.expand("123", 2), is("/api/users/123/items?page=2"));
+        assertThat(uriTemplate.expand(ImmutableMap.of("id", "123")), is("/api/users/123/items"));
+    }
+
+    @Test
+    public void testExpandNonAsciiValues() {
+        final UriTemplate uriTemplate = new UriTemplate("/search{?q}");
+
+        assertThat(uriTemplate.expand("Grüße €"), is("/search?q=Gr%C3%BC%C3%9Fe%20%E2%82%AC"));
+    }
+
+    @Test
+    public void testExpandOperators() {
+        final ImmutableMap<String, Object> uriVariables = ImmutableMap.of(
+                "path", "/foo/bar",
+                "ids", ImmutableList.of("1", "2"),
+                "segments", new String[]{"a", "b"}
+        );
+
+        assertThat(new UriTemplate("{+path}/here").expand(uriVariables), is("/foo/bar/here"));
+        assertThat(new UriTemplate("/users{?ids}").expand(uriVariables), is("/users?ids=1,2"));
+        assertThat(new UriTemplate("/users{?ids*}").expand(uriVariables), is("/users?ids=1&ids=2"));
+        assertThat(new UriTemplate("/users?active=true{&ids*}").expand(uriVariables), is("/users?active=true&ids=1&ids=2"));
+        assertThat(new UriTemplate("/files{/segments*}").expand(uriVariables), is("/files/a/b"));
+        assertThat(new UriTemplate("/files{#path}").expand(uriVariables), is("/files#/foo/bar"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnclosedExpression() {
+        new UriTemplate("/api/users/{id");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupportedOperator() {
+        new UriTemplate("/api/users{;id}");
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.converter;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Multimap;
+import com.hubrick.vertx.rest.exception.HttpMessageConverterException;
+import org.junit.Test;
+
+import java.net.URLDecoder;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class FormUrlDecoderTest {
+
+    @Test
+    public void testDecodeLikeUrlDecoder() throws Exception {
+        for (Charset charset : new Charset[]{Charsets.UTF_8, Charsets.ISO_8859_1}) {
+            final String encoded = "n%C3%A4me=a+b%2Bc%26d%3De&v%C3%A4lue=%E2%82%AC+%F0%9F%98%80&raw=ä&mixed=%2a%2A";
+            final Multimap<String, Object> form = decode(encoded, charset);
+
+            final ArrayList<String> expected = new ArrayList<>();
+            for (String pair : encoded.split("&")) {
+                final String[] nameAndValue = pair.split("=");
+                expected.add(URLDecoder.decode(nameAndValue[0], charset.name()) + "=" + URLDecoder.decode(nameAndValue[1], charset.name()));
+            }
+            final ArrayList<String> actual = new ArrayList<>();
+            for (Map.Entry<String, Object> entry : form.entries()) {
+                actual.add(entry.getKey() + "=" + entry.getValue());
+            }
+            assertThat(actual, is(expected));
+        }
+    }
+
+    @Test
+    public void testDecodeKeepsOrderAndDuplicates() {
+        final Multimap<String, Object> form = decode("b=1&a&b=1&&a=2&c=&=x", Charsets.UTF_8);
+
+        assertThat(ImmutableList.copyOf(form.keys()), is(ImmutableList.of("b", "a", "b", "a", "c", "")));
+        assertThat(ImmutableList.copyOf(form.get("b")), is(ImmutableList.<Object>of("1", "1")));
+        assertThat(form.get("a").iterator().next(), is(nullValue()));
+        assertThat(ImmutableList.copyOf(form.get("c")), is(ImmutableList.<Object>of("")));
+        assertThat(ImmutableList.copyOf(form.get("")), is(ImmutableList.<Object>of("x")));
+    }
+
+    @Test
+    public void testDecodeEmptyBody() {
+        assertThat(decode("", Charsets.UTF_8).isEmpty(), is(true));
+    }
+
+    @Test
+    public void testDecodeInvalidEscapes() {
+        for (String invalid : Arrays.asList("a=%", "a=%2", "a=%zz", "a%g1=b")) {
+            try {
+                decode(invalid, Charsets.UTF_8);
+                throw new AssertionError("Expected an exception for " + invalid);
+            } catch (HttpMessageConverterException e) {
+                // expected
+            }
+        }
+    }
+
+    private static Multimap<String, Object> decode(String body, Charset charset) {
+        return FormUrlDecoder.decode(body.getBytes(charset), charset);
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.converter;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.LinkedListMultimap;
+import com.google.common.collect.Multimap;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URLEncoder;
+import java.nio.charset.Charset;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class FormUrlEncoderTest {
+
+    private static final String[] VALUES = {"", "plain", "a b+c&d=e", "välue/€", "😀 emoji", "lone \uD800 surrogate", "*-._~!'()"};
+
+    @Test
+    public void testEncodeLikeUrlEncoder() throws Exception {
+        for (Charset charset : new Charset[]{Charsets.UTF_8, Charsets.ISO_8859_1}) {
+            for (String value : VALUES) {
+                final Multimap<String, Object> form = LinkedListMultimap.create();
+                form.put("näme", value);
+
+                assertThat(encode(form, charset, 4096), is(URLEncoder.encode("näme", charset.name()) + "=" + URLEncoder.encode(value, charset.name())));
+            }
+        }
+    }
+
+    @Test
+    public void testEncodeMultipleValuesAndNullValues() {
+        final Multimap<String, Object> form = LinkedListMultimap.create();
+        form.put("a", "1");
+        form.put("a", null);
+        form.put("a", 2);
+        form.put("b", null);
+        form.put("c", "3");
+
+        assertThat(encode(form, Charsets.UTF_8, 4096), is("a=1&a&a=2&b&c=3"));
+    }
+
+    @Test
+    public void testEncodeAcrossChunks() {
+        final Multimap<String, Object> form = LinkedListMultimap.create();
+        for (int i = 0; i < 100; i++) {
+            form.put("field" + i, "välue " + i);
+        }
+
+        assertThat(encode(form, Charsets.UTF_8, 7), is(encode(form, Charsets.UTF_8, 4096)));
+    }
+
+    private static String encode(Multimap<String, Object> form, Charset charset, int chunkSize) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final FormUrlEncoder.Output output = new FormUrlEncoder.Output(new byte[chunkSize], chunk -> bytes.write(chunk.getBytes(), 0, chunk.length()));
+        FormUrlEncoder.encode(form, charset, output);
+        final byte[] pending = output.getPending();
+        bytes.write(pending, 0, pending.length);
+
+        assertThat(output.getLength(), is((long) bytes.size()));
+        return new String(bytes.toByteArray(), Charsets.US_ASCII);
+    }
+}
@@ -0,0 +1,172 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.converter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.hubrick.vertx.rest.MediaType;
+import com.hubrick.vertx.rest.ResponseBodyReader;
+import com.hubrick.vertx.rest.exception.HttpMessageConverterException;
+import org.junit.Test;
+import org.vertx.java.core.AsyncResult;
+import org.vertx.java.core.Handler;
+import org.vertx.java.core.buffer.Buffer;
+import org.vertx.java.core.MultiMap;
+import org.vertx.java.core.http.CaseInsensitiveMultiMap;
+import org.vertx.java.core.http.HttpClientResponse;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class JacksonNdjsonHttpMessageConverterTest {
+
+    private final JacksonNdjsonHttpMessageConverter<Object> converter = new JacksonNdjsonHttpMessageConverter<>(new ObjectMapper());
+
+    @Test
+    public void testWriteAppendsNewline() {
+        final MultiMap headers = new CaseInsensitiveMultiMap();
+        final byte[] bytes = converter.writeInternal(ImmutableMap.of("id", 1), headers);
+
+        assertThat(new String(bytes, Charsets.UTF_8), is("{\"id\":1}\n"));
+    }
+
+    @Test
+    public void testWriteIterableAndArrayAsOneRecordPerElement() {
+        final ArrayNode arrayNode = JsonNodeFactory.instance.arrayNode().add(1).add(2);
+
+        assertThat(write(ImmutableList.of(ImmutableMap.of("id", 1), ImmutableMap.of("id", 2))), is("{\"id\":1}\n{\"id\":2}\n"));
+        assertThat(write(new Object[]{"a", ImmutableList.of("b", "c")}), is("\"a\"\n[\"b\",\"c\"]\n"));
+        assertThat(write(arrayNode), is("1\n2\n"));
+        assertThat(write(JsonNodeFactory.instance.objectNode().put("id", 1)), is("{\"id\":1}\n"));
+        assertThat(write(ImmutableList.of()), is(""));
+    }
+
+    @Test
+    public void testWriteIgnoresIndentOutput() {
+        final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        final JacksonNdjsonHttpMessageConverter<Object> indentingConverter = new JacksonNdjsonHttpMessageConverter<>(objectMapper);
+
+        final byte[] bytes = indentingConverter.writeInternal(ImmutableMap.of("id", 1, "name", "a"), new CaseInsensitiveMultiMap());
+
+        assertThat(new String(bytes, Charsets.UTF_8), is("{\"id\":1,\"name\":\"a\"}\n"));
+    }
+
+    @Test(expected = HttpMessageConverterException.class)
+    public void testReadInternalFails() {
+        converter.readInternal(Map.class, "{\"id\":1}\n".getBytes(Charsets.UTF_8), new CaseInsensitiveMultiMap());
+    }
+
+    @Test
+    public void testReadRecordsSplitAcrossChunks() {
+        final String body = "{\"id\":1,\"name\":\"ä\"}\n\n{\"id\":2}\r\n  \n{\"id\":3}";
+        final byte[] bytes = body.getBytes(Charsets.UTF_8);
+
+        for (int chunkSize = 1; chunkSize <= bytes.length; chunkSize++) {
+            final List<Map> records = new ArrayList<>();
+            final Reading reading = read(records::add);
+            for (int i = 0; i < bytes.length; i += chunkSize) {
+                final Buffer chunk = new Buffer();
+                chunk.appendBytes(Arrays.copyOfRange(bytes, i, Math.min(bytes.length, i + chunkSize)));
+                reading.dataHandler.handle(chunk);
+            }
+            reading.endHandler.handle(null);
+
+            assertThat(reading.result().succeeded(), is(true));
+            assertThat(reading.result().result(), is(3L));
+            assertThat(records, is(ImmutableList.<Map>of(
+                    ImmutableMap.of("id", 1, "name", "ä"),
+                    ImmutableMap.of("id", 2),
+                    ImmutableMap.of("id", 3)
+            )));
+        }
+    }
+
+    @Test
+    public void testReadStopsAtInvalidRecord() {
+        final List<Map> records = new ArrayList<>();
+        final Reading reading = read(records::add);
+        reading.dataHandler.handle(new Buffer("{\"id\":1}\n{\"id\":\n{\"id\":3}\n"));
+        reading.endHandler.handle(null);
+
+        assertThat(records.size(), is(1));
+        assertThat(reading.result().failed(), is(true));
+        assertThat(reading.result().cause(), instanceOf(HttpMessageConverterException.class));
+    }
+
+    @Test
+    public void testCanOnlyWrite() {
+        assertThat(converter.canWrite(Map.class, MediaType.APPLICATION_NDJSON), is(true));
+        assertThat(converter.canRead(Map.class, MediaType.APPLICATION_NDJSON), is(false));
+        assertThat(converter.canWrite(int[].class, MediaType.APPLICATION_NDJSON), is(false));
+    }
+
+    private String write(Object object) {
+        return new String(converter.writeInternal(object, new CaseInsensitiveMultiMap()), Charsets.UTF_8);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Reading read(Handler<Map> recordHandler) {
+        final ResponseBodyReader<Long> reader = converter.recordReader(Map.class, recordHandler);
+        final Reading reading = new Reading();
+        final HttpClientResponse httpClientResponse = (HttpClientResponse) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{HttpClientResponse.class}, (proxy, method, args) -> {
+            if (method.getName().equals("dataHandler")) {
+                reading.dataHandler = (Handler<Buffer>) args[0];
+            } else if (method.getName().equals("endHandler")) {
+                reading.endHandler = (Handler<Void>) args[0];
+            }
+            return proxy;
+        });
+        reader.read(httpClientResponse, reading::setResult);
+        return reading;
+    }
+
+    private static class Reading {
+
+        private Handler<Buffer> dataHandler;
+        private Handler<Void> endHandler;
+        private AsyncResult<Long> result;
+
+        private void setResult(AsyncResult<Long> result) {
+            if (this.result != null) {
+                throw new AssertionError("Result handler called twice");
+            }
+            this.result = result;
+        }
+
+        private AsyncResult<Long> result() {
+            if (result == null) {
+                throw new AssertionError("Result handler not called");
+            }
+            return result;
+        }
+    }
+}
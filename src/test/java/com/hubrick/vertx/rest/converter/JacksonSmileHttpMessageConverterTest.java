@@ -0,0 +1,63 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.converter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.google.common.collect.ImmutableMap;
+import com.hubrick.vertx.rest.MediaType;
+import org.junit.Test;
+import org.vertx.java.core.http.CaseInsensitiveMultiMap;
+
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class JacksonSmileHttpMessageConverterTest {
+
+    private final JacksonSmileHttpMessageConverter<Object> converter = new JacksonSmileHttpMessageConverter<>(new ObjectMapper(new SmileFactory()));
+
+    @Test
+    public void testRoundTrip() {
+        final Map<String, Object> object = ImmutableMap.<String, Object>of("id", 1, "name", "ä", "tags", ImmutableMap.of("a", true));
+        final byte[] bytes = converter.writeInternal(object, new CaseInsensitiveMultiMap());
+
+        assertThat(bytes[0], is((byte) ':'));
+        assertThat(converter.readInternal(Map.class, bytes, new CaseInsensitiveMultiMap()), is((Object) object));
+    }
+
+    @Test
+    public void testSupportsSmileOnly() {
+        assertThat(converter.canRead(Map.class, MediaType.APPLICATION_SMILE), is(true));
+        assertThat(converter.canWrite(Map.class, MediaType.APPLICATION_SMILE), is(true));
+        assertThat(converter.canRead(Map.class, MediaType.APPLICATION_JSON), is(false));
+    }
+
+    @Test
+    public void testSupportsLeavesTypeChecksToCanReadAndCanWrite() {
+        assertThat(converter.supports(Map.class), is(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsJsonMapper() {
+        new JacksonSmileHttpMessageConverter<>(new ObjectMapper());
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.converter;
+
+import com.hubrick.vertx.rest.MediaType;
+import com.hubrick.vertx.rest.MultipartForm;
+import org.junit.After;
+import org.junit.Test;
+import org.vertx.java.core.Handler;
+import org.vertx.java.core.Vertx;
+import org.vertx.java.core.VertxFactory;
+import org.vertx.java.core.buffer.Buffer;
+import org.vertx.java.core.http.CaseInsensitiveMultiMap;
+import org.vertx.java.core.http.HttpClientRequest;
+
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class MultipartHttpMessageConverterTest {
+
+    private final Vertx vertx = VertxFactory.newVertx();
+
+    @After
+    public void tearDown() {
+        vertx.stop();
+    }
+
+    @Test
+    public void testFileIsWrittenBehindWriteWindowBeforeConnected() throws Exception {
+        final Path path = Files.createTempFile("multipart", ".bin");
+        Files.write(path, new byte[4 * 1024 * 1024]);
+        path.toFile().deleteOnExit();
+        final MultipartForm form = MultipartForm.builder()
+                .part("first", "first.bin", MediaType.APPLICATION_OCTET_STREAM, new Buffer(new byte[200 * 1024]))
+                .file("document", "report.bin", MediaType.APPLICATION_OCTET_STREAM, path.toString())
+                .build();
+        final UnconnectedRequest request = new UnconnectedRequest();
+
+        new MultipartHttpMessageConverter(vertx).write(form, MediaType.MULTIPART_FORM_DATA, request.create(), true, request.ended::completeExceptionally);
+
+        final long bodyBytes = request.ended.get(10, TimeUnit.SECONDS);
+        assertTrue("Wrote " + bodyBytes + " bytes", bodyBytes > 4 * 1024 * 1024 + 200 * 1024);
+        // Files are read in chunks of 8KB, the in-memory part is written as a whole
+        assertTrue("Wrote " + request.maxUndrainedBytes + " bytes without a drain", request.maxUndrainedBytes <= 200 * 1024 + 1024);
+        assertThat(request.drains > 30, is(true));
+    }
+
+    /**
+     * Behaves like a Vert.x 2 request without a connection, whose write queue is never full, and drains a while after
+     * a drain handler was set.
+     */
+    private class UnconnectedRequest {
+
+        private final CompletableFuture<Long> ended = new CompletableFuture<>();
+        private long bodyBytes;
+        private long undrainedBytes;
+        private long maxUndrainedBytes;
+        private int drains;
+
+        @SuppressWarnings("unchecked")
+        private HttpClientRequest create() {
+            final CaseInsensitiveMultiMap headers = new CaseInsensitiveMultiMap();
+            return (HttpClientRequest) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{HttpClientRequest.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "headers":
+                        return headers;
+                    case "setChunked":
+                        return proxy;
+                    case "writeQueueFull":
+                        return false;
+                    case "write":
+                        written(((Buffer) args[0]).length());
+                        return proxy;
+                    case "end":
+                        written(((Buffer) args[0]).length());
+                        ended.complete(bodyBytes);
+                        return null;
+                    case "drainHandler":
+                        if (args[0] != null) {
+                            vertx.setTimer(10, timerId -> {
+                                drains++;
+                                undrainedBytes = 0;
+                                ((Handler<Void>) args[0]).handle(null);
+                            });
+                        }
+                        return proxy;
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+        }
+
+        private void written(long bytes) {
+            bodyBytes += bytes;
+            undrainedBytes += bytes;
+            maxUndrainedBytes = Math.max(maxUndrainedBytes, undrainedBytes);
+        }
+    }
+}
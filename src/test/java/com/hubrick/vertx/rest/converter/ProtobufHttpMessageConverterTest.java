@@ -0,0 +1,62 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.converter;
+
+import com.google.protobuf.DescriptorProtos.FileDescriptorProto;
+import com.google.protobuf.Message;
+import com.hubrick.vertx.rest.MediaType;
+import com.hubrick.vertx.rest.exception.HttpMessageConverterException;
+import org.junit.Test;
+import org.vertx.java.core.http.CaseInsensitiveMultiMap;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class ProtobufHttpMessageConverterTest {
+
+    private final ProtobufHttpMessageConverter converter = new ProtobufHttpMessageConverter();
+
+    @Test
+    public void testRoundTrip() {
+        final FileDescriptorProto message = FileDescriptorProto.newBuilder()
+                .setName("users.proto")
+                .setPackage("com.example")
+                .addDependency("common.proto")
+                .build();
+        final byte[] bytes = converter.writeInternal(message, new CaseInsensitiveMultiMap());
+
+        assertThat(bytes.length, is(message.getSerializedSize()));
+        assertThat(converter.readInternal(FileDescriptorProto.class, bytes, new CaseInsensitiveMultiMap()), is((Message) message));
+        assertThat(converter.readInternal(FileDescriptorProto.class, bytes, new CaseInsensitiveMultiMap()), is((Message) message));
+    }
+
+    @Test
+    public void testSupportsGeneratedMessages() {
+        assertThat(converter.canRead(FileDescriptorProto.class, MediaType.APPLICATION_PROTOBUF), is(true));
+        assertThat(converter.canWrite(FileDescriptorProto.class, MediaType.APPLICATION_PROTOBUF), is(true));
+        assertThat(converter.canRead(Message.class, MediaType.APPLICATION_PROTOBUF), is(false));
+        assertThat(converter.canRead(String.class, MediaType.APPLICATION_PROTOBUF), is(false));
+    }
+
+    @Test(expected = HttpMessageConverterException.class)
+    public void testInvalidBody() {
+        converter.readInternal(FileDescriptorProto.class, new byte[]{(byte) 0xff}, new CaseInsensitiveMultiMap());
+    }
+}
@@ -0,0 +1,46 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.impl;
+
+import org.junit.Test;
+import org.vertx.java.core.http.HttpClient;
+
+import java.lang.reflect.Proxy;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class ConnectionPoolGaugesTest {
+
+    @Test
+    public void testFailsClearlyForUnsupportedHttpClient() {
+        final HttpClient httpClient = (HttpClient) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{HttpClient.class}, (proxy, method, args) -> {
+            throw new UnsupportedOperationException(method.getName());
+        });
+
+        try {
+            new ConnectionPoolGauges(httpClient);
+            fail("Expected an IllegalStateException");
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage(), containsString("org.vertx.java.core.http.impl.DefaultHttpClient"));
+        }
+    }
+}
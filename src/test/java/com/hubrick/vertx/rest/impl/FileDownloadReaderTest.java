@@ -0,0 +1,113 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.impl;
+
+import com.hubrick.vertx.rest.FileDownload;
+import com.hubrick.vertx.rest.exception.RestClientException;
+import org.junit.After;
+import org.junit.Test;
+import org.vertx.java.core.AsyncResult;
+import org.vertx.java.core.Handler;
+import org.vertx.java.core.Vertx;
+import org.vertx.java.core.VertxFactory;
+import org.vertx.java.core.buffer.Buffer;
+import org.vertx.java.core.http.HttpClientResponse;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Vert.x 2 does not report a connection dropped mid-body to the response, so the partial file cleanup is driven
+ * through a fake response here.
+ *
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class FileDownloadReaderTest {
+
+    private final Vertx vertx = VertxFactory.newVertx();
+
+    @After
+    public void tearDown() {
+        vertx.stop();
+    }
+
+    @Test
+    public void testPartialFileIsDeletedWhenResponseFails() throws Exception {
+        final Path path = Files.createTempFile("download", ".bin");
+        Files.delete(path);
+        final CompletableFuture<AsyncResult<FileDownload>> result = new CompletableFuture<>();
+
+        new FileDownloadReader(vertx, path.toString()).read(createFailingResponse(path), result::complete);
+
+        final AsyncResult<FileDownload> download = result.get(10, TimeUnit.SECONDS);
+        assertThat(download.failed(), is(true));
+        assertThat(download.cause(), instanceOf(RestClientException.class));
+        assertThat(Files.exists(path), is(false));
+    }
+
+    /**
+     * Delivers part of the body once the reader resumes the response, waits until it reached the file and fails.
+     */
+    @SuppressWarnings("unchecked")
+    private HttpClientResponse createFailingResponse(Path path) {
+        final Handler<?>[] handlers = new Handler<?>[2];
+        final boolean[] started = new boolean[1];
+        return (HttpClientResponse) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{HttpClientResponse.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "dataHandler":
+                    handlers[0] = (Handler<?>) args[0];
+                    return proxy;
+                case "exceptionHandler":
+                    handlers[1] = (Handler<?>) args[0];
+                    return proxy;
+                case "endHandler":
+                case "pause":
+                    return proxy;
+                case "resume":
+                    if (handlers[0] != null && !started[0]) {
+                        started[0] = true;
+                        ((Handler<Buffer>) handlers[0]).handle(new Buffer(new byte[64 * 1024]));
+                        vertx.setPeriodic(10, timerId -> {
+                            if (isWritten(path)) {
+                                vertx.cancelTimer(timerId);
+                                ((Handler<Throwable>) handlers[1]).handle(new IOException("Connection reset by peer"));
+                            }
+                        });
+                    }
+                    return proxy;
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    private static boolean isWritten(Path path) {
+        try {
+            return Files.size(path) > 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
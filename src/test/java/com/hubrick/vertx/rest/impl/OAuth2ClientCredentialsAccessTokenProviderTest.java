@@ -0,0 +1,210 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hubrick.vertx.rest.RestClient;
+import com.hubrick.vertx.rest.RestClientRequest;
+import com.hubrick.vertx.rest.RestClientResponse;
+import com.hubrick.vertx.rest.exception.RestClientException;
+import org.junit.Before;
+import org.junit.Test;
+import org.vertx.java.core.AsyncResult;
+import org.vertx.java.core.Handler;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class OAuth2ClientCredentialsAccessTokenProviderTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final List<TokenRequest> tokenRequests = new ArrayList<>();
+    private long now;
+    private OAuth2ClientCredentialsAccessTokenProvider accessTokenProvider;
+
+    @Before
+    public void setUp() {
+        now = 1000000;
+        accessTokenProvider = new OAuth2ClientCredentialsAccessTokenProvider(fakeTokenRestClient(), "/oauth/token", "client", "secret", null, 10000, () -> now);
+        accessTokenProvider.setRetryDelay(1000, 4000);
+    }
+
+    @Test
+    public void testConcurrentCallersShareOneTokenRequest() throws Exception {
+        final List<AsyncResult<CharSequence>> results = new ArrayList<>();
+        accessTokenProvider.getAuthorizationHeader(results::add);
+        accessTokenProvider.getAuthorizationHeader(results::add);
+        accessTokenProvider.getAuthorizationHeader(results::add);
+
+        assertThat(tokenRequests.size(), is(1));
+        assertThat(results.size(), is(0));
+
+        tokenRequests.get(0).succeed("first", 60);
+
+        assertThat(results.size(), is(3));
+        for (AsyncResult<CharSequence> result : results) {
+            assertThat(result.result().toString(), is("Bearer first"));
+        }
+
+        accessTokenProvider.getAuthorizationHeader(results::add);
+        assertThat(tokenRequests.size(), is(1));
+        assertThat(results.get(3).result().toString(), is("Bearer first"));
+    }
+
+    @Test
+    public void testRefreshAheadKeepsHandingOutCachedToken() throws Exception {
+        accessTokenProvider.getAuthorizationHeader(result -> {
+        });
+        tokenRequests.get(0).succeed("first", 60);
+
+        now += 55000;
+        final List<AsyncResult<CharSequence>> results = new ArrayList<>();
+        accessTokenProvider.getAuthorizationHeader(results::add);
+        accessTokenProvider.getAuthorizationHeader(results::add);
+
+        assertThat(tokenRequests.size(), is(2));
+        assertThat(results.size(), is(2));
+        assertThat(results.get(0).result().toString(), is("Bearer first"));
+        assertThat(results.get(1).result().toString(), is("Bearer first"));
+
+        tokenRequests.get(1).succeed("second", 60);
+        accessTokenProvider.getAuthorizationHeader(results::add);
+        assertThat(results.get(2).result().toString(), is("Bearer second"));
+    }
+
+    @Test
+    public void testFailureReachesEveryWaiter() {
+        final List<AsyncResult<CharSequence>> results = new ArrayList<>();
+        accessTokenProvider.getAuthorizationHeader(results::add);
+        accessTokenProvider.getAuthorizationHeader(result -> {
+            throw new IllegalStateException("Broken waiter");
+        });
+        accessTokenProvider.getAuthorizationHeader(results::add);
+
+        final RuntimeException failure = new RuntimeException("Connection refused");
+        tokenRequests.get(0).fail(failure);
+
+        assertThat(results.size(), is(2));
+        for (AsyncResult<CharSequence> result : results) {
+            assertThat(result.failed(), is(true));
+            assertThat(result.cause(), sameInstance((Throwable) failure));
+        }
+    }
+
+    @Test
+    public void testBacksOffAfterFailure() throws Exception {
+        final List<AsyncResult<CharSequence>> results = new ArrayList<>();
+        accessTokenProvider.getAuthorizationHeader(results::add);
+        tokenRequests.get(0).fail(new RuntimeException("Connection refused"));
+
+        now += 999;
+        accessTokenProvider.getAuthorizationHeader(results::add);
+        assertThat(tokenRequests.size(), is(1));
+        assertThat(results.get(1).cause(), instanceOf(RestClientException.class));
+
+        now += 1;
+        accessTokenProvider.getAuthorizationHeader(results::add);
+        assertThat(tokenRequests.size(), is(2));
+        tokenRequests.get(1).fail(new RuntimeException("Connection refused"));
+
+        // The delay doubles with the second failure
+        now += 1999;
+        accessTokenProvider.getAuthorizationHeader(results::add);
+        assertThat(tokenRequests.size(), is(2));
+
+        now += 1;
+        accessTokenProvider.getAuthorizationHeader(results::add);
+        assertThat(tokenRequests.size(), is(3));
+        tokenRequests.get(2).succeed("first", 60);
+        assertThat(results.get(4).result().toString(), is("Bearer first"));
+    }
+
+    @Test
+    public void testInvalidateDropsRejectedToken() throws Exception {
+        final List<AsyncResult<CharSequence>> results = new ArrayList<>();
+        accessTokenProvider.getAuthorizationHeader(results::add);
+        tokenRequests.get(0).succeed("first", 60);
+
+        accessTokenProvider.invalidate("Bearer other");
+        accessTokenProvider.getAuthorizationHeader(results::add);
+        assertThat(tokenRequests.size(), is(1));
+
+        accessTokenProvider.invalidate("Bearer first");
+        accessTokenProvider.getAuthorizationHeader(results::add);
+        assertThat(tokenRequests.size(), is(2));
+        assertThat(results.size(), is(2));
+
+        tokenRequests.get(1).succeed("second", 60);
+        assertThat(results.get(2).result().toString(), is("Bearer second"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private RestClient fakeTokenRestClient() {
+        return (RestClient) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{RestClient.class}, (proxy, method, args) -> {
+            if (method.getName().equals("post") && args.length == 3) {
+                final TokenRequest tokenRequest = new TokenRequest((Handler<RestClientResponse<AccessTokenResponse>>) args[2]);
+                tokenRequests.add(tokenRequest);
+                return tokenRequest.restClientRequest;
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    private static class TokenRequest {
+
+        private final Handler<RestClientResponse<AccessTokenResponse>> responseHandler;
+        private final RestClientRequest<AccessTokenResponse> restClientRequest;
+        private Handler<Throwable> exceptionHandler;
+
+        @SuppressWarnings("unchecked")
+        TokenRequest(Handler<RestClientResponse<AccessTokenResponse>> responseHandler) {
+            this.responseHandler = responseHandler;
+            this.restClientRequest = (RestClientRequest<AccessTokenResponse>) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{RestClientRequest.class}, (proxy, method, args) -> {
+                if (method.getName().equals("exceptionHandler")) {
+                    exceptionHandler = (Handler<Throwable>) args[0];
+                }
+                return method.getReturnType().isInstance(proxy) ? proxy : null;
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        void succeed(String accessToken, long expiresIn) throws IOException {
+            final AccessTokenResponse accessTokenResponse = OBJECT_MAPPER.readValue("{\"access_token\":\"" + accessToken + "\",\"token_type\":\"bearer\",\"expires_in\":" + expiresIn + "}", AccessTokenResponse.class);
+            responseHandler.handle((RestClientResponse<AccessTokenResponse>) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{RestClientResponse.class}, (proxy, method, args) -> {
+                if (method.getName().equals("getBody")) {
+                    return accessTokenResponse;
+                }
+                throw new UnsupportedOperationException(method.getName());
+            }));
+        }
+
+        void fail(Throwable throwable) {
+            exceptionHandler.handle(throwable);
+        }
+    }
+}
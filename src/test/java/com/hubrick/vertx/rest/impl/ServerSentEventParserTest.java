@@ -0,0 +1,83 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.impl;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableList;
+import com.hubrick.vertx.rest.ServerSentEvent;
+import org.junit.Test;
+import org.vertx.java.core.buffer.Buffer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class ServerSentEventParserTest {
+
+    @Test
+    public void testParseEventsSplitAcrossChunks() {
+        final String stream = "\uFEFF: comment\r\n" +
+                "data: first\r\n" +
+                "data:second line\r\n" +
+                "\r\n" +
+                "event: update\n" +
+                "id: 42\n" +
+                "data: ä\n" +
+                "\n" +
+                "id\r" +
+                "data\r" +
+                "\r" +
+                "data: incomplete";
+        final byte[] bytes = stream.getBytes(Charsets.UTF_8);
+
+        for (int chunkSize = 1; chunkSize <= bytes.length; chunkSize++) {
+            final List<String> events = new ArrayList<>();
+            final ServerSentEventParser parser = new ServerSentEventParser("7", event -> events.add(format(event)), retry -> {
+            });
+            for (int i = 0; i < bytes.length; i += chunkSize) {
+                final Buffer chunk = new Buffer();
+                chunk.appendBytes(Arrays.copyOfRange(bytes, i, Math.min(bytes.length, i + chunkSize)));
+                parser.parse(chunk);
+            }
+
+            assertThat(events, is(ImmutableList.of("7/message/first\nsecond line", "42/update/ä", "/message/")));
+            assertThat(parser.getLastEventId(), is(""));
+        }
+    }
+
+    @Test
+    public void testIgnoresUnknownFieldsAndInvalidValues() {
+        final List<String> events = new ArrayList<>();
+        final List<Long> retries = new ArrayList<>();
+        final ServerSentEventParser parser = new ServerSentEventParser("", event -> events.add(format(event)), retries::add);
+        parser.parse(new Buffer("retry: 1500\nretry: 1x\nfoo: bar\nid: a\u0000b\nevent\n\nid: 1\n\ndata\n\n"));
+
+        assertThat(retries, is(ImmutableList.of(1500L)));
+        assertThat(events, is(ImmutableList.of("1/message/")));
+        assertThat(parser.getLastEventId(), is("1"));
+    }
+
+    private static String format(ServerSentEvent event) {
+        return event.getId() + "/" + event.getEvent() + "/" + event.getData();
+    }
+}
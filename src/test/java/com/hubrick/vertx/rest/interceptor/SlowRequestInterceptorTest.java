@@ -0,0 +1,130 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.interceptor;
+
+import com.hubrick.vertx.rest.HttpMethod;
+import org.junit.Test;
+import org.vertx.java.core.buffer.Buffer;
+import org.vertx.java.core.http.HttpClientResponse;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class SlowRequestInterceptorTest {
+
+    private final List<SlowRequest> slowRequests = new ArrayList<>();
+
+    @Test
+    public void testFastRequestIsNotReported() {
+        final SlowRequestInterceptor interceptor = new SlowRequestInterceptor(60000, 16, 1, slowRequests::add);
+        final long now = System.nanoTime();
+
+        interceptor.onComplete(requestContext(now, now), response(200), new Buffer("ok"));
+
+        assertThat(slowRequests.size(), is(0));
+    }
+
+    @Test
+    public void testSlowRequestIsReported() {
+        final SlowRequestInterceptor interceptor = new SlowRequestInterceptor(10, 16, 1, slowRequests::add);
+        final long startNanos = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(100);
+
+        interceptor.onComplete(requestContext(startNanos, startNanos + TimeUnit.MILLISECONDS.toNanos(60)), response(503), new Buffer("Service unavailable"));
+
+        assertThat(slowRequests.size(), is(1));
+        final SlowRequest slowRequest = slowRequests.get(0);
+        assertThat(slowRequest.getStatusCode(), is(503));
+        assertThat(slowRequest.getTimeToFirstByteInNanos(), is(TimeUnit.MILLISECONDS.toNanos(60)));
+        assertThat(slowRequest.getReceiveTimeInNanos() >= TimeUnit.MILLISECONDS.toNanos(40), is(true));
+        assertThat(slowRequest.getBodySnippet(), is("Service unavaila..."));
+        assertThat(slowRequest.getBodyLength(), is(19L));
+    }
+
+    @Test
+    public void testBodySnippetIsCutAtCharacterBoundary() {
+        // Encoded as 61 62 c3 a4 c3 b6
+        final Buffer body = new Buffer("ab\u00e4\u00f6", "UTF-8");
+        final long startNanos = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(100);
+
+        new SlowRequestInterceptor(10, 3, 1, slowRequests::add).onComplete(requestContext(startNanos, startNanos), response(200), body);
+        new SlowRequestInterceptor(10, 5, 1, slowRequests::add).onComplete(requestContext(startNanos, startNanos), response(200), body);
+        new SlowRequestInterceptor(10, 4, 1, slowRequests::add).onComplete(requestContext(startNanos, startNanos), response(200), body);
+        new SlowRequestInterceptor(10, 6, 1, slowRequests::add).onComplete(requestContext(startNanos, startNanos), response(200), body);
+        new SlowRequestInterceptor(10, 1, 1, slowRequests::add).onComplete(requestContext(startNanos, startNanos), response(200), new Buffer("\u00e4", "UTF-8"));
+
+        assertThat(slowRequests.get(0).getBodySnippet(), is("ab..."));
+        assertThat(slowRequests.get(1).getBodySnippet(), is("ab\u00e4..."));
+        assertThat(slowRequests.get(2).getBodySnippet(), is("ab\u00e4..."));
+        assertThat(slowRequests.get(3).getBodySnippet(), is("ab\u00e4\u00f6"));
+        assertThat(slowRequests.get(4).getBodySnippet(), is("..."));
+    }
+
+    @Test
+    public void testFailedRequestWithoutResponse() {
+        final SlowRequestInterceptor interceptor = new SlowRequestInterceptor(10, 16, 1, slowRequests::add);
+        final long startNanos = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(100);
+        final RuntimeException cause = new RuntimeException("Connection reset");
+
+        interceptor.onError(requestContext(startNanos, 0), cause);
+
+        final SlowRequest slowRequest = slowRequests.get(0);
+        assertThat(slowRequest.getStatusCode(), is(0));
+        assertThat(slowRequest.getError(), is((Throwable) cause));
+        assertThat(slowRequest.getBodySnippet(), is(nullValue()));
+        assertThat(slowRequest.getReceiveTimeInNanos(), is(0L));
+        assertThat(slowRequest.getTimeToFirstByteInNanos(), is(slowRequest.getTotalTimeInNanos()));
+    }
+
+    private RequestContext requestContext(long startNanos, long firstByteNanos) {
+        return (RequestContext) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{RequestContext.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getMethod":
+                    return HttpMethod.GET;
+                case "getHost":
+                    return "localhost";
+                case "getPort":
+                    return 8080;
+                case "getUri":
+                    return "/api/users/123";
+                case "getStartNanos":
+                    return startNanos;
+                case "getFirstByteNanos":
+                    return firstByteNanos;
+                default:
+                    return null;
+            }
+        });
+    }
+
+    private HttpClientResponse response(int statusCode) {
+        return (HttpClientResponse) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{HttpClientResponse.class}, (proxy, method, args) -> {
+            if (method.getName().equals("statusCode")) {
+                return statusCode;
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+    }
+}
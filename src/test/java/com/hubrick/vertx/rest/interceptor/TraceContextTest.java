@@ -0,0 +1,70 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.interceptor;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class TraceContextTest {
+
+    @Test
+    public void testParseAndFormatTraceparent() {
+        final String traceparent = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+        final TraceContext traceContext = TraceContext.parse(traceparent);
+
+        assertThat(traceContext.getTraceId(), is("4bf92f3577b34da6a3ce929d0e0e4736"));
+        assertThat(traceContext.getSpanId(), is("00f067aa0ba902b7"));
+        assertThat(traceContext.isSampled(), is(true));
+        assertThat(traceContext.toTraceparent(), is(traceparent));
+    }
+
+    @Test
+    public void testParseInvalidTraceparent() {
+        assertThat(TraceContext.parse(null), is(nullValue()));
+        assertThat(TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7"), is(nullValue()));
+        assertThat(TraceContext.parse("00-00000000000000000000000000000000-00f067aa0ba902b7-01"), is(nullValue()));
+        assertThat(TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-0000000000000000-01"), is(nullValue()));
+        assertThat(TraceContext.parse("00-4BF92F3577B34DA6A3CE929D0E0E4736-00f067aa0ba902b7-01"), is(nullValue()));
+        assertThat(TraceContext.parse("ff-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01"), is(nullValue()));
+        assertThat(TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01-extra"), is(nullValue()));
+    }
+
+    @Test
+    public void testParseFutureVersion() {
+        final TraceContext traceContext = TraceContext.parse("01-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-00-extra");
+
+        assertThat(traceContext.getTraceId(), is("4bf92f3577b34da6a3ce929d0e0e4736"));
+        assertThat(traceContext.isSampled(), is(false));
+    }
+
+    @Test
+    public void testCreateChild() {
+        final TraceContext parent = TraceContext.newTrace(true);
+        final TraceContext child = parent.createChild();
+
+        assertThat(child.getTraceId(), is(parent.getTraceId()));
+        assertThat(child.getSpanId(), is(not(parent.getSpanId())));
+        assertThat(TraceContext.parse(child.toTraceparent()), is(child));
+    }
+}
@@ -0,0 +1,49 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.logging;
+
+import com.google.common.base.Charsets;
+import org.junit.Test;
+import org.vertx.java.core.buffer.Buffer;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class BodyLoggerTest {
+
+    // "a" followed by a two byte and a three byte character
+    private static final byte[] BODY = "a\u00e4\u20ac".getBytes(Charsets.UTF_8);
+
+    @Test
+    public void testPrefixEndsBeforeCutCharacter() {
+        assertThat(BodyLogger.utf8PrefixLength(BODY, 2), is(1));
+        assertThat(BodyLogger.utf8PrefixLength(BODY, 4), is(3));
+        assertThat(BodyLogger.utf8PrefixLength(BODY, 5), is(3));
+        assertThat(BodyLogger.utf8PrefixLength(new Buffer(BODY), 5), is(3));
+    }
+
+    @Test
+    public void testPrefixKeepsWholeCharacters() {
+        assertThat(BodyLogger.utf8PrefixLength(BODY, 0), is(0));
+        assertThat(BodyLogger.utf8PrefixLength(BODY, 3), is(3));
+        assertThat(BodyLogger.utf8PrefixLength(BODY, 6), is(6));
+        assertThat(BodyLogger.utf8PrefixLength(new Buffer(BODY), 100), is(6));
+    }
+}
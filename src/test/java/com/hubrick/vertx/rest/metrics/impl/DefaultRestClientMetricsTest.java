@@ -0,0 +1,85 @@
+/**
+ * Copyright (C) 2015 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.rest.metrics.impl;
+
+import com.hubrick.vertx.rest.HttpMethod;
+import com.hubrick.vertx.rest.metrics.RequestMetricsKey;
+import org.junit.Test;
+import org.vertx.java.core.Vertx;
+import org.vertx.java.core.json.JsonObject;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Emir Dizdarevic
+ * @since 1.3.0
+ */
+public class DefaultRestClientMetricsTest {
+
+    private static final RequestMetricsKey KEY = new RequestMetricsKey("localhost:8080", HttpMethod.GET, "/api/users/{id}");
+
+    @Test
+    public void testSnapshotDoesNotResetHistograms() {
+        final DefaultRestClientMetrics metrics = new DefaultRestClientMetrics();
+        complete(metrics, 10);
+        complete(metrics, 20);
+
+        assertThat(metrics.snapshot().get(KEY).getTotalTimeInMicros().getTotalCount(), is(2L));
+        complete(metrics, 30);
+        assertThat(metrics.snapshot().get(KEY).getTotalTimeInMicros().getTotalCount(), is(3L));
+        assertThat(metrics.snapshot().get(KEY).getTimeToFirstByteInMicros().getTotalCount(), is(3L));
+        assertThat(metrics.snapshot().get(KEY).getCompletedCount(), is(3L));
+    }
+
+    @Test
+    public void testPublisherKeepsItsOwnInterval() {
+        final DefaultRestClientMetrics metrics = new DefaultRestClientMetrics();
+        final EventBusMetricsPublisher publisher = new EventBusMetricsPublisher(fakeVertx(), metrics, JsonObject::new, "metrics", 1000);
+        complete(metrics, 10);
+        complete(metrics, 20);
+
+        assertThat(requestCount(publisher.createSnapshot()), is(2L));
+
+        complete(metrics, 30);
+        metrics.snapshot();
+        metrics.snapshot();
+        final JsonObject snapshot = publisher.createSnapshot();
+        assertThat(requestCount(snapshot), is(1L));
+        assertThat(snapshot.getArray("requests").<JsonObject>get(0).getLong("completed"), is(3L));
+        assertThat(snapshot.getArray("requests").<JsonObject>get(0).getObject("totalTime").getLong("max") >= 30000L, is(true));
+
+        assertThat(requestCount(publisher.createSnapshot()), is(0L));
+    }
+
+    private void complete(DefaultRestClientMetrics metrics, long totalTimeInMillis) {
+        metrics.requestStarted(KEY);
+        metrics.requestCompleted(KEY, 200, TimeUnit.MILLISECONDS.toNanos(1), TimeUnit.MILLISECONDS.toNanos(totalTimeInMillis), 0, 10);
+    }
+
+    private long requestCount(JsonObject snapshot) {
+        return snapshot.getArray("requests").<JsonObject>get(0).getLong("count");
+    }
+
+    private Vertx fakeVertx() {
+        return (Vertx) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{Vertx.class}, (proxy, method, args) -> {
+            throw new UnsupportedOperationException(method.getName());
+        });
+    }
+}